@@ -0,0 +1,97 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.jimmer.JimmerData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerDataTable;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the first query after the sql client is built,
+ * with and without `JSqlClient.warmUp()`.
+ *
+ * <p>Each fork is a new JVM which executes the first query only once,
+ * so the lazily computed metadata is really cold. The warmup is executed
+ * by the setup, it is not included in the measured time.</p>
+ *
+ * <p>`warmUp()` is not released yet, please execute `publishToMavenLocal`
+ * of the project before running the main method.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark {
+
+    private static final int DATA_COUNT = 10;
+
+    @Param({"false", "true"})
+    private boolean warmUp;
+
+    private Connection con;
+
+    private JSqlClient sqlClient;
+
+    @Setup
+    public void initialize() throws SQLException, IOException {
+        con = DriverManager.getConnection("jdbc:h2:mem:cold-start-benchmark");
+        DatabaseInitializer.create(con);
+        try (PreparedStatement stmt = con.prepareStatement(
+                "insert into data(id, value_1, value_2, value_3, value_4, value_5, " +
+                        "value_6, value_7, value_8, value_9) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+        )) {
+            for (int row = 1; row <= DATA_COUNT; row++) {
+                stmt.setLong(1, row);
+                for (int col = 2; col <= 10; col++) {
+                    stmt.setInt(col, row * col);
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        sqlClient = JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .build();
+        if (warmUp) {
+            sqlClient.warmUp();
+        }
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        con.close();
+    }
+
+    @Benchmark
+    public List<JimmerData> firstQuery() {
+        JimmerDataTable table = JimmerDataTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.value1().gt(0))
+                .orderBy(table.id())
+                .select(table)
+                .execute(con);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include("\\." + ColdStartBenchmark.class.getSimpleName() + "\\.")
+                        .build()
+        ).run();
+    }
+}
@@ -38,7 +38,7 @@ public class DatabaseInitializer {
         }
     }
 
-    private void create(Connection con) throws IOException, SQLException {
+    static void create(Connection con) throws IOException, SQLException {
         StringBuilder builder = new StringBuilder();
         try (Reader reader = new InputStreamReader(
                 Objects.requireNonNull(
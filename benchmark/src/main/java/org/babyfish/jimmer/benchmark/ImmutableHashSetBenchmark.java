@@ -0,0 +1,93 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.hashset.Store;
+import org.babyfish.jimmer.benchmark.hashset.StoreDraft;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deep immutable object graphs used as keys of {@link HashSet}.
+ *
+ * <p>The objects of this model have no id, so hash code and equality
+ * are computed by the whole graph. Run by the main method, the project must be
+ * published by `publishToMavenLocal` to measure the unreleased generated code.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImmutableHashSetBenchmark {
+
+    private static final int STORE_COUNT = 100;
+
+    @Param({"10", "100"})
+    private int bookCount;
+
+    private List<Store> stores;
+
+    private Set<Store> storeSet;
+
+    private Store equalStore;
+
+    private Store missingStore;
+
+    @Setup
+    public void setup() {
+        stores = new ArrayList<>(STORE_COUNT);
+        for (int i = 0; i < STORE_COUNT; i++) {
+            stores.add(createStore("https://store-" + i, bookCount));
+        }
+        storeSet = new HashSet<>(stores);
+        equalStore = createStore("https://store-" + (STORE_COUNT / 2), bookCount);
+        missingStore = createStore("https://store-" + STORE_COUNT, bookCount);
+    }
+
+    @Benchmark
+    public int buildHashSet() {
+        return new HashSet<>(stores).size();
+    }
+
+    @Benchmark
+    public boolean containsEqualObject() {
+        return storeSet.contains(equalStore);
+    }
+
+    @Benchmark
+    public boolean containsMissingObject() {
+        return storeSet.contains(missingStore);
+    }
+
+    private static Store createStore(String website, int bookCount) {
+        return StoreDraft.$.produce(store -> {
+            store.setName("STORE");
+            store.setWebsite(website);
+            for (int i = 0; i < bookCount; i++) {
+                int index = i;
+                store.addIntoBooks(book -> {
+                    book.setName("Book-" + index);
+                    book.setPrice(index + 1);
+                    book.addIntoAuthors(author -> author.setName("Author-" + index));
+                    book.addIntoAuthors(author -> author.setName("Coauthor-" + index));
+                });
+            }
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                new OptionsBuilder()
+                        .include(ImmutableHashSetBenchmark.class.getSimpleName())
+                        .build()
+        ).run();
+    }
+}
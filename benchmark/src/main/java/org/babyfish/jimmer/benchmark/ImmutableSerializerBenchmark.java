@@ -0,0 +1,161 @@
+package org.babyfish.jimmer.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerDataDraft;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.jackson.PropNameConverter;
+import org.babyfish.jimmer.jackson.meta.BeanProps;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the jackson serializer of immutable objects, which uses the
+ * serialization plan resolved once per type, with the previous serializer,
+ * which resolves the annotations and serializers of properties for each object.
+ *
+ * <p>Database is not used, only JSON serialization is measured.</p>
+ */
+@State(Scope.Benchmark)
+public class ImmutableSerializerBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int dataCount;
+
+    @Param({"PLANNED", "PER_OBJECT"})
+    private String serializer;
+
+    private ObjectMapper mapper;
+
+    private List<JimmerData> dataList;
+
+    @Setup
+    public void initialize() {
+        mapper = new ObjectMapper();
+        if (serializer.equals("PLANNED")) {
+            mapper.registerModule(new ImmutableModule());
+        } else {
+            mapper.registerModule(new SimpleModule().setSerializers(new PerObjectSerializers()));
+        }
+        dataList = new ArrayList<>(dataCount);
+        for (long id = 1; id <= dataCount; id++) {
+            long seed = id;
+            dataList.add(JimmerDataDraft.$.produce(draft -> {
+                draft.setId(seed);
+                draft.setValue1((int) seed);
+                draft.setValue2((int) seed * 2);
+                draft.setValue3((int) seed * 3);
+                draft.setValue4((int) seed * 4);
+                draft.setValue5((int) seed * 5);
+                draft.setValue6((int) seed * 6);
+                draft.setValue7((int) seed * 7);
+                draft.setValue8((int) seed * 8);
+                draft.setValue9((int) seed * 9);
+            }));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(dataList);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("\\." + ImmutableSerializerBenchmark.class.getSimpleName() + "\\.")
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .forks(1)
+                .shouldDoGC(true)
+                .result("immutable-serializer-benchmark-report.json")
+                .shouldFailOnError(true)
+                .jvmArgs("-server")
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static class PerObjectSerializers extends Serializers.Base {
+
+        @Override
+        public JsonSerializer<?> findSerializer(
+                SerializationConfig config,
+                JavaType type,
+                BeanDescription beanDesc
+        ) {
+            ImmutableType immutableType = ImmutableType.tryGet(type.getRawClass());
+            if (immutableType != null) {
+                return new PerObjectSerializer(immutableType, PropNameConverter.of(config, immutableType));
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The scalar part of the previous serializer, the benchmark data has no associations
+     */
+    private static class PerObjectSerializer extends StdSerializer<ImmutableSpi> {
+
+        private final ImmutableType immutableType;
+
+        private final PropNameConverter propNameConverter;
+
+        @SuppressWarnings("unchecked")
+        PerObjectSerializer(ImmutableType immutableType, PropNameConverter propNameConverter) {
+            super((Class<ImmutableSpi>) immutableType.getJavaClass());
+            this.immutableType = immutableType;
+            this.propNameConverter = propNameConverter;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void serialize(ImmutableSpi immutable, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (ImmutableProp prop : immutableType.getProps().values()) {
+                JsonIgnore ignore = prop.getAnnotation(JsonIgnore.class);
+                if (ignore != null && ignore.value()) {
+                    continue;
+                }
+                if (immutable.__isLoaded(prop.getId()) && immutable.__isVisible(prop.getId())) {
+                    Object value = immutable.__get(prop.getId());
+                    if (value == null) {
+                        provider.defaultSerializeField(propNameConverter.fieldName(prop), null, gen);
+                    } else {
+                        gen.writeFieldName(propNameConverter.fieldName(prop));
+                        JsonSerializer<?> serializer = provider.findTypedValueSerializer(
+                                prop.getElementClass(),
+                                true,
+                                BeanProps.get(provider.getTypeFactory(), prop)
+                        );
+                        ((JsonSerializer<Object>) serializer).serialize(value, gen, provider);
+                    }
+                }
+            }
+            gen.writeEndObject();
+        }
+    }
+}
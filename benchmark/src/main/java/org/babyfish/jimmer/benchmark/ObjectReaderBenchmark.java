@@ -0,0 +1,100 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.jimmer.JimmerBoxedData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerBoxedDataTable;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerDataTable;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Compares the materialization of wide numeric rows by primitive
+ * properties (read without boxing) and boxed properties.
+ *
+ * <p>The inserted values are out of the range of the cache of
+ * `Integer.valueOf`/`Long.valueOf`, so the boxing path really allocates.
+ * Please look at `gc.alloc.rate.norm` of the report.</p>
+ */
+@State(Scope.Benchmark)
+public class ObjectReaderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int dataCount;
+
+    private Connection con;
+
+    private JSqlClient sqlClient;
+
+    @Setup
+    public void initialize() throws SQLException, IOException {
+        con = DriverManager.getConnection("jdbc:h2:mem:object-reader-benchmark");
+        DatabaseInitializer.create(con);
+        try (PreparedStatement stmt = con.prepareStatement(
+                "insert into data(id, value_1, value_2, value_3, value_4, value_5, " +
+                        "value_6, value_7, value_8, value_9) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+        )) {
+            for (int row = 1; row <= dataCount; row++) {
+                stmt.setLong(1, 1000000L + row);
+                for (int col = 2; col <= 10; col++) {
+                    stmt.setInt(col, 1000000 + row * col);
+                }
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        sqlClient = JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .build();
+    }
+
+    @TearDown
+    public void close() throws SQLException {
+        con.close();
+    }
+
+    @Benchmark
+    public List<JimmerData> primitive() {
+        JimmerDataTable table = JimmerDataTable.$;
+        return sqlClient.createQuery(table).select(table).execute(con);
+    }
+
+    @Benchmark
+    public List<JimmerBoxedData> boxed() {
+        JimmerBoxedDataTable table = JimmerBoxedDataTable.$;
+        return sqlClient.createQuery(table).select(table).execute(con);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("\\." + ObjectReaderBenchmark.class.getSimpleName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .forks(1)
+                .shouldDoGC(true)
+                .result("object-reader-benchmark-report.json")
+                .shouldFailOnError(true)
+                .jvmArgs("-server")
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,130 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Measures the contention of the static caches used by metadata and readers,
+ * all the threads read the same small set of keys, as the readers of
+ * the same entity types are read for every row.
+ *
+ * <p>`READ_WRITE_LOCK` is the previous implementation of `StaticCache`,
+ * it is copied here as the baseline.</p>
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class StaticCacheBenchmark {
+
+    private static final int KEY_COUNT = 64;
+
+    @Param({"LOCK_FREE", "READ_WRITE_LOCK"})
+    private String implementation;
+
+    private Function<Integer, String> cache;
+
+    @Setup
+    public void initialize() {
+        Function<Integer, String> creator = key -> key % 2 == 0 ? "Value-" + key : null;
+        if (implementation.equals("LOCK_FREE")) {
+            cache = new StaticCache<>(creator)::get;
+        } else {
+            cache = new ReadWriteLockCache<>(creator)::get;
+        }
+        for (int i = 0; i < KEY_COUNT; i++) {
+            cache.apply(i);
+        }
+    }
+
+    @Benchmark
+    public String positiveHit() {
+        return cache.apply(ThreadLocalRandom.current().nextInt(KEY_COUNT / 2) * 2);
+    }
+
+    @Benchmark
+    public String negativeHit() {
+        return cache.apply(ThreadLocalRandom.current().nextInt(KEY_COUNT / 2) * 2 + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("\\." + StaticCacheBenchmark.class.getSimpleName() + "\\.")
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+    private static class ReadWriteLockCache<K, V> {
+
+        private final Function<K, V> creator;
+
+        private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
+
+        private final Map<K, V> positiveCacheMap = new HashMap<>();
+
+        // As before, `removeEldestEntry` always returns true so no negative key is kept
+        private final Map<K, Void> negativeCacheMap = new LinkedHashMap<K, Void>((128 * 4 + 2) / 3, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Void> eldest) {
+                return true;
+            }
+        };
+
+        ReadWriteLockCache(Function<K, V> creator) {
+            this.creator = creator;
+        }
+
+        V get(K key) {
+            V value;
+            Lock lock;
+            (lock = cacheLock.readLock()).lock();
+            try {
+                if (negativeCacheMap.containsKey(key)) {
+                    return null;
+                }
+                value = positiveCacheMap.get(key);
+            } finally {
+                lock.unlock();
+            }
+            if (value == null) {
+                (lock = cacheLock.writeLock()).lock();
+                try {
+                    if (negativeCacheMap.containsKey(key)) {
+                        return null;
+                    }
+                    value = positiveCacheMap.get(key);
+                    if (value == null) {
+                        value = creator.apply(key);
+                        if (value != null) {
+                            positiveCacheMap.put(key, value);
+                        } else {
+                            negativeCacheMap.put(key, null);
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return value;
+        }
+    }
+}
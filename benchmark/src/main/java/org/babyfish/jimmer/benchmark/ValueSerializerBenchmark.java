@@ -0,0 +1,87 @@
+package org.babyfish.jimmer.benchmark;
+
+import org.babyfish.jimmer.benchmark.jimmer.JimmerData;
+import org.babyfish.jimmer.benchmark.jimmer.JimmerDataDraft;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the JSON format and the binary format of the values
+ * of remote caches, such as redis.
+ *
+ * <p>Database is not used, only serialization/deserialization is measured.</p>
+ */
+@State(Scope.Benchmark)
+public class ValueSerializerBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int dataCount;
+
+    @Param({"JSON", "BINARY"})
+    private ValueSerializer.Format format;
+
+    private ValueSerializer<JimmerData> serializer;
+
+    private Map<Long, JimmerData> dataMap;
+
+    private Map<Long, byte[]> bytesMap;
+
+    @Setup
+    public void initialize() {
+        serializer = new ValueSerializer<>(ImmutableType.get(JimmerData.class), null, format);
+        dataMap = new LinkedHashMap<>();
+        for (long id = 1; id <= dataCount; id++) {
+            long seed = id;
+            dataMap.put(id, JimmerDataDraft.$.produce(draft -> {
+                draft.setId(seed);
+                draft.setValue1((int) seed);
+                draft.setValue2((int) seed * 2);
+                draft.setValue3((int) seed * 3);
+                draft.setValue4((int) seed * 4);
+                draft.setValue5((int) seed * 5);
+                draft.setValue6((int) seed * 6);
+                draft.setValue7((int) seed * 7);
+                draft.setValue8((int) seed * 8);
+                draft.setValue9((int) seed * 9);
+            }));
+        }
+        bytesMap = serializer.serialize(dataMap);
+    }
+
+    @Benchmark
+    public Map<Long, byte[]> serialize() {
+        return serializer.serialize(dataMap);
+    }
+
+    @Benchmark
+    public Map<Long, JimmerData> deserialize() {
+        return serializer.deserialize(bytesMap);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include("\\." + ValueSerializerBenchmark.class.getSimpleName() + "\\.")
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .forks(1)
+                .shouldDoGC(true)
+                .result("value-serializer-benchmark-report.json")
+                .shouldFailOnError(true)
+                .jvmArgs("-server")
+                .build();
+        new Runner(opt).run();
+    }
+}
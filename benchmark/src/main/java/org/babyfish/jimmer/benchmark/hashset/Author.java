@@ -0,0 +1,9 @@
+package org.babyfish.jimmer.benchmark.hashset;
+
+import org.babyfish.jimmer.Immutable;
+
+@Immutable
+public interface Author {
+
+    String name();
+}
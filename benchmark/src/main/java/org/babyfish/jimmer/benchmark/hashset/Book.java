@@ -0,0 +1,15 @@
+package org.babyfish.jimmer.benchmark.hashset;
+
+import org.babyfish.jimmer.Immutable;
+
+import java.util.List;
+
+@Immutable
+public interface Book {
+
+    String name();
+
+    int price();
+
+    List<Author> authors();
+}
@@ -0,0 +1,17 @@
+package org.babyfish.jimmer.benchmark.hashset;
+
+import org.babyfish.jimmer.Immutable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+@Immutable
+public interface Store {
+
+    String name();
+
+    @Nullable
+    String website();
+
+    List<Book> books();
+}
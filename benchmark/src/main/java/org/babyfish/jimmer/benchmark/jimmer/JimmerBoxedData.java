@@ -0,0 +1,45 @@
+package org.babyfish.jimmer.benchmark.jimmer;
+
+import org.babyfish.jimmer.sql.Column;
+import org.babyfish.jimmer.sql.Entity;
+import org.babyfish.jimmer.sql.Id;
+import org.babyfish.jimmer.sql.Table;
+
+/**
+ * Same table as {@link JimmerData}, but the properties are boxed,
+ * so that the values are read by the boxing path of jimmer.
+ */
+@Entity
+@Table(name = "DATA")
+public interface JimmerBoxedData {
+
+    @Id
+    long id();
+
+    @Column(name = "VALUE_1")
+    Integer value1();
+
+    @Column(name = "VALUE_2")
+    Integer value2();
+
+    @Column(name = "VALUE_3")
+    Integer value3();
+
+    @Column(name = "VALUE_4")
+    Integer value4();
+
+    @Column(name = "VALUE_5")
+    Integer value5();
+
+    @Column(name = "VALUE_6")
+    Integer value6();
+
+    @Column(name = "VALUE_7")
+    Integer value7();
+
+    @Column(name = "VALUE_8")
+    Integer value8();
+
+    @Column(name = "VALUE_9")
+    Integer value9();
+}
@@ -58,6 +58,13 @@ public class DraftImplGenerator {
         }
         addSet(PropId.class);
         addSet(String.class);
+        addPrimitiveSet(TypeName.BOOLEAN, "__setBoolean");
+        addPrimitiveSet(TypeName.BYTE, "__setByte");
+        addPrimitiveSet(TypeName.SHORT, "__setShort");
+        addPrimitiveSet(TypeName.INT, "__setInt");
+        addPrimitiveSet(TypeName.LONG, "__setLong");
+        addPrimitiveSet(TypeName.FLOAT, "__setFloat");
+        addPrimitiveSet(TypeName.DOUBLE, "__setDouble");
         addShow(PropId.class);
         addShow(String.class);
         addUnload(PropId.class);
@@ -280,7 +287,12 @@ public class DraftImplGenerator {
                         .addModifiers(Modifier.PUBLIC)
                         .addAnnotation(Override.class)
                         .returns(int.class)
-                        .addStatement("return $L.hashCode()", UNMODIFIED)
+                        .addStatement(
+                                "return $L != null ? $L.__computeHashCode() : $L.hashCode()",
+                                DRAFT_FIELD_MODIFIED,
+                                DRAFT_FIELD_MODIFIED,
+                                DRAFT_FIELD_BASE
+                        )
                         .build()
         );
         typeBuilder.addMethod(
@@ -290,7 +302,15 @@ public class DraftImplGenerator {
                         .addAnnotation(Override.class)
                         .addParameter(boolean.class, "shallow")
                         .returns(int.class)
-                        .addStatement("return $L.__hashCode(shallow)", UNMODIFIED)
+                        .beginControlFlow("if ($L != null)", DRAFT_FIELD_MODIFIED)
+                        .addComment("The modified object is still changing, its hash code cannot be cached")
+                        .addStatement(
+                                "return shallow ? $L.__computeShallowHashCode() : $L.__computeHashCode()",
+                                DRAFT_FIELD_MODIFIED,
+                                DRAFT_FIELD_MODIFIED
+                        )
+                        .endControlFlow()
+                        .addStatement("return $L.__hashCode(shallow)", DRAFT_FIELD_BASE)
                         .build()
         );
         typeBuilder.addMethod(
@@ -657,6 +677,35 @@ public class DraftImplGenerator {
         typeBuilder.addMethod(builder.build());
     }
 
+    private void addPrimitiveSet(TypeName primitiveType, String methodName) {
+        List<ImmutableProp> props = new ArrayList<>();
+        for (ImmutableProp prop : type.getPropsOrderById()) {
+            if (prop.getTypeName().equals(primitiveType) &&
+                    !prop.isJavaFormula() &&
+                    prop.getManyToManyViewBaseProp() == null) {
+                props.add(prop);
+            }
+        }
+        if (props.isEmpty()) {
+            return;
+        }
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class)
+                .addParameter(PropId.class, "prop")
+                .addParameter(primitiveType, "value");
+        CaseAppender appender = new CaseAppender(builder, type, PropId.class);
+        builder.beginControlFlow("switch (prop.asIndex())");
+        for (ImmutableProp prop : props) {
+            appender.addCase(prop);
+            builder.addStatement("$L(value);break", prop.getSetterName());
+        }
+        builder.addStatement("default: __set(prop, ($T)value)", Object.class);
+        builder.endControlFlow();
+        typeBuilder.addMethod(builder.build());
+    }
+
     private void addShow(Class<?> argType) {
         MethodSpec.Builder builder = MethodSpec
                 .methodBuilder("__show")
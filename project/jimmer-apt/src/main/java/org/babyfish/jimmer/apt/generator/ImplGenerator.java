@@ -65,6 +65,18 @@ public class ImplGenerator {
                         .addModifiers(Modifier.PRIVATE)
                         .build()
         );
+        typeBuilder.addField(
+                FieldSpec
+                        .builder(int.class, "__cachedHashCode")
+                        .addModifiers(Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build()
+        );
+        typeBuilder.addField(
+                FieldSpec
+                        .builder(int.class, "__cachedShallowHashCode")
+                        .addModifiers(Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build()
+        );
         for (ImmutableProp prop : type.getProps().values()) {
             if (prop.isValueRequired()) {
                 FieldSpec.Builder valueBuilder = FieldSpec.builder(
@@ -167,11 +179,16 @@ public class ImplGenerator {
                 .addAnnotation(Override.class)
                 .returns(type.getImplClassName());
         builder
+                .addComment("The clone may be modified by draft, so the cached hash codes are discarded")
+                .addStatement("$T __tmpClone", type.getImplClassName())
                 .beginControlFlow("try")
-                .addStatement("return ($T)super.clone()", type.getImplClassName())
+                .addStatement("__tmpClone = ($T)super.clone()", type.getImplClassName())
                 .nextControlFlow("catch($T ex)", Constants.CLONE_NOT_SUPPORTED_EXCEPTION_CLASS_NAME)
                 .addStatement("throw new AssertionError(ex)")
-                .endControlFlow();
+                .endControlFlow()
+                .addStatement("__tmpClone.__cachedHashCode = 0")
+                .addStatement("__tmpClone.__cachedShallowHashCode = 0")
+                .addStatement("return __tmpClone");
         typeBuilder.addMethod(builder.build());
     }
 
@@ -292,14 +309,28 @@ public class ImplGenerator {
     }
 
     private void addHashCode(boolean shallow) {
-        MethodSpec.Builder builder = MethodSpec
+        String cacheName = shallow ? "__cachedShallowHashCode" : "__cachedHashCode";
+        MethodSpec.Builder cachedBuilder = MethodSpec
                 .methodBuilder(shallow ? "__shallowHashCode" : "hashCode")
                 .addModifiers(shallow ? Modifier.PRIVATE : Modifier.PUBLIC)
                 .returns(int.class)
-                .addStatement("int hash = __visibility != null ? __visibility.hashCode() : 0");
+                .addStatement("int hash = $L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = $L()", shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .addStatement("$L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash");
         if (!shallow) {
-            builder.addAnnotation(Override.class);
+            cachedBuilder.addAnnotation(Override.class);
         }
+        typeBuilder.addMethod(cachedBuilder.build());
+
+        // Also used by draft whose modified object cannot cache the hash code
+        MethodSpec.Builder builder = MethodSpec
+                .methodBuilder(shallow ? "__computeShallowHashCode" : "__computeHashCode")
+                .addModifiers(Modifier.PRIVATE)
+                .returns(int.class)
+                .addStatement("int hash = __visibility != null ? __visibility.hashCode() : 0");
         for (ImmutableProp prop : type.getProps().values()) {
             if (!prop.isValueRequired()) {
                 continue;
@@ -357,10 +388,22 @@ public class ImplGenerator {
         if (!shallow) {
             builder.addAnnotation(Override.class);
         }
+        String cacheName = shallow ? "__cachedShallowHashCode" : "__cachedHashCode";
         builder
+                .beginControlFlow("if (obj == this)")
+                .addStatement("return true")
+                .endControlFlow()
                 .beginControlFlow("if (obj == null || !(obj instanceof $T))", type.getImplementorClassName())
                 .addStatement("return false")
                 .endControlFlow()
+                .beginControlFlow("if (obj instanceof $T)", type.getImplClassName())
+                .addComment("Different hash codes which have been cached means different objects")
+                .addStatement("int __hash = $L", cacheName)
+                .addStatement("int __otherHash = (($T)obj).$L", type.getImplClassName(), cacheName)
+                .beginControlFlow("if (__hash != 0 && __otherHash != 0 && __hash != __otherHash)")
+                .addStatement("return false")
+                .endControlFlow()
+                .endControlFlow()
                 .addStatement("$T __other = ($T)obj", type.getImplementorClassName(), type.getImplementorClassName());
         for (ImmutableProp prop : type.getProps().values()) {
             builder
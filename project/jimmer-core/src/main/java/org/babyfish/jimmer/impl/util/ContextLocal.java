@@ -0,0 +1,289 @@
+package org.babyfish.jimmer.impl.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Internal utility class, it should not be used by programmer directly.
+ *
+ * <p>Holds the runtime state of jimmer which is bound to the current execution,
+ * such as draft context, fetcher context and cache loading state.
+ * Unlike {@link ThreadLocal}, the value can only be bound for the execution
+ * of a block, it is always restored when the block is finished,
+ * so the state never leaks into other operations of a pooled thread.</p>
+ *
+ * <p>By default, the value is stored by {@link ThreadLocal}. If the system property
+ * {@code jimmer.context-local} is {@code scoped-value} and the JDK provides
+ * {@code java.lang.ScopedValue}, the value is stored by ScopedValue, so that
+ * virtual threads do not need thread local maps.</p>
+ *
+ * <p>In both cases, the bound values are not visible to other threads.
+ * The values of the context locals created by {@link #createInheritable()}
+ * are captured by {@link #capture()} and bound again by the tasks which
+ * jimmer executes by other threads, such as asynchronous executions,
+ * parallel fetching and cache warming.</p>
+ *
+ * @param <T> Value type
+ */
+public abstract class ContextLocal<T> {
+
+    public static final String PROVIDER_PROPERTY = "jimmer.context-local";
+
+    private static final boolean SCOPED_VALUE_ENABLED =
+            "scoped-value".equals(System.getProperty(PROVIDER_PROPERTY)) &&
+                    ScopedValueLocal.SUPPORTED;
+
+    private static final List<ContextLocal<?>> INHERITABLE_LOCALS = new CopyOnWriteArrayList<>();
+
+    ContextLocal() {}
+
+    public static <T> ContextLocal<T> create() {
+        if (SCOPED_VALUE_ENABLED) {
+            return new ScopedValueLocal<>();
+        }
+        return new ThreadLocalImpl<>();
+    }
+
+    /**
+     * Create a context local whose value is captured by {@link #capture()},
+     * so that it can be bound again by the tasks which are executed by other threads.
+     */
+    public static <T> ContextLocal<T> createInheritable() {
+        ContextLocal<T> local = create();
+        INHERITABLE_LOCALS.add(local);
+        return local;
+    }
+
+    /**
+     * Capture the values of inheritable context locals bound by the current execution,
+     * it must be called by the thread which submits the task.
+     */
+    public static Snapshot capture() {
+        List<ContextLocal<?>> locals = null;
+        List<Object> values = null;
+        for (ContextLocal<?> local : INHERITABLE_LOCALS) {
+            Object value = local.get();
+            if (value != null) {
+                if (locals == null) {
+                    locals = new ArrayList<>();
+                    values = new ArrayList<>();
+                }
+                locals.add(local);
+                values.add(value);
+            }
+        }
+        if (locals == null) {
+            return Snapshot.EMPTY;
+        }
+        return new Snapshot(
+                locals.toArray(new ContextLocal<?>[0]),
+                values.toArray()
+        );
+    }
+
+    /**
+     * Get the value bound by the current execution
+     * @return The bound value or null
+     */
+    public abstract T get();
+
+    /**
+     * Bind the value for the execution of the block,
+     * the previous value is restored after the block is finished.
+     *
+     * @param value The bound value, null means unbind
+     * @param block The executed block
+     * @return The result of block
+     * @param <R> Result type
+     * @param <X> Exception type of block
+     * @throws X The exception thrown by block
+     */
+    public abstract <R, X extends Throwable> R call(T value, Block<R, X> block) throws X;
+
+    public final void run(T value, Runnable block) {
+        this.<Void, RuntimeException>call(value, () -> {
+            block.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface Block<R, X extends Throwable> {
+        R execute() throws X;
+    }
+
+    /**
+     * The values of inheritable context locals captured by {@link #capture()}
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new ContextLocal<?>[0], new Object[0]);
+
+        private final ContextLocal<?>[] locals;
+
+        private final Object[] values;
+
+        private Snapshot(ContextLocal<?>[] locals, Object[] values) {
+            this.locals = locals;
+            this.values = values;
+        }
+
+        /**
+         * Bind the captured values for the execution of the block,
+         * it is called by the thread which executes the task.
+         */
+        public <R, X extends Throwable> R call(Block<R, X> block) throws X {
+            return call(0, block);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R, X extends Throwable> R call(int index, Block<R, X> block) throws X {
+            if (index == locals.length) {
+                return block.execute();
+            }
+            return ((ContextLocal<Object>) locals[index]).call(values[index], () -> call(index + 1, block));
+        }
+    }
+
+    private static class ThreadLocalImpl<T> extends ContextLocal<T> {
+
+        private final ThreadLocal<T> local = new ThreadLocal<>();
+
+        @Override
+        public T get() {
+            return local.get();
+        }
+
+        @Override
+        public <R, X extends Throwable> R call(T value, Block<R, X> block) throws X {
+            T oldValue = local.get();
+            set(value);
+            try {
+                return block.execute();
+            } finally {
+                set(oldValue);
+            }
+        }
+
+        private void set(T value) {
+            if (value != null) {
+                local.set(value);
+            } else {
+                local.remove();
+            }
+        }
+    }
+
+    /**
+     * ScopedValue is accessed by method handles because
+     * this project is compiled by JDK 8.
+     */
+    private static class ScopedValueLocal<T> extends ContextLocal<T> {
+
+        private static final boolean SUPPORTED;
+
+        private static final MethodHandle NEW_INSTANCE;
+
+        private static final MethodHandle WHERE;
+
+        private static final MethodHandle RUN;
+
+        private static final MethodHandle IS_BOUND;
+
+        private static final MethodHandle GET;
+
+        static {
+            MethodHandle newInstance = null;
+            MethodHandle where = null;
+            MethodHandle run = null;
+            MethodHandle isBound = null;
+            MethodHandle get = null;
+            try {
+                Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                newInstance = lookup.findStatic(
+                        scopedValueClass,
+                        "newInstance",
+                        MethodType.methodType(scopedValueClass)
+                );
+                where = lookup.findStatic(
+                        scopedValueClass,
+                        "where",
+                        MethodType.methodType(carrierClass, scopedValueClass, Object.class)
+                );
+                run = lookup.findVirtual(
+                        carrierClass,
+                        "run",
+                        MethodType.methodType(void.class, Runnable.class)
+                );
+                isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class));
+                get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class));
+                // Preview API of old JDK cannot be used without `--enable-preview`
+                newInstance.invoke();
+            } catch (Throwable ex) {
+                newInstance = null;
+            }
+            SUPPORTED = newInstance != null;
+            NEW_INSTANCE = newInstance;
+            WHERE = where;
+            RUN = run;
+            IS_BOUND = isBound;
+            GET = get;
+        }
+
+        private final Object scopedValue;
+
+        ScopedValueLocal() {
+            try {
+                scopedValue = NEW_INSTANCE.invoke();
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot create scoped value", ex);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            try {
+                if (!(boolean) IS_BOUND.invoke(scopedValue)) {
+                    return null;
+                }
+                return (T) GET.invoke(scopedValue);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot read scoped value", ex);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <R, X extends Throwable> R call(T value, Block<R, X> block) throws X {
+            Object[] resultRef = new Object[1];
+            Throwable[] exRef = new Throwable[1];
+            Runnable runnable = () -> {
+                try {
+                    resultRef[0] = block.execute();
+                } catch (Throwable ex) {
+                    exRef[0] = ex;
+                }
+            };
+            try {
+                RUN.invoke(WHERE.invoke(scopedValue, value), runnable);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new AssertionError("Internal bug: cannot bind scoped value", ex);
+            }
+            if (exRef[0] != null) {
+                throw (X) exRef[0];
+            }
+            return (R) resultRef[0];
+        }
+    }
+}
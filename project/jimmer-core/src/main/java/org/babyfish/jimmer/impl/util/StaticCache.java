@@ -1,90 +1,106 @@
 package org.babyfish.jimmer.impl.util;
 
-import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 /**
  * Internal until class, it should not be used by programmer directly.
  *
+ * <p>Reading is lock-free, it is called for every row and every query.
+ * Creation is serialized by a reentrant lock so that the creator is called
+ * only once for each key and can call this cache recursively for other keys.
+ * Null values are cached by a bounded negative cache, the oldest negative
+ * keys are discarded first.</p>
+ *
  * @param <K> Key Type
  * @param <V> Value Type
  */
 public class StaticCache<K, V> {
 
+    public static final int DEFAULT_NEGATIVE_CACHE_CAPACITY = 128;
+
+    private static final Object NULL_KEY = new Object();
+
     private final Function<K, V> creator;
 
-    private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-    
-    private final Map<K, V> positiveCacheMap = new HashMap<>();
+    private final Lock creationLock = new ReentrantLock();
+
+    private final Map<Object, V> positiveCacheMap = new ConcurrentHashMap<>();
 
-    private Map<K, Void> negativeCacheMap;
+    private final Map<Object, Boolean> negativeCacheMap;
+
+    // Modified only by creation lock
+    private final Deque<Object> negativeKeys;
+
+    private final int negativeCacheCapacity;
 
     public StaticCache(Function<K, V> creator) {
         this(creator, true);
     }
 
     public StaticCache(Function<K, V> creator, boolean nullable) {
+        this(creator, nullable ? DEFAULT_NEGATIVE_CACHE_CAPACITY : 0);
+    }
+
+    /**
+     * @param negativeCacheCapacity The max count of cached keys whose values are null,
+     *                              0 means null values are not accepted.
+     */
+    public StaticCache(Function<K, V> creator, int negativeCacheCapacity) {
+        if (negativeCacheCapacity < 0) {
+            throw new IllegalArgumentException("negativeCacheCapacity cannot be negative");
+        }
         this.creator = creator;
-        if (nullable) {
-             negativeCacheMap = new LRUMap<>();
+        this.negativeCacheCapacity = negativeCacheCapacity;
+        if (negativeCacheCapacity != 0) {
+            negativeCacheMap = new ConcurrentHashMap<>();
+            negativeKeys = new ArrayDeque<>();
+        } else {
+            negativeCacheMap = null;
+            negativeKeys = null;
         }
     }
-    
-    public V get(K key) {
 
-        V value;
-        Lock lock;
-
-        (lock = cacheLock.readLock()).lock();
+    public V get(K key) {
+        Object mapKey = key != null ? key : NULL_KEY;
+        V value = positiveCacheMap.get(mapKey);
+        if (value != null) {
+            return value;
+        }
+        if (negativeCacheMap != null && negativeCacheMap.containsKey(mapKey)) {
+            return null;
+        }
+        creationLock.lock();
         try {
-            if (negativeCacheMap != null && negativeCacheMap.containsKey(key)) {
+            value = positiveCacheMap.get(mapKey);
+            if (value != null) {
+                return value;
+            }
+            if (negativeCacheMap != null && negativeCacheMap.containsKey(mapKey)) {
                 return null;
             }
-            value = positiveCacheMap.get(key);
-        } finally {
-            lock.unlock();
-        }
-
-        if (value == null) {
-            (lock = cacheLock.writeLock()).lock();
-            try {
-                if (negativeCacheMap != null && negativeCacheMap.containsKey(key)) {
-                    return null;
-                }
-                value = positiveCacheMap.get(key);
-                if (value == null) {
-                    value = creator.apply(key);
-                    if (value != null) {
-                        positiveCacheMap.put(key, value);
-                    } else if (negativeCacheMap != null) {
-                        negativeCacheMap.put(key, null);
-                    } else {
-                        throw new IllegalStateException(
-                                "The creator cannot return null because current static cache does not accept null values"
-                        );
-                    }
+            value = creator.apply(key);
+            if (value != null) {
+                positiveCacheMap.put(mapKey, value);
+            } else if (negativeCacheMap != null) {
+                if (negativeKeys.size() >= negativeCacheCapacity) {
+                    negativeCacheMap.remove(negativeKeys.removeFirst());
                 }
-            } finally {
-                lock.unlock();
+                negativeKeys.addLast(mapKey);
+                negativeCacheMap.put(mapKey, Boolean.TRUE);
+            } else {
+                throw new IllegalStateException(
+                        "The creator cannot return null because current static cache does not accept null values"
+                );
             }
+        } finally {
+            creationLock.unlock();
         }
         return value;
     }
-
-    private static class LRUMap<K, V> extends LinkedHashMap<K, V> {
-
-        LRUMap() {
-            super((128 * 4 + 2) / 3, .75F, true);
-        }
-
-        @Override
-        protected boolean removeEldestEntry(Map.Entry eldest) {
-            return true;
-        }
-    }
 }
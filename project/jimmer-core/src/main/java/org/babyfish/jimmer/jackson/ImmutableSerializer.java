@@ -3,9 +3,14 @@ package org.babyfish.jimmer.jackson;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
 import com.fasterxml.jackson.databind.ser.std.DateSerializer;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
@@ -15,17 +20,23 @@ import com.fasterxml.jackson.datatype.jsr310.ser.ZonedDateTimeSerializer;
 import org.babyfish.jimmer.jackson.meta.BeanProps;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
-public class ImmutableSerializer extends StdSerializer<ImmutableSpi> {
+public class ImmutableSerializer extends StdSerializer<ImmutableSpi> implements ResolvableSerializer {
 
     private final ImmutableType immutableType;
 
     private final PropNameConverter propNameConverter;
 
+    // Resolved once by jackson, ignored properties are excluded
+    private volatile PropPlan[] plans;
+
     @SuppressWarnings("unchecked")
     public ImmutableSerializer(ImmutableType immutableType, PropNameConverter propNameConverter) {
         super((Class<ImmutableSpi>)immutableType.getJavaClass());
@@ -33,6 +44,13 @@ public class ImmutableSerializer extends StdSerializer<ImmutableSpi> {
         this.propNameConverter = propNameConverter;
     }
 
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (plans == null) {
+            plans = createPlans(provider);
+        }
+    }
+
     @Override
     public void serialize(
             ImmutableSpi value,
@@ -56,69 +74,108 @@ public class ImmutableSerializer extends StdSerializer<ImmutableSpi> {
         gen.writeEndObject();
     }
 
-    @SuppressWarnings("unchecked")
     private void serializeFields(ImmutableSpi immutable, JsonGenerator gen, SerializerProvider provider) throws IOException {
-        for (ImmutableProp prop : immutableType.getProps().values()) {
-            JsonIgnore ignore = prop.getAnnotation(JsonIgnore.class);
-            if (ignore != null && ignore.value()) {
+        PropPlan[] plans = this.plans;
+        if (plans == null) {
+            // This serializer is not created by jackson
+            this.plans = plans = createPlans(provider);
+        }
+        for (PropPlan plan : plans) {
+            PropId propId = plan.propId;
+            if (!immutable.__isLoaded(propId) || !immutable.__isVisible(propId)) {
                 continue;
             }
-            if (immutable.__isLoaded(prop.getId()) && immutable.__isVisible(prop.getId())) {
-                Object value = immutable.__get(prop.getId());
-                if (value != null && prop.getConverter() != null) {
-                    value = ((Converter<Object>)prop.getConverter()).output(value);
+            Object value = immutable.__get(propId);
+            if (value != null && plan.converter != null) {
+                value = plan.converter.output(value);
+            }
+            gen.writeFieldName(plan.fieldName);
+            if (value == null) {
+                provider.defaultSerializeNull(gen);
+            } else if (plan.serializer != null) {
+                plan.serializer.serialize(value, gen, provider);
+            } else {
+                TypeSerializer typeSer = null;
+                if (!plan.referenceList &&
+                        value instanceof ImmutableSpi &&
+                        ((ImmutableSpi)value).__type() != immutableType) {
+                    typeSer = provider.findTypeSerializer(plan.jacksonType);
                 }
-                if (value == null) {
-                    provider.defaultSerializeField(propNameConverter.fieldName(prop), null, gen);
-                } else if (prop.isAssociation(TargetLevel.OBJECT) || prop.isScalarList()) {
-                    TypeSerializer typeSer = null;
-                    gen.writeFieldName(propNameConverter.fieldName(prop));
-                    if (!prop.isReferenceList(TargetLevel.OBJECT) &&
-                            value instanceof ImmutableSpi &&
-                            ((ImmutableSpi)value).__type() != immutableType) {
-                        typeSer = provider.findTypeSerializer(PropUtils.getJacksonType(prop));
-                    }
-                    if (typeSer != null) {
-                        provider.findValueSerializer(value.getClass()).serializeWithType(value, gen, provider, typeSer);
-                    } else {
-                        provider.findValueSerializer(PropUtils.getJacksonType(prop)).serialize(value, gen, provider);
-                    }
+                if (typeSer != null) {
+                    provider.findValueSerializer(value.getClass()).serializeWithType(value, gen, provider, typeSer);
                 } else {
-                    gen.writeFieldName(propNameConverter.fieldName(prop));
-                    JsonSerializer<?> serializer = provider.findTypedValueSerializer(
-                            prop.getElementClass(),
-                            true,
-                            BeanProps.get(provider.getTypeFactory(), prop)
-                    );
-                    if (serializer instanceof DateSerializer) {
-                        serializer = ((DateSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof LocalDateSerializer) {
-                        serializer = ((LocalDateSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof LocalDateTimeSerializer) {
-                        serializer = ((LocalDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof OffsetDateTimeSerializer) {
-                        serializer = ((OffsetDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    } else if (serializer instanceof ZonedDateTimeSerializer) {
-                        serializer = ((ZonedDateTimeSerializer) serializer).createContextual(
-                                provider,
-                                BeanProps.get(provider.getTypeFactory(), prop)
-                        );
-                    }
-                    ((JsonSerializer<Object>) serializer).serialize(value, gen, provider);
+                    provider.findValueSerializer(plan.jacksonType).serialize(value, gen, provider);
                 }
             }
         }
     }
+
+    private PropPlan[] createPlans(SerializerProvider provider) throws JsonMappingException {
+        List<PropPlan> plans = new ArrayList<>(immutableType.getProps().size());
+        for (ImmutableProp prop : immutableType.getProps().values()) {
+            JsonIgnore ignore = prop.getAnnotation(JsonIgnore.class);
+            if (ignore != null && ignore.value()) {
+                continue;
+            }
+            plans.add(new PropPlan(prop, propNameConverter.fieldName(prop), scalarSerializer(prop, provider)));
+        }
+        return plans.toArray(new PropPlan[0]);
+    }
+
+    /**
+     * Associations and scalar lists are resolved for each value
+     * because they may be polymorphic or recursive
+     */
+    @SuppressWarnings("unchecked")
+    private static JsonSerializer<Object> scalarSerializer(
+            ImmutableProp prop,
+            SerializerProvider provider
+    ) throws JsonMappingException {
+        if (prop.isAssociation(TargetLevel.OBJECT) || prop.isScalarList()) {
+            return null;
+        }
+        BeanProperty beanProp = BeanProps.get(provider.getTypeFactory(), prop);
+        JsonSerializer<?> serializer = provider.findTypedValueSerializer(
+                prop.getElementClass(),
+                true,
+                beanProp
+        );
+        if (serializer instanceof DateSerializer) {
+            serializer = ((DateSerializer) serializer).createContextual(provider, beanProp);
+        } else if (serializer instanceof LocalDateSerializer) {
+            serializer = ((LocalDateSerializer) serializer).createContextual(provider, beanProp);
+        } else if (serializer instanceof LocalDateTimeSerializer) {
+            serializer = ((LocalDateTimeSerializer) serializer).createContextual(provider, beanProp);
+        } else if (serializer instanceof OffsetDateTimeSerializer) {
+            serializer = ((OffsetDateTimeSerializer) serializer).createContextual(provider, beanProp);
+        } else if (serializer instanceof ZonedDateTimeSerializer) {
+            serializer = ((ZonedDateTimeSerializer) serializer).createContextual(provider, beanProp);
+        }
+        return (JsonSerializer<Object>) serializer;
+    }
+
+    private static class PropPlan {
+
+        final PropId propId;
+
+        final SerializedString fieldName;
+
+        final Converter<Object> converter;
+
+        final boolean referenceList;
+
+        final JavaType jacksonType;
+
+        final JsonSerializer<Object> serializer;
+
+        @SuppressWarnings("unchecked")
+        PropPlan(ImmutableProp prop, String fieldName, JsonSerializer<Object> serializer) {
+            this.propId = prop.getId();
+            this.fieldName = new SerializedString(fieldName);
+            this.converter = (Converter<Object>) prop.getConverter();
+            this.referenceList = prop.isReferenceList(TargetLevel.OBJECT);
+            this.jacksonType = PropUtils.getJacksonType(prop);
+            this.serializer = serializer;
+        }
+    }
 }
@@ -13,6 +13,41 @@ public interface DraftSpi extends Draft, ImmutableSpi {
 
     void __set(String prop, Object value);
 
+    /*
+     * Primitive setters, they are used by the ORM to materialize
+     * rows without boxing. Generated draft implementations override
+     * them for the primitive properties of the type, the defaults
+     * simply fall back to the boxing version.
+     */
+
+    default void __setBoolean(PropId prop, boolean value) {
+        __set(prop, value);
+    }
+
+    default void __setByte(PropId prop, byte value) {
+        __set(prop, value);
+    }
+
+    default void __setShort(PropId prop, short value) {
+        __set(prop, value);
+    }
+
+    default void __setInt(PropId prop, int value) {
+        __set(prop, value);
+    }
+
+    default void __setLong(PropId prop, long value) {
+        __set(prop, value);
+    }
+
+    default void __setFloat(PropId prop, float value) {
+        __set(prop, value);
+    }
+
+    default void __setDouble(PropId prop, double value) {
+        __set(prop, value);
+    }
+
     void __show(PropId prop, boolean show);
 
     void __show(String prop, boolean show);
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.runtime;
 import org.babyfish.jimmer.Draft;
 import org.babyfish.jimmer.DraftConsumer;
 import org.babyfish.jimmer.DraftConsumerUncheckedException;
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.meta.ImmutableType;
 
 import java.sql.SQLException;
@@ -13,8 +14,8 @@ import java.util.function.Function;
 
 public class Internal {
 
-    private static final ThreadLocal<DraftContext> DRAFT_CONTEXT_LOCAL =
-            new ThreadLocal<>();
+    private static final ContextLocal<DraftContext> DRAFT_CONTEXT_LOCAL =
+            ContextLocal.create();
 
     private Internal() {}
 
@@ -86,15 +87,12 @@ public class Internal {
         if (ctx != null) {
             return block.apply(ctx, false);
         }
-        ctx = new DraftContext(null);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
-            T result = block.apply(ctx, true);
-            ctx.dispose();
+        DraftContext newCtx = new DraftContext(null);
+        return DRAFT_CONTEXT_LOCAL.call(newCtx, () -> {
+            T result = block.apply(newCtx, true);
+            newCtx.dispose();
             return result;
-        } finally {
-            DRAFT_CONTEXT_LOCAL.remove();
-        }
+        });
     }
 
     public static <T> T usingSqlDraftContext(
@@ -104,15 +102,12 @@ public class Internal {
         if (ctx != null) {
             return block.execute(ctx, false);
         }
-        ctx = new DraftContext(null);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
-            T result = block.execute(ctx, true);
-            ctx.dispose();
+        DraftContext newCtx = new DraftContext(null);
+        return DRAFT_CONTEXT_LOCAL.call(newCtx, () -> {
+            T result = block.execute(newCtx, true);
+            newCtx.dispose();
             return result;
-        } finally {
-            DRAFT_CONTEXT_LOCAL.remove();
-        }
+        });
     }
 
     public static <T> T requiresNewDraftContext(
@@ -120,16 +115,7 @@ public class Internal {
     ) {
         DraftContext oldCtx = DRAFT_CONTEXT_LOCAL.get();
         DraftContext ctx = new DraftContext(oldCtx);
-        DRAFT_CONTEXT_LOCAL.set(ctx);
-        try {
-            return block.apply(ctx);
-        } finally {
-            if (oldCtx != null) {
-                DRAFT_CONTEXT_LOCAL.set(oldCtx);
-            } else {
-                DRAFT_CONTEXT_LOCAL.remove();
-            }
-        }
+        return DRAFT_CONTEXT_LOCAL.call(ctx, () -> block.apply(ctx));
     }
 
     public static Draft createDraft(
@@ -1,8 +1,11 @@
 package org.babyfish.jimmer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.model.Book;
 import org.babyfish.jimmer.model.BookDraft;
+import org.babyfish.jimmer.runtime.DraftSpi;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +51,46 @@ public class BookTest {
                 book3.toString()
         );
     }
+
+    @Test
+    public void testPrimitiveSetter() {
+        ImmutableType type = ImmutableType.get(Book.class);
+        PropId nameId = type.getProp("name").getId();
+        PropId priceId = type.getProp("price").getId();
+        Book book = BookDraft.$.produce(b -> {
+            DraftSpi spi = (DraftSpi) b;
+            spi.__set(nameId, "book");
+            spi.__setInt(priceId, 30);
+        });
+        Assertions.assertEquals(
+                "{\"name\":\"book\",\"price\":30}",
+                book.toString()
+        );
+    }
+
+    @Test
+    public void testCachedHashCode() {
+        Book book = BookDraft.$.produce(b -> {
+            b.setName("book");
+            b.setPrice(30);
+            b.addIntoAuthors(a -> a.setName("Jim"));
+        });
+        int hash = book.hashCode();
+        Assertions.assertEquals(hash, book.hashCode());
+
+        // The draft clones the object whose hash code is cached
+        Book book2 = BookDraft.$.produce(book, b -> {
+            b.setName("book2");
+            Assertions.assertNotEquals(hash, b.hashCode());
+        });
+        Book book3 = BookDraft.$.produce(b -> {
+            b.setName("book2");
+            b.setPrice(30);
+            b.addIntoAuthors(a -> a.setName("Jim"));
+        });
+        Assertions.assertNotEquals(book, book2);
+        Assertions.assertEquals(book3.hashCode(), book2.hashCode());
+        Assertions.assertEquals(book3, book2);
+        Assertions.assertEquals(book2, book2);
+    }
 }
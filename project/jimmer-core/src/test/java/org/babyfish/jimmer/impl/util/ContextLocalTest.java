@@ -0,0 +1,66 @@
+package org.babyfish.jimmer.impl.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+public class ContextLocalTest {
+
+    @Test
+    public void testNested() {
+        ContextLocal<String> local = ContextLocal.create();
+        Assertions.assertNull(local.get());
+        String result = local.call("outer", () -> {
+            Assertions.assertEquals("outer", local.get());
+            local.run("inner", () -> Assertions.assertEquals("inner", local.get()));
+            Assertions.assertEquals("outer", local.get());
+            local.run(null, () -> Assertions.assertNull(local.get()));
+            return local.get();
+        });
+        Assertions.assertEquals("outer", result);
+        Assertions.assertNull(local.get());
+    }
+
+    @Test
+    public void testException() {
+        ContextLocal<String> local = ContextLocal.create();
+        IOException ex = Assertions.assertThrows(IOException.class, () ->
+                local.call("value", () -> {
+                    throw new IOException("Failed");
+                })
+        );
+        Assertions.assertEquals("Failed", ex.getMessage());
+        Assertions.assertNull(local.get());
+    }
+
+    @Test
+    public void testOtherThread() {
+        ContextLocal<String> local = ContextLocal.create();
+        String otherValue = local.call(
+                "value",
+                () -> CompletableFuture.supplyAsync(local::get).join()
+        );
+        Assertions.assertNull(otherValue);
+    }
+
+    @Test
+    public void testCapture() {
+        ContextLocal<String> local = ContextLocal.create();
+        ContextLocal<String> inheritableLocal = ContextLocal.createInheritable();
+        ContextLocal.Snapshot snapshot = local.call(
+                "value",
+                () -> inheritableLocal.call("inheritableValue", ContextLocal::capture)
+        );
+        String otherValues = CompletableFuture.supplyAsync(() ->
+                snapshot.call(() -> local.get() + ", " + inheritableLocal.get())
+        ).join();
+        Assertions.assertEquals("null, inheritableValue", otherValues);
+        Assertions.assertNull(inheritableLocal.get());
+        Assertions.assertEquals(
+                "null",
+                ContextLocal.capture().call(() -> String.valueOf(inheritableLocal.get()))
+        );
+    }
+}
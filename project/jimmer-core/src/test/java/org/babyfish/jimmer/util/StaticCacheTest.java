@@ -0,0 +1,64 @@
+package org.babyfish.jimmer.util;
+
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StaticCacheTest {
+
+    @Test
+    public void testPositive() {
+        List<Integer> createdKeys = new ArrayList<>();
+        StaticCache<Integer, String> cache = new StaticCache<>(key -> {
+            createdKeys.add(key);
+            return "V" + key;
+        });
+        Assertions.assertEquals("V1", cache.get(1));
+        Assertions.assertEquals("V2", cache.get(2));
+        Assertions.assertEquals("V1", cache.get(1));
+        Assertions.assertEquals("[1, 2]", createdKeys.toString());
+    }
+
+    @Test
+    public void testNegative() {
+        List<Integer> createdKeys = new ArrayList<>();
+        StaticCache<Integer, String> cache = new StaticCache<>(key -> {
+            createdKeys.add(key);
+            return null;
+        }, 2);
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertEquals("[1, 2]", createdKeys.toString());
+
+        // The oldest negative key is discarded
+        Assertions.assertNull(cache.get(3));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertEquals("[1, 2, 3, 1]", createdKeys.toString());
+    }
+
+    @Test
+    public void testNonNullable() {
+        StaticCache<Integer, String> cache = new StaticCache<>(key -> null, false);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get(1));
+    }
+
+    @Test
+    public void testRecursiveCreation() {
+        StaticCache<Integer, Integer>[] cacheRef = new StaticCache[1];
+        cacheRef[0] = new StaticCache<>(key -> key == 0 ? 1 : cacheRef[0].get(key - 1) * key);
+        Assertions.assertEquals(120, cacheRef[0].get(5));
+        Assertions.assertEquals(6, cacheRef[0].get(3));
+    }
+
+    @Test
+    public void testNullKey() {
+        StaticCache<String, String> cache = new StaticCache<>(key -> "V" + key);
+        Assertions.assertEquals("Vnull", cache.get(null));
+    }
+}
@@ -128,7 +128,7 @@ class DraftImplGenerator(
                 .builder("hashCode")
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.hashCode()", UNMODIFIED)
+                .addStatement("return __modified?.__computeHashCode() ?: __base!!.hashCode()")
                 .build()
         )
         addFunction(
@@ -137,7 +137,14 @@ class DraftImplGenerator(
                 .addParameter("shallow", BOOLEAN)
                 .returns(INT)
                 .addModifiers(KModifier.OVERRIDE)
-                .addStatement("return %L.__hashCode(shallow)", UNMODIFIED)
+                .addStatement("val __tmpModified = __modified")
+                .beginControlFlow("if (__tmpModified !== null)")
+                .addComment("The modified object is still changing, its hash code cannot be cached")
+                .addStatement(
+                    "return if (shallow) __tmpModified.__computeShallowHashCode() else __tmpModified.__computeHashCode()"
+                )
+                .endControlFlow()
+                .addStatement("return __base!!.__hashCode(shallow)")
                 .build()
         )
     }
@@ -35,6 +35,17 @@ class ImplGenerator(
                             .initializer("null")
                             .build()
                     )
+                    for (name in arrayOf("__cachedHashCode", "__cachedShallowHashCode")) {
+                        addProperty(
+                            PropertySpec
+                                .builder(name, INT)
+                                .addModifiers(KModifier.PRIVATE)
+                                .addAnnotation(kotlin.jvm.Transient::class)
+                                .mutable()
+                                .initializer("0")
+                                .build()
+                        )
+                    }
                     for (prop in type.properties.values) {
                         addFields(prop)
                     }
@@ -207,7 +218,11 @@ class ImplGenerator(
                 .builder("clone")
                 .addModifiers(KModifier.OVERRIDE)
                 .returns(type.draftClassName(PRODUCER, IMPL))
-                .addStatement("return super.clone() as %T", type.draftClassName(PRODUCER, IMPL))
+                .addStatement("val __tmpClone = super.clone() as %T", type.draftClassName(PRODUCER, IMPL))
+                .addComment("The clone may be modified by draft, so the cached hash codes are discarded")
+                .addStatement("__tmpClone.__cachedHashCode = 0")
+                .addStatement("__tmpClone.__cachedShallowHashCode = 0")
+                .addStatement("return __tmpClone")
                 .build()
         )
     }
@@ -337,6 +352,8 @@ class ImplGenerator(
     }
 
     private fun TypeSpec.Builder.addHashCodeFun(shallow: Boolean) {
+        val cacheName = if (shallow) "__cachedShallowHashCode" else "__cachedHashCode"
+        val computeName = if (shallow) "__computeShallowHashCode" else "__computeHashCode"
         addFunction(
             FunSpec
                 .builder(if (shallow) "__shallowHashCode" else "hashCode")
@@ -346,6 +363,20 @@ class ImplGenerator(
                     }
                 }
                 .returns(INT)
+                .addStatement("var hash = %L", cacheName)
+                .beginControlFlow("if (hash == 0)")
+                .addStatement("hash = %L()", computeName)
+                .addStatement("%L = hash", cacheName)
+                .endControlFlow()
+                .addStatement("return hash")
+                .build()
+        )
+        // Also used by draft whose modified object cannot cache the hash code
+        addFunction(
+            FunSpec
+                .builder(computeName)
+                .addModifiers(KModifier.INTERNAL)
+                .returns(INT)
                 .addCode(
                     CodeBlock
                         .builder()
@@ -410,10 +441,22 @@ class ImplGenerator(
                     CodeBlock
                         .builder()
                         .apply {
+                            beginControlFlow("if (this === other)")
+                            addStatement("return true")
+                            endControlFlow()
                             addStatement("val __other = other as? %T", type.draftClassName(PRODUCER, IMPLEMENTOR))
                             beginControlFlow("if (__other === null)")
                             addStatement("return false")
                             endControlFlow()
+                            val cacheName = if (shallow) "__cachedShallowHashCode" else "__cachedHashCode"
+                            beginControlFlow("if (__other is %T)", type.draftClassName(PRODUCER, IMPL))
+                            addComment("Different hash codes which have been cached means different objects")
+                            addStatement("val __hash = %L", cacheName)
+                            addStatement("val __otherHash = __other.%L", cacheName)
+                            beginControlFlow("if (__hash != 0 && __otherHash != 0 && __hash != __otherHash)")
+                            addStatement("return false")
+                            endControlFlow()
+                            endControlFlow()
                             for (prop in type.properties.values) {
                                 beginControlFlow(
                                     "if (__isVisible(%T.byIndex(%L)) != __other.__isVisible(%T.byIndex(%L)))",
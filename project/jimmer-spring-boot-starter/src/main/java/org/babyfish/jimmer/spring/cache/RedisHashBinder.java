@@ -3,6 +3,7 @@ package org.babyfish.jimmer.spring.cache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,50 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
         this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
     }
 
+    public RedisHashBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, type, null, duration, 30, format);
+        this.operations = operations;
+    }
+
+    public RedisHashBinder(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, type, null, duration, 30, format);
+        this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
+    }
+
+    public RedisHashBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, null, prop, duration, 30, format);
+        this.operations = operations;
+    }
+
+    public RedisHashBinder(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, null, prop, duration, 30, format);
+        this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected List<byte[]> read(Collection<String> keys, String hashKey) {
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.spring.cache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +62,50 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
     }
 
+    public RedisValueBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper,type, null, duration, 30, format);
+        this.operations = operations;
+    }
+
+    public RedisValueBinder(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper,type, null, duration, 30, format);
+        this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
+    }
+
+    public RedisValueBinder(
+            RedisOperations<String, byte[]> operations,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper,null, prop, duration, 30, format);
+        this.operations = operations;
+    }
+
+    public RedisValueBinder(
+            RedisConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            ImmutableProp prop,
+            Duration duration,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper,null, prop, duration, 30, format);
+        this.operations = RedisCaches.cacheRedisTemplate(connectionFactory);
+    }
+
     @Override
     protected List<byte[]> read(Collection<String> keys) {
         return operations.opsForValue().multiGet(keys);
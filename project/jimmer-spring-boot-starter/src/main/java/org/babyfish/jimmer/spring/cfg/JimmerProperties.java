@@ -147,6 +147,7 @@ public class JimmerProperties {
                             databaseValidationMode != null ?
                                     databaseValidationMode :
                                     DatabaseValidationMode.NONE,
+                            null,
                             null
                     );
         }
@@ -349,9 +350,24 @@ public class JimmerProperties {
         @Nullable
         private final String catalog;
 
-        public DatabaseValidation(@Nullable DatabaseValidationMode mode, @Nullable String catalog) {
+        private final int parallelism;
+
+        public DatabaseValidation(
+                @Nullable DatabaseValidationMode mode,
+                @Nullable String catalog
+        ) {
+            this(mode, catalog, null);
+        }
+
+        @ConstructorBinding
+        public DatabaseValidation(
+                @Nullable DatabaseValidationMode mode,
+                @Nullable String catalog,
+                @Nullable Integer parallelism
+        ) {
             this.mode = mode != null ? mode : DatabaseValidationMode.NONE;
             this.catalog = catalog != null && !catalog.isEmpty() ? catalog : null;
+            this.parallelism = parallelism != null ? parallelism : 0;
         }
 
         @NotNull
@@ -364,11 +380,19 @@ public class JimmerProperties {
             return catalog;
         }
 
+        /**
+         * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setDatabaseValidationParallelism(int)
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
         @Override
         public String toString() {
             return "Validation{" +
                     "mode=" + mode +
                     ", catalog='" + catalog + '\'' +
+                    ", parallelism=" + parallelism +
                     '}';
         }
     }
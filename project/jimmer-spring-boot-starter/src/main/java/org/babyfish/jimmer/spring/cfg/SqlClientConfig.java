@@ -264,6 +264,7 @@ public class SqlClientConfig {
         }
         builder.setDatabaseValidationMode(properties.getDatabaseValidation().getMode());
         builder.setDatabaseValidationCatalog(properties.getDatabaseValidation().getCatalog());
+        builder.setDatabaseValidationParallelism(properties.getDatabaseValidation().getParallelism());
         builder.setCacheFactory(cacheFactory);
         builder.setCacheOperator(cacheOperator);
         builder.addCacheAbandonedCallbacks(callbacks);
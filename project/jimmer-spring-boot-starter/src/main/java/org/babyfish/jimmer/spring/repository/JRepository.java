@@ -7,8 +7,10 @@ import org.babyfish.jimmer.spring.repository.support.Utils;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.core.annotation.AliasFor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -106,6 +108,18 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
     
     Page<E> findAll(Pageable pageable, Fetcher<E> fetcher);
 
+    default KeysetSlice<E> findSlice(int limit, @Nullable String continuationToken, Sort sort) {
+        return findSlice(limit, continuationToken, null, sort);
+    }
+
+    /**
+     * Keyset pagination, unlike {@link #findAll(Pageable, Fetcher)},
+     * neither count query nor offset is used.
+     *
+     * @see ConfigurableRootQuery#fetchSlice(int, String, java.sql.Connection)
+     */
+    KeysetSlice<E> findSlice(int limit, @Nullable String continuationToken, Fetcher<E> fetcher, Sort sort);
+
     @Override
     default boolean existsById(ID id) {
         return findNullable(id) != null;
@@ -219,5 +233,11 @@ public interface JRepository<E, ID> extends PagingAndSortingRepository<E, ID> {
     interface Pager {
 
         <T> Page<T> execute(ConfigurableRootQuery<?, T> query);
+
+        /**
+         * Keyset pagination, the page size of this pager is used as the limit
+         * and the page index is ignored.
+         */
+        <T> KeysetSlice<T> executeSlice(ConfigurableRootQuery<?, T> query, @Nullable String continuationToken);
     }
 }
@@ -4,6 +4,7 @@ import org.babyfish.jimmer.Input
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import org.babyfish.jimmer.sql.kt.KSqlClient
 import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchSaveResult
@@ -79,6 +80,13 @@ interface KRepository<E: Any, ID: Any> : PagingAndSortingRepository<E, ID> {
 
     fun findAll(pageable: Pageable, fetcher: Fetcher<E>? = null): Page<E>
 
+    fun findSlice(
+        limit: Int,
+        continuationToken: String?,
+        fetcher: Fetcher<E>? = null,
+        block: (SortDsl<E>.() -> Unit)? = null
+    ): KeysetSlice<E>
+
     override fun existsById(id: ID): Boolean =
         findNullable(id) != null
     
@@ -165,5 +173,11 @@ interface KRepository<E: Any, ID: Any> : PagingAndSortingRepository<E, ID> {
     interface Pager {
 
         fun <T> execute(query: KConfigurableRootQuery<*, T>): Page<T>
+
+        /**
+         * Keyset pagination, the page size of this pager is used as the limit
+         * and the page index is ignored.
+         */
+        fun <T> executeSlice(query: KConfigurableRootQuery<*, T>, continuationToken: String?): KeysetSlice<T>
     }
 }
\ No newline at end of file
@@ -0,0 +1,266 @@
+package org.babyfish.jimmer.spring.repository;
+
+import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImplementor;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Determines how the total row count of page is queried by
+ * {@link JRepository.Pager} and {@link KRepository.Pager}.
+ *
+ * <p>By default, the count query and the data query are executed
+ * sequentially. If a bean of this type is declared, it is used by all
+ * jimmer repositories:</p>
+ * <ul>
+ *     <li>If {@code parallel} is true, the count query is executed by the
+ *     async executor of the sql client while the data query is executed by
+ *     the current thread. The count query borrows another read-only connection
+ *     from the slave connection manager, so it does not join the transaction
+ *     of the current thread and cannot see the uncommitted changes of it.
+ *     The count query of the query locking rows is always executed by the
+ *     current thread.</li>
+ *     <li>If {@code cacheTtl} is specified, the total row count is cached by
+ *     the rendered count SQL and its parameters, so the count query of
+ *     same condition is not executed again until the cached value expires.
+ *     At most {@code cacheCapacity} counts are cached, the least recently
+ *     used one is discarded when it is exceeded.</li>
+ * </ul>
+ */
+public class PageCounter {
+
+    public static final PageCounter SEQUENTIAL = new PageCounter(false, null, 0);
+
+    private final boolean parallel;
+
+    private final long cacheTtlNanos;
+
+    private final int cacheCapacity;
+
+    private final Map<Key, Entry> cacheMap;
+
+    /**
+     * @param parallel Whether to execute count query concurrently
+     * @param cacheTtl The time-to-live of cached total row count,
+     *                 null or non-positive means no cache
+     * @param cacheCapacity The max count of cached total row counts,
+     *                      it is ignored if {@code cacheTtl} is not specified
+     */
+    public PageCounter(boolean parallel, @Nullable Duration cacheTtl, int cacheCapacity) {
+        this.parallel = parallel;
+        if (cacheTtl != null && !cacheTtl.isNegative() && !cacheTtl.isZero()) {
+            if (cacheCapacity <= 0) {
+                throw new IllegalArgumentException("cacheCapacity must be positive when cacheTtl is specified");
+            }
+            this.cacheTtlNanos = cacheTtl.toNanos();
+            this.cacheCapacity = cacheCapacity;
+            this.cacheMap = new LinkedHashMap<Key, Entry>((cacheCapacity * 4 + 2) / 3, .75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > PageCounter.this.cacheCapacity;
+                }
+            };
+        } else {
+            this.cacheTtlNanos = 0;
+            this.cacheCapacity = 0;
+            this.cacheMap = null;
+        }
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Start counting the rows of the query, limit and order by clause are ignored.
+     *
+     * @return The supplier of total row count, if the count query
+     * is executed concurrently, it waits for the result.
+     */
+    public IntSupplier count(ConfigurableRootQuery<?, ?> query) {
+        ConfigurableRootQueryImplementor<?, Long> countQuery =
+                (ConfigurableRootQueryImplementor<?, Long>) countQuery(query);
+        JSqlClientImplementor sqlClient = countQuery.getSqlClient();
+        Key key = null;
+        if (cacheMap != null) {
+            Tuple3<String, List<Object>, List<Integer>> sqlResult = countQuery.renderSql();
+            key = new Key(sqlClient, sqlResult.get_1(), sqlResult.get_2());
+            Integer cachedCount = cached(key);
+            if (cachedCount != null) {
+                return cachedCount::intValue;
+            }
+        }
+        Key cacheKey = key;
+        if (!parallel || countQuery.isForUpdate()) {
+            int count = countQuery.execute().get(0).intValue();
+            cache(cacheKey, count);
+            return () -> count;
+        }
+        CompletableFuture<Integer> future = AsyncExecutions
+                .execute(
+                        sqlClient,
+                        null,
+                        readOnly(sqlClient.getSlaveConnectionManager(false)),
+                        countQuery::execute
+                )
+                .thenApply(rows -> {
+                    int count = rows.get(0).intValue();
+                    cache(cacheKey, count);
+                    return count;
+                });
+        return () -> {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        };
+    }
+
+    int cachedSize() {
+        if (cacheMap == null) {
+            return 0;
+        }
+        synchronized (cacheMap) {
+            return cacheMap.size();
+        }
+    }
+
+    @Nullable
+    private Integer cached(Key key) {
+        synchronized (cacheMap) {
+            Entry entry = cacheMap.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - System.nanoTime() > 0) {
+                return entry.count;
+            }
+            cacheMap.remove(key);
+            return null;
+        }
+    }
+
+    private void cache(Key key, int count) {
+        if (key == null) {
+            return;
+        }
+        Entry entry = new Entry(count, System.nanoTime() + cacheTtlNanos);
+        synchronized (cacheMap) {
+            cacheMap.put(key, entry);
+        }
+    }
+
+    private static ConnectionManager readOnly(ConnectionManager connectionManager) {
+        return new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                return connectionManager.execute(con -> {
+                    boolean readOnly;
+                    try {
+                        readOnly = con.isReadOnly();
+                        if (!readOnly) {
+                            con.setReadOnly(true);
+                        }
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(
+                                "Cannot mark the connection of count query as read-only",
+                                ex
+                        );
+                    }
+                    try {
+                        return block.apply(con);
+                    } finally {
+                        if (!readOnly) {
+                            try {
+                                con.setReadOnly(false);
+                            } catch (SQLException ex) {
+                                throw new ExecutionException(
+                                        "Cannot restore the read-only flag of connection",
+                                        ex
+                                );
+                            }
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    private static <T extends Table<?>> ConfigurableRootQuery<T, Long> countQuery(
+            ConfigurableRootQuery<T, ?> query
+    ) {
+        return query
+                .reselect((q, t) -> q.select(t.count()))
+                .withoutSortingAndPaging();
+    }
+
+    private static class Key {
+
+        private final Object sqlClient;
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        Key(Object sqlClient, String sql, List<Object> variables) {
+            this.sqlClient = sqlClient;
+            this.sql = sql;
+            this.variables = variables;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(sqlClient);
+            result = 31 * result + sql.hashCode();
+            result = 31 * result + variables.hashCode();
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return sqlClient == other.sqlClient &&
+                    sql.equals(other.sql) &&
+                    Objects.equals(variables, other.variables);
+        }
+    }
+
+    private static class Entry {
+
+        final int count;
+
+        final long expiresAt;
+
+        Entry(int count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
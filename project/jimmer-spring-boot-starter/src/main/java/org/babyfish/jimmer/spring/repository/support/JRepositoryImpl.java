@@ -5,6 +5,7 @@ import org.babyfish.jimmer.Input;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.spring.repository.JRepository;
+import org.babyfish.jimmer.spring.repository.PageCounter;
 import org.babyfish.jimmer.spring.repository.SpringOrders;
 import org.babyfish.jimmer.sql.Entity;
 import org.babyfish.jimmer.sql.JSqlClient;
@@ -15,6 +16,7 @@ import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
@@ -28,6 +30,7 @@ import org.springframework.data.repository.NoRepositoryBean;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 @NoRepositoryBean
@@ -41,6 +44,8 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
 
     protected final ImmutableType immutableType;
 
+    private PageCounter pageCounter = PageCounter.SEQUENTIAL;
+
     protected JRepositoryImpl(JSqlClient sqlClient) {
         this(sqlClient, null);
     }
@@ -89,14 +94,18 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
         return entityType;
     }
 
+    public void setPageCounter(PageCounter pageCounter) {
+        this.pageCounter = pageCounter != null ? pageCounter : PageCounter.SEQUENTIAL;
+    }
+
     @Override
     public Pager pager(Pageable pageable) {
-        return new PagerImpl(pageable.getPageNumber(), pageable.getPageSize());
+        return new PagerImpl(pageable.getPageNumber(), pageable.getPageSize(), pageCounter);
     }
 
     @Override
     public Pager pager(int pageIndex, int pageSize) {
-        return new PagerImpl(pageIndex, pageSize);
+        return new PagerImpl(pageIndex, pageSize, pageCounter);
     }
 
     @Override
@@ -229,6 +238,23 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
         );
     }
 
+    @Override
+    public KeysetSlice<E> findSlice(int limit, String continuationToken, Fetcher<E> fetcher, Sort sort) {
+        MutableRootQueryImpl<Table<E>> query =
+                new MutableRootQueryImpl<>(
+                        sqlClient,
+                        immutableType,
+                        ExecutionPurpose.QUERY,
+                        false
+                );
+        Table<E> table = query.getTable();
+        query.orderBy(SpringOrders.toOrders(table, sort));
+        return pager(0, limit).executeSlice(
+                query.select(table.fetch(fetcher)),
+                continuationToken
+        );
+    }
+
     @Override
     public long count() {
         return createQuery(null, EMPTY_SORTED_PROPS).count();
@@ -358,9 +384,12 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
 
         private final int pageSize;
 
-        PagerImpl(int pageIndex, int pageSize) {
+        private final PageCounter pageCounter;
+
+        PagerImpl(int pageIndex, int pageSize, PageCounter pageCounter) {
             this.pageIndex = pageIndex;
             this.pageSize = pageSize;
+            this.pageCounter = pageCounter;
         }
 
         @Override
@@ -372,7 +401,7 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
             if (offset > Integer.MAX_VALUE - pageSize) {
                 throw new IllegalArgumentException("offset is too big");
             }
-            int total = query.count();
+            IntSupplier total = pageCounter.count(query);
             List<T> content =
                     query
                             .limit(pageSize, (int)offset)
@@ -388,8 +417,13 @@ public class JRepositoryImpl<E, ID> implements JRepository<E, ID> {
                                     queryImplementor.getSqlClient().getMetadataStrategy()
                             )
                     ),
-                    total
+                    total.getAsInt()
             );
         }
+
+        @Override
+        public <T> KeysetSlice<T> executeSlice(ConfigurableRootQuery<?, T> query, String continuationToken) {
+            return query.fetchSlice(pageSize, continuationToken);
+        }
     }
 }
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.spring.repository.support;
 
 import org.babyfish.jimmer.spring.repository.JRepository;
 import org.babyfish.jimmer.spring.repository.KRepository;
+import org.babyfish.jimmer.spring.repository.PageCounter;
 import org.babyfish.jimmer.spring.repository.bytecode.ClassCodeWriter;
 import org.babyfish.jimmer.spring.repository.bytecode.JavaClassCodeWriter;
 import org.babyfish.jimmer.spring.repository.bytecode.JavaClasses;
@@ -21,8 +22,15 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
 
     private final Object sqlClient;
 
+    private final PageCounter pageCounter;
+
     public JimmerRepositoryFactory(Object sqlClient) {
+        this(sqlClient, null);
+    }
+
+    public JimmerRepositoryFactory(Object sqlClient, PageCounter pageCounter) {
         this.sqlClient = sqlClient;
+        this.pageCounter = pageCounter;
     }
 
     @NotNull
@@ -100,8 +108,9 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
             byte[] bytecode = writer.write();
             clazz = JavaClasses.define(bytecode, repositoryInterface);
         }
+        Object repository;
         try {
-            return clazz.getConstructor(jRepository ? JSqlClient.class : KSqlClient.class).newInstance(sqlClient);
+            repository = clazz.getConstructor(jRepository ? JSqlClient.class : KSqlClient.class).newInstance(sqlClient);
         } catch (InstantiationException | IllegalAccessException | NoSuchMethodException ex) {
             throw new AssertionError("Internal bug", ex);
         } catch (InvocationTargetException ex) {
@@ -114,6 +123,14 @@ public class JimmerRepositoryFactory extends RepositoryFactorySupport {
             }
             throw new UndeclaredThrowableException(ex.getTargetException(), "Failed to create repository");
         }
+        if (pageCounter != null) {
+            if (repository instanceof JRepositoryImpl<?, ?>) {
+                ((JRepositoryImpl<?, ?>) repository).setPageCounter(pageCounter);
+            } else if (repository instanceof KRepositoryImpl<?, ?>) {
+                ((KRepositoryImpl<?, ?>) repository).setPageCounter(pageCounter);
+            }
+        }
+        return repository;
     }
 
     @NotNull
@@ -1,5 +1,8 @@
 package org.babyfish.jimmer.spring.repository.support;
 
+import org.babyfish.jimmer.spring.repository.PageCounter;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
@@ -8,6 +11,8 @@ public class JimmerRepositoryFactoryBean<R extends Repository<E, ID>, E, ID> ext
 
     private Object sqlClient;
 
+    private PageCounter pageCounter;
+
     public JimmerRepositoryFactoryBean(Class<? extends R> repositoryInterface) {
         super(repositoryInterface);
         this.setLazyInit(false);
@@ -17,8 +22,14 @@ public class JimmerRepositoryFactoryBean<R extends Repository<E, ID>, E, ID> ext
         this.sqlClient = sqlClient;
     }
 
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        super.setBeanFactory(beanFactory);
+        this.pageCounter = beanFactory.getBeanProvider(PageCounter.class).getIfAvailable();
+    }
+
     @Override
     protected RepositoryFactorySupport createRepositoryFactory() {
-        return new JimmerRepositoryFactory(sqlClient);
+        return new JimmerRepositoryFactory(sqlClient, pageCounter);
     }
 }
@@ -4,6 +4,7 @@ import org.babyfish.jimmer.ImmutableObjects
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.spring.repository.*
 import org.babyfish.jimmer.sql.ast.mutation.*
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import org.babyfish.jimmer.sql.fetcher.Fetcher
 import org.babyfish.jimmer.sql.kt.KSqlClient
 import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchSaveResult
@@ -49,12 +50,14 @@ open class KRepositoryImpl<E: Any, ID: Any> (
     override val type: ImmutableType =
         ImmutableType.get(this.entityType.java)
 
+    var pageCounter: PageCounter = PageCounter.SEQUENTIAL
+
     override fun pager(pageIndex: Int, pageSize: Int): KRepository.Pager {
-        return PagerImpl(pageIndex, pageSize)
+        return PagerImpl(pageIndex, pageSize, pageCounter)
     }
 
     override fun pager(pageable: Pageable): KRepository.Pager =
-        PagerImpl(pageable.pageNumber, pageable.pageSize)
+        PagerImpl(pageable.pageNumber, pageable.pageSize, pageCounter)
 
     override fun findNullable(id: ID, fetcher: Fetcher<E>?): E? =
         if (fetcher !== null) {
@@ -113,6 +116,21 @@ open class KRepositoryImpl<E: Any, ID: Any> (
                 }
             )
 
+    override fun findSlice(
+        limit: Int,
+        continuationToken: String?,
+        fetcher: Fetcher<E>?,
+        block: (SortDsl<E>.() -> Unit)?
+    ): KeysetSlice<E> =
+        pager(0, limit)
+            .executeSlice(
+                sql.createQuery(entityType) {
+                    orderBy(block)
+                    select(table.fetch(fetcher))
+                },
+                continuationToken
+            )
+
     override fun findAll(pageable: Pageable): Page<E> =
         findAll(pageable, null)
 
@@ -172,7 +190,8 @@ open class KRepositoryImpl<E: Any, ID: Any> (
 
     private class PagerImpl(
         private val pageIndex: Int,
-        private val pageSize: Int
+        private val pageSize: Int,
+        private val pageCounter: PageCounter
     ) : KRepository.Pager {
 
         override fun <T> execute(query: KConfigurableRootQuery<*, T>): Page<T> {
@@ -181,11 +200,11 @@ open class KRepositoryImpl<E: Any, ID: Any> (
             }
             val offset = pageIndex * pageSize
             require(offset <= Int.MAX_VALUE - pageSize) { "offset is too big" }
-            val total = query.count()
+            val queryImplementor = query as KConfigurableRootQueryImplementor<*, *>
+            val total = pageCounter.count(queryImplementor.javaConfigurableQuery)
             val content = query
                 .limit(pageSize, offset)
                 .execute()
-            val queryImplementor = query as KConfigurableRootQueryImplementor<*, *>
             return PageImpl(
                 content,
                 PageRequest.of(
@@ -196,8 +215,14 @@ open class KRepositoryImpl<E: Any, ID: Any> (
                         queryImplementor.javaSqlClient.metadataStrategy
                     )
                 ),
-                total.toLong()
+                total.asInt.toLong()
             )
         }
+
+        override fun <T> executeSlice(
+            query: KConfigurableRootQuery<*, T>,
+            continuationToken: String?
+        ): KeysetSlice<T> =
+            query.fetchSlice(pageSize, continuationToken)
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package org.babyfish.jimmer.spring.repository;
+
+import org.babyfish.jimmer.spring.AbstractTest;
+import org.babyfish.jimmer.spring.datasource.DataSources;
+import org.babyfish.jimmer.spring.java.model.BookTable;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+public class PageCounterTest extends AbstractTest {
+
+    private static DataSource dataSource;
+
+    private final List<String> countEvents = Collections.synchronizedList(new ArrayList<>());
+
+    private final Thread callerThread = Thread.currentThread();
+
+    private volatile boolean failCount;
+
+    private JSqlClient sqlClient;
+
+    @BeforeAll
+    public static void beforeAll() {
+        dataSource = DataSources.create(null);
+        initDatabase(dataSource);
+    }
+
+    @BeforeEach
+    public void initialize() {
+        countEvents.clear();
+        failCount = false;
+        sqlClient = JSqlClient
+                .newBuilder()
+                .setDialect(new H2Dialect())
+                .setConnectionManager(ConnectionManager.simpleConnectionManager(dataSource))
+                .setExecutor(
+                        new Executor() {
+                            @Override
+                            public <R> R execute(@NotNull Args<R> args) {
+                                if (args.sql.startsWith("select count")) {
+                                    boolean readOnly;
+                                    try {
+                                        readOnly = args.con.isReadOnly();
+                                    } catch (SQLException ex) {
+                                        throw new ExecutionException(ex.getMessage(), ex);
+                                    }
+                                    countEvents.add(
+                                            (Thread.currentThread() == callerThread ? "caller" : "async") +
+                                                    (readOnly ? ":readOnly:" : ":readWrite:") +
+                                                    args.variables
+                                    );
+                                    if (failCount) {
+                                        throw new ExecutionException("Count query is failed");
+                                    }
+                                }
+                                return DefaultExecutor.INSTANCE.execute(args);
+                            }
+                        }
+                )
+                .build();
+    }
+
+    @Test
+    public void testSequential() {
+        IntSupplier count = PageCounter.SEQUENTIAL.count(query("GraphQL in Action"));
+        Assertions.assertEquals(
+                Collections.singletonList("caller:readWrite:[GraphQL in Action]"),
+                countEvents
+        );
+        Assertions.assertEquals(3, count.getAsInt());
+    }
+
+    @Test
+    public void testParallel() {
+        PageCounter pageCounter = new PageCounter(true, null, 0);
+        IntSupplier count = pageCounter.count(query("GraphQL in Action"));
+        Assertions.assertEquals(3, count.getAsInt());
+        Assertions.assertEquals(
+                Collections.singletonList("async:readOnly:[GraphQL in Action]"),
+                countEvents
+        );
+        Assertions.assertEquals(0, pageCounter.cachedSize());
+    }
+
+    @Test
+    public void testParallelQueryForUpdate() {
+        // Fail the count query so that the locking statement is not really executed,
+        // it is thrown by `count` because the count query is executed by the caller
+        failCount = true;
+        PageCounter pageCounter = new PageCounter(true, null, 0);
+        BookTable table = BookTable.$;
+        Assertions.assertThrows(
+                ExecutionException.class,
+                () -> pageCounter.count(
+                        sqlClient
+                                .createQuery(table)
+                                .where(table.name().eq("GraphQL in Action"))
+                                .select(table)
+                                .forUpdate()
+                )
+        );
+        Assertions.assertEquals(
+                Collections.singletonList("caller:readWrite:[GraphQL in Action]"),
+                countEvents
+        );
+    }
+
+    @Test
+    public void testParallelFailure() {
+        failCount = true;
+        IntSupplier count = new PageCounter(true, null, 0).count(query("GraphQL in Action"));
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, count::getAsInt);
+        Assertions.assertEquals("Count query is failed", ex.getMessage());
+        Assertions.assertEquals(
+                Collections.singletonList("async:readOnly:[GraphQL in Action]"),
+                countEvents
+        );
+    }
+
+    @Test
+    public void testCacheHit() {
+        PageCounter pageCounter = new PageCounter(true, Duration.ofMinutes(10), 10);
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(3, pageCounter.count(query("Learning GraphQL")).getAsInt());
+        Assertions.assertEquals(
+                Arrays.asList(
+                        "async:readOnly:[GraphQL in Action]",
+                        "async:readOnly:[Learning GraphQL]"
+                ),
+                countEvents
+        );
+        Assertions.assertEquals(2, pageCounter.cachedSize());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        PageCounter pageCounter = new PageCounter(true, Duration.ofMinutes(10), 10);
+        failCount = true;
+        IntSupplier count = pageCounter.count(query("GraphQL in Action"));
+        Assertions.assertThrows(ExecutionException.class, count::getAsInt);
+        Assertions.assertEquals(0, pageCounter.cachedSize());
+        failCount = false;
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(2, countEvents.size());
+    }
+
+    @Test
+    public void testCacheExpiry() throws InterruptedException {
+        PageCounter pageCounter = new PageCounter(false, Duration.ofMillis(200), 10);
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(1, countEvents.size());
+        Thread.sleep(300);
+        Assertions.assertEquals(3, pageCounter.count(query("GraphQL in Action")).getAsInt());
+        Assertions.assertEquals(2, countEvents.size());
+    }
+
+    @Test
+    public void testCacheCapacity() {
+        PageCounter pageCounter = new PageCounter(false, Duration.ofMinutes(10), 2);
+        pageCounter.count(query("GraphQL in Action")).getAsInt();
+        pageCounter.count(query("Learning GraphQL")).getAsInt();
+        // Access "GraphQL in Action" so that "Learning GraphQL" is the least recently used one
+        pageCounter.count(query("GraphQL in Action")).getAsInt();
+        pageCounter.count(query("Effective TypeScript")).getAsInt();
+        Assertions.assertEquals(2, pageCounter.cachedSize());
+        pageCounter.count(query("GraphQL in Action")).getAsInt();
+        pageCounter.count(query("Learning GraphQL")).getAsInt();
+        Assertions.assertEquals(2, pageCounter.cachedSize());
+        Assertions.assertEquals(
+                Arrays.asList(
+                        "caller:readWrite:[GraphQL in Action]",
+                        "caller:readWrite:[Learning GraphQL]",
+                        "caller:readWrite:[Effective TypeScript]",
+                        "caller:readWrite:[Learning GraphQL]"
+                ),
+                countEvents
+        );
+    }
+
+    private ConfigurableRootQuery<BookTable, ?> query(String name) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.name().eq(name))
+                .orderBy(table.edition())
+                .select(table);
+    }
+}
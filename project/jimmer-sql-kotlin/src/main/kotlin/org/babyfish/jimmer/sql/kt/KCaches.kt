@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt
 import org.babyfish.jimmer.meta.ImmutableProp
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.cache.Cache
+import org.babyfish.jimmer.sql.cache.CacheWarmer
 import org.babyfish.jimmer.sql.event.DatabaseEvent
 import kotlin.reflect.KClass
 import kotlin.reflect.KProperty1
@@ -18,4 +19,8 @@ interface KCaches {
     fun <K, V> getPropertyCache(prop: ImmutableProp): Cache<K, V>?
 
     fun isAffectedBy(e: DatabaseEvent): Boolean
+
+    fun createWarmer(entityType: KClass<*>): CacheWarmer
+
+    fun createWarmer(type: ImmutableType): CacheWarmer
 }
\ No newline at end of file
@@ -93,6 +93,13 @@ interface KSqlClient {
     @NewChain
     fun disableSlaveConnectionManager(): KSqlClient
 
+    /**
+     * Eagerly resolve the lazily computed metadata, readers, filters
+     * and SQL rendering of all entity types, so that the first queries
+     * after startup are not slowed down by them. No SQL is executed.
+     */
+    fun warmUp()
+
     val entityManager: EntityManager
 
     val binLog: BinLog
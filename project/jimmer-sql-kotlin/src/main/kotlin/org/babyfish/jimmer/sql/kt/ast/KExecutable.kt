@@ -1,7 +1,10 @@
 package org.babyfish.jimmer.sql.kt.ast
 
 import java.sql.Connection
+import java.util.concurrent.CompletableFuture
 
 interface KExecutable<R> {
     fun execute(con: Connection? = null): R
+
+    fun executeAsync(): CompletableFuture<R>
 }
\ No newline at end of file
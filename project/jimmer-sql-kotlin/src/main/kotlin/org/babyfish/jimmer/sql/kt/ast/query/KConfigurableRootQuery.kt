@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.kt.ast.query
 
 import org.babyfish.jimmer.lang.NewChain
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import java.sql.Connection
 
 interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
@@ -11,6 +12,11 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
             .execute(con)[0]
             .toInt()
 
+    /**
+     * Keyset(seek) pagination, see the java api `ConfigurableRootQuery.fetchSlice`
+     */
+    fun fetchSlice(limit: Int, continuationToken: String?, con: Connection? = null): KeysetSlice<R>
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.ast.query
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
 import org.babyfish.jimmer.sql.runtime.ExecutionException
 import java.sql.Connection
+import java.util.stream.Stream
 
 interface KTypedRootQuery<R> : KExecutable<List<R>> {
 
@@ -39,4 +40,16 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = 0,
         block: (R) -> Unit
     )
+
+    /**
+     * Execute the query by a forward-only cursor and return the rows lazily,
+     * object fetchers are applied to each window of `batchSize` rows.
+     *
+     * The returned stream holds an open JDBC statement, it must be closed,
+     * for example, by `use`.
+     */
+    fun stream(
+        con: Connection,
+        batchSize: Int = 0
+    ): Stream<R>
 }
\ No newline at end of file
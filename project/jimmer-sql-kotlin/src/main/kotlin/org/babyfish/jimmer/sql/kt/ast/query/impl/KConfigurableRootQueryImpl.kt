@@ -4,12 +4,14 @@ import org.babyfish.jimmer.sql.JSqlClient
 import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImplementor
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery
 import org.babyfish.jimmer.sql.ast.query.Order
 import org.babyfish.jimmer.sql.ast.table.Table
 import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KMutableRootQuery
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
+import java.sql.Connection
 import java.util.function.BiFunction
 
 internal class KConfigurableRootQueryImpl<E: Any, R>(
@@ -20,6 +22,9 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
     override val javaQuery: ConfigurableRootQuery<Table<E>, R>
         get() = super.javaQuery as ConfigurableRootQuery<Table<E>, R>
 
+    override fun fetchSlice(limit: Int, continuationToken: String?, con: Connection?): KeysetSlice<R> =
+        javaQuery.fetchSlice(limit, continuationToken, con)
+
     override fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
     ): KConfigurableRootQuery<E, X> {
@@ -46,4 +51,7 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
 
     override val javaSqlClient: JSqlClientImplementor
         get() = (javaQuery as ConfigurableRootQueryImplementor<*, *>).sqlClient
+
+    override val javaConfigurableQuery: ConfigurableRootQuery<*, R>
+        get() = javaQuery
 }
\ No newline at end of file
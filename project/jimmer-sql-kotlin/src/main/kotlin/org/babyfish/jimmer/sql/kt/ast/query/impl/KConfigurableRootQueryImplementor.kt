@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.kt.ast.query.impl
 
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery
 import org.babyfish.jimmer.sql.ast.query.Order
 import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
@@ -9,4 +10,6 @@ interface KConfigurableRootQueryImplementor<E: Any, R> : KConfigurableRootQuery<
     val javaOrders: List<Order>
 
     val javaSqlClient: JSqlClientImplementor
+
+    val javaConfigurableQuery: ConfigurableRootQuery<*, R>
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package org.babyfish.jimmer.sql.kt.ast.query.impl
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KTypedRootQuery
 import java.sql.Connection
+import java.util.concurrent.CompletableFuture
+import java.util.stream.Stream
 
 internal open class KTypedRootQueryImpl<R>(
     private val _javaQuery: TypedRootQuery<R>
@@ -26,10 +28,16 @@ internal open class KTypedRootQueryImpl<R>(
     override fun execute(con: Connection?): List<R> =
         _javaQuery.execute(con)
 
+    override fun executeAsync(): CompletableFuture<List<R>> =
+        _javaQuery.executeAsync()
+
     override fun <X> map(con: Connection?, mapper: (R) -> X): List<X> =
         _javaQuery.map(con, mapper)
 
     override fun forEach(con: Connection?, batchSize: Int, block: (R) -> Unit) {
         _javaQuery.forEach(con, batchSize, block)
     }
+
+    override fun stream(con: Connection, batchSize: Int): Stream<R> =
+        _javaQuery.stream(con, batchSize)
 }
\ No newline at end of file
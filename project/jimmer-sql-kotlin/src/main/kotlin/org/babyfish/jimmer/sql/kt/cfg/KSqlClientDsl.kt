@@ -48,6 +48,30 @@ class KSqlClientDsl internal constructor(
         javaBuilder.setDefaultListBatchSize(size)
     }
 
+    fun setParallelFetchingExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setParallelFetchingExecutor(executor)
+    }
+
+    fun setSqlTemplateCacheCapacity(capacity: Int) {
+        javaBuilder.setSqlTemplateCacheCapacity(capacity)
+    }
+
+    fun setBytecodeReaderEnabled(enabled: Boolean) {
+        javaBuilder.setBytecodeReaderEnabled(enabled)
+    }
+
+    fun setLoaderCoalescing(maxWaitMillis: Long, maxBatchSize: Int) {
+        javaBuilder.setLoaderCoalescing(maxWaitMillis, maxBatchSize)
+    }
+
+    fun setInListPaddingEnabled(enabled: Boolean) {
+        javaBuilder.setInListPaddingEnabled(enabled)
+    }
+
+    fun setInListToAnyEqualityEnabled(enabled: Boolean) {
+        javaBuilder.setInListToAnyEqualityEnabled(enabled)
+    }
+
     fun setConnectionManager(block: ConnectionManagerDsl.() -> Unit) {
         javaBuilder.setConnectionManager(ConnectionManagerImpl(block))
     }
@@ -68,6 +92,10 @@ class KSqlClientDsl internal constructor(
         javaBuilder.setExecutor(executor)
     }
 
+    fun setAsyncExecutor(asyncExecutor: AsyncExecutor?) {
+        javaBuilder.setAsyncExecutor(asyncExecutor)
+    }
+
     /**
      * If this option is configured, when jimmer calls back
      * `org.babyfish.jimmer.sql.runtime.Executor.execute` before executing SQL,
@@ -231,6 +259,10 @@ class KSqlClientDsl internal constructor(
         javaBuilder.setDatabaseValidationCatalog(catalog)
     }
 
+    fun setDatabaseValidationParallelism(parallelism: Int) {
+        javaBuilder.setDatabaseValidationParallelism(parallelism)
+    }
+
     /**
      * For RDBMS, pagination is slow if `offset` is large, especially for MySQL.
      *
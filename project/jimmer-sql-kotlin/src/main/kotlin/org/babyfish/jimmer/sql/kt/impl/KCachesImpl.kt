@@ -4,6 +4,7 @@ import org.babyfish.jimmer.kt.toImmutableProp
 import org.babyfish.jimmer.meta.ImmutableProp
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.cache.Cache
+import org.babyfish.jimmer.sql.cache.CacheWarmer
 import org.babyfish.jimmer.sql.cache.Caches
 import org.babyfish.jimmer.sql.event.DatabaseEvent
 import org.babyfish.jimmer.sql.kt.KCaches
@@ -28,4 +29,10 @@ internal class KCachesImpl(
 
     override fun isAffectedBy(e: DatabaseEvent): Boolean =
         javaCaches.isAffectedBy(e)
+
+    override fun createWarmer(entityType: KClass<*>): CacheWarmer =
+        javaCaches.createWarmer(entityType.java)
+
+    override fun createWarmer(type: ImmutableType): CacheWarmer =
+        javaCaches.createWarmer(type)
 }
\ No newline at end of file
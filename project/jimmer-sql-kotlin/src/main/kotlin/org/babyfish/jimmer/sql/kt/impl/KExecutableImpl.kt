@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.impl
 import org.babyfish.jimmer.sql.ast.Executable
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
 import java.sql.Connection
+import java.util.concurrent.CompletableFuture
 
 internal class KExecutableImpl<R>(
     private val javaExecutable: Executable<R>
@@ -10,4 +11,7 @@ internal class KExecutableImpl<R>(
 
     override fun execute(con: Connection?): R =
         javaExecutable.execute(con)
+
+    override fun executeAsync(): CompletableFuture<R> =
+        javaExecutable.executeAsync()
 }
\ No newline at end of file
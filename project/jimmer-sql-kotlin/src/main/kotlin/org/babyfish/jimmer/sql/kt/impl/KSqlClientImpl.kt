@@ -135,6 +135,10 @@ internal class KSqlClientImpl(
             }
         }
 
+    override fun warmUp() {
+        javaClient.warmUp()
+    }
+
     override val entityManager: EntityManager
         get() = javaClient.entityManager
 
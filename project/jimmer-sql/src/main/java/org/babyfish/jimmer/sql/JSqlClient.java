@@ -44,6 +44,15 @@ public interface JSqlClient extends SubQueryProvider {
 
     MutableDelete createDelete(TableProxy<?> table);
 
+    /**
+     * Create statement `insert into targetTable(...) select ... from sourceTable`,
+     * rows are copied by the database entirely.
+     *
+     * @param targetTable The root table whose rows are inserted
+     * @param sourceTable The root table whose rows are selected
+     */
+    MutableInsertSelect createInsertSelect(TableProxy<?> targetTable, TableProxy<?> sourceTable);
+
     <SE, ST extends Table<SE>, TE, TT extends Table<TE>>
     MutableRootQuery<AssociationTable<SE, ST, TE, TT>> createAssociationQuery(
             AssociationTable<SE,ST, TE, TT> table
@@ -107,6 +116,20 @@ public interface JSqlClient extends SubQueryProvider {
     @NewChain
     JSqlClient disableSlaveConnectionManager();
 
+    /**
+     * Eagerly resolve the lazily computed metadata, readers, filters
+     * and SQL rendering of all entity types, so that the first queries
+     * after startup are not slowed down by them.
+     *
+     * <p>The metadata of types and properties is shared by all sql clients,
+     * but readers are owned by this sql client. This method can be called
+     * after the sql client is built, or by an {@link org.babyfish.jimmer.sql.runtime.Initializer}.
+     * No SQL is executed.</p>
+     *
+     * @see org.babyfish.jimmer.sql.runtime.MetadataWarmer
+     */
+    void warmUp();
+
     @Nullable
     default <E> E findById(Class<E> entityType, Object id) {
         return getEntities().findById(entityType, id);
@@ -195,6 +218,15 @@ public interface JSqlClient extends SubQueryProvider {
         @OldChain
         Builder setConnectionManager(ConnectionManager connectionManager);
 
+        /**
+         * Set the connection manager of read-only replicas, queries which are not
+         * `for update` are routed to it.
+         *
+         * <p>Use {@link org.babyfish.jimmer.sql.runtime.ReplicaSetConnectionManager}
+         * to distribute the queries to several replicas, and use
+         * {@link org.babyfish.jimmer.sql.runtime.ReadYourWritesScope}
+         * to route the queries after modification to the master connection manager.</p>
+         */
         @OldChain
         Builder setSlaveConnectionManager(ConnectionManager connectionManager);
 
@@ -204,6 +236,17 @@ public interface JSqlClient extends SubQueryProvider {
         @OldChain
         Builder setExecutor(Executor executor);
 
+        /**
+         * The executor of {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()}.
+         *
+         * @param asyncExecutor The async executor, null means
+         *                      {@link org.babyfish.jimmer.sql.runtime.DefaultAsyncExecutor#INSTANCE}
+         *                      which uses virtual threads for JDK21+ or a bounded thread pool for
+         *                      other JDKs.
+         */
+        @OldChain
+        Builder setAsyncExecutor(AsyncExecutor asyncExecutor);
+
         /**
          * If this option is configured, when jimmer calls back
          * `org.babyfish.jimmer.sql.runtime.Executor.execute` before executing SQL,
@@ -284,6 +327,121 @@ public interface JSqlClient extends SubQueryProvider {
         @OldChain
         Builder setOffsetOptimizingThreshold(int threshold);
 
+        /**
+         * Allows the object fetcher to load independent associations concurrently.
+         *
+         * <p>By default, the associations of an object fetcher are fetched one by one,
+         * so an object fetcher with five sibling associations causes five serial
+         * round trips at each level. If an executor is specified, the associations
+         * which can be fetched at the same time are loaded by that executor, each one
+         * uses its own connection borrowed from the connection manager(the slave
+         * connection manager is preferred), and the fetched data is merged back on
+         * the calling thread.</p>
+         *
+         * <p>Note, because other connections are used, parallel fetching only
+         * works when the connection of the query is borrowed from the connection
+         * manager by jimmer and is in auto-commit mode. If the connection is
+         * specified by user or belongs to a transaction, the associations are
+         * still loaded one by one by that connection, so the uncommitted
+         * modifications of the transaction can be seen.
+         * For JDK21+, {@code Executors.newVirtualThreadPerTaskExecutor()} is
+         * a good choice.</p>
+         *
+         * @param executor The executor used by parallel fetching, null means
+         *                 parallel fetching is disabled(default behavior)
+         */
+        @OldChain
+        Builder setParallelFetchingExecutor(java.util.concurrent.Executor executor);
+
+        /**
+         * The capacity of the SQL template cache.
+         *
+         * <p>The batch queries of object fetchers and data loaders
+         * have stable shapes, only the ids are different. The rendered SQL
+         * of them is cached by the shape and reused, only the variables are
+         * bound again. The hit/miss counts can be read from
+         * {@link org.babyfish.jimmer.sql.runtime.JSqlClientImplementor#getSqlTemplateCache()}.</p>
+         *
+         * @param capacity The max count of cached SQL templates,
+         *                 0 means the cache is disabled,
+         *                 default value is {@link org.babyfish.jimmer.sql.runtime.SqlTemplateCache#DEFAULT_CAPACITY}
+         */
+        @OldChain
+        Builder setSqlTemplateCacheCapacity(int capacity);
+
+        /**
+         * Whether to generate the bytecode of the readers of entity objects.
+         *
+         * <p>By default, an entity object is read from the JDBC result set
+         * by a generic loop over the readers of its columns. If this option
+         * is enabled, one reader class is generated at runtime for each
+         * entity type and each shape of selected columns, it calls the typed
+         * getters of `ResultSet` and the setters of the draft directly,
+         * so that the JIT can inline the whole row reading.</p>
+         *
+         * <p>The classes are defined in the class loaders of the entity types,
+         * if this cannot be done, the generic reader is used.</p>
+         *
+         * @param enabled Whether the bytecode readers are enabled, default value is false
+         */
+        @OldChain
+        Builder setBytecodeReaderEnabled(boolean enabled);
+
+        /**
+         * Coalesce the single-object loads of {@link org.babyfish.jimmer.sql.loader.graphql.Loaders}
+         * across threads.
+         *
+         * <p>A GraphQL server resolves the same association for many objects
+         * at the same time, often in different requests. If this option is
+         * configured, the loads which are not bound to an explicit JDBC connection
+         * are collected by the property and the filter, the first of them waits
+         * at most {@code maxWaitMillis} or until {@code maxBatchSize} objects are
+         * collected, then one batch query is executed and its result is shared
+         * by all the callers. If no other load of the same property and filter
+         * is being executed, the load is executed immediately without waiting.</p>
+         *
+         * <p>Loads are never coalesced if they use limit/offset, if the current
+         * connection is in a transaction, or if the global filter of the associated
+         * type or the transient resolver is not cacheable, because their results
+         * depend on the context of the caller and cannot be shared.</p>
+         *
+         * @param maxWaitMillis The max time that a load waits for others,
+         *                      0 means the coalescing is disabled, default value is 0
+         * @param maxBatchSize The max count of objects loaded by one batch query,
+         *                     default value is {@link #DEFAULT_BATCH_SIZE}
+         */
+        @OldChain
+        Builder setLoaderCoalescing(long maxWaitMillis, int maxBatchSize);
+
+        /**
+         * Pad the values of `in (...)` to the next power of two by
+         * repeating the last value, so that the in-lists of different
+         * sizes share few SQL strings and the prepared statement caches
+         * of JDBC driver and database can be reused.
+         *
+         * <p>For example, the in-lists with 5, 6, 7 or 8 values are
+         * rendered as `in (?, ?, ?, ?, ?, ?, ?, ?)`.</p>
+         *
+         * <p>Default value is false</p>
+         */
+        @OldChain
+        Builder setInListPaddingEnabled(boolean enabled);
+
+        /**
+         * Render `x in (?, ?, ...)` as `x = any(?)` and `x not in (?, ?, ...)`
+         * as `x <> all(?)` with one array parameter, so that the SQL string
+         * does not depend on the count of values.
+         *
+         * <p>It takes effect only when the dialect supports array parameter
+         * of the value type, see
+         * {@link org.babyfish.jimmer.sql.dialect.Dialect#getArrayElementSqlType(Class)},
+         * otherwise the in-list is rendered as before.</p>
+         *
+         * <p>Default value is false</p>
+         */
+        @OldChain
+        Builder setInListToAnyEqualityEnabled(boolean enabled);
+
         /**
          * Under normal circumstances, users do not need to set the entity manager.
          *
@@ -358,6 +516,20 @@ public interface JSqlClient extends SubQueryProvider {
         @OldChain
         Builder setDatabaseValidationCatalog(String catalog);
 
+        /**
+         * Validate the database by bulk metadata, it is used to reduce the startup time
+         * when there are many entity types.
+         *
+         * <p>If it is positive, the tables and columns are fetched once for each schema
+         * and indexed in memory, the primary keys and foreign keys of used tables are
+         * fetched concurrently by {@code parallelism} connections of the connection manager.</p>
+         *
+         * <p>The default value is 0, which means the metadata of each table is fetched
+         * when it is validated.</p>
+         */
+        @OldChain
+        Builder setDatabaseValidationParallelism(int parallelism);
+
         @OldChain
         Builder setMicroServiceName(String microServiceName);
 
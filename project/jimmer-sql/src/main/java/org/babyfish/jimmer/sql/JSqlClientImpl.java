@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.lang.OldChain;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.sql.ast.impl.mutation.MutableDeleteImpl;
+import org.babyfish.jimmer.sql.ast.impl.mutation.MutableInsertSelectImpl;
 import org.babyfish.jimmer.sql.ast.impl.mutation.MutableUpdateImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableSubQueryImpl;
@@ -29,6 +30,7 @@ import org.babyfish.jimmer.sql.association.meta.AssociationType;
 import org.babyfish.jimmer.sql.ast.impl.mutation.AssociationsImpl;
 import org.babyfish.jimmer.sql.ast.impl.EntitiesImpl;
 import org.babyfish.jimmer.sql.ast.mutation.MutableDelete;
+import org.babyfish.jimmer.sql.ast.mutation.MutableInsertSelect;
 import org.babyfish.jimmer.sql.ast.mutation.MutableUpdate;
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.table.AssociationTable;
@@ -57,6 +59,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final Executor executor;
 
+    private final AsyncExecutor asyncExecutor;
+
     private final List<String> executorContextPrefixes;
 
     private final SqlFormatter sqlFormatter;
@@ -71,6 +75,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final int offsetOptimizingThreshold;
 
+    private final java.util.concurrent.Executor parallelFetchingExecutor;
+
+    private final SqlTemplateCache sqlTemplateCache;
+
+    private final boolean bytecodeReaderEnabled;
+
+    private final long loaderCoalescingMaxWaitMillis;
+
+    private final int loaderCoalescingMaxBatchSize;
+
+    private final boolean inListPaddingEnabled;
+
+    private final boolean inListToAnyEqualityEnabled;
+
     private final EntitiesImpl entities;
 
     private final EntityManager entityManager;
@@ -104,6 +122,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
             ConnectionManager slaveConnectionManager,
             Dialect dialect,
             Executor executor,
+            AsyncExecutor asyncExecutor,
             List<String> executorContextPrefixes,
             SqlFormatter sqlFormatter,
             Map<Class<?>, IdGenerator> idGeneratorMap,
@@ -111,6 +130,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
             int defaultBatchSize,
             int defaultListBatchSize,
             int offsetOptimizingThreshold,
+            java.util.concurrent.Executor parallelFetchingExecutor,
+            SqlTemplateCache sqlTemplateCache,
+            boolean bytecodeReaderEnabled,
+            long loaderCoalescingMaxWaitMillis,
+            int loaderCoalescingMaxBatchSize,
+            boolean inListPaddingEnabled,
+            boolean inListToAnyEqualityEnabled,
             EntitiesImpl entities,
             EntityManager entityManager,
             Caches caches,
@@ -134,6 +160,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 executor != null ?
                         executor :
                         DefaultExecutor.INSTANCE;
+        this.asyncExecutor =
+                asyncExecutor != null ?
+                        asyncExecutor :
+                        DefaultAsyncExecutor.INSTANCE;
         this.executorContextPrefixes =
                 executorContextPrefixes != null ?
                         Collections.unmodifiableList(executorContextPrefixes) :
@@ -144,6 +174,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.defaultBatchSize = defaultBatchSize;
         this.defaultListBatchSize = defaultListBatchSize;
         this.offsetOptimizingThreshold = offsetOptimizingThreshold;
+        this.parallelFetchingExecutor = parallelFetchingExecutor;
+        this.sqlTemplateCache = sqlTemplateCache;
+        this.bytecodeReaderEnabled = bytecodeReaderEnabled;
+        this.loaderCoalescingMaxWaitMillis = loaderCoalescingMaxWaitMillis;
+        this.loaderCoalescingMaxBatchSize = loaderCoalescingMaxBatchSize;
+        this.inListPaddingEnabled = inListPaddingEnabled;
+        this.inListToAnyEqualityEnabled = inListToAnyEqualityEnabled;
         this.entities =
                 entities != null ?
                         entities.forSqlClient(this) :
@@ -169,7 +206,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
     @Override
     public ConnectionManager getSlaveConnectionManager(boolean forUpdate) {
         ConnectionManager slave = slaveConnectionManager;
-        if (slave != null && !forUpdate) {
+        if (slave != null && !forUpdate && !ReadYourWritesScope.isWritten()) {
             return slave;
         }
         return connectionManager;
@@ -185,6 +222,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return executor;
     }
 
+    @Override
+    public AsyncExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     @Override
     public List<String> getExecutorContextPrefixes() {
         return executorContextPrefixes;
@@ -239,6 +281,41 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return offsetOptimizingThreshold;
     }
 
+    @Override
+    public java.util.concurrent.Executor getParallelFetchingExecutor() {
+        return parallelFetchingExecutor;
+    }
+
+    @Override
+    public SqlTemplateCache getSqlTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    @Override
+    public boolean isBytecodeReaderEnabled() {
+        return bytecodeReaderEnabled;
+    }
+
+    @Override
+    public long getLoaderCoalescingMaxWaitMillis() {
+        return loaderCoalescingMaxWaitMillis;
+    }
+
+    @Override
+    public int getLoaderCoalescingMaxBatchSize() {
+        return loaderCoalescingMaxBatchSize;
+    }
+
+    @Override
+    public boolean isInListPaddingEnabled() {
+        return inListPaddingEnabled;
+    }
+
+    @Override
+    public boolean isInListToAnyEqualityEnabled() {
+        return inListToAnyEqualityEnabled;
+    }
+
     @Override
     public <T extends TableProxy<?>> MutableRootQuery<T> createQuery(T table) {
         if (table instanceof TableEx<?>) {
@@ -262,6 +339,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return new MutableDeleteImpl(this, table);
     }
 
+    @Override
+    public MutableInsertSelect createInsertSelect(TableProxy<?> targetTable, TableProxy<?> sourceTable) {
+        return new MutableInsertSelectImpl(this, targetTable, sourceTable);
+    }
+
     @Override
     public <SE, ST extends Table<SE>, TE, TT extends Table<TE>>
     MutableRootQuery<AssociationTable<SE, ST, TE, TT>> createAssociationQuery(
@@ -386,6 +468,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 slaveConnectionManager,
                 dialect,
                 executor,
+                asyncExecutor,
                 executorContextPrefixes,
                 sqlFormatter,
                 idGeneratorMap,
@@ -393,6 +476,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 defaultBatchSize,
                 defaultListBatchSize,
                 offsetOptimizingThreshold,
+                parallelFetchingExecutor,
+                sqlTemplateCache,
+                bytecodeReaderEnabled,
+                loaderCoalescingMaxWaitMillis,
+                loaderCoalescingMaxBatchSize,
+                inListPaddingEnabled,
+                inListToAnyEqualityEnabled,
                 entities,
                 entityManager,
                 new CachesImpl((CachesImpl) caches, cfg),
@@ -423,6 +513,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 slaveConnectionManager,
                 dialect,
                 executor,
+                asyncExecutor,
                 executorContextPrefixes,
                 sqlFormatter,
                 idGeneratorMap,
@@ -430,6 +521,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 defaultBatchSize,
                 defaultListBatchSize,
                 offsetOptimizingThreshold,
+                parallelFetchingExecutor,
+                sqlTemplateCache != null ?
+                        new SqlTemplateCache(sqlTemplateCache.getCapacity()) :
+                        null,
+                bytecodeReaderEnabled,
+                loaderCoalescingMaxWaitMillis,
+                loaderCoalescingMaxBatchSize,
+                inListPaddingEnabled,
+                inListToAnyEqualityEnabled,
                 entities,
                 entityManager,
                 caches,
@@ -455,6 +555,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 null,
                 dialect,
                 executor,
+                asyncExecutor,
                 executorContextPrefixes,
                 sqlFormatter,
                 idGeneratorMap,
@@ -462,6 +563,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 defaultBatchSize,
                 defaultListBatchSize,
                 offsetOptimizingThreshold,
+                parallelFetchingExecutor,
+                sqlTemplateCache,
+                bytecodeReaderEnabled,
+                loaderCoalescingMaxWaitMillis,
+                loaderCoalescingMaxBatchSize,
+                inListPaddingEnabled,
+                inListToAnyEqualityEnabled,
                 entities,
                 entityManager,
                 caches,
@@ -492,6 +600,11 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return filterManager;
     }
 
+    @Override
+    public void warmUp() {
+        MetadataWarmer.warmUp(this);
+    }
+
     @Override
     public DraftInterceptor<?> getDraftInterceptor(ImmutableType type) {
         return draftInterceptorManager.get(type);
@@ -534,6 +647,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private Executor executor;
 
+        private AsyncExecutor asyncExecutor;
+
         private List<String> executorContextPrefixes;
 
         private SqlFormatter sqlFormatter = SqlFormatter.SIMPLE;
@@ -556,6 +671,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private int offsetOptimizingThreshold = Integer.MAX_VALUE;
 
+        private java.util.concurrent.Executor parallelFetchingExecutor;
+
+        private int sqlTemplateCacheCapacity = SqlTemplateCache.DEFAULT_CAPACITY;
+
+        private boolean bytecodeReaderEnabled;
+
+        private long loaderCoalescingMaxWaitMillis;
+
+        private int loaderCoalescingMaxBatchSize = DEFAULT_BATCH_SIZE;
+
+        private boolean inListPaddingEnabled;
+
+        private boolean inListToAnyEqualityEnabled;
+
         private EntityManager userEntityManager;
 
         private EntityManager defaultEntityManager;
@@ -588,6 +717,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private String databaseValidationCatalog;
 
+        private int databaseValidationParallelism;
+
         private String microServiceName = "";
 
         private MicroServiceExchange microServiceExchange;
@@ -622,6 +753,13 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setAsyncExecutor(AsyncExecutor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
         @Override
         @OldChain
         public Builder setExecutorContextPrefixes(Collection<String> prefixes) {
@@ -820,6 +958,58 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public Builder setParallelFetchingExecutor(java.util.concurrent.Executor executor) {
+            this.parallelFetchingExecutor = executor;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setSqlTemplateCacheCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("`capacity` cannot be negative number");
+            }
+            this.sqlTemplateCacheCapacity = capacity;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setBytecodeReaderEnabled(boolean enabled) {
+            this.bytecodeReaderEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setLoaderCoalescing(long maxWaitMillis, int maxBatchSize) {
+            if (maxWaitMillis < 0) {
+                throw new IllegalArgumentException("`maxWaitMillis` cannot be negative number");
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("`maxBatchSize` cannot be less than 1");
+            }
+            this.loaderCoalescingMaxWaitMillis = maxWaitMillis;
+            this.loaderCoalescingMaxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setInListPaddingEnabled(boolean enabled) {
+            this.inListPaddingEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public Builder setInListToAnyEqualityEnabled(boolean enabled) {
+            this.inListToAnyEqualityEnabled = enabled;
+            return this;
+        }
+
         @Override
         @OldChain
         public Builder setEntityManager(EntityManager entityManager) {
@@ -993,6 +1183,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setDatabaseValidationParallelism(int parallelism) {
+            if (parallelism < 0) {
+                throw new IllegalArgumentException("parallelism cannot be negative");
+            }
+            this.databaseValidationParallelism = parallelism;
+            return this;
+        }
+
         @Override
         public Builder setMicroServiceName(String microServiceName) {
             this.microServiceName = microServiceName != null ? microServiceName : "";
@@ -1065,6 +1264,7 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     slaveConnectionManager,
                     dialect,
                     executor,
+                    asyncExecutor,
                     executorContextPrefixes,
                     sqlFormatter,
                     idGeneratorMap,
@@ -1072,6 +1272,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     defaultBatchSize,
                     defaultListBatchSize,
                     offsetOptimizingThreshold,
+                    parallelFetchingExecutor,
+                    sqlTemplateCacheCapacity > 0 ?
+                            new SqlTemplateCache(sqlTemplateCacheCapacity) :
+                            null,
+                    bytecodeReaderEnabled,
+                    loaderCoalescingMaxWaitMillis,
+                    loaderCoalescingMaxBatchSize,
+                    inListPaddingEnabled,
+                    inListToAnyEqualityEnabled,
                     null,
                     entityManager(),
                     caches,
@@ -1170,8 +1379,20 @@ class JSqlClientImpl implements JSqlClientImplementor {
                             "The `connectionManager` of must be configured when `validate` is configured"
                     );
                 }
+                long start = System.currentTimeMillis();
                 DatabaseValidationException validationException = cm.execute(con -> {
                     try {
+                        if (databaseValidationParallelism > 0) {
+                            return DatabaseValidators.validate(
+                                    entityManager(),
+                                    microServiceName,
+                                    metadataStrategy,
+                                    databaseValidationCatalog,
+                                    con,
+                                    cm,
+                                    databaseValidationParallelism
+                            );
+                        }
                         return DatabaseValidators.validate(
                                 entityManager(),
                                 microServiceName,
@@ -1186,6 +1407,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                         );
                     }
                 });
+                LOGGER.info(
+                        "Database validation is finished in {} milliseconds",
+                        System.currentTimeMillis() - start
+                );
                 if (validationException != null) {
                     if (databaseValidationMode == DatabaseValidationMode.ERROR) {
                         throw validationException;
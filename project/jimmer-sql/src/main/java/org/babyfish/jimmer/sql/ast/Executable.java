@@ -1,6 +1,9 @@
 package org.babyfish.jimmer.sql.ast;
 
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 public interface Executable<R> {
 
@@ -18,4 +21,30 @@ public interface Executable<R> {
      * @return Execution result
      */
     R execute(Connection con);
+
+    /**
+     * Execute by the {@link org.babyfish.jimmer.sql.runtime.AsyncExecutor}
+     * of the sql client, the calling thread is not blocked.
+     *
+     * <p>The JDBC connection is borrowed from the connection manager
+     * by the executing thread, so the execution does not join the transaction
+     * of the calling thread if the transaction is bound to the thread
+     * (for example, spring transaction). If the connection is specified
+     * by user, this method throws {@link IllegalStateException}.</p>
+     *
+     * <p>The context of jimmer such as
+     * {@link org.babyfish.jimmer.sql.runtime.ReadYourWritesScope} is propagated
+     * to the executing thread. The thread-bound state of application, such as
+     * the current tenant used by global filters, must be propagated by the
+     * executor which is specified by
+     * {@link org.babyfish.jimmer.sql.runtime.AsyncExecutor#of(java.util.concurrent.Executor)}.</p>
+     *
+     * <p>The default implementation calls {@link #execute()} by the shared
+     * executor of {@link org.babyfish.jimmer.sql.runtime.DefaultAsyncExecutor}.</p>
+     *
+     * @return The future of execution result
+     */
+    default CompletableFuture<R> executeAsync() {
+        return AsyncExecutions.execute(this::execute);
+    }
 }
@@ -136,7 +136,7 @@ public class EntitiesImpl implements Entities {
             return findById(fetcher, id, con);
         }
         return sqlClient.getConnectionManager().execute(con ->
-                findById(fetcher, id, con)
+                Fetchers.usingBorrowedConnection(con, () -> findById(fetcher, id, con))
         );
     }
 
@@ -146,7 +146,7 @@ public class EntitiesImpl implements Entities {
             return findByIds(fetcher, ids, con);
         }
         return sqlClient.getConnectionManager().execute(con ->
-                findByIds(fetcher, ids, con)
+                Fetchers.usingBorrowedConnection(con, () -> findByIds(fetcher, ids, con))
         );
     }
 
@@ -156,7 +156,7 @@ public class EntitiesImpl implements Entities {
             return findMapByIds(fetcher, ids, con);
         }
         return sqlClient.getConnectionManager().execute(con ->
-                findMapByIds(fetcher, ids, con)
+                Fetchers.usingBorrowedConnection(con, () -> findMapByIds(fetcher, ids, con))
         );
     }
 
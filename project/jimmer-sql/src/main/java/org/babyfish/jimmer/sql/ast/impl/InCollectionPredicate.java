@@ -1,14 +1,16 @@
 package org.babyfish.jimmer.sql.ast.impl;
 
+import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.PropExpression;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
-import org.babyfish.jimmer.sql.runtime.ExecutionException;
-import org.babyfish.jimmer.sql.runtime.ScalarProvider;
+import org.babyfish.jimmer.sql.runtime.DbArray;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -42,19 +44,101 @@ class InCollectionPredicate extends AbstractPredicate {
     public void renderTo(@NotNull SqlBuilder builder) {
         if (values.isEmpty()) {
             builder.sql(negative ? "1 = 1" : "1 = 0");
-        } else {
-            renderChild((Ast) expression, builder);
-            builder.sql(negative ? " not in " : " in ").enter(SqlBuilder.ScopeType.LIST);
-            Collection<?> convertedValues = this.convertedValues;
-            if (convertedValues == null) {
-                convertedValues = Literals.convert(values, expression, builder.getAstContext().getSqlClient());
-                this.convertedValues = convertedValues;
+            return;
+        }
+        JSqlClientImplementor sqlClient = builder.getAstContext().getSqlClient();
+        Collection<?> convertedValues = this.convertedValues;
+        if (convertedValues == null) {
+            convertedValues = Literals.convert(values, expression, sqlClient);
+            this.convertedValues = convertedValues;
+        }
+        if (sqlClient.isInListToAnyEqualityEnabled() && renderAnyEquality(builder, convertedValues)) {
+            return;
+        }
+        int maxSize = sqlClient.getDialect().getMaxInListSize();
+        if (maxSize <= 0 || convertedValues.size() <= maxSize) {
+            renderInList(builder, convertedValues, sqlClient.isInListPaddingEnabled(), maxSize);
+            return;
+        }
+        List<?> list = convertedValues instanceof List<?> ?
+                (List<?>) convertedValues :
+                new ArrayList<>(convertedValues);
+        builder.sql("(").enter(negative ? SqlBuilder.ScopeType.AND : SqlBuilder.ScopeType.OR);
+        for (int fromIndex = 0; fromIndex < list.size(); fromIndex += maxSize) {
+            builder.separator();
+            renderInList(
+                    builder,
+                    list.subList(fromIndex, Math.min(fromIndex + maxSize, list.size())),
+                    sqlClient.isInListPaddingEnabled(),
+                    maxSize
+            );
+        }
+        builder.leave().sql(")");
+    }
+
+    private void renderInList(SqlBuilder builder, Collection<?> values, boolean padding, int maxSize) {
+        renderChild((Ast) expression, builder);
+        builder.sql(negative ? " not in " : " in ").enter(SqlBuilder.ScopeType.LIST);
+        Object lastValue = null;
+        for (Object value : values) {
+            builder.separator().variable(value);
+            lastValue = value;
+        }
+        if (padding) {
+            // Repeat the last value, it does not change the result of `in` or `not in`
+            int paddedSize = paddedSize(values.size(), maxSize);
+            for (int i = values.size(); i < paddedSize; i++) {
+                builder.separator().variable(lastValue);
             }
-            for (Object value : convertedValues) {
-                builder.separator().variable(value);
+        }
+        builder.leave();
+    }
+
+    /**
+     * Render `x = any(?)` or `x <> all(?)` with one array parameter
+     *
+     * @return false if the values cannot be bound as an array
+     * by the current dialect
+     */
+    private boolean renderAnyEquality(SqlBuilder builder, Collection<?> values) {
+        if (expression instanceof TupleExpressionImplementor<?>) {
+            return false;
+        }
+        Class<?> elementType = null;
+        for (Object value : values) {
+            if (value == null ||
+                    value instanceof TupleImplementor ||
+                    value instanceof ImmutableSpi ||
+                    (elementType != null && elementType != value.getClass())) {
+                return false;
             }
-            builder.leave();
+            elementType = value.getClass();
+        }
+        String elementSqlType = builder
+                .getAstContext()
+                .getSqlClient()
+                .getDialect()
+                .getArrayElementSqlType(elementType);
+        if (elementSqlType == null) {
+            return false;
+        }
+        renderChild((Ast) expression, builder);
+        builder
+                .sql(negative ? " <> all(" : " = any(")
+                .variable(new DbArray(elementSqlType, values.toArray()))
+                .sql(")");
+        return true;
+    }
+
+    private static int paddedSize(int size, int maxSize) {
+        int paddedSize = Integer.highestOneBit(size);
+        if (paddedSize < size) {
+            paddedSize <<= 1;
+        }
+        if (maxSize > 0 && paddedSize > maxSize) {
+            return maxSize;
         }
+        return paddedSize;
     }
 
     @Override
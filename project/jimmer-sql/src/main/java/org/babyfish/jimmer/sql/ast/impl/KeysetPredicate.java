@@ -0,0 +1,124 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The seek predicate of keyset pagination, it selects the rows after
+ * the last row of the previous slice.
+ *
+ * <p>If all the orders have the same direction and the dialect supports
+ * row value comparison, it is rendered as `(a, b, id) &gt; (?, ?, ?)`,
+ * otherwise, it is expanded to `a &gt; ? or a = ? and (b &gt; ? or b = ? and id &gt; ?)`.</p>
+ */
+public class KeysetPredicate extends AbstractPredicate {
+
+    private final List<Expression<?>> expressions;
+
+    private final List<Expression<?>> values;
+
+    // Null means the directions are mixed
+    private final OrderMode uniformOrderMode;
+
+    private final Predicate expandedPredicate;
+
+    public KeysetPredicate(
+            List<Expression<?>> expressions,
+            List<OrderMode> orderModes,
+            List<Object> values
+    ) {
+        if (expressions.isEmpty() ||
+                expressions.size() != orderModes.size() ||
+                expressions.size() != values.size()) {
+            throw new IllegalArgumentException(
+                    "The expressions, order modes and values of keyset predicate must have the same non-zero size"
+            );
+        }
+        List<Expression<?>> literals = new ArrayList<>(values.size());
+        for (Object value : values) {
+            literals.add(Literals.any(value));
+        }
+        OrderMode uniformOrderMode = orderModes.get(0);
+        for (OrderMode orderMode : orderModes) {
+            if (orderMode != uniformOrderMode) {
+                uniformOrderMode = null;
+                break;
+            }
+        }
+        this.expressions = Collections.unmodifiableList(new ArrayList<>(expressions));
+        this.values = Collections.unmodifiableList(literals);
+        this.uniformOrderMode = uniformOrderMode;
+        this.expandedPredicate = expand(0, orderModes);
+    }
+
+    private Predicate expand(int index, List<OrderMode> orderModes) {
+        Expression<?> expression = expressions.get(index);
+        Expression<?> value = values.get(index);
+        Predicate predicate = orderModes.get(index) == OrderMode.ASC ?
+                new ComparisonPredicate.Gt(expression, value) :
+                new ComparisonPredicate.Lt(expression, value);
+        if (index + 1 == expressions.size()) {
+            return predicate;
+        }
+        return CompositePredicate.or(
+                predicate,
+                CompositePredicate.and(
+                        new ComparisonPredicate.Eq(expression, value),
+                        expand(index + 1, orderModes)
+                )
+        );
+    }
+
+    @Override
+    public void accept(@NotNull AstVisitor visitor) {
+        ((Ast) expandedPredicate).accept(visitor);
+    }
+
+    @Override
+    public void renderTo(@NotNull SqlBuilder builder) {
+        if (uniformOrderMode == null ||
+                expressions.size() == 1 ||
+                !builder.getAstContext().getSqlClient().getDialect().isTupleComparisonSupported()) {
+            ((Ast) expandedPredicate).renderTo(builder);
+            return;
+        }
+        builder.enter(SqlBuilder.ScopeType.TUPLE);
+        for (Expression<?> expression : expressions) {
+            builder.separator();
+            renderChild((Ast) expression, builder);
+        }
+        builder.leave();
+        builder.sql(uniformOrderMode == OrderMode.ASC ? " > " : " < ");
+        builder.enter(SqlBuilder.ScopeType.TUPLE);
+        for (Expression<?> value : values) {
+            builder.separator();
+            renderChild((Ast) value, builder);
+        }
+        builder.leave();
+    }
+
+    @Override
+    public int precedence() {
+        return ExpressionPrecedences.OR;
+    }
+
+    @Override
+    public int hashCode() {
+        return expandedPredicate.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        KeysetPredicate that = (KeysetPredicate) o;
+        return expandedPredicate.equals(that.expandedPredicate);
+    }
+}
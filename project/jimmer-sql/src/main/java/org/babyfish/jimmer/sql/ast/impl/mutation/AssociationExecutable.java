@@ -10,6 +10,8 @@ import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.meta.MiddleTable;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
@@ -18,6 +20,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 class AssociationExecutable implements Executable<Integer> {
 
@@ -111,6 +114,11 @@ class AssociationExecutable implements Executable<Integer> {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     private Integer executeImpl(Connection con) {
 
         if (idTuples.isEmpty()) {
@@ -1,9 +1,12 @@
 package org.babyfish.jimmer.sql.ast.impl.mutation;
 
 import org.babyfish.jimmer.sql.ast.mutation.AssociationSaveCommand;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 class AssociationSaveCommandImpl implements AssociationSaveCommand {
 
@@ -32,6 +35,12 @@ class AssociationSaveCommandImpl implements AssociationSaveCommand {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        JSqlClientImplementor sqlClient = executable.sqlClient;
+        return AsyncExecutions.execute(sqlClient, executable.con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     @Override
     public AssociationSaveCommand checkExistence(@Nullable Boolean checkExistence) {
         AssociationExecutable newExecutable = executable.setCheckExistence(checkExistence);
@@ -4,10 +4,13 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.mutation.*;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class BatchEntitySaveCommandImpl<E>
@@ -74,6 +77,11 @@ public class BatchEntitySaveCommandImpl<E>
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<BatchSaveResult<E>> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     @SuppressWarnings("unchecked")
     private BatchSaveResult<E> executeImpl(Connection con) {
         data.freeze();
@@ -81,10 +89,14 @@ public class BatchEntitySaveCommandImpl<E>
             return new BatchSaveResult<>(Collections.emptyList());
         }
         SaverCache cache = new SaverCache(data);
+        cache.preloadByKeys(entities, con);
         Map<AffectedTable, Integer> affectedRowCountMap = new LinkedHashMap<>();
         int size = entities.size();
         List<SimpleSaveResult<E>> oldSimpleResults = new ArrayList<>(size);
-        Saver saver = new Saver(data, con, type, cache, false, affectedRowCountMap);
+        JdbcBatcher batcher = data.getBatchSize() > 1 ?
+                new JdbcBatcher(data.getSqlClient(), con, data.getBatchSize()) :
+                null;
+        Saver saver = new Saver(data, con, type, cache, false, affectedRowCountMap, batcher);
         List<Object> modifiedEntities = Internal.produceList(
                 ((ImmutableSpi) entities.iterator().next()).__type(),
                 entities,
@@ -92,6 +104,7 @@ public class BatchEntitySaveCommandImpl<E>
                     for (Object o : list) {
                         oldSimpleResults.add(saver.save((E)o));
                     }
+                    saver.flushBatch();
                 }
         );
         saver.submitTrigger();
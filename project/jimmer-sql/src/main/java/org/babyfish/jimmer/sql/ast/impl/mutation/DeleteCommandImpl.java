@@ -8,11 +8,14 @@ import org.babyfish.jimmer.sql.ast.mutation.DeleteCommand;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteResult;
 import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.Converters;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class DeleteCommandImpl implements DeleteCommand {
@@ -96,6 +99,11 @@ public class DeleteCommandImpl implements DeleteCommand {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<DeleteResult> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     private DeleteResult executeImpl(Connection con) {
         boolean binLogOnly = sqlClient.getTriggerType() == TriggerType.BINLOG_ONLY;
         Deleter deleter = new Deleter(
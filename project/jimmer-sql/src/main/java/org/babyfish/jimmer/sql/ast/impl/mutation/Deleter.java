@@ -13,7 +13,9 @@ import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteResult;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.meta.MiddleTable;
 import org.babyfish.jimmer.sql.meta.SingleColumn;
+import org.babyfish.jimmer.sql.meta.Storage;
 import org.babyfish.jimmer.sql.runtime.*;
 
 import java.sql.Connection;
@@ -77,6 +79,33 @@ public class Deleter {
         }
     }
 
+    /**
+     * Whether the ids of deleted rows must be known before deletion,
+     * because rows of middle tables or child tables must be handled first.
+     *
+     * <p>If it is false and triggers are not required,
+     * rows can be deleted by one set-based statement.</p>
+     */
+    static boolean isCascadeRequired(JSqlClientImplementor sqlClient, ImmutableType type) {
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        for (ImmutableProp backProp : sqlClient.getEntityManager().getAllBackProps(type)) {
+            ImmutableProp mappedBy = backProp.getMappedBy();
+            if (mappedBy != null && backProp.isRemote()) {
+                continue;
+            }
+            Storage storage = mappedBy != null ?
+                    mappedBy.getStorage(strategy) :
+                    backProp.getStorage(strategy);
+            if (storage instanceof MiddleTable) {
+                return true;
+            }
+            if (backProp.isReference(TargetLevel.PERSISTENT) && backProp.isColumnDefinition()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void addPostHandleInput(ImmutableType type, Collection<?> ids) {
         Set<Object> idSet = postHandleIdInputMap.computeIfAbsent(
                 type,
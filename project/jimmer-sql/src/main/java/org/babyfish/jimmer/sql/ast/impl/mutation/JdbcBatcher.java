@@ -0,0 +1,282 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.runtime.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Accumulates the insert/update/upsert statements of root objects
+ * of batch save command.
+ *
+ * <p>Consecutive rows with same SQL(same shape) are executed together,
+ * either by JDBC batch or by one multi-row insert statement.
+ * When the shape changes, the accumulated rows are flushed first,
+ * so that the execution order of statements is never changed.</p>
+ */
+class JdbcBatcher {
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Connection con;
+
+    private final int batchSize;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    private final Set<TypedKey> pendingKeys = new HashSet<>();
+
+    JdbcBatcher(JSqlClientImplementor sqlClient, Connection con, int batchSize) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.batchSize = batchSize;
+    }
+
+    public void add(Row row) {
+        if (!rows.isEmpty()) {
+            Row first = rows.get(0);
+            if (rows.size() >= batchSize ||
+                    !first.sqlResult.get_1().equals(row.sqlResult.get_1()) ||
+                    first.generateKeys != row.generateKeys) {
+                flush();
+            }
+        }
+        rows.add(row);
+        if (row.pendingKey != null) {
+            pendingKeys.add(row.pendingKey);
+        }
+    }
+
+    public boolean isPending(TypedKey key) {
+        return key != null && pendingKeys.contains(key);
+    }
+
+    public void flush() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Row> rows = new ArrayList<>(this.rows);
+        this.rows.clear();
+        this.pendingKeys.clear();
+        Row first = rows.get(0);
+        if (rows.size() > 1 &&
+                first.insertType != null &&
+                !first.generateKeys &&
+                sqlClient.getDialect().isMultiInsertionSupported()) {
+            executeMultiInsertion(rows);
+        } else {
+            executeBatch(rows);
+        }
+    }
+
+    private void executeMultiInsertion(List<Row> rows) {
+        Row first = rows.get(0);
+        List<List<Object>> valuesList = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            valuesList.add(row.insertValues);
+        }
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = Saver.buildInsertSql(
+                sqlClient,
+                first.insertType,
+                first.insertProps,
+                valuesList,
+                first.overrideIdentity
+        );
+        int rowCount = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sqlResult.get_1(),
+                        sqlResult.get_2(),
+                        sqlResult.get_3(),
+                        ExecutionPurpose.MUTATE,
+                        null,
+                        PreparedStatement::executeUpdate
+                )
+        );
+        if (rowCount != rows.size()) {
+            throw new ExecutionException(
+                    "The affected row count of multi-row insertion is " +
+                            rowCount +
+                            ", but " +
+                            rows.size() +
+                            " rows are expected"
+            );
+        }
+        for (Row row : rows) {
+            row.callback.executed(1, null);
+        }
+    }
+
+    private void executeBatch(List<Row> rows) {
+        Row first = rows.get(0);
+        Dialect dialect = sqlClient.getDialect();
+        List<Object> generatedIds = first.generateKeys ? new ArrayList<>(rows.size()) : null;
+        int[] rowCounts = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        first.sqlResult.get_1(),
+                        first.sqlResult.get_2(),
+                        first.sqlResult.get_3(),
+                        ExecutionPurpose.MUTATE,
+                        first.statementFactory,
+                        stmt -> {
+                            stmt.addBatch();
+                            int size = rows.size();
+                            for (int i = 1; i < size; i++) {
+                                DefaultExecutor.setParameters(
+                                        stmt,
+                                        rows.get(i).sqlResult.get_2(),
+                                        dialect
+                                );
+                                stmt.addBatch();
+                            }
+                            int[] counts = stmt.executeBatch();
+                            if (generatedIds != null) {
+                                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                    while (rs.next()) {
+                                        generatedIds.add(rs.getObject(1));
+                                    }
+                                }
+                            }
+                            return counts;
+                        }
+                )
+        );
+        if (generatedIds != null && generatedIds.size() != rows.size()) {
+            throw new ExecutionException(
+                    "The JDBC driver returns " +
+                            generatedIds.size() +
+                            " generated ids for a batch with " +
+                            rows.size() +
+                            " rows, please disable the batch save or use other id generator"
+            );
+        }
+        int size = rows.size();
+        for (int i = 0; i < size; i++) {
+            int rowCount = i < rowCounts.length ? rowCounts[i] : Statement.SUCCESS_NO_INFO;
+            if (rowCount == Statement.SUCCESS_NO_INFO) {
+                // Some JDBC drivers cannot tell the affected row count of each row
+                rowCount = 1;
+            }
+            rows.get(i).callback.executed(
+                    rowCount,
+                    generatedIds != null ? generatedIds.get(i) : null
+            );
+        }
+    }
+
+    static class Row {
+
+        final Tuple3<String, List<Object>, List<Integer>> sqlResult;
+
+        final boolean generateKeys;
+
+        final StatementFactory statementFactory;
+
+        final ImmutableType insertType;
+
+        final List<ImmutableProp> insertProps;
+
+        final List<Object> insertValues;
+
+        final boolean overrideIdentity;
+
+        final TypedKey pendingKey;
+
+        final Callback callback;
+
+        private Row(
+                Tuple3<String, List<Object>, List<Integer>> sqlResult,
+                boolean generateKeys,
+                StatementFactory statementFactory,
+                ImmutableType insertType,
+                List<ImmutableProp> insertProps,
+                List<Object> insertValues,
+                boolean overrideIdentity,
+                TypedKey pendingKey,
+                Callback callback
+        ) {
+            this.sqlResult = sqlResult;
+            this.generateKeys = generateKeys;
+            this.statementFactory = statementFactory;
+            this.insertType = insertType;
+            this.insertProps = insertProps;
+            this.insertValues = insertValues;
+            this.overrideIdentity = overrideIdentity;
+            this.pendingKey = pendingKey;
+            this.callback = callback;
+        }
+
+        static Row insert(
+                Tuple3<String, List<Object>, List<Integer>> sqlResult,
+                StatementFactory generatedKeysStatementFactory,
+                ImmutableType type,
+                List<ImmutableProp> props,
+                List<Object> values,
+                boolean overrideIdentity,
+                TypedKey pendingKey,
+                Callback callback
+        ) {
+            return new Row(
+                    sqlResult,
+                    generatedKeysStatementFactory != null,
+                    generatedKeysStatementFactory,
+                    type,
+                    props,
+                    values,
+                    overrideIdentity,
+                    pendingKey,
+                    callback
+            );
+        }
+
+        static Row upsert(
+                Tuple3<String, List<Object>, List<Integer>> sqlResult,
+                StatementFactory generatedKeysStatementFactory,
+                Callback callback
+        ) {
+            return new Row(
+                    sqlResult,
+                    generatedKeysStatementFactory != null,
+                    generatedKeysStatementFactory,
+                    null,
+                    null,
+                    null,
+                    false,
+                    null,
+                    callback
+            );
+        }
+
+        static Row update(
+                Tuple3<String, List<Object>, List<Integer>> sqlResult,
+                Callback callback
+        ) {
+            return new Row(
+                    sqlResult,
+                    false,
+                    null,
+                    null,
+                    null,
+                    null,
+                    false,
+                    null,
+                    callback
+            );
+        }
+    }
+
+    @FunctionalInterface
+    interface Callback {
+        void executed(int rowCount, Object generatedId);
+    }
+}
@@ -19,6 +19,8 @@ import org.babyfish.jimmer.sql.ast.table.TableEx;
 import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.meta.ColumnDefinition;
+import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.runtime.*;
 
 import java.sql.Connection;
@@ -26,6 +28,7 @@ import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MutableDeleteImpl
         extends AbstractMutableStatementImpl
@@ -94,6 +97,14 @@ public class MutableDeleteImpl
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        // Global filters are applied by the calling thread
+        freeze();
+        JSqlClientImplementor sqlClient = getSqlClient();
+        return AsyncExecutions.execute(sqlClient, null, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     @Override
     protected void onFrozen() {
         deleteQuery.freeze();
@@ -118,11 +129,18 @@ public class MutableDeleteImpl
         }
 
         boolean binLogOnly = sqlClient.getTriggerType() == TriggerType.BINLOG_ONLY;
-        if (table.isEmpty() && binLogOnly) {
+        boolean setBased = binLogOnly &&
+                !table.isEmpty() &&
+                !Deleter.isCascadeRequired(sqlClient, table.getImmutableType());
+        if ((table.isEmpty() && binLogOnly) || setBased) {
             SqlBuilder builder = new SqlBuilder(astContext);
             astContext.pushStatement(this);
             try {
-                renderDirectly(builder);
+                if (setBased) {
+                    renderSetBased(builder);
+                } else {
+                    renderDirectly(builder);
+                }
                 Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
                 return sqlClient.getExecutor().execute(
                         new Executor.Args<>(
@@ -185,6 +203,43 @@ public class MutableDeleteImpl
                 .sql(table.getImmutableType().getTableName(getSqlClient().getMetadataStrategy()))
                 .sql(" ")
                 .sql(table.getAlias());
+        renderWhereClause(builder);
+    }
+
+    /**
+     * Renders the deletion filtered by joined tables as one statement,
+     * so that the ids of deleted rows are not loaded into memory.
+     */
+    private void renderSetBased(SqlBuilder builder) {
+        TableImplementor<?> table = getTableImplementor();
+        JSqlClientImplementor sqlClient = getSqlClient();
+        if (sqlClient.getDialect().isDeletedAliasRequired()) {
+            // Multi-table deletion, `delete tb_1_ from A tb_1_ inner join B tb_2_ on ...`
+            builder.sql("delete ").sql(table.getAlias());
+            table.renderTo(builder);
+            renderWhereClause(builder);
+            return;
+        }
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        ImmutableType type = table.getImmutableType();
+        ColumnDefinition idDefinition = type.getIdProp().getStorage(strategy);
+        builder
+                .sql("delete")
+                .from()
+                .sql(type.getTableName(strategy))
+                .enter(SqlBuilder.ScopeType.WHERE)
+                .definition(null, idDefinition, true)
+                .sql(" in ")
+                .enter(SqlBuilder.ScopeType.SUB_QUERY)
+                .enter(SqlBuilder.ScopeType.SELECT)
+                .definition(table.getAlias(), idDefinition)
+                .leave();
+        table.renderTo(builder);
+        renderWhereClause(builder);
+        builder.leave().leave();
+    }
+
+    private void renderWhereClause(SqlBuilder builder) {
         Predicate predicate = deleteQuery.getPredicate();
         if (predicate != null) {
             builder.enter(SqlBuilder.ScopeType.WHERE);
@@ -0,0 +1,239 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.PropExpression;
+import org.babyfish.jimmer.sql.ast.impl.*;
+import org.babyfish.jimmer.sql.ast.impl.query.UseTableVisitor;
+import org.babyfish.jimmer.sql.ast.impl.table.StatementContext;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.mutation.MutableInsertSelect;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.meta.EmbeddedColumns;
+import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.meta.SingleColumn;
+import org.babyfish.jimmer.sql.runtime.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class MutableInsertSelectImpl
+        extends AbstractMutableStatementImpl
+        implements MutableInsertSelect {
+
+    private final StatementContext ctx;
+
+    private final ImmutableType targetType;
+
+    private final Map<ImmutableProp, Expression<?>> assignmentMap = new LinkedHashMap<>();
+
+    public MutableInsertSelectImpl(
+            JSqlClientImplementor sqlClient,
+            TableProxy<?> targetTable,
+            TableProxy<?> sourceTable
+    ) {
+        super(sqlClient, sourceTable);
+        if (targetTable.__unwrap() != null) {
+            throw new IllegalArgumentException("target table proxy cannot be wrapper");
+        }
+        if (targetTable.__prop() != null) {
+            throw new IllegalArgumentException("target table proxy must be root table");
+        }
+        ImmutableType targetType = targetTable.getImmutableType();
+        if (!targetType.isEntity()) {
+            throw new IllegalArgumentException("\"" + targetType + "\" is not entity");
+        }
+        this.ctx = new StatementContext(ExecutionPurpose.MUTATE, false);
+        this.targetType = targetType;
+    }
+
+    @Override
+    public StatementContext getContext() {
+        return ctx;
+    }
+
+    @Override
+    public AbstractMutableStatementImpl getParent() {
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <X> MutableInsertSelect set(PropExpression<X> target, X value) {
+        if (value != null) {
+            return set(target, Expression.any().value(value));
+        }
+        return set(
+                target,
+                Expression.any().nullValue(((ExpressionImplementor<X>)target).getType())
+        );
+    }
+
+    @Override
+    public <X> MutableInsertSelect set(PropExpression<X> target, Expression<X> value) {
+        validateMutable();
+        ImmutableProp prop = targetProp(target);
+        if (assignmentMap.put(prop, value) != null) {
+            throw new IllegalStateException("Cannot insert same column twice");
+        }
+        Literals.bind(value, target);
+        return this;
+    }
+
+    @Override
+    public MutableInsertSelect where(Predicate... predicates) {
+        return (MutableInsertSelect) super.where(predicates);
+    }
+
+    @Override
+    public Integer execute(Connection con) {
+        if (con != null) {
+            return executeImpl(con);
+        }
+        return getSqlClient()
+                .getConnectionManager()
+                .execute(this::executeImpl);
+    }
+
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        // Global filters are applied by the calling thread
+        freeze();
+        JSqlClientImplementor sqlClient = getSqlClient();
+        return AsyncExecutions.execute(sqlClient, null, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
+    private int executeImpl(Connection con) {
+        freeze();
+        JSqlClientImplementor sqlClient = getSqlClient();
+        if (sqlClient.getTriggerType() != TriggerType.BINLOG_ONLY) {
+            throw new ExecutionException(
+                    "The insert-select statement of \"" +
+                            targetType +
+                            "\" cannot be executed when transaction trigger is supported, " +
+                            "because the inserted rows are never loaded"
+            );
+        }
+        if (assignmentMap.isEmpty()) {
+            return 0;
+        }
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        renderTo(builder);
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+        return sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sqlResult.get_1(),
+                        sqlResult.get_2(),
+                        sqlResult.get_3(),
+                        getPurpose(),
+                        null,
+                        PreparedStatement::executeUpdate
+                )
+        );
+    }
+
+    private void renderTo(SqlBuilder builder) {
+        AstContext astContext = builder.getAstContext();
+        MetadataStrategy strategy = getSqlClient().getMetadataStrategy();
+        astContext.pushStatement(this);
+        try {
+            UseTableVisitor visitor = new UseTableVisitor(astContext);
+            for (Expression<?> value : assignmentMap.values()) {
+                ((Ast) value).accept(visitor);
+            }
+            Predicate predicate = getPredicate();
+            if (predicate != null) {
+                ((Ast) predicate).accept(visitor);
+            }
+
+            builder
+                    .sql("insert into ")
+                    .sql(targetType.getTableName(strategy))
+                    .enter(SqlBuilder.ScopeType.TUPLE);
+            for (ImmutableProp prop : assignmentMap.keySet()) {
+                builder.separator().definition(prop.<SingleColumn>getStorage(strategy));
+            }
+            builder.leave();
+
+            builder.enter(SqlBuilder.ScopeType.SELECT);
+            for (Expression<?> value : assignmentMap.values()) {
+                builder.separator();
+                ((Ast) value).renderTo(builder);
+            }
+            builder.leave();
+
+            getTableImplementor().renderTo(builder);
+            if (predicate != null) {
+                builder.enter(SqlBuilder.ScopeType.WHERE);
+                ((Ast) predicate).renderTo(builder);
+                builder.leave();
+            }
+        } finally {
+            astContext.popStatement();
+        }
+    }
+
+    private ImmutableProp targetProp(PropExpression<?> target) {
+        PropExpressionImplementor<?> implementor = (PropExpressionImplementor<?>) target;
+        EmbeddedColumns.Partial partial = implementor.getPartial(getSqlClient().getMetadataStrategy());
+        if (partial != null && partial.isEmbedded()) {
+            throw new IllegalArgumentException(
+                    "The property \"" +
+                            implementor +
+                            "\" is embedded, it cannot be used as the target of insert-select statement"
+            );
+        }
+        Table<?> table = implementor.getTable();
+        ImmutableProp prop = implementor.getProp();
+        Table<?> parent;
+        ImmutableProp joinProp;
+        if (table instanceof TableImplementor<?>) {
+            parent = ((TableImplementor<?>) table).getParent();
+            joinProp = ((TableImplementor<?>) table).getJoinProp();
+        } else {
+            parent = ((TableProxy<?>) table).__parent();
+            joinProp = ((TableProxy<?>) table).__prop();
+        }
+        if (parent != null && joinProp != null && prop.isId()) {
+            // Foreign key, such as `table.store().id()`
+            table = parent;
+            prop = joinProp;
+        }
+        if (!table.getImmutableType().equals(targetType) || isJoined(table)) {
+            throw new IllegalArgumentException(
+                    "The target property \"" +
+                            implementor +
+                            "\" does not belong to the root table of \"" +
+                            targetType +
+                            "\""
+            );
+        }
+        if (!(prop.getStorage(getSqlClient().getMetadataStrategy()) instanceof SingleColumn)) {
+            throw new IllegalArgumentException(
+                    "The target property \"" +
+                            prop +
+                            "\" must be mapped by one database column"
+            );
+        }
+        return prop;
+    }
+
+    private static boolean isJoined(Table<?> table) {
+        if (table instanceof TableImplementor<?>) {
+            return ((TableImplementor<?>) table).getParent() != null;
+        }
+        return ((TableProxy<?>) table).__parent() != null;
+    }
+}
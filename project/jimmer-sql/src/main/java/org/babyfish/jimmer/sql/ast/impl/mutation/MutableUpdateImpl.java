@@ -11,6 +11,7 @@ import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.meta.ColumnDefinition;
 import org.babyfish.jimmer.sql.meta.EmbeddedColumns;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
@@ -29,6 +30,7 @@ import org.jetbrains.annotations.NotNull;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class MutableUpdateImpl
         extends AbstractMutableStatementImpl
@@ -121,6 +123,14 @@ public class MutableUpdateImpl
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        // Global filters are applied by the calling thread
+        freeze();
+        JSqlClientImplementor sqlClient = getSqlClient();
+        return AsyncExecutions.execute(sqlClient, null, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     private int executeImpl(Connection con) {
         freeze();
         if (assignmentMap.isEmpty()) {
@@ -240,6 +250,9 @@ public class MutableUpdateImpl
             }
             Predicate predicate = getPredicate();
             if (predicate != null) {
+                if (visitor instanceof VisitorImpl) {
+                    ((VisitorImpl) visitor).predicateVisiting = true;
+                }
                 ((Ast) predicate).accept(visitor);
             }
         } finally {
@@ -341,8 +354,9 @@ public class MutableUpdateImpl
 
     private void renderTables(SqlBuilder builder) {
         TableImplementor<?> table = getTableImplementor();
-        if (hasUsedChild(table, builder.getAstContext())) {
-            switch (getSqlClient().getDialect().getUpdateJoin().getFrom()) {
+        UpdateJoin updateJoin = getSqlClient().getDialect().getUpdateJoin();
+        if (updateJoin != null && hasUsedChild(table, builder.getAstContext())) {
+            switch (updateJoin.getFrom()) {
                 case AS_ROOT:
                     table.renderTo(builder);
                     break;
@@ -385,6 +399,11 @@ public class MutableUpdateImpl
             return;
         }
 
+        if (forUpdate && ids == null && updateJoin == null && hasUsedChild(table, builder.getAstContext())) {
+            renderJoinedWhereAsSubQuery(builder);
+            return;
+        }
+
         builder.enter(SqlBuilder.ScopeType.WHERE);
 
         if (ids != null) {
@@ -418,6 +437,32 @@ public class MutableUpdateImpl
         builder.leave();
     }
 
+    /**
+     * The dialect does not support update join, but the joined tables are
+     * only used by the predicate, filter the updated rows by sub query
+     * so that the ids are not loaded into memory.
+     */
+    private void renderJoinedWhereAsSubQuery(SqlBuilder builder) {
+        TableImplementor<?> table = getTableImplementor();
+        ColumnDefinition idDefinition = table
+                .getImmutableType()
+                .getIdProp()
+                .getStorage(getSqlClient().getMetadataStrategy());
+        builder
+                .enter(SqlBuilder.ScopeType.WHERE)
+                .definition(table.getAlias(), idDefinition, true)
+                .sql(" in ")
+                .enter(SqlBuilder.ScopeType.SUB_QUERY)
+                .enter(SqlBuilder.ScopeType.SELECT)
+                .definition(table.getAlias(), idDefinition)
+                .leave();
+        table.renderTo(builder);
+        builder.enter(SqlBuilder.ScopeType.WHERE);
+        ((Ast) getPredicate()).renderTo(builder);
+        builder.leave();
+        builder.leave().leave();
+    }
+
     private static class Target {
 
         Table<?> table;
@@ -477,6 +522,8 @@ public class MutableUpdateImpl
 
         private final Dialect dialect;
 
+        private boolean predicateVisiting;
+
         public VisitorImpl(AstContext astContext, Dialect dialect) {
             super(astContext);
             this.dialect = dialect;
@@ -492,9 +539,10 @@ public class MutableUpdateImpl
 
         private void validateTable(TableImplementor<?> tableImpl) {
             if (getAstContext().getTableUsedState(tableImpl) == TableUsedState.USED) {
-                if (tableImpl.getParent() != null && dialect.getUpdateJoin() == null) {
+                if (tableImpl.getParent() != null && dialect.getUpdateJoin() == null && !predicateVisiting) {
                     throw new ExecutionException(
-                            "Table joins for update statement is forbidden by the current dialect, " +
+                            "Table joins for the assignments of update statement " +
+                                    "is forbidden by the current dialect, " +
                                     "but there is a join '" +
                                     tableImpl +
                                     "'."
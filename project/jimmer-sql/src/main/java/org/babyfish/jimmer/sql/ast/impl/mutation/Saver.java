@@ -46,14 +46,18 @@ class Saver {
 
     private final SavePath path;
 
+    private final JdbcBatcher batcher;
+
     private boolean triggerSubmitted;
 
+    private boolean batchable;
+
     Saver(
             AbstractEntitySaveCommandImpl.Data data,
             Connection con,
             ImmutableType type
     ) {
-        this(data, con, type, new SaverCache(data), true, new LinkedHashMap<>());
+        this(data, con, type, new SaverCache(data), true, new LinkedHashMap<>(), null);
     }
 
     Saver(
@@ -62,7 +66,8 @@ class Saver {
             ImmutableType type,
             SaverCache cache,
             boolean triggerSubmitImmediately,
-            Map<AffectedTable, Integer> affectedRowCountMap
+            Map<AffectedTable, Integer> affectedRowCountMap,
+            JdbcBatcher batcher
     ) {
         this.data = data;
         this.con = con;
@@ -71,6 +76,7 @@ class Saver {
         this.triggerSubmitImmediately = triggerSubmitImmediately && this.trigger != null;
         this.affectedRowCountMap = affectedRowCountMap;
         this.path = SavePath.root(type);
+        this.batcher = batcher;
     }
 
     Saver(Saver base, AbstractEntitySaveCommandImpl.Data data, ImmutableProp prop) {
@@ -81,6 +87,7 @@ class Saver {
         this.triggerSubmitImmediately = this.trigger != null;
         this.affectedRowCountMap = base.affectedRowCountMap;
         this.path = base.path.to(prop);
+        this.batcher = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -107,7 +114,19 @@ class Saver {
         }
     }
 
+    public void flushBatch() {
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
     private void saveImpl(DraftSpi draftSpi) {
+        if (batcher != null) {
+            batchable = isBatchable(draftSpi);
+            if (!batchable) {
+                batcher.flush();
+            }
+        }
         saveAssociations(draftSpi, ObjectType.EXISTING, true);
         ObjectType objectType = saveSelf(draftSpi);
         saveAssociations(draftSpi, objectType, false);
@@ -382,6 +401,11 @@ class Saver {
             return ObjectType.NEW;
         }
 
+        if (data.getMode() == SaveMode.NATIVE_UPSERT && isNativeUpsertable(draftSpi)) {
+            upsert(draftSpi);
+            return ObjectType.EXISTING;
+        }
+
         if (trigger == null &&
                 data.getMode() == SaveMode.UPDATE_ONLY &&
                 draftSpi.__isLoaded(draftSpi.__type().getIdProp().getId())) {
@@ -448,53 +472,9 @@ class Saver {
                 draftSpi.__get(type.getIdProp().getId()) :
                 null;
         if (id == null) {
-            if (idGenerator == null) {
-                throw new SaveException(
-                        SaveErrorCode.NO_ID_GENERATOR,
-                        path,
-                        "Cannot save \"" +
-                                type + "\" " +
-                                "without id because id generator is not specified"
-                );
-            } else if (idGenerator instanceof SequenceIdGenerator) {
-                String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(
-                        ((SequenceIdGenerator)idGenerator).getSequenceName()
-                );
-                id = data.getSqlClient().getExecutor().execute(
-                        new Executor.Args<>(
-                                data.getSqlClient(),
-                                con,
-                                sql,
-                                Collections.emptyList(),
-                                data.getSqlClient().getSqlFormatter().isPretty() ? Collections.emptyList() : null,
-                                ExecutionPurpose.MUTATE,
-                                null,
-                                stmt -> {
-                                    try (ResultSet rs = stmt.executeQuery()) {
-                                        rs.next();
-                                        return rs.getObject(1);
-                                    }
-                                }
-                        )
-                );
-                setDraftId(draftSpi, id);
-            } else if (idGenerator instanceof UserIdGenerator<?>) {
-                id = ((UserIdGenerator<?>)idGenerator).generate(type.getJavaClass());
+            id = generateId(type, idGenerator);
+            if (id != null) {
                 setDraftId(draftSpi, id);
-            } else if (!(idGenerator instanceof IdentityIdGenerator)) {
-                throw new SaveException(
-                        SaveErrorCode.ILLEGAL_ID_GENERATOR,
-                        path,
-                        "Illegal id generator type: \"" +
-                                idGenerator.getClass().getName() +
-                                "\", id generator must be sub type of \"" +
-                                SequenceIdGenerator.class.getName() +
-                                "\", \"" +
-                                IdentityIdGenerator.class.getName() +
-                                "\" or \"" +
-                                UserIdGenerator.class.getName() +
-                                "\""
-                );
             }
         }
         if (type.getVersionProp() != null && !draftSpi.__isLoaded(type.getVersionProp().getId())) {
@@ -506,31 +486,7 @@ class Saver {
         for (ImmutableProp prop : draftSpi.__type().getProps().values()) {
             if (prop.isColumnDefinition() && draftSpi.__isLoaded(prop.getId())) {
                 props.add(prop);
-                Object value = draftSpi.__get(prop.getId());
-                ScalarProvider<Object, Object> scalarProvider;
-                if (prop.isReference(TargetLevel.ENTITY)) {
-                    scalarProvider = data.getSqlClient().getScalarProvider(prop.getTargetType().getIdProp());
-                    if (value != null) {
-                        value = ((ImmutableSpi) value).__get(prop.getTargetType().getIdProp().getId());
-                    }
-                } else {
-                    scalarProvider = data.getSqlClient().getScalarProvider(prop);
-                }
-                if (scalarProvider != null) {
-                    try {
-                        value = value != null ? scalarProvider.toSql(value) : new DbNull(scalarProvider.getSqlType());
-                    } catch (Exception ex) {
-                        throw new ExecutionException(
-                                "Cannot convert the value of \"" +
-                                        prop +
-                                        "\" by the scalar provider \"" +
-                                        scalarProvider.getClass().getName() +
-                                        "\"",
-                                ex
-                        );
-                    }
-                }
-                values.add(value);
+                values.add(columnValue(prop, draftSpi.__get(prop.getId())));
             }
         }
         if (props.isEmpty()) {
@@ -542,47 +498,25 @@ class Saver {
                             "\" without any properties"
             );
         }
-        SqlBuilder builder = new SqlBuilder(new AstContext(data.getSqlClient()));
+        boolean overrideIdentity = id != null && idGenerator instanceof IdentityIdGenerator;
+        boolean generateKeys = id == null;
+        Dialect dialect = data.getSqlClient().getDialect();
         MetadataStrategy strategy = data.getSqlClient().getMetadataStrategy();
-        builder
-                .sql("insert into ")
-                .sql(type.getTableName(strategy))
-                .enter(SqlBuilder.ScopeType.TUPLE);
-        for (ImmutableProp prop : props) {
-            builder.separator().definition(prop.<ColumnDefinition>getStorage(strategy));
-        }
-        builder.leave();
-        if (id != null && idGenerator instanceof IdentityIdGenerator) {
-            String overrideIdentityIdSql = data.getSqlClient().getDialect().getOverrideIdentityIdSql();
-            if (overrideIdentityIdSql != null) {
-                builder.sql(" ").sql(overrideIdentityIdSql);
-            }
+        if (generateKeys && dialect instanceof OracleDialect) {
+            throw new ExecutionException(
+                    "\"" +
+                            IdentityIdGenerator.class.getName() +
+                            "\" is not supported by Oracle"
+            );
         }
-        builder.enter(SqlBuilder.ScopeType.VALUES).enter(SqlBuilder.ScopeType.TUPLE);
-        int size = values.size();
-        for (int i = 0; i < size; i++) {
-            builder.separator();
-            Object value = values.get(i);
-            if (value != null) {
-                builder.variable(value);
-            } else {
-                builder.nullVariable(props.get(i));
-            }
+        if (batchable) {
+            insertByBatch(draftSpi, props, values, overrideIdentity, generateKeys);
+            return;
         }
-        builder.leave().leave();
-
-        boolean generateKeys = id == null;
-        if (generateKeys) {
-            Dialect dialect = data.getSqlClient().getDialect();
-            if (dialect instanceof PostgresDialect) {
-                builder.sql(" returning ").sql(type.getIdProp().<SingleColumn>getStorage(strategy).getName());
-            } else if (dialect instanceof OracleDialect) {
-                throw new ExecutionException(
-                        "\"" +
-                                IdentityIdGenerator.class.getName() +
-                                "\" is not supported by Oracle"
-                );
-            }
+        SqlBuilder builder = new SqlBuilder(new AstContext(data.getSqlClient()));
+        buildInsertSql(builder, type, props, Collections.singletonList(values), overrideIdentity);
+        if (generateKeys && dialect instanceof PostgresDialect) {
+            builder.sql(" returning ").sql(type.getIdProp().<SingleColumn>getStorage(strategy).getName());
         }
 
         Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
@@ -625,6 +559,319 @@ class Saver {
         cache.save(draftSpi, true);
     }
 
+    private boolean isNativeUpsertable(DraftSpi draftSpi) {
+        ImmutableType type = draftSpi.__type();
+        Dialect dialect = data.getSqlClient().getDialect();
+        if (!dialect.isUpsertSupported() ||
+                trigger != null ||
+                type.getVersionProp() != null ||
+                data.getSqlClient().getDraftInterceptor(type) != null) {
+            return false;
+        }
+        MetadataStrategy strategy = data.getSqlClient().getMetadataStrategy();
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.isColumnDefinition() &&
+                    (prop.isId() || draftSpi.__isLoaded(prop.getId())) &&
+                    !(prop.getStorage(strategy) instanceof SingleColumn)) {
+                return false;
+            }
+        }
+        PropId idPropId = type.getIdProp().getId();
+        if (draftSpi.__isLoaded(idPropId) && draftSpi.__get(idPropId) != null) {
+            return true;
+        }
+        Set<ImmutableProp> keyProps = data.getKeyProps(type);
+        if (keyProps == null || keyProps.isEmpty()) {
+            return false;
+        }
+        for (ImmutableProp keyProp : keyProps) {
+            if (!draftSpi.__isLoaded(keyProp.getId())) {
+                return false;
+            }
+        }
+        IdGenerator idGenerator = data.getSqlClient().getIdGenerator(type.getJavaClass());
+        if (idGenerator == null || (idGenerator instanceof IdentityIdGenerator && dialect instanceof OracleDialect)) {
+            return false;
+        }
+        if (!dialect.isUpsertReturningIdSupported()) {
+            // The id of upserted row is unknown, child objects cannot be saved
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.isAssociation(TargetLevel.ENTITY) &&
+                        !prop.isColumnDefinition() &&
+                        draftSpi.__isLoaded(prop.getId())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void upsert(DraftSpi draftSpi) {
+
+        callInterceptor(draftSpi, true);
+
+        ImmutableType type = draftSpi.__type();
+        ImmutableProp idProp = type.getIdProp();
+        Dialect dialect = data.getSqlClient().getDialect();
+        boolean idLoaded = draftSpi.__isLoaded(idProp.getId()) && draftSpi.__get(idProp.getId()) != null;
+
+        List<ImmutableProp> props = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        if (!idLoaded) {
+            Object id = generateId(type, data.getSqlClient().getIdGenerator(type.getJavaClass()));
+            if (id != null) {
+                props.add(idProp);
+                values.add(columnValue(idProp, Converters.tryConvert(id, idProp.getElementClass())));
+            }
+        }
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.isColumnDefinition() && draftSpi.__isLoaded(prop.getId())) {
+                props.add(prop);
+                values.add(columnValue(prop, draftSpi.__get(prop.getId())));
+            }
+        }
+        List<ImmutableProp> conflictProps = idLoaded ?
+                Collections.singletonList(idProp) :
+                new ArrayList<>(data.getKeyProps(type));
+        SqlBuilder builder = new SqlBuilder(new AstContext(data.getSqlClient()));
+        dialect.upsert(new UpsertContextImpl(builder, type, props, values, conflictProps));
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+
+        StatementFactory statementFactory = null;
+        if (!idLoaded && dialect.isUpsertReturningIdSupported()) {
+            String idColumnName = idProp.<SingleColumn>getStorage(data.getSqlClient().getMetadataStrategy()).getName();
+            statementFactory = (c, s) -> c.prepareStatement(s, new String[] { idColumnName });
+        }
+        JdbcBatcher.Callback callback = (rowCount, generatedId) -> {
+            // MySQL reports 2 for the updated row,
+            // Oracle may report SUCCESS_NO_INFO for merge statement
+            addOutput(
+                    AffectedTable.of(type),
+                    rowCount == Statement.SUCCESS_NO_INFO ? 1 : Math.min(rowCount, 1)
+            );
+            if (generatedId != null) {
+                setDraftId(draftSpi, generatedId);
+            }
+            if (draftSpi.__isLoaded(idProp.getId())) {
+                cache.save(draftSpi, true);
+            }
+        };
+        if (batchable) {
+            batcher.add(JdbcBatcher.Row.upsert(sqlResult, statementFactory, callback));
+            return;
+        }
+        boolean generateKeys = statementFactory != null;
+        Object upsertedResult = data.getSqlClient().getExecutor().execute(
+                new Executor.Args<>(
+                        data.getSqlClient(),
+                        con,
+                        sqlResult.get_1(),
+                        sqlResult.get_2(),
+                        sqlResult.get_3(),
+                        ExecutionPurpose.MUTATE,
+                        statementFactory,
+                        stmt -> {
+                            int updateCount = stmt.executeUpdate();
+                            if (generateKeys) {
+                                Object generatedId = null;
+                                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                    if (rs.next()) {
+                                        generatedId = rs.getObject(1);
+                                    }
+                                }
+                                return new Tuple2<>(updateCount, generatedId);
+                            }
+                            return updateCount;
+                        }
+                )
+        );
+        if (upsertedResult instanceof Tuple2<?, ?>) {
+            Tuple2<Integer, Object> tuple = (Tuple2<Integer, Object>) upsertedResult;
+            callback.executed(tuple.get_1(), tuple.get_2());
+        } else {
+            callback.executed((Integer) upsertedResult, null);
+        }
+    }
+
+    private Object generateId(ImmutableType type, IdGenerator idGenerator) {
+        if (idGenerator == null) {
+            throw new SaveException(
+                    SaveErrorCode.NO_ID_GENERATOR,
+                    path,
+                    "Cannot save \"" +
+                            type + "\" " +
+                            "without id because id generator is not specified"
+            );
+        }
+        if (idGenerator instanceof SequenceIdGenerator) {
+            String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(
+                    ((SequenceIdGenerator)idGenerator).getSequenceName()
+            );
+            return data.getSqlClient().getExecutor().execute(
+                    new Executor.Args<>(
+                            data.getSqlClient(),
+                            con,
+                            sql,
+                            Collections.emptyList(),
+                            data.getSqlClient().getSqlFormatter().isPretty() ? Collections.emptyList() : null,
+                            ExecutionPurpose.MUTATE,
+                            null,
+                            stmt -> {
+                                try (ResultSet rs = stmt.executeQuery()) {
+                                    rs.next();
+                                    return rs.getObject(1);
+                                }
+                            }
+                    )
+            );
+        }
+        if (idGenerator instanceof UserIdGenerator<?>) {
+            return ((UserIdGenerator<?>)idGenerator).generate(type.getJavaClass());
+        }
+        if (!(idGenerator instanceof IdentityIdGenerator)) {
+            throw new SaveException(
+                    SaveErrorCode.ILLEGAL_ID_GENERATOR,
+                    path,
+                    "Illegal id generator type: \"" +
+                            idGenerator.getClass().getName() +
+                            "\", id generator must be sub type of \"" +
+                            SequenceIdGenerator.class.getName() +
+                            "\", \"" +
+                            IdentityIdGenerator.class.getName() +
+                            "\" or \"" +
+                            UserIdGenerator.class.getName() +
+                            "\""
+            );
+        }
+        return null;
+    }
+
+    private Object columnValue(ImmutableProp prop, Object value) {
+        ScalarProvider<Object, Object> scalarProvider;
+        if (prop.isReference(TargetLevel.ENTITY)) {
+            scalarProvider = data.getSqlClient().getScalarProvider(prop.getTargetType().getIdProp());
+            if (value != null) {
+                value = ((ImmutableSpi) value).__get(prop.getTargetType().getIdProp().getId());
+            }
+        } else {
+            scalarProvider = data.getSqlClient().getScalarProvider(prop);
+        }
+        if (scalarProvider != null) {
+            try {
+                value = value != null ? scalarProvider.toSql(value) : new DbNull(scalarProvider.getSqlType());
+            } catch (Exception ex) {
+                throw new ExecutionException(
+                        "Cannot convert the value of \"" +
+                                prop +
+                                "\" by the scalar provider \"" +
+                                scalarProvider.getClass().getName() +
+                                "\"",
+                        ex
+                );
+            }
+        }
+        return value;
+    }
+
+    private void insertByBatch(
+            DraftSpi draftSpi,
+            List<ImmutableProp> props,
+            List<Object> values,
+            boolean overrideIdentity,
+            boolean generateKeys
+    ) {
+        ImmutableType type = draftSpi.__type();
+        SqlBuilder builder = new SqlBuilder(new AstContext(data.getSqlClient()));
+        buildInsertSql(builder, type, props, Collections.singletonList(values), overrideIdentity);
+        StatementFactory statementFactory = null;
+        if (generateKeys) {
+            if (data.getSqlClient().getDialect() instanceof PostgresDialect) {
+                String idColumnName = type
+                        .getIdProp()
+                        .<SingleColumn>getStorage(data.getSqlClient().getMetadataStrategy())
+                        .getName();
+                statementFactory = (c, s) -> c.prepareStatement(s, new String[] { idColumnName });
+            } else {
+                statementFactory = (c, s) -> c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS);
+            }
+        }
+        batcher.add(
+                JdbcBatcher.Row.insert(
+                        builder.build(),
+                        statementFactory,
+                        type,
+                        props,
+                        values,
+                        overrideIdentity,
+                        generateKeys ? TypedKey.of(draftSpi, data.getKeyProps(type), false) : null,
+                        (rowCount, generatedId) -> {
+                            addOutput(AffectedTable.of(type), rowCount);
+                            if (generateKeys) {
+                                setDraftId(draftSpi, generatedId);
+                                cache.save(draftSpi, true);
+                            }
+                        }
+                )
+        );
+        if (!generateKeys) {
+            cache.save(draftSpi, true);
+        }
+    }
+
+    static Tuple3<String, List<Object>, List<Integer>> buildInsertSql(
+            JSqlClientImplementor sqlClient,
+            ImmutableType type,
+            List<ImmutableProp> props,
+            List<List<Object>> valuesList,
+            boolean overrideIdentity
+    ) {
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        buildInsertSql(builder, type, props, valuesList, overrideIdentity);
+        return builder.build();
+    }
+
+    private static void buildInsertSql(
+            SqlBuilder builder,
+            ImmutableType type,
+            List<ImmutableProp> props,
+            List<List<Object>> valuesList,
+            boolean overrideIdentity
+    ) {
+        JSqlClientImplementor sqlClient = builder.getAstContext().getSqlClient();
+        MetadataStrategy strategy = sqlClient.getMetadataStrategy();
+        builder
+                .sql("insert into ")
+                .sql(type.getTableName(strategy))
+                .enter(SqlBuilder.ScopeType.TUPLE);
+        for (ImmutableProp prop : props) {
+            builder.separator().definition(prop.<ColumnDefinition>getStorage(strategy));
+        }
+        builder.leave();
+        if (overrideIdentity) {
+            String overrideIdentityIdSql = sqlClient.getDialect().getOverrideIdentityIdSql();
+            if (overrideIdentityIdSql != null) {
+                builder.sql(" ").sql(overrideIdentityIdSql);
+            }
+        }
+        builder.enter(SqlBuilder.ScopeType.VALUES);
+        for (List<Object> values : valuesList) {
+            builder.separator().enter(SqlBuilder.ScopeType.TUPLE);
+            int size = values.size();
+            for (int i = 0; i < size; i++) {
+                builder.separator();
+                Object value = values.get(i);
+                if (value != null) {
+                    builder.variable(value);
+                } else {
+                    builder.nullVariable(props.get(i));
+                }
+            }
+            builder.leave();
+        }
+        builder.leave();
+    }
+
     private boolean update(DraftSpi draftSpi, boolean excludeKeyProps) {
 
         callInterceptor(draftSpi, false);
@@ -649,31 +896,7 @@ class Saver {
                     version = (Integer) draftSpi.__get(prop.getId());
                 } else if (!prop.isId() && !excludeProps.contains(prop)) {
                     updatedProps.add(prop);
-                    Object value = draftSpi.__get(prop.getId());
-                    ScalarProvider<Object, Object> scalarProvider;
-                    if (prop.isReference(TargetLevel.ENTITY)) {
-                        scalarProvider = data.getSqlClient().getScalarProvider(prop.getTargetType().getIdProp());
-                        if (value != null) {
-                            value = ((ImmutableSpi)value).__get(prop.getTargetType().getIdProp().getId());
-                        }
-                    } else {
-                        scalarProvider = data.getSqlClient().getScalarProvider(prop);
-                    }
-                    if (scalarProvider != null) {
-                        try {
-                            value = value != null ? scalarProvider.toSql(value) : new DbNull(scalarProvider.getSqlType());
-                        } catch (Exception ex) {
-                            throw new ExecutionException(
-                                    "Cannot convert the value of \"" +
-                                            prop +
-                                            "\" by the scalar provider \"" +
-                                            scalarProvider.getClass().getName() +
-                                            "\"",
-                                    ex
-                            );
-                        }
-                    }
-                    updatedValues.add(value);
+                    updatedValues.add(columnValue(prop, draftSpi.__get(prop.getId())));
                 }
             }
         }
@@ -728,6 +951,18 @@ class Saver {
         builder.leave();
 
         Tuple3<String, List<Object>, List<Integer>> sqlResult = builder.build();
+        if (batchable) {
+            Integer batchVersion = version;
+            batcher.add(
+                    JdbcBatcher.Row.update(
+                            sqlResult,
+                            (rowCount, generatedId) -> {
+                                onUpdated(draftSpi, batchVersion, rowCount);
+                            }
+                    )
+            );
+            return true;
+        }
         int rowCount = data.getSqlClient().getExecutor().execute(
                 new Executor.Args<>(
                         data.getSqlClient(),
@@ -740,6 +975,12 @@ class Saver {
                         PreparedStatement::executeUpdate
                 )
         );
+        onUpdated(draftSpi, version, rowCount);
+        return true;
+    }
+
+    private void onUpdated(DraftSpi draftSpi, Integer version, int rowCount) {
+        ImmutableType type = draftSpi.__type();
         if (rowCount != 0) {
             addOutput(AffectedTable.of(type), rowCount);
             if (version != null) {
@@ -759,7 +1000,6 @@ class Saver {
                             "\""
             );
         }
-        return true;
     }
 
     @SuppressWarnings("unchecked")
@@ -802,10 +1042,20 @@ class Saver {
         }
 
         ImmutableType type = example.__type();
+        if (batcher != null && batcher.isPending(TypedKey.of(example, data.getKeyProps(type), false))) {
+            batcher.flush();
+            cached = cache.find(example, requiresKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
         Collection<ImmutableProp> actualKeyProps = actualKeyProps(example, requiresKey);
         if (actualKeyProps == null || actualKeyProps.isEmpty()) {
             return null;
         }
+        if (!actualKeyProps.contains(type.getIdProp()) && cache.isAbsent(example)) {
+            return null;
+        }
 
         List<ImmutableSpi> rows = Internal.requiresNewDraftContext(ctx -> {
             List<ImmutableSpi> list = Queries.createQuery(data.getSqlClient(), type, ExecutionPurpose.MUTATE, true, (q, table) -> {
@@ -860,6 +1110,21 @@ class Saver {
         return spi;
     }
 
+    private boolean isBatchable(DraftSpi draftSpi) {
+        for (ImmutableProp prop : draftSpi.__type().getProps().values()) {
+            if (prop.isAssociation(TargetLevel.ENTITY) && draftSpi.__isLoaded(prop.getId())) {
+                if (!prop.isColumnDefinition() || data.isAutoCheckingProp(prop)) {
+                    return false;
+                }
+                Object associatedValue = draftSpi.__get(prop.getId());
+                if (associatedValue != null && isNonIdPropLoaded((ImmutableSpi) associatedValue, false)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private Collection<ImmutableProp> actualKeyProps(ImmutableSpi spi, boolean requiresKey) {
 
         ImmutableType type = spi.__type();
@@ -1,14 +1,34 @@
 package org.babyfish.jimmer.sql.ast.impl.mutation;
 
+import org.babyfish.jimmer.ImmutableObjects;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.tuple.*;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
-import java.util.Set;
+import java.sql.Connection;
+import java.util.*;
 
 class SaverCache extends MutationCache {
 
+    // Tuple2 ... Tuple9 are supported by `Expression.tuple`
+    private static final int MAX_TUPLE_SIZE = 9;
+
     private AbstractEntitySaveCommandImpl.Data data;
 
+    // The keys which are known to be absent in database
+    private final Set<TypedKey> absentKeys = new HashSet<>();
+
     public SaverCache(AbstractEntitySaveCommandImpl.Data data) {
         super(data.getSqlClient(), data.isPessimisticLockRequired());
         this.data = data;
@@ -18,4 +38,252 @@ class SaverCache extends MutationCache {
     protected Set<ImmutableProp> keyProps(ImmutableType type) {
         return data.getKeyProps(type);
     }
+
+    /**
+     * Resolves the keys of all the objects without id before saving them,
+     * by chunked `(k1, k2) in ((?, ?), ...)` queries of each type,
+     * so that the lookups of saver become memory hits.
+     *
+     * <p>Objects whose keys cannot be matched exactly, for example,
+     * null key values or non-id-only associated objects, are ignored here
+     * and still looked up one by one by saver.</p>
+     */
+    public void preloadByKeys(Collection<?> entities, Connection con) {
+        SaveMode mode = data.getMode();
+        // The root objects are not looked up by saver
+        boolean collectRoots = mode != SaveMode.INSERT_ONLY && !(
+                mode == SaveMode.NATIVE_UPSERT && data.getSqlClient().getDialect().isUpsertSupported()
+        );
+        Map<ImmutableType, Map<TypedKey, ImmutableSpi>> examplesMap = new LinkedHashMap<>();
+        for (Object entity : entities) {
+            collectExamples((ImmutableSpi) entity, collectRoots, examplesMap);
+        }
+        for (Map.Entry<ImmutableType, Map<TypedKey, ImmutableSpi>> e : examplesMap.entrySet()) {
+            // One lookup of saver is as expensive as one preload query
+            if (e.getValue().size() > 1) {
+                preloadByKeys(e.getKey(), e.getValue(), con);
+            }
+        }
+    }
+
+    /**
+     * Whether the key of the example without id has been
+     * resolved by {@link #preloadByKeys(Collection, Connection)}
+     * and does not exist in database.
+     */
+    public boolean isAbsent(ImmutableSpi example) {
+        if (absentKeys.isEmpty()) {
+            return false;
+        }
+        TypedKey key = TypedKey.of(example, keyProps(example.__type()), false);
+        return key != null && absentKeys.contains(key);
+    }
+
+    private void collectExamples(
+            ImmutableSpi spi,
+            boolean collectSelf,
+            Map<ImmutableType, Map<TypedKey, ImmutableSpi>> examplesMap
+    ) {
+        ImmutableType type = spi.__type();
+        if (collectSelf && isPreloadable(spi)) {
+            TypedKey key = TypedKey.of(spi, keyProps(type), false);
+            if (key != null) {
+                examplesMap
+                        .computeIfAbsent(type, it -> new LinkedHashMap<>())
+                        .putIfAbsent(key, spi);
+            }
+        }
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (!prop.isAssociation(TargetLevel.ENTITY) || !spi.__isLoaded(prop.getId())) {
+                continue;
+            }
+            Object value = spi.__get(prop.getId());
+            if (value instanceof List<?>) {
+                for (Object target : (List<?>) value) {
+                    collectExamples((ImmutableSpi) target, true, examplesMap);
+                }
+            } else if (value != null) {
+                collectExamples((ImmutableSpi) value, true, examplesMap);
+            }
+        }
+    }
+
+    private boolean isPreloadable(ImmutableSpi spi) {
+        ImmutableType type = spi.__type();
+        PropId idPropId = type.getIdProp().getId();
+        if (spi.__isLoaded(idPropId) && spi.__get(idPropId) != null) {
+            return false;
+        }
+        Set<ImmutableProp> keyProps = keyProps(type);
+        if (keyProps == null || keyProps.isEmpty() || keyProps.size() > MAX_TUPLE_SIZE) {
+            return false;
+        }
+        for (ImmutableProp keyProp : keyProps) {
+            if (!spi.__isLoaded(keyProp.getId())) {
+                return false;
+            }
+            Object value = spi.__get(keyProp.getId());
+            if (value == null) {
+                return false;
+            }
+            if (keyProp.isReference(TargetLevel.ENTITY) && !ImmutableObjects.isIdOnly(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void preloadByKeys(ImmutableType type, Map<TypedKey, ImmutableSpi> examples, Connection con) {
+        List<ImmutableProp> keyProps = new ArrayList<>(keyProps(type));
+        int chunkSize = data.getSqlClient().getDefaultBatchSize();
+        List<TypedKey> keys = new ArrayList<>(examples.keySet());
+        for (int start = 0; start < keys.size(); start += chunkSize) {
+            List<TypedKey> chunkKeys = keys.subList(start, Math.min(start + chunkSize, keys.size()));
+            List<Object> values = new ArrayList<>(chunkKeys.size());
+            for (TypedKey key : chunkKeys) {
+                values.add(keyValue(examples.get(key), keyProps));
+            }
+            preloadChunk(type, keyProps, new HashSet<>(chunkKeys), values, con);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void preloadChunk(
+            ImmutableType type,
+            List<ImmutableProp> keyProps,
+            Set<TypedKey> chunkKeys,
+            List<Object> values,
+            Connection con
+    ) {
+        List<ImmutableSpi> rows = Internal.requiresNewDraftContext(ctx -> {
+            List<ImmutableSpi> list = Queries.createQuery(data.getSqlClient(), type, ExecutionPurpose.MUTATE, true, (q, table) -> {
+                q.where(keyPredicate(table, keyProps, values));
+                if (data.getTriggers() != null) {
+                    return q.select((Table<ImmutableSpi>)table);
+                }
+                Fetcher<ImmutableSpi> fetcher = IdAndKeyFetchers.getFetcher(type);
+                for (ImmutableProp keyProp : keyProps) {
+                    fetcher = fetcher.add(keyProp.getName());
+                }
+                return q.select(((Table<ImmutableSpi>)table).fetch(fetcher));
+            }).forUpdate(data.isPessimisticLockRequired()).execute(con);
+            return ctx.resolveList(list);
+        });
+        Set<ImmutableProp> keyPropSet = keyProps(type);
+        Map<TypedKey, List<ImmutableSpi>> rowMap = new HashMap<>();
+        boolean exactlyMatched = true;
+        for (ImmutableSpi row : rows) {
+            TypedKey key = TypedKey.of(row, keyPropSet, false);
+            if (key == null || !chunkKeys.contains(key)) {
+                // The database compares the keys differently, such as case-insensitive collation
+                exactlyMatched = false;
+                continue;
+            }
+            rowMap.computeIfAbsent(key, it -> new ArrayList<>(1)).add(row);
+        }
+        for (List<ImmutableSpi> keyRows : rowMap.values()) {
+            // Non-unique keys are left to saver, it reports the error
+            if (keyRows.size() == 1) {
+                save(keyRows.get(0), false);
+            }
+        }
+        if (exactlyMatched) {
+            for (TypedKey key : chunkKeys) {
+                if (!rowMap.containsKey(key)) {
+                    absentKeys.add(key);
+                }
+            }
+        }
+    }
+
+    private static Object keyValue(ImmutableSpi spi, List<ImmutableProp> keyProps) {
+        Object[] arr = new Object[keyProps.size()];
+        for (int i = 0; i < arr.length; i++) {
+            ImmutableProp keyProp = keyProps.get(i);
+            Object value = spi.__get(keyProp.getId());
+            if (keyProp.isReference(TargetLevel.ENTITY)) {
+                value = ((ImmutableSpi) value).__get(keyProp.getTargetType().getIdProp().getId());
+            }
+            arr[i] = value;
+        }
+        switch (arr.length) {
+            case 1:
+                return arr[0];
+            case 2:
+                return new Tuple2<>(arr[0], arr[1]);
+            case 3:
+                return new Tuple3<>(arr[0], arr[1], arr[2]);
+            case 4:
+                return new Tuple4<>(arr[0], arr[1], arr[2], arr[3]);
+            case 5:
+                return new Tuple5<>(arr[0], arr[1], arr[2], arr[3], arr[4]);
+            case 6:
+                return new Tuple6<>(arr[0], arr[1], arr[2], arr[3], arr[4], arr[5]);
+            case 7:
+                return new Tuple7<>(arr[0], arr[1], arr[2], arr[3], arr[4], arr[5], arr[6]);
+            case 8:
+                return new Tuple8<>(arr[0], arr[1], arr[2], arr[3], arr[4], arr[5], arr[6], arr[7]);
+            default:
+                return new Tuple9<>(arr[0], arr[1], arr[2], arr[3], arr[4], arr[5], arr[6], arr[7], arr[8]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate keyPredicate(Table<?> table, List<ImmutableProp> keyProps, List<Object> values) {
+        List<Expression<Object>> exprs = new ArrayList<>(keyProps.size());
+        for (ImmutableProp keyProp : keyProps) {
+            if (keyProp.isReference(TargetLevel.ENTITY)) {
+                exprs.add(
+                        table
+                                .<Table<?>>join(keyProp.getName())
+                                .get(keyProp.getTargetType().getIdProp().getName())
+                );
+            } else {
+                exprs.add(table.get(keyProp.getName()));
+            }
+        }
+        Expression<?> expr;
+        switch (exprs.size()) {
+            case 1:
+                expr = exprs.get(0);
+                break;
+            case 2:
+                expr = Expression.tuple(exprs.get(0), exprs.get(1));
+                break;
+            case 3:
+                expr = Expression.tuple(exprs.get(0), exprs.get(1), exprs.get(2));
+                break;
+            case 4:
+                expr = Expression.tuple(exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3));
+                break;
+            case 5:
+                expr = Expression.tuple(exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3), exprs.get(4));
+                break;
+            case 6:
+                expr = Expression.tuple(
+                        exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3), exprs.get(4),
+                        exprs.get(5)
+                );
+                break;
+            case 7:
+                expr = Expression.tuple(
+                        exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3), exprs.get(4),
+                        exprs.get(5), exprs.get(6)
+                );
+                break;
+            case 8:
+                expr = Expression.tuple(
+                        exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3), exprs.get(4),
+                        exprs.get(5), exprs.get(6), exprs.get(7)
+                );
+                break;
+            default:
+                expr = Expression.tuple(
+                        exprs.get(0), exprs.get(1), exprs.get(2), exprs.get(3), exprs.get(4),
+                        exprs.get(5), exprs.get(6), exprs.get(7), exprs.get(8)
+                );
+                break;
+        }
+        return ((Expression<Object>) expr).in(values);
+    }
 }
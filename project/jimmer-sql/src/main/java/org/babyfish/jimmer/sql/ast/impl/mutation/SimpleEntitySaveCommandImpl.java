@@ -3,9 +3,12 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleEntitySaveCommand;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class SimpleEntitySaveCommandImpl<E>
@@ -57,6 +60,11 @@ public class SimpleEntitySaveCommandImpl<E>
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<SimpleSaveResult<E>> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     private SimpleSaveResult<E> executeImpl(Connection con) {
         data.freeze();
         Saver saver = new Saver(data, con, ((ImmutableSpi)entity).__type());
@@ -0,0 +1,160 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.dialect.UpsertContext;
+import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.babyfish.jimmer.sql.meta.SingleColumn;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class UpsertContextImpl implements UpsertContext {
+
+    private final SqlBuilder builder;
+
+    private final String tableName;
+
+    private final List<ImmutableProp> insertedProps;
+
+    private final List<String> insertedColumns;
+
+    private final List<Object> insertedValues;
+
+    private final List<String> conflictColumns;
+
+    private final List<String> updatedColumns;
+
+    UpsertContextImpl(
+            SqlBuilder builder,
+            ImmutableType type,
+            List<ImmutableProp> insertedProps,
+            List<Object> insertedValues,
+            List<ImmutableProp> conflictProps
+    ) {
+        MetadataStrategy strategy = builder.getAstContext().getSqlClient().getMetadataStrategy();
+        List<String> insertedColumns = new ArrayList<>(insertedProps.size());
+        List<String> updatedColumns = new ArrayList<>(insertedProps.size());
+        for (ImmutableProp prop : insertedProps) {
+            String columnName = prop.<SingleColumn>getStorage(strategy).getName();
+            insertedColumns.add(columnName);
+            if (!prop.isId() && !conflictProps.contains(prop)) {
+                updatedColumns.add(columnName);
+            }
+        }
+        List<String> conflictColumns = new ArrayList<>(conflictProps.size());
+        for (ImmutableProp prop : conflictProps) {
+            conflictColumns.add(prop.<SingleColumn>getStorage(strategy).getName());
+        }
+        this.builder = builder;
+        this.tableName = type.getTableName(strategy);
+        this.insertedProps = insertedProps;
+        this.insertedColumns = insertedColumns;
+        this.insertedValues = insertedValues;
+        this.conflictColumns = conflictColumns;
+        this.updatedColumns = updatedColumns;
+    }
+
+    @Override
+    public boolean hasUpdatedColumns() {
+        return !updatedColumns.isEmpty();
+    }
+
+    @Override
+    public UpsertContext sql(String sql) {
+        builder.sql(sql);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendTableName() {
+        builder.sql(tableName);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertedColumns(String prefix) {
+        appendColumns(insertedColumns, prefix);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertingValues(boolean withColumnAliases) {
+        int size = insertedValues.size();
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.sql(", ");
+            }
+            Object value = insertedValues.get(i);
+            if (value != null) {
+                builder.variable(value);
+            } else {
+                builder.nullVariable(insertedProps.get(i));
+            }
+            if (withColumnAliases) {
+                builder.sql(" ").sql(insertedColumns.get(i));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictColumns() {
+        appendColumns(conflictColumns, null);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictPredicate(String targetAlias, String sourceAlias) {
+        boolean addAnd = false;
+        for (String column : conflictColumns) {
+            if (addAnd) {
+                builder.sql(" and ");
+            } else {
+                addAnd = true;
+            }
+            builder
+                    .sql(targetAlias)
+                    .sql(".")
+                    .sql(column)
+                    .sql(" = ")
+                    .sql(sourceAlias)
+                    .sql(".")
+                    .sql(column);
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendUpdatingAssignments(String prefix, String suffix) {
+        List<String> columns = updatedColumns.isEmpty() ?
+                conflictColumns.subList(0, 1) :
+                updatedColumns;
+        boolean addComma = false;
+        for (String column : columns) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            builder.sql(column).sql(" = ").sql(prefix).sql(column).sql(suffix);
+        }
+        return this;
+    }
+
+    private void appendColumns(List<String> columns, String prefix) {
+        boolean addComma = false;
+        for (String column : columns) {
+            if (addComma) {
+                builder.sql(", ");
+            } else {
+                addComma = true;
+            }
+            if (prefix != null) {
+                builder.sql(prefix);
+            }
+            builder.sql(column);
+        }
+    }
+}
@@ -55,12 +55,24 @@ class AbstractConfigurableTypedQueryImpl implements TypedQueryImplementor {
         try {
             Selection<?> idOnlySelection = idOnlyPropExprByOffset();
             if (idOnlySelection != null) {
-                baseQuery.accept(visitor, Collections.singletonList(idOnlySelection), false);
+                baseQuery.accept(
+                        visitor,
+                        Collections.singletonList(idOnlySelection),
+                        false,
+                        data.getKeysetPredicate(),
+                        data.getKeysetOrders()
+                );
             } else {
                 for (Selection<?> selection : data.getSelections()) {
                     Ast.from(selection, visitor.getAstContext()).accept(visitor);
                 }
-                baseQuery.accept(visitor, data.getOldSelections(), data.isWithoutSortingAndPaging());
+                baseQuery.accept(
+                        visitor,
+                        data.getOldSelections(),
+                        data.isWithoutSortingAndPaging(),
+                        data.getKeysetPredicate(),
+                        data.getKeysetOrders()
+                );
             }
         } finally {
             astContext.popStatement();
@@ -141,7 +153,12 @@ class AbstractConfigurableTypedQueryImpl implements TypedQueryImplementor {
             }
         }
         builder.leave();
-        baseQuery.renderTo(builder, data.isWithoutSortingAndPaging());
+        baseQuery.renderTo(
+                builder,
+                data.isWithoutSortingAndPaging(),
+                data.getKeysetPredicate(),
+                data.getKeysetOrders()
+        );
     }
 
     private PropExpressionImplementor<?> idOnlyPropExprByOffset() {
@@ -176,9 +176,11 @@ public abstract class AbstractMutableQueryImpl
     void accept(
             AstVisitor visitor,
             List<Selection<?>> overriddenSelections,
-            boolean withoutSortingAndPaging
+            boolean withoutSortingAndPaging,
+            Predicate keysetPredicate,
+            List<Order> keysetOrders
     ) {
-        Predicate predicate = getPredicate();
+        Predicate predicate = mergeKeysetPredicate(keysetPredicate);
         Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
         if (groupByExpressions.isEmpty() && !havingPredicates.isEmpty()) {
             throw new IllegalStateException(
@@ -204,6 +206,9 @@ public abstract class AbstractMutableQueryImpl
             for (Order order : orders) {
                 ((Ast)order.getExpression()).accept(visitor);
             }
+            for (Order order : keysetOrders) {
+                ((Ast)order.getExpression()).accept(visitor);
+            }
         }
         if (overriddenSelections != null) {
             AstVisitor ignoredVisitor = new UseJoinOfIgnoredClauseVisitor(astContext);
@@ -213,9 +218,14 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
-    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging) {
+    void renderTo(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            Predicate keysetPredicate,
+            List<Order> keysetOrders
+    ) {
 
-        Predicate predicate = getPredicate();
+        Predicate predicate = mergeKeysetPredicate(keysetPredicate);
         Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
 
         TableImplementor<?> tableImplementor = getTableImplementor();
@@ -239,7 +249,12 @@ public abstract class AbstractMutableQueryImpl
             ((Ast)havingPredicate).renderTo(builder);
             builder.leave();
         }
-        if (!withoutSortingAndPaging && !orders.isEmpty()) {
+        if (!withoutSortingAndPaging && (!orders.isEmpty() || !keysetOrders.isEmpty())) {
+            List<Order> orders = this.orders;
+            if (!keysetOrders.isEmpty()) {
+                orders = new ArrayList<>(orders);
+                orders.addAll(keysetOrders);
+            }
             builder.enter(SqlBuilder.ScopeType.ORDER_BY);
             for (Order order : orders) {
                 builder.separator();
@@ -270,6 +285,17 @@ public abstract class AbstractMutableQueryImpl
         return Collections.unmodifiableList(orders);
     }
 
+    private Predicate mergeKeysetPredicate(Predicate keysetPredicate) {
+        Predicate predicate = getPredicate();
+        if (keysetPredicate == null) {
+            return predicate;
+        }
+        if (predicate == null) {
+            return keysetPredicate;
+        }
+        return CompositePredicate.and(predicate, keysetPredicate);
+    }
+
     private static class UseJoinOfIgnoredClauseVisitor extends AstVisitor {
 
         public UseJoinOfIgnoredClauseVisitor(AstContext ctx) {
@@ -8,6 +8,8 @@ import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
@@ -16,9 +18,11 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -134,7 +138,7 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         return getBaseQuery()
                 .getSqlClient()
                 .getSlaveConnectionManager(getData().isForUpdate())
-                .execute(this::executeImpl);
+                .execute(this::executeByBorrowedConnection);
     }
 
     @Override
@@ -145,7 +149,22 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         return getBaseQuery()
                 .getSqlClient()
                 .getSlaveConnectionManager(getData().isForUpdate())
-                .execute(this::executeImpl);
+                .execute(this::executeByBorrowedConnection);
+    }
+
+    @Override
+    public CompletableFuture<List<R>> executeAsync() {
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        return AsyncExecutions.execute(
+                sqlClient,
+                null,
+                sqlClient.getSlaveConnectionManager(getData().isForUpdate()),
+                this::executeByBorrowedConnection
+        );
+    }
+
+    private List<R> executeByBorrowedConnection(Connection con) {
+        return Fetchers.usingBorrowedConnection(con, () -> executeImpl(con));
     }
 
     private List<R> executeImpl(Connection con) {
@@ -166,6 +185,29 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public KeysetSlice<R> fetchSlice(int limit, String continuationToken, Connection con) {
+        if (limit <= 0 || limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("'limit' must be between 1 and Int.MAX_VALUE - 1");
+        }
+        TypedQueryData data = getData();
+        KeysetPagination pagination = new KeysetPagination(getBaseQuery(), data);
+        ConfigurableRootQueryImpl<T, R> sliceQuery = new ConfigurableRootQueryImpl<>(
+                data.keyset(
+                        continuationToken != null ? pagination.predicate(continuationToken) : null,
+                        pagination.getTieBreakerOrders(),
+                        limit + 1
+                ),
+                getBaseQuery()
+        );
+        List<R> rows = sliceQuery.execute(con);
+        if (rows.size() <= limit) {
+            return new KeysetSlice<>(rows, null);
+        }
+        rows = new ArrayList<>(rows.subList(0, limit));
+        return new KeysetSlice<>(rows, pagination.token(rows.get(limit - 1)));
+    }
+
     @Override
     public <X> List<X> map(Connection con, Function<R, X> mapper) {
         List<R> rows = execute(con);
@@ -187,10 +229,12 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         if (con != null) {
             forEachImpl(con, finalBatchSize, consumer);
         } else {
-            sqlClient.getSlaveConnectionManager(getData().isForUpdate()).execute(newConn -> {
-                forEachImpl(newConn, finalBatchSize, consumer);
-                return (Void) null;
-            });
+            sqlClient.getSlaveConnectionManager(getData().isForUpdate()).execute(newConn ->
+                Fetchers.usingBorrowedConnection(newConn, () -> {
+                    forEachImpl(newConn, finalBatchSize, consumer);
+                    return (Void) null;
+                })
+            );
         }
     }
 
@@ -210,6 +254,37 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException(
+                    "The connection of stream query must be specified " +
+                            "because it must remain open until the stream is closed"
+            );
+        }
+        TypedQueryData data = getData();
+        if (data.getLimit() == 0) {
+            return Stream.empty();
+        }
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                data.getSelections(),
+                getBaseQuery().getPurpose(),
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+    }
+
+    @Override
+    public Tuple3<String, List<Object>, List<Integer>> renderSql() {
+        return preExecute(new SqlBuilder(new AstContext(getBaseQuery().getSqlClient())));
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         AstVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
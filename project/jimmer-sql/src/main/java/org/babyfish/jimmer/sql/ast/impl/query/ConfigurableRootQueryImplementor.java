@@ -1,9 +1,11 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.util.List;
@@ -14,4 +16,12 @@ public interface ConfigurableRootQueryImplementor<T extends Table<?>, R>
     List<Order> getOrders();
 
     JSqlClientImplementor getSqlClient();
+
+    List<Selection<?>> getSelections();
+
+    /**
+     * Render the SQL without executing it, so that the result
+     * can be saved into {@link org.babyfish.jimmer.sql.runtime.SqlTemplateCache}
+     */
+    Tuple3<String, List<Object>, List<Integer>> renderSql();
 }
@@ -0,0 +1,256 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.impl.util.Classes;
+import org.babyfish.jimmer.meta.EmbeddedLevel;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.ast.impl.AstContext;
+import org.babyfish.jimmer.sql.ast.impl.KeysetPredicate;
+import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
+import org.babyfish.jimmer.sql.ast.query.NullOrderMode;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Analyzes the order by clause of a root query for keyset pagination,
+ * and converts the last row of a slice to the continuation token and vice versa.
+ *
+ * <p>The token is the url-safe base64 of a json array, its first element is
+ * the hash of the order by clause so that the token of another query is rejected,
+ * the other elements are the values of ordered properties.</p>
+ */
+class KeysetPagination {
+
+    // Decimals of token must not be parsed as double, otherwise, BigDecimal values lose precision
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final List<ImmutableProp> props;
+
+    private final List<Expression<?>> expressions;
+
+    private final List<OrderMode> orderModes;
+
+    private final List<Order> tieBreakerOrders;
+
+    private final int hash;
+
+    KeysetPagination(MutableRootQueryImpl<?> baseQuery, TypedQueryData data) {
+        if (data.isWithoutSortingAndPaging()) {
+            throw new IllegalStateException(
+                    "Keyset pagination cannot be used when the sorting and paging are disabled"
+            );
+        }
+        if (baseQuery.isGroupByClauseUsed()) {
+            throw new IllegalStateException("Keyset pagination cannot be used by the query with group by clause");
+        }
+        TableImplementor<?> rootTable = baseQuery.getTableImplementor();
+        AstContext astContext = new AstContext(baseQuery.getSqlClient());
+        astContext.pushStatement(baseQuery);
+        try {
+            validateSelections(data.getSelections(), rootTable, astContext);
+            List<ImmutableProp> props = new ArrayList<>();
+            List<Expression<?>> expressions = new ArrayList<>();
+            List<OrderMode> orderModes = new ArrayList<>();
+            boolean idOrdered = false;
+            for (Order order : baseQuery.getOrders()) {
+                ImmutableProp prop = orderedProp(order, rootTable, astContext);
+                props.add(prop);
+                expressions.add(order.getExpression());
+                orderModes.add(order.getOrderMode());
+                if (prop.isId()) {
+                    idOrdered = true;
+                }
+            }
+            if (idOrdered) {
+                tieBreakerOrders = Collections.emptyList();
+            } else {
+                ImmutableProp idProp = rootTable.getImmutableType().getIdProp();
+                if (idProp.isEmbedded(EmbeddedLevel.SCALAR)) {
+                    throw new IllegalStateException(
+                            "Keyset pagination cannot be used by \"" +
+                                    rootTable.getImmutableType() +
+                                    "\" without id order because its id property is embedded"
+                    );
+                }
+                OrderMode orderMode = orderModes.isEmpty() ? OrderMode.ASC : orderModes.get(orderModes.size() - 1);
+                Expression<?> idExpr = baseQuery.getTable().get(idProp.getName());
+                props.add(idProp);
+                expressions.add(idExpr);
+                orderModes.add(orderMode);
+                tieBreakerOrders = Collections.singletonList(
+                        new Order(idExpr, orderMode, NullOrderMode.UNSPECIFIED)
+                );
+            }
+            this.props = Collections.unmodifiableList(props);
+            this.expressions = Collections.unmodifiableList(expressions);
+            this.orderModes = Collections.unmodifiableList(orderModes);
+        } finally {
+            astContext.popStatement();
+        }
+        int hash = rootTable.getImmutableType().toString().hashCode();
+        for (int i = 0; i < props.size(); i++) {
+            hash = hash * 31 + props.get(i).getName().hashCode();
+            hash = hash * 31 + orderModes.get(i).ordinal();
+        }
+        this.hash = hash;
+    }
+
+    public List<Order> getTieBreakerOrders() {
+        return tieBreakerOrders;
+    }
+
+    public Predicate predicate(String continuationToken) {
+        JsonNode arrNode;
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(continuationToken);
+            arrNode = MAPPER.readTree(new String(bytes, StandardCharsets.UTF_8));
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Illegal continuation token \"" + continuationToken + "\"", ex);
+        }
+        if (!arrNode.isArray() || arrNode.size() != props.size() + 1 || arrNode.get(0).asInt() != hash) {
+            throw new IllegalArgumentException(
+                    "The continuation token \"" +
+                            continuationToken +
+                            "\" does not belong to the order by clause of current query"
+            );
+        }
+        List<Object> values = new ArrayList<>(props.size());
+        for (int i = 0; i < props.size(); i++) {
+            ImmutableProp prop = props.get(i);
+            Object value;
+            try {
+                value = MAPPER.treeToValue(arrNode.get(i + 1), Classes.boxTypeOf(prop.getElementClass()));
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(
+                        "Illegal continuation token \"" +
+                                continuationToken +
+                                "\", cannot parse the value of \"" +
+                                prop +
+                                "\"",
+                        ex
+                );
+            }
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Illegal continuation token \"" +
+                                continuationToken +
+                                "\", the value of \"" +
+                                prop +
+                                "\" is null"
+                );
+            }
+            values.add(value);
+        }
+        return new KeysetPredicate(expressions, orderModes, values);
+    }
+
+    public String token(Object lastRow) {
+        ImmutableSpi spi = (ImmutableSpi) lastRow;
+        ArrayNode arrNode = MAPPER.createArrayNode();
+        arrNode.add(hash);
+        for (ImmutableProp prop : props) {
+            if (!spi.__isLoaded(prop.getId())) {
+                throw new IllegalStateException(
+                        "Keyset pagination requires the ordered property \"" +
+                                prop +
+                                "\" to be fetched"
+                );
+            }
+            arrNode.add(MAPPER.valueToTree(spi.__get(prop.getId())));
+        }
+        byte[] bytes;
+        try {
+            bytes = MAPPER.writeValueAsBytes(arrNode);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Cannot create the continuation token", ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void validateSelections(
+            List<Selection<?>> selections,
+            TableImplementor<?> rootTable,
+            AstContext astContext
+    ) {
+        Table<?> table = null;
+        if (selections.size() == 1) {
+            Selection<?> selection = selections.get(0);
+            if (selection instanceof FetcherSelectionImpl<?>) {
+                table = ((FetcherSelectionImpl<?>) selection).getTable();
+            } else if (selection instanceof Table<?>) {
+                table = (Table<?>) selection;
+            }
+        }
+        if (table == null || !isRootTable(table, rootTable, astContext)) {
+            throw new IllegalStateException("Keyset pagination requires the query to select the root table only");
+        }
+    }
+
+    private static ImmutableProp orderedProp(
+            Order order,
+            TableImplementor<?> rootTable,
+            AstContext astContext
+    ) {
+        Expression<?> expression = order.getExpression();
+        if (!(expression instanceof PropExpressionImplementor<?>)) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires that all the order by expressions are properties of the root table"
+            );
+        }
+        PropExpressionImplementor<?> propExpr = (PropExpressionImplementor<?>) expression;
+        ImmutableProp prop = propExpr.getProp();
+        if (!isRootTable(propExpr.getTable(), rootTable, astContext)) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires that all the order by expressions are properties of the root table, " +
+                            "but \"" +
+                            prop +
+                            "\" belongs to joined table"
+            );
+        }
+        if (!prop.isColumnDefinition() ||
+                !prop.isScalar(TargetLevel.ENTITY) ||
+                prop.isEmbedded(EmbeddedLevel.SCALAR) ||
+                prop.isNullable()) {
+            throw new IllegalStateException(
+                    "Keyset pagination requires that all the order by properties " +
+                            "are non-null scalar properties based on one column, but \"" +
+                            prop +
+                            "\" is not"
+            );
+        }
+        return prop;
+    }
+
+    private static boolean isRootTable(Table<?> table, TableImplementor<?> rootTable, AstContext astContext) {
+        // Check the parent first so that no join is resolved here
+        if (table instanceof TableImplementor<?>) {
+            if (((TableImplementor<?>) table).getParent() != null) {
+                return false;
+            }
+        } else if (table instanceof TableProxy<?>) {
+            if (((TableProxy<?>) table).__parent() != null) {
+                return false;
+            }
+        }
+        return TableProxies.resolve(table, astContext) == rootTable;
+    }
+}
@@ -9,6 +9,8 @@ import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
@@ -18,8 +20,10 @@ import org.jetbrains.annotations.NotNull;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -56,7 +60,7 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
     public List<R> execute() {
         return sqlClient
                 .getSlaveConnectionManager(isForUpdate)
-                .execute(this::executeImpl);
+                .execute(this::executeByBorrowedConnection);
     }
 
     @Override
@@ -66,7 +70,21 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         }
         return sqlClient
                 .getSlaveConnectionManager(isForUpdate)
-                .execute(this::executeImpl);
+                .execute(this::executeByBorrowedConnection);
+    }
+
+    @Override
+    public CompletableFuture<List<R>> executeAsync() {
+        return AsyncExecutions.execute(
+                sqlClient,
+                null,
+                sqlClient.getSlaveConnectionManager(isForUpdate),
+                this::executeByBorrowedConnection
+        );
+    }
+
+    private List<R> executeByBorrowedConnection(Connection con) {
+        return Fetchers.usingBorrowedConnection(con, () -> executeImpl(con));
     }
 
     private List<R> executeImpl(Connection con) {
@@ -98,10 +116,12 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         if (con != null) {
             forEachImpl(con, finalBatchSize, consumer);
         } else {
-            sqlClient.getSlaveConnectionManager(isForUpdate).execute(newConn -> {
-                forEachImpl(newConn, finalBatchSize, consumer);
-                return (Void) null;
-            });
+            sqlClient.getSlaveConnectionManager(isForUpdate).execute(newConn ->
+                Fetchers.usingBorrowedConnection(newConn, () -> {
+                    forEachImpl(newConn, finalBatchSize, consumer);
+                    return (Void) null;
+                })
+            );
         }
     }
 
@@ -120,6 +140,27 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException(
+                    "The connection of stream query must be specified " +
+                            "because it must remain open until the stream is closed"
+            );
+        }
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                selections,
+                ExecutionPurpose.QUERY,
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         AstVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
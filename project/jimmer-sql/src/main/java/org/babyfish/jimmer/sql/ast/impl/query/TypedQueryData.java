@@ -1,9 +1,11 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
+import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
@@ -31,6 +33,10 @@ class TypedQueryData {
 
     private final boolean forUpdate;
 
+    private final Predicate keysetPredicate;
+
+    private final List<Order> keysetOrders;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -43,6 +49,8 @@ class TypedQueryData {
         offset = 0;
         withoutSortingAndPaging = false;
         forUpdate = false;
+        keysetPredicate = null;
+        keysetOrders = Collections.emptyList();
     }
 
     private TypedQueryData(
@@ -52,7 +60,9 @@ class TypedQueryData {
             int limit,
             int offset,
             boolean withoutSortingAndPaging,
-            boolean forUpdate
+            boolean forUpdate,
+            Predicate keysetPredicate,
+            List<Order> keysetOrders
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -61,6 +71,8 @@ class TypedQueryData {
         this.offset = offset;
         this.withoutSortingAndPaging = withoutSortingAndPaging;
         this.forUpdate = forUpdate;
+        this.keysetPredicate = keysetPredicate;
+        this.keysetOrders = keysetOrders;
     }
 
     public List<Selection<?>> getSelections() {
@@ -91,6 +103,14 @@ class TypedQueryData {
         return forUpdate;
     }
 
+    public Predicate getKeysetPredicate() {
+        return keysetPredicate;
+    }
+
+    public List<Order> getKeysetOrders() {
+        return keysetOrders;
+    }
+
     public TypedQueryData reselect(List<Selection<?>> selections) {
         return new TypedQueryData(
                 processSelections(selections),
@@ -99,7 +119,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                keysetOrders
         );
     }
 
@@ -111,7 +133,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                keysetOrders
         );
     }
 
@@ -123,7 +147,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                keysetOrders
         );
     }
 
@@ -135,7 +161,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 true,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                keysetOrders
         );
     }
 
@@ -147,7 +175,23 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                true
+                true,
+                keysetPredicate,
+                keysetOrders
+        );
+    }
+
+    public TypedQueryData keyset(Predicate keysetPredicate, List<Order> keysetOrders, int limit) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                0,
+                withoutSortingAndPaging,
+                forUpdate,
+                keysetPredicate,
+                Collections.unmodifiableList(keysetOrders)
         );
     }
 
@@ -66,6 +66,9 @@ public interface AbstractEntitySaveCommand {
     @NewChain
     AbstractEntitySaveCommand setDeleteMode(DeleteMode mode);
 
+    @NewChain
+    AbstractEntitySaveCommand setBatchSize(int batchSize);
+
     interface Cfg {
 
         @OldChain
@@ -141,6 +144,24 @@ public interface AbstractEntitySaveCommand {
 
         @OldChain
         Cfg setDeleteMode(DeleteMode mode);
+
+        /**
+         * Set the JDBC batch size of batch save command.
+         *
+         * <p>If the batch size is greater than 1, the insert/update statements of
+         * root objects of the same shape (same loaded columns) are not executed
+         * one by one, but are accumulated and executed by
+         * `PreparedStatement.addBatch/executeBatch`, or by one multi-row
+         * `insert ... values(...), (...)` statement if the dialect supports it
+         * and no id needs to be generated by database.</p>
+         *
+         * <p>Objects with one-to-many or many-to-many associations, or with
+         * associated objects which are not id-only, are always saved immediately.</p>
+         *
+         * @param batchSize The max row count of one batch, 0 means batch is disabled.
+         */
+        @OldChain
+        Cfg setBatchSize(int batchSize);
     }
 
     interface KeyPropCfg<T> {
@@ -0,0 +1,52 @@
+package org.babyfish.jimmer.sql.ast.mutation;
+
+import org.babyfish.jimmer.lang.OldChain;
+import org.babyfish.jimmer.sql.ast.Executable;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.PropExpression;
+import org.babyfish.jimmer.sql.ast.query.Filterable;
+
+import java.util.function.Supplier;
+
+/**
+ * Statement `insert into target(...) select ... from source`,
+ * rows are copied by the database without being loaded into memory.
+ *
+ * <p>Each {@code set} specifies a column of target table and the
+ * selected value, which can use the source table and its joins.
+ * The id of target table must be assigned explicitly unless
+ * it is generated by the database.</p>
+ *
+ * <p>Inserted rows are never loaded, so this statement can only be
+ * executed when the trigger type is `BINLOG_ONLY`.</p>
+ */
+public interface MutableInsertSelect extends Filterable, Executable<Integer> {
+
+    @OldChain
+    <X> MutableInsertSelect set(PropExpression<X> target, X value);
+
+    @OldChain
+    <X> MutableInsertSelect set(PropExpression<X> target, Expression<X> value);
+
+    @OldChain
+    MutableInsertSelect where(Predicate... predicates);
+
+    @OldChain
+    @Override
+    default MutableInsertSelect whereIf(boolean condition, Predicate predicates) {
+        if (condition) {
+            where(predicates);
+        }
+        return this;
+    }
+
+    @OldChain
+    @Override
+    default MutableInsertSelect whereIf(boolean condition, Supplier<Predicate> block) {
+        if (condition) {
+            where(block.get());
+        }
+        return this;
+    }
+}
@@ -3,5 +3,20 @@ package org.babyfish.jimmer.sql.ast.mutation;
 public enum SaveMode {
     UPSERT,
     INSERT_ONLY,
-    UPDATE_ONLY
+    UPDATE_ONLY,
+
+    /**
+     * Like {@link #UPSERT}, but the root objects are saved by the native
+     * upsert statement of the dialect (`insert ... on conflict ... do update`,
+     * `insert ... on duplicate key update` or `merge`) keyed by id or key properties,
+     * so that the existence is not checked by another select statement.
+     *
+     * <p>Objects which cannot be saved by native upsert fall back to {@link #UPSERT},
+     * for example, when the dialect does not support it, the type has version property
+     * or draft interceptor, or triggers are enabled.</p>
+     *
+     * <p>If the object has no id and the dialect cannot return the id of the upserted row,
+     * the id of the saved object is unloaded.</p>
+     */
+    NATIVE_UPSERT
 }
@@ -106,4 +106,9 @@ public interface SimpleEntitySaveCommand<E>
     default SimpleEntitySaveCommand<E> setDeleteMode(DeleteMode mode) {
         return configure(cfg -> cfg.setDeleteMode(mode));
     }
+
+    @NewChain
+    default SimpleEntitySaveCommand<E> setBatchSize(int batchSize) {
+        return configure(cfg -> cfg.setBatchSize(batchSize));
+    }
 }
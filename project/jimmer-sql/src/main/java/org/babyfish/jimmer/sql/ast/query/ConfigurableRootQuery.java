@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.query;
 
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.ast.table.Table;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.function.BiFunction;
@@ -28,6 +29,30 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
         return limit(1, 0).execute(con).size() != 0;
     }
 
+    default KeysetSlice<R> fetchSlice(int limit, @Nullable String continuationToken) {
+        return fetchSlice(limit, continuationToken, null);
+    }
+
+    /**
+     * Keyset(seek) pagination, unlike `limit(limit, offset)`, the cost of
+     * fetching a slice does not grow with the depth of the slice.
+     *
+     * <p>The slice is located by the values of the order by expressions of
+     * the last row of previous slice, so</p>
+     * <ul>
+     *     <li>The query must select the root entity, and the order by expressions
+     *     must be non-null scalar properties of the root table which are fetched</li>
+     *     <li>The id property is automatically appended as the tie-breaker
+     *     if it is not ordered</li>
+     *     <li>The limit and offset of the current query are ignored</li>
+     * </ul>
+     *
+     * @param limit The max row count of the slice
+     * @param continuationToken Null for the first slice, otherwise,
+     *                          the {@link KeysetSlice#getNextToken()} of the previous slice
+     */
+    KeysetSlice<R> fetchSlice(int limit, @Nullable String continuationToken, Connection con);
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -0,0 +1,61 @@
+package org.babyfish.jimmer.sql.ast.query;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of keyset pagination.
+ *
+ * @see ConfigurableRootQuery#fetchSlice(int, String)
+ */
+public class KeysetSlice<R> {
+
+    private final List<R> rows;
+
+    private final String nextToken;
+
+    public KeysetSlice(List<R> rows, @Nullable String nextToken) {
+        this.rows = rows;
+        this.nextToken = nextToken;
+    }
+
+    public List<R> getRows() {
+        return rows;
+    }
+
+    /**
+     * The opaque continuation token used to fetch the next slice,
+     * null if there is no more data.
+     */
+    @Nullable
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, nextToken);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeysetSlice<?> that = (KeysetSlice<?>) o;
+        return rows.equals(that.rows) && Objects.equals(nextToken, that.nextToken);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetSlice{" +
+                "rows=" + rows +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+}
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -84,4 +85,32 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    default Stream<R> stream(Connection con) {
+        return stream(con, -1);
+    }
+
+    /**
+     * Execute the query by a forward-only cursor and return the rows lazily.
+     *
+     * <p>The JDBC fetch size is set to `batchSize`, rows are read
+     * window by window, and the object fetchers are applied to each
+     * window (at most `batchSize` rows) before its rows are returned,
+     * so huge result sets can be exported with bounded memory.</p>
+     *
+     * <p>The returned stream holds an open JDBC statement, it must be
+     * closed, for example, by try-with-resources. It is closed automatically
+     * after the last row has been read.</p>
+     *
+     * <p>Note: Some JDBC drivers ignore the fetch size in some cases,
+     * for example, PostgreSQL requires that auto-commit is disabled and
+     * MySQL requires `useCursorFetch=true`.</p>
+     *
+     * @param con The connection must be specified and must remain open
+     *            until the returned stream is closed.
+     * @param batchSize The fetch size and the window size of object fetchers,
+     *                  non-positive value means
+     *                  {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setDefaultBatchSize(int)}
+     */
+    Stream<R> stream(Connection con, int batchSize);
 }
@@ -0,0 +1,724 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Compact binary format of cached values, it is built from the metadata
+ * of immutable types so that neither property names nor type names are written.
+ *
+ * <pre>
+ * value  := MAGIC VERSION (fingerprint object | propValue)
+ * object := flags loadedBitmap nullBitmap [hiddenBitmap] nonNullPropValue*
+ * </pre>
+ *
+ * <p>The fingerprint is calculated by the properties of the root type and
+ * all the types reachable through its associations, if the entity model is
+ * changed, old data cannot be read by new application and vice versa.</p>
+ *
+ * <p>Numbers are written as zigzag varints; scalar types which are not
+ * known by this codec are written as length-prefixed JSON.</p>
+ */
+class BinaryValueCodec {
+
+    static final byte MAGIC = (byte) 0xB7;
+
+    static final byte VERSION = 1;
+
+    private static final int FLAG_HAS_HIDDEN = 1;
+
+    private static final Map<Class<?>, ScalarCodec> SCALAR_CODEC_MAP;
+
+    private final ObjectMapper mapper;
+
+    private final Map<ImmutableType, ObjectCodec> objectCodecMap = new HashMap<>();
+
+    private final ObjectCodec rootObjectCodec;
+
+    private final int rootFingerprint;
+
+    private final ValueCodec rootValueCodec;
+
+    BinaryValueCodec(ImmutableType type, ImmutableProp prop, ObjectMapper mapper, JavaType valueType) {
+        this.mapper = mapper;
+        if (type != null) {
+            this.rootObjectCodec = objectCodec(type);
+            this.rootFingerprint = rootObjectCodec.fingerprint(new HashSet<>());
+            this.rootValueCodec = null;
+        } else {
+            this.rootObjectCodec = null;
+            this.rootFingerprint = 0;
+            if (prop.isAssociation(TargetLevel.ENTITY)) {
+                ScalarCodec idCodec = scalarCodec(
+                        prop.getTargetType().getIdProp().getElementClass(),
+                        null
+                );
+                if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                    this.rootValueCodec = new ListCodec(idCodec);
+                } else {
+                    this.rootValueCodec = idCodec;
+                }
+            } else {
+                this.rootValueCodec = scalarCodec(prop.getElementClass(), valueType);
+            }
+        }
+    }
+
+    static boolean isBinary(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == MAGIC;
+    }
+
+    byte[] encode(Object value) {
+        Output out = new Output();
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        try {
+            if (rootObjectCodec != null) {
+                out.writeFixedInt(rootFingerprint);
+                rootObjectCodec.write(out, value);
+            } else {
+                rootValueCodec.write(out, value);
+            }
+        } catch (IOException ex) {
+            throw new SerializationException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    Object decode(byte[] bytes, DraftContext ctx) {
+        Input in = new Input(bytes);
+        try {
+            in.readByte();
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException(
+                        "Unsupported binary cache format version " +
+                                version +
+                                ", only " +
+                                VERSION +
+                                " is supported"
+                );
+            }
+            if (rootObjectCodec != null) {
+                int fingerprint = in.readFixedInt();
+                if (fingerprint != rootFingerprint) {
+                    throw new IOException(
+                            "The binary cache value of \"" +
+                                    rootObjectCodec.type +
+                                    "\" is written by an application with different entity model"
+                    );
+                }
+                return rootObjectCodec.read(in, ctx);
+            }
+            return rootValueCodec.read(in, ctx);
+        } catch (IOException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    private ObjectCodec objectCodec(ImmutableType type) {
+        ObjectCodec codec = objectCodecMap.get(type);
+        if (codec == null) {
+            codec = new ObjectCodec(type);
+            // Put it before initialization because the association graph may be recursive
+            objectCodecMap.put(type, codec);
+            codec.initialize();
+        }
+        return codec;
+    }
+
+    private ScalarCodec scalarCodec(Class<?> type, JavaType javaType) {
+        ScalarCodec codec = SCALAR_CODEC_MAP.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        if (type.isEnum()) {
+            return new EnumCodec(type);
+        }
+        return new JsonCodec(
+                mapper,
+                javaType != null ? javaType : mapper.getTypeFactory().constructType(type)
+        );
+    }
+
+    private interface ValueCodec {
+
+        void write(Output out, Object value) throws IOException;
+
+        Object read(Input in, DraftContext ctx) throws IOException;
+    }
+
+    private interface ScalarCodec extends ValueCodec {
+
+        @Override
+        default Object read(Input in, DraftContext ctx) throws IOException {
+            return read(in);
+        }
+
+        Object read(Input in) throws IOException;
+    }
+
+    private class ObjectCodec implements ValueCodec {
+
+        final ImmutableType type;
+
+        private ImmutableProp[] props;
+
+        private PropId[] propIds;
+
+        private ValueCodec[] codecs;
+
+        private int shallowFingerprint;
+
+        ObjectCodec(ImmutableType type) {
+            this.type = type;
+        }
+
+        void initialize() {
+            List<ImmutableProp> propList = new ArrayList<>();
+            for (ImmutableProp prop : type.getProps().values()) {
+                // View properties are derived from their base properties
+                if (prop.isMutable() && !prop.isView()) {
+                    propList.add(prop);
+                }
+            }
+            int size = propList.size();
+            props = propList.toArray(new ImmutableProp[0]);
+            propIds = new PropId[size];
+            codecs = new ValueCodec[size];
+            int hash = type.toString().hashCode();
+            for (int i = 0; i < size; i++) {
+                ImmutableProp prop = props[i];
+                propIds[i] = prop.getId();
+                if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                    codecs[i] = new ListCodec(objectCodec(prop.getTargetType()));
+                } else if (prop.isReference(TargetLevel.OBJECT)) {
+                    codecs[i] = objectCodec(prop.getTargetType());
+                } else {
+                    codecs[i] = scalarCodec(
+                            prop.getReturnClass(),
+                            mapper.getTypeFactory().constructType(prop.getGenericType())
+                    );
+                }
+                hash = hash * 31 + prop.getName().hashCode();
+                hash = hash * 31 + prop.getReturnClass().getName().hashCode();
+            }
+            shallowFingerprint = hash;
+        }
+
+        /**
+         * The fingerprint of associated types can only be folded after
+         * the initialization of all codecs because the association graph
+         * may be recursive, a type which has been visited only contributes
+         * its name.
+         */
+        int fingerprint(Set<ImmutableType> visitedTypes) {
+            if (!visitedTypes.add(type)) {
+                return type.toString().hashCode();
+            }
+            int hash = shallowFingerprint;
+            for (ValueCodec codec : codecs) {
+                if (codec instanceof ListCodec) {
+                    codec = ((ListCodec) codec).elementCodec;
+                }
+                if (codec instanceof ObjectCodec) {
+                    hash = hash * 31 + ((ObjectCodec) codec).fingerprint(visitedTypes);
+                }
+            }
+            return hash;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            ImmutableSpi spi = (ImmutableSpi) value;
+            int size = props.length;
+            byte[] loadedBitmap = new byte[(size + 7) >> 3];
+            byte[] nullBitmap = new byte[loadedBitmap.length];
+            byte[] hiddenBitmap = null;
+            for (int i = 0; i < size; i++) {
+                PropId propId = propIds[i];
+                if (spi.__isLoaded(propId)) {
+                    loadedBitmap[i >> 3] |= 1 << (i & 7);
+                    if (spi.__get(propId) == null) {
+                        nullBitmap[i >> 3] |= 1 << (i & 7);
+                    }
+                    if (!spi.__isVisible(propId)) {
+                        if (hiddenBitmap == null) {
+                            hiddenBitmap = new byte[loadedBitmap.length];
+                        }
+                        hiddenBitmap[i >> 3] |= 1 << (i & 7);
+                    }
+                }
+            }
+            out.writeByte((byte) (hiddenBitmap != null ? FLAG_HAS_HIDDEN : 0));
+            out.writeBytes(loadedBitmap);
+            out.writeBytes(nullBitmap);
+            if (hiddenBitmap != null) {
+                out.writeBytes(hiddenBitmap);
+            }
+            for (int i = 0; i < size; i++) {
+                if (isSet(loadedBitmap, i) && !isSet(nullBitmap, i)) {
+                    codecs[i].write(out, spi.__get(propIds[i]));
+                }
+            }
+        }
+
+        @Override
+        public Object read(Input in, DraftContext ctx) throws IOException {
+            int size = props.length;
+            int bitmapSize = (size + 7) >> 3;
+            int flags = in.readByte();
+            byte[] loadedBitmap = in.readBytes(bitmapSize);
+            byte[] nullBitmap = in.readBytes(bitmapSize);
+            byte[] hiddenBitmap = (flags & FLAG_HAS_HIDDEN) != 0 ? in.readBytes(bitmapSize) : null;
+            DraftSpi draft = (DraftSpi) type.getDraftFactory().apply(ctx, null);
+            for (int i = 0; i < size; i++) {
+                if (isSet(loadedBitmap, i)) {
+                    PropId propId = propIds[i];
+                    Object propValue = isSet(nullBitmap, i) ? null : codecs[i].read(in, ctx);
+                    draft.__set(propId, propValue);
+                    draft.__show(propId, hiddenBitmap == null || !isSet(hiddenBitmap, i));
+                }
+            }
+            return draft;
+        }
+
+        private boolean isSet(byte[] bitmap, int index) {
+            return (bitmap[index >> 3] & (1 << (index & 7))) != 0;
+        }
+    }
+
+    private static class ListCodec implements ValueCodec {
+
+        private final ValueCodec elementCodec;
+
+        ListCodec(ValueCodec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            List<?> list = (List<?>) value;
+            out.writeVarInt(list.size());
+            for (Object e : list) {
+                elementCodec.write(out, e);
+            }
+        }
+
+        @Override
+        public Object read(Input in, DraftContext ctx) throws IOException {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(elementCodec.read(in, ctx));
+            }
+            return list;
+        }
+    }
+
+    private static class EnumCodec implements ScalarCodec {
+
+        private final Class<?> enumType;
+
+        EnumCodec(Class<?> enumType) {
+            this.enumType = enumType;
+        }
+
+        @Override
+        public void write(Output out, Object value) {
+            out.writeString(((Enum<?>) value).name());
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        public Object read(Input in) throws IOException {
+            return Enum.valueOf((Class<Enum>) enumType, in.readString());
+        }
+    }
+
+    private static class JsonCodec implements ScalarCodec {
+
+        private final ObjectMapper mapper;
+
+        private final JavaType javaType;
+
+        JsonCodec(ObjectMapper mapper, JavaType javaType) {
+            this.mapper = mapper;
+            this.javaType = javaType;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            byte[] bytes = mapper.writeValueAsBytes(value);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        @Override
+        public Object read(Input in) throws IOException {
+            return mapper.readValue(in.readBytes(in.readVarInt()), javaType);
+        }
+    }
+
+    private static class Output {
+
+        private byte[] buf = new byte[64];
+
+        private int size;
+
+        void writeByte(byte b) {
+            ensureCapacity(1);
+            buf[size++] = b;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeFixedInt(int value) {
+            ensureCapacity(4);
+            buf[size++] = (byte) (value >>> 24);
+            buf[size++] = (byte) (value >>> 16);
+            buf[size++] = (byte) (value >>> 8);
+            buf[size++] = (byte) value;
+        }
+
+        void writeFixedLong(long value) {
+            writeFixedInt((int) (value >>> 32));
+            writeFixedInt((int) value);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void writeZigZagLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, size + count));
+            }
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        byte readByte() throws IOException {
+            if (pos >= buf.length) {
+                throw new IOException("Unexpected end of binary cache value");
+            }
+            return buf[pos++];
+        }
+
+        byte[] readBytes(int count) throws IOException {
+            if (count < 0 || pos + count > buf.length) {
+                throw new IOException("Unexpected end of binary cache value");
+            }
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + count);
+            pos += count;
+            return bytes;
+        }
+
+        int readFixedInt() throws IOException {
+            return ((readByte() & 0xFF) << 24) |
+                    ((readByte() & 0xFF) << 16) |
+                    ((readByte() & 0xFF) << 8) |
+                    (readByte() & 0xFF);
+        }
+
+        long readFixedLong() throws IOException {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint of binary cache value");
+        }
+
+        long readZigZagLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() throws IOException {
+            return new String(readBytes(readVarInt()), StandardCharsets.UTF_8);
+        }
+    }
+
+    static {
+        Map<Class<?>, ScalarCodec> map = new HashMap<>();
+        ScalarCodec booleanCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((byte) ((Boolean) value ? 1 : 0));
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return in.readByte() != 0;
+            }
+        };
+        ScalarCodec byteCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeByte((Byte) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return in.readByte();
+            }
+        };
+        ScalarCodec shortCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Short) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return (short) in.readZigZagLong();
+            }
+        };
+        ScalarCodec intCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Integer) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return (int) in.readZigZagLong();
+            }
+        };
+        ScalarCodec longCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong((Long) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return in.readZigZagLong();
+            }
+        };
+        ScalarCodec floatCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeFixedInt(Float.floatToIntBits((Float) value));
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return Float.intBitsToFloat(in.readFixedInt());
+            }
+        };
+        ScalarCodec doubleCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeFixedLong(Double.doubleToLongBits((Double) value));
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return Double.longBitsToDouble(in.readFixedLong());
+            }
+        };
+        ScalarCodec charCodec = new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarInt((Character) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return (char) in.readVarInt();
+            }
+        };
+        map.put(boolean.class, booleanCodec);
+        map.put(Boolean.class, booleanCodec);
+        map.put(byte.class, byteCodec);
+        map.put(Byte.class, byteCodec);
+        map.put(short.class, shortCodec);
+        map.put(Short.class, shortCodec);
+        map.put(int.class, intCodec);
+        map.put(Integer.class, intCodec);
+        map.put(long.class, longCodec);
+        map.put(Long.class, longCodec);
+        map.put(float.class, floatCodec);
+        map.put(Float.class, floatCodec);
+        map.put(double.class, doubleCodec);
+        map.put(Double.class, doubleCodec);
+        map.put(char.class, charCodec);
+        map.put(Character.class, charCodec);
+        map.put(String.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeString((String) value);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return in.readString();
+            }
+        });
+        map.put(byte[].class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                byte[] bytes = (byte[]) value;
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return in.readBytes(in.readVarInt());
+            }
+        });
+        map.put(UUID.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                UUID uuid = (UUID) value;
+                out.writeFixedLong(uuid.getMostSignificantBits());
+                out.writeFixedLong(uuid.getLeastSignificantBits());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return new UUID(in.readFixedLong(), in.readFixedLong());
+            }
+        });
+        map.put(BigInteger.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                byte[] bytes = ((BigInteger) value).toByteArray();
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return new BigInteger(in.readBytes(in.readVarInt()));
+            }
+        });
+        map.put(BigDecimal.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                BigDecimal decimal = (BigDecimal) value;
+                byte[] bytes = decimal.unscaledValue().toByteArray();
+                out.writeZigZagLong(decimal.scale());
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes);
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                int scale = (int) in.readZigZagLong();
+                return new BigDecimal(new BigInteger(in.readBytes(in.readVarInt())), scale);
+            }
+        });
+        map.put(Date.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong(((Date) value).getTime());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return new Date(in.readZigZagLong());
+            }
+        });
+        map.put(Instant.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                Instant instant = (Instant) value;
+                out.writeZigZagLong(instant.getEpochSecond());
+                out.writeVarInt(instant.getNano());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                long seconds = in.readZigZagLong();
+                return Instant.ofEpochSecond(seconds, in.readVarInt());
+            }
+        });
+        map.put(LocalDate.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeZigZagLong(((LocalDate) value).toEpochDay());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return LocalDate.ofEpochDay(in.readZigZagLong());
+            }
+        });
+        map.put(LocalTime.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                out.writeVarLong(((LocalTime) value).toNanoOfDay());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            }
+        });
+        map.put(LocalDateTime.class, new ScalarCodec() {
+            @Override
+            public void write(Output out, Object value) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeZigZagLong(dateTime.toLocalDate().toEpochDay());
+                out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                LocalDate date = LocalDate.ofEpochDay(in.readZigZagLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+            }
+        });
+        SCALAR_CODEC_MAP = map;
+    }
+}
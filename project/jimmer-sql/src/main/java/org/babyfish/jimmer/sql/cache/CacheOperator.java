@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.cache;
 
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.sql.JSqlClient;
 
 import java.util.Collection;
@@ -20,18 +21,13 @@ public interface CacheOperator {
         if (Suspending.LOCAL.get() != null) {
             block.run();
         } else {
-            Suspending.LOCAL.set(Suspending.INSTANCE);
-            try {
-                block.run();
-            } finally {
-                Suspending.LOCAL.remove();
-            }
+            Suspending.LOCAL.run(Suspending.INSTANCE, block);
         }
     }
 }
 
 class Suspending {
-    static final ThreadLocal<Suspending> LOCAL = new ThreadLocal<>();
+    static final ContextLocal<Suspending> LOCAL = ContextLocal.create();
     static final Suspending INSTANCE = new Suspending();
     private Suspending() {}
 }
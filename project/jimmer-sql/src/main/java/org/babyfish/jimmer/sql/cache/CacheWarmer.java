@@ -0,0 +1,394 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.EmbeddedLevel;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TypedProp;
+import org.babyfish.jimmer.sql.Entities;
+import org.babyfish.jimmer.sql.ast.ComparableExpression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.PropExpression;
+import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.impl.FetcherImpl;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+
+import java.sql.Connection;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Loads the data of database into the caches of an entity type,
+ * so that the caches are not cold after the application is started.
+ *
+ * <p>The ids of the entity type are queried page by page,
+ * each page of ids is loaded by the normal read path,
+ * so the object cache and the specified property caches are filled
+ * just like they are filled by querying, and the values are written
+ * into all binders of the cache chains by batch.</p>
+ *
+ * <p>Only the missed values are loaded from database,
+ * the existing values of caches are not refreshed.</p>
+ *
+ * <p>Example</p>
+ * <pre>{@code
+ * sqlClient
+ *     .getCaches()
+ *     .createWarmer(Book.class)
+ *     .setBatchSize(1000)
+ *     .setParallelism(4)
+ *     .setMaxBatchesPerSecond(20)
+ *     .setProgressListener(progress -> LOGGER.info("{}", progress))
+ *     .execute();
+ * }</pre>
+ */
+public class CacheWarmer {
+
+    private static final int DEFAULT_BATCH_SIZE = 512;
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final ImmutableType type;
+
+    private final boolean objectCacheEnabled;
+
+    private final Set<ImmutableProp> cachedProps;
+
+    private Set<ImmutableProp> props;
+
+    private Function<Table<?>, Predicate> filter;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private int parallelism = 1;
+
+    private double maxBatchesPerSecond;
+
+    private Consumer<Progress> progressListener;
+
+    CacheWarmer(
+            JSqlClientImplementor sqlClient,
+            ImmutableType type,
+            boolean objectCacheEnabled,
+            Set<ImmutableProp> cachedProps
+    ) {
+        this.sqlClient = sqlClient;
+        this.type = type;
+        this.objectCacheEnabled = objectCacheEnabled;
+        this.cachedProps = cachedProps;
+        this.props = cachedProps;
+    }
+
+    /**
+     * Specify the properties whose caches will be warmed up,
+     * by default, all the properties of the entity type with
+     * property cache will be warmed up.
+     */
+    public CacheWarmer setProps(TypedProp<?, ?>... props) {
+        ImmutableProp[] arr = new ImmutableProp[props.length];
+        for (int i = 0; i < props.length; i++) {
+            arr[i] = props[i].unwrap();
+        }
+        return setProps(arr);
+    }
+
+    /**
+     * Specify the properties whose caches will be warmed up,
+     * by default, all the properties of the entity type with
+     * property cache will be warmed up.
+     */
+    public CacheWarmer setProps(ImmutableProp... props) {
+        Set<ImmutableProp> set = new LinkedHashSet<>((props.length * 4 + 2) / 3);
+        for (ImmutableProp prop : props) {
+            ImmutableProp resolvedProp = type.getProp(prop.getName());
+            if (!cachedProps.contains(resolvedProp)) {
+                throw new IllegalArgumentException(
+                        "The property \"" +
+                                prop +
+                                "\" of \"" +
+                                type +
+                                "\" is not cached"
+                );
+            }
+            set.add(resolvedProp);
+        }
+        this.props = Collections.unmodifiableSet(set);
+        return this;
+    }
+
+    /**
+     * Only warm up the objects matched by the predicate
+     */
+    public CacheWarmer setFilter(Function<Table<?>, Predicate> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    public CacheWarmer setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * The max count of batches loaded concurrently.
+     *
+     * <p>If it is greater than 1, the batches are loaded by the
+     * {@link org.babyfish.jimmer.sql.runtime.AsyncExecutor} of sql client,
+     * each of them borrows a connection from the connection manager.</p>
+     */
+    public CacheWarmer setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Limit the rate of loading to protect the database,
+     * non-positive value means unlimited.
+     */
+    public CacheWarmer setMaxBatchesPerSecond(double maxBatchesPerSecond) {
+        this.maxBatchesPerSecond = maxBatchesPerSecond;
+        return this;
+    }
+
+    /**
+     * Accept the progress after each batch is loaded,
+     * it may be called by the threads of async executor.
+     */
+    public CacheWarmer setProgressListener(Consumer<Progress> progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * Warm up the caches, this method returns after all batches are loaded
+     *
+     * @return The final progress
+     * @throws ExecutionException The first exception of failed batches,
+     * no more batches will be loaded after failure.
+     */
+    public Progress execute() {
+        long startTime = System.nanoTime();
+        AtomicLong objectCount = new AtomicLong();
+        AtomicLong batchCount = new AtomicLong();
+        if (!objectCacheEnabled && props.isEmpty()) {
+            return new Progress(type, 0, 0, 0);
+        }
+        Fetcher<?> fetcher = fetcher();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Semaphore semaphore = new Semaphore(parallelism);
+        long minIntervalNanos = maxBatchesPerSecond > 0 ? (long)(1_000_000_000L / maxBatchesPerSecond) : 0L;
+        long nextBatchTime = startTime;
+        Object lastId = null;
+        int offset = 0;
+        while (failure.get() == null) {
+            List<Object> ids = queryIds(lastId, offset);
+            if (ids.isEmpty()) {
+                break;
+            }
+            lastId = ids.get(ids.size() - 1);
+            offset += ids.size();
+            if (minIntervalNanos != 0) {
+                long waitNanos = nextBatchTime - System.nanoTime();
+                if (waitNanos > 0) {
+                    sleep(waitNanos);
+                }
+                nextBatchTime = System.nanoTime() + minIntervalNanos;
+            }
+            Runnable onSuccess = () -> {
+                Progress progress = new Progress(
+                        type,
+                        objectCount.addAndGet(ids.size()),
+                        batchCount.incrementAndGet(),
+                        System.nanoTime() - startTime
+                );
+                if (progressListener != null) {
+                    progressListener.accept(progress);
+                }
+            };
+            if (parallelism == 1) {
+                sqlClient.getConnectionManager().execute(con -> {
+                    load(con, fetcher, ids);
+                    return null;
+                });
+                onSuccess.run();
+            } else {
+                acquire(semaphore, 1);
+                AsyncExecutions
+                        .execute(sqlClient, null, sqlClient.getConnectionManager(), con -> {
+                            load(con, fetcher, ids);
+                            return null;
+                        })
+                        .whenComplete((v, ex) -> {
+                            try {
+                                if (ex == null) {
+                                    onSuccess.run();
+                                } else {
+                                    failure.compareAndSet(null, ex);
+                                }
+                            } catch (RuntimeException | Error listenerEx) {
+                                failure.compareAndSet(null, listenerEx);
+                            } finally {
+                                semaphore.release();
+                            }
+                        });
+            }
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (parallelism != 1) {
+            acquire(semaphore, parallelism);
+        }
+        Throwable ex = failure.get();
+        if (ex != null) {
+            if (ex instanceof CompletionException && ex.getCause() != null) {
+                ex = ex.getCause();
+            }
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            }
+            if (ex instanceof Error) {
+                throw (Error) ex;
+            }
+            throw new ExecutionException("Failed to warm up the caches of \"" + type + "\"", ex);
+        }
+        return new Progress(type, objectCount.get(), batchCount.get(), System.nanoTime() - startTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Fetcher<?> fetcher() {
+        if (props.isEmpty()) {
+            return null;
+        }
+        Fetcher<Object> fetcher = new FetcherImpl<>((Class<Object>) type.getJavaClass());
+        for (ImmutableProp prop : props) {
+            fetcher = fetcher.add(prop.getName());
+        }
+        return fetcher;
+    }
+
+    /**
+     * Query the ids by key set, or by offset if the id cannot be compared
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object> queryIds(Object lastId, int offset) {
+        ImmutableProp idProp = type.getIdProp();
+        Class<?> idClass = idProp.getReturnClass();
+        boolean keySet = !idProp.isEmbedded(EmbeddedLevel.SCALAR) &&
+                (idClass.isPrimitive() || Comparable.class.isAssignableFrom(idClass));
+        return sqlClient.getConnectionManager().execute(con ->
+                Queries.createQuery(
+                        sqlClient,
+                        type,
+                        ExecutionPurpose.QUERY,
+                        false,
+                        (q, t) -> {
+                            PropExpression<Object> idExpr = t.get(idProp.getName());
+                            if (keySet && lastId != null) {
+                                q.where(
+                                        ((ComparableExpression<Comparable<?>>) (Object) idExpr)
+                                                .gt((Comparable<?>) lastId)
+                                );
+                            }
+                            if (filter != null) {
+                                q.where(filter.apply(t));
+                            }
+                            q.orderBy(idExpr);
+                            return q.select(idExpr);
+                        }
+                )
+                .limit(batchSize, keySet ? 0 : offset)
+                .execute(con)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(Connection con, Fetcher<?> fetcher, List<Object> ids) {
+        Entities entities = sqlClient.getEntities().forConnection(con);
+        if (fetcher != null) {
+            entities.findByIds((Fetcher<Object>) fetcher, ids);
+        } else {
+            entities.findByIds(type.getJavaClass(), ids);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000L, (int)(nanos % 1_000_000L));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Cache warmup is interrupted", ex);
+        }
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Cache warmup is interrupted", ex);
+        }
+    }
+
+    public static class Progress {
+
+        private final ImmutableType type;
+
+        private final long objectCount;
+
+        private final long batchCount;
+
+        private final long elapsedNanos;
+
+        Progress(ImmutableType type, long objectCount, long batchCount, long elapsedNanos) {
+            this.type = type;
+            this.objectCount = objectCount;
+            this.batchCount = batchCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public ImmutableType getType() {
+            return type;
+        }
+
+        /**
+         * The count of objects whose caches have been warmed up
+         */
+        public long getObjectCount() {
+            return objectCount;
+        }
+
+        public long getBatchCount() {
+            return batchCount;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        @Override
+        public String toString() {
+            return "Progress{" +
+                    "type=" + type +
+                    ", objectCount=" + objectCount +
+                    ", batchCount=" + batchCount +
+                    ", elapsedMillis=" + getElapsedMillis() +
+                    '}';
+        }
+    }
+}
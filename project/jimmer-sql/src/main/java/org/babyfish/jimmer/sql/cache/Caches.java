@@ -21,5 +21,15 @@ public interface Caches {
 
     CacheAbandonedCallback getAbandonedCallback();
 
+    default CacheWarmer createWarmer(Class<?> entityType) {
+        return createWarmer(ImmutableType.get(entityType));
+    }
+
+    /**
+     * Create a warmer to load the data of database into the
+     * object cache and property caches of an entity type
+     */
+    CacheWarmer createWarmer(ImmutableType type);
+
     boolean isAffectedBy(DatabaseEvent e);
 }
@@ -5,10 +5,10 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.JSqlClient;
-import org.babyfish.jimmer.sql.event.DatabaseEvent;
+import org.babyfish.jimmer.sql.event.*;
 import org.babyfish.jimmer.sql.filter.impl.FilterManager;
 import org.babyfish.jimmer.sql.runtime.EntityManager;
-import org.babyfish.jimmer.sql.event.Triggers;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.util.*;
 
@@ -30,6 +30,8 @@ public class CachesImpl implements Caches {
 
     private final Set<ImmutableProp> disabledProps;
 
+    private JSqlClientImplementor sqlClient;
+
     public CachesImpl(
             Triggers triggers,
             Map<ImmutableType, Cache<?, ?>> objectCacheMap,
@@ -75,6 +77,7 @@ public class CachesImpl implements Caches {
         disableAll = cfg.isDisableAll();
         disabledTypes = cfg.getDisabledTypes();
         disabledProps = cfg.getDisabledProps();
+        sqlClient = base.sqlClient;
     }
 
     public Map<ImmutableType, LocatedCache<?, ?>> getObjectCacheMap() {
@@ -114,6 +117,29 @@ public class CachesImpl implements Caches {
         return abandonedCallback;
     }
 
+    @Override
+    public CacheWarmer createWarmer(ImmutableType type) {
+        if (!type.isEntity()) {
+            throw new IllegalArgumentException("\"" + type + "\" is not entity");
+        }
+        JSqlClientImplementor sqlClient = this.sqlClient;
+        if (sqlClient == null) {
+            throw new IllegalStateException("The caches is not initialized by sql client");
+        }
+        Set<ImmutableProp> cachedProps = new LinkedHashSet<>();
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.getDeclaringType().isEntity() && getPropertyCache(prop) != null) {
+                cachedProps.add(prop);
+            }
+        }
+        return new CacheWarmer(
+                sqlClient,
+                type,
+                getObjectCache(type) != null,
+                Collections.unmodifiableSet(cachedProps)
+        );
+    }
+
     @Override
     public boolean isAffectedBy(DatabaseEvent e) {
         return (e.getConnection() != null) == triggers.isTransaction();
@@ -134,11 +160,26 @@ public class CachesImpl implements Caches {
                 type,
                 operator
         );
-        triggers.addEntityListener(type, e -> {
-            ImmutableSpi oldEntity = (ImmutableSpi) e.getOldEntity();
-            if (oldEntity != null && isAffectedBy(e)) {
-                Object id = e.getId();
-                wrapper.delete(id, e.getReason());
+        triggers.addEntityListener(type, new EntityListener<ImmutableSpi>() {
+            @Override
+            public void onChange(EntityEvent<ImmutableSpi> e) {
+                ImmutableSpi oldEntity = e.getOldEntity();
+                if (oldEntity != null && isAffectedBy(e)) {
+                    Object id = e.getId();
+                    wrapper.delete(id, e.getReason());
+                }
+            }
+            @Override
+            public void onBatch(List<EntityEvent<ImmutableSpi>> events) {
+                Map<Object, Set<Object>> idMultiMap = new LinkedHashMap<>();
+                for (EntityEvent<ImmutableSpi> e : events) {
+                    if (e.getOldEntity() != null && isAffectedBy(e)) {
+                        idMultiMap
+                                .computeIfAbsent(e.getReason(), it -> new LinkedHashSet<>())
+                                .add(e.getId());
+                    }
+                }
+                deleteAll(wrapper, idMultiMap);
             }
         });
         return wrapper;
@@ -163,16 +204,37 @@ public class CachesImpl implements Caches {
                 operator
         );
         if (prop.isAssociation(TargetLevel.PERSISTENT)) {
-            triggers.addAssociationListener(prop, e -> {
-                if (isAffectedBy(e)) {
-                    Object id = e.getSourceId();
-                    wrapper.delete(id, e.getReason());
+            triggers.addAssociationListener(prop, new AssociationListener() {
+                @Override
+                public void onChange(AssociationEvent e) {
+                    if (isAffectedBy(e)) {
+                        Object id = e.getSourceId();
+                        wrapper.delete(id, e.getReason());
+                    }
+                }
+                @Override
+                public void onBatch(List<AssociationEvent> events) {
+                    Map<Object, Set<Object>> idMultiMap = new LinkedHashMap<>();
+                    for (AssociationEvent e : events) {
+                        if (isAffectedBy(e)) {
+                            idMultiMap
+                                    .computeIfAbsent(e.getReason(), it -> new LinkedHashSet<>())
+                                    .add(e.getSourceId());
+                        }
+                    }
+                    deleteAll(wrapper, idMultiMap);
                 }
             });
         }
         return wrapper;
     }
 
+    private static void deleteAll(LocatedCacheImpl<Object, Object> wrapper, Map<Object, Set<Object>> idMultiMap) {
+        for (Map.Entry<Object, Set<Object>> e : idMultiMap.entrySet()) {
+            wrapper.deleteAll(e.getValue(), e.getKey());
+        }
+    }
+
     public CacheOperator getOperator() {
         return operator;
     }
@@ -199,6 +261,7 @@ public class CachesImpl implements Caches {
 
     public static void initialize(Caches caches, JSqlClient sqlClient) {
         CachesImpl impl = (CachesImpl) caches;
+        impl.sqlClient = (JSqlClientImplementor) sqlClient;
         CacheOperator operator = impl.operator;
         if (operator != null) {
             operator.initialize(sqlClient);
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.cache;
 
 import org.babyfish.jimmer.Draft;
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
@@ -13,8 +14,8 @@ import java.util.function.Supplier;
 
 class LocatedCacheImpl<K, V> implements LocatedCache<K, V> {
 
-    private static final ThreadLocal<Set<LocatedCache<?, ?>>> LOADING_CACHES_LOCAL =
-        new ThreadLocal<>();
+    private static final ContextLocal<Set<LocatedCache<?, ?>>> LOADING_CACHES_LOCAL =
+        ContextLocal.create();
 
     protected final Cache<K, V> raw;
 
@@ -182,21 +183,16 @@ class LocatedCacheImpl<K, V> implements LocatedCache<K, V> {
     }
 
     protected <R> R loading(Supplier<R> block) {
-        Set<LocatedCache<?, ?>> disabledCaches = LOADING_CACHES_LOCAL.get();
-        if (disabledCaches == null) {
-            disabledCaches = new HashSet<>();
-            LOADING_CACHES_LOCAL.set(disabledCaches);
-        }
-        disabledCaches.add(this);
-        try {
+        Set<LocatedCache<?, ?>> oldDisabledCaches = LOADING_CACHES_LOCAL.get();
+        if (oldDisabledCaches != null && oldDisabledCaches.contains(this)) {
             return block.get();
-        } finally {
-            if (disabledCaches.size() > 1) {
-                disabledCaches.remove(this);
-            } else {
-                LOADING_CACHES_LOCAL.remove();
-            }
         }
+        // Never modified after binding, it may be read by other threads of the same execution
+        Set<LocatedCache<?, ?>> disabledCaches = oldDisabledCaches != null ?
+                new HashSet<>(oldDisabledCaches) :
+                new HashSet<>();
+        disabledCaches.add(this);
+        return LOADING_CACHES_LOCAL.call(disabledCaches, block::get);
     }
 
     @SuppressWarnings("unchecked")
@@ -23,29 +23,45 @@ public class ValueSerializer<T> {
 
     private static final byte[] NULL_BYTES = "<null>".getBytes(StandardCharsets.UTF_8);
 
+    private final ImmutableType type;
+
+    private final ImmutableProp prop;
+
     private final ObjectMapper mapper;
 
     private final JavaType valueType;
 
     private final boolean requireNewDraftContext;
 
+    private final Format format;
+
+    private volatile BinaryValueCodec binaryCodec;
+
     public ValueSerializer(@NotNull ImmutableType type) {
-        this(type, null, null);
+        this(type, null, null, Format.JSON);
     }
 
     public ValueSerializer(@NotNull ImmutableProp prop) {
-        this(null, prop, null);
+        this(null, prop, null, Format.JSON);
     }
 
     public ValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper) {
-        this(type, null, mapper);
+        this(type, null, mapper, Format.JSON);
     }
 
     public ValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper) {
-        this(null, prop, mapper);
+        this(null, prop, mapper, Format.JSON);
+    }
+
+    public ValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper, @NotNull Format format) {
+        this(type, null, mapper, format);
     }
 
-    private ValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
+    public ValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper, @NotNull Format format) {
+        this(null, prop, mapper, format);
+    }
+
+    private ValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper, Format format) {
         if ((type == null) == (prop == null)) {
             throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
         }
@@ -53,6 +69,8 @@ public class ValueSerializer<T> {
             new ObjectMapper(mapper) {} :
             new ObjectMapper().registerModule(new JavaTimeModule());
         clonedMapper.registerModule(new ImmutableModule());
+        this.type = type;
+        this.prop = prop;
         this.mapper = clonedMapper;
         if (prop == null) {
             this.valueType = SimpleType.constructUnsafe(type.getJavaClass());
@@ -76,6 +94,15 @@ public class ValueSerializer<T> {
             this.valueType = SimpleType.constructUnsafe(prop.getElementClass());
         }
         this.requireNewDraftContext = type != null;
+        this.format = Objects.requireNonNull(format, "format cannot be null");
+        if (format == Format.BINARY) {
+            this.binaryCodec = new BinaryValueCodec(type, prop, clonedMapper, valueType);
+        }
+    }
+
+    @NotNull
+    public Format getFormat() {
+        return format;
     }
 
     @NotNull
@@ -83,6 +110,9 @@ public class ValueSerializer<T> {
         if (value == null) {
             return NULL_BYTES.clone();
         }
+        if (format == Format.BINARY) {
+            return binaryCodec().encode(value);
+        }
         try {
             return mapper.writeValueAsBytes(value);
         } catch (JsonProcessingException ex) {
@@ -181,16 +211,56 @@ public class ValueSerializer<T> {
         return deserializedMap;
     }
 
+    @SuppressWarnings("unchecked")
     private T deserializeImpl(byte[] value, DraftContext ctx) {
         if (value == null || value.length == 0 || Arrays.equals(value, NULL_BYTES)) {
             return null;
         }
         T deserializedValue;
-        try {
-            deserializedValue = mapper.readValue(value, valueType);
-        } catch (IOException ex) {
-            throw new SerializationException(ex);
+        if (BinaryValueCodec.isBinary(value)) {
+            deserializedValue = (T) binaryCodec().decode(value, ctx);
+        } else {
+            try {
+                deserializedValue = mapper.readValue(value, valueType);
+            } catch (IOException ex) {
+                throw new SerializationException(ex);
+            }
         }
         return ctx != null ? ctx.resolveObject(deserializedValue) : deserializedValue;
     }
+
+    /**
+     * The serializer of JSON format only needs binary codec to read
+     * the values written by other nodes during rolling upgrade, so it
+     * is created by the first binary value. The codec has no state after
+     * creation, it does not matter if it is created by several threads.
+     */
+    private BinaryValueCodec binaryCodec() {
+        BinaryValueCodec codec = binaryCodec;
+        if (codec == null) {
+            binaryCodec = codec = new BinaryValueCodec(type, prop, mapper, valueType);
+        }
+        return codec;
+    }
+
+    /**
+     * The format used to write cached values.
+     *
+     * <p>Both formats can always be read, so a fleet can be migrated
+     * safely: deploy the new version with {@link #JSON} first,
+     * then switch to {@link #BINARY} after all nodes are upgraded.</p>
+     */
+    public enum Format {
+
+        /**
+         * Human-readable JSON written by jackson, the default format.
+         */
+        JSON,
+
+        /**
+         * Compact binary format built from the metadata of immutable types,
+         * it is faster and smaller than JSON but not readable by humans.
+         */
+        BINARY
+    }
 }
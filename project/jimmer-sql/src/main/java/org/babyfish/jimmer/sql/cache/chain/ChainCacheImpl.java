@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.cache.chain;
 
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
@@ -10,8 +11,8 @@ import java.util.function.Supplier;
 
 class ChainCacheImpl<K, V> implements Cache<K, V> {
 
-    private static final ThreadLocal<CacheLoader<?, ?>> LOADER_LOCAL =
-        new ThreadLocal<>();
+    private static final ContextLocal<CacheLoader<?, ?>> LOADER_LOCAL =
+        ContextLocal.create();
 
     protected final Node<K, V> node;
 
@@ -146,17 +147,7 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         if (loader == null) {
             throw new IllegalArgumentException("loader cannot be null");
         }
-        CacheLoader<?, ?> oldLoader = LOADER_LOCAL.get();
-        LOADER_LOCAL.set(loader);
-        try {
-            return block.get();
-        } finally {
-            if (oldLoader != null) {
-                LOADER_LOCAL.set(oldLoader);
-            } else {
-                LOADER_LOCAL.remove();
-            }
-        }
+        return LOADER_LOCAL.call(loader, block::get);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,503 @@
+package org.babyfish.jimmer.sql.cache.chain;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in in-process cache binder, it should be the first binder of the chain,
+ * before the remote binders.
+ *
+ * <ul>
+ *     <li>The memory is bounded by the total weight of the entries,
+ *     by default, the weight of each entry is 1, the least recently
+ *     used entries are evicted first.</li>
+ *     <li>The time to live of each entry is randomized by `randomPercent`
+ *     so that the entries written at the same time do not expire at the same time.</li>
+ *     <li>Null results (the object/association does not exist) are cached too,
+ *     with their own time to live.</li>
+ *     <li>For the same missed key, only one thread loads it from the next binders,
+ *     the other threads wait for and share the result of it.</li>
+ * </ul>
+ *
+ * <p>This binder is always invalidated by {@link #deleteAll(Collection, Object)},
+ * whatever the reason is, so that it is consistent with both the trigger
+ * and the `TransactionCacheOperator`. A load which is concurrent with
+ * the invalidation returns its result but does not store it.</p>
+ *
+ * <p>This binder does not support parameterized caches, because the cached
+ * values of parameterized caches depend on the global filters.</p>
+ */
+public class NearCacheBinder<K, V> implements LoadingBinder<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final ImmutableType type;
+
+    private final ImmutableProp prop;
+
+    private final Weigher<? super K, ? super V> weigher;
+
+    private final long minMillis;
+
+    private final long maxMillis;
+
+    private final long negativeMillis;
+
+    private final Segment<K, V>[] segments;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loadingMap = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder loadCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private CacheChain<K, V> chain;
+
+    @SuppressWarnings("unchecked")
+    private NearCacheBinder(Builder<K, V> builder) {
+        this.type = builder.type;
+        this.prop = builder.prop;
+        this.weigher = builder.weigher;
+        long millis = builder.duration.toMillis();
+        this.minMillis = millis - builder.randomPercent * millis / 100;
+        this.maxMillis = millis + builder.randomPercent * millis / 100;
+        this.negativeMillis = builder.negativeDuration != null ?
+                builder.negativeDuration.toMillis() :
+                millis;
+        long segmentWeight = (builder.maximumWeight + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentWeight, evictionCount);
+        }
+    }
+
+    public static <K, V> Builder<K, V> forObject(ImmutableType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("type cannot be null");
+        }
+        return new Builder<>(type, null);
+    }
+
+    public static <K, V> Builder<K, V> forProp(ImmutableProp prop) {
+        if (prop == null) {
+            throw new IllegalArgumentException("prop cannot be null");
+        }
+        return new Builder<>(null, prop);
+    }
+
+    @Override
+    public void initialize(@NotNull CacheChain<K, V> chain) {
+        this.chain = chain;
+    }
+
+    @NotNull
+    @Override
+    public Map<K, V> getAll(@NotNull Collection<K> keys) {
+        Map<K, V> resultMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        List<K> missedKeys = null;
+        long now = System.currentTimeMillis();
+        for (K key : keys) {
+            Entry<V> entry = segment(key).get(key, now);
+            if (entry != null) {
+                hitCount.increment();
+                resultMap.put(key, entry.value);
+            } else {
+                missCount.increment();
+                if (missedKeys == null) {
+                    missedKeys = new ArrayList<>();
+                }
+                missedKeys.add(key);
+            }
+        }
+        if (missedKeys != null) {
+            load(missedKeys, resultMap);
+        }
+        return resultMap;
+    }
+
+    @Override
+    public void deleteAll(@NotNull Collection<K> keys, Object reason) {
+        invalidationVersion.incrementAndGet();
+        for (K key : keys) {
+            loadingMap.remove(key);
+            segment(key).remove(key);
+        }
+    }
+
+    @Nullable
+    public ImmutableType getType() {
+        return type;
+    }
+
+    @Nullable
+    public ImmutableProp getProp() {
+        return prop;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getWeight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return The count of keys which have been loaded from the next binders,
+     * it is less than {@link #getMissCount()} when concurrent misses are merged.
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * @return The count of entries which have been evicted because of
+     * the maximum weight or the time to live.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public void clear() {
+        invalidationVersion.incrementAndGet();
+        loadingMap.clear();
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheBinder{" +
+                (type != null ? "type=" + type : "prop=" + prop) +
+                ", size=" + size() +
+                ", hitCount=" + getHitCount() +
+                ", missCount=" + getMissCount() +
+                ", loadCount=" + getLoadCount() +
+                ", evictionCount=" + getEvictionCount() +
+                '}';
+    }
+
+    private void load(List<K> missedKeys, Map<K, V> resultMap) {
+        Map<K, CompletableFuture<V>> ownedFutureMap = null;
+        Map<K, CompletableFuture<V>> waitedFutureMap = null;
+        for (K key : missedKeys) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existingFuture = loadingMap.putIfAbsent(key, future);
+            if (existingFuture == null) {
+                if (ownedFutureMap == null) {
+                    ownedFutureMap = new LinkedHashMap<>();
+                }
+                ownedFutureMap.put(key, future);
+            } else {
+                if (waitedFutureMap == null) {
+                    waitedFutureMap = new LinkedHashMap<>();
+                }
+                waitedFutureMap.put(key, existingFuture);
+            }
+        }
+        if (ownedFutureMap != null) {
+            loadOwnedKeys(ownedFutureMap, resultMap);
+        }
+        if (waitedFutureMap != null) {
+            for (Map.Entry<K, CompletableFuture<V>> e : waitedFutureMap.entrySet()) {
+                V value;
+                try {
+                    value = e.getValue().join();
+                } catch (CompletionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw ex;
+                }
+                resultMap.put(e.getKey(), value);
+            }
+        }
+    }
+
+    private void loadOwnedKeys(Map<K, CompletableFuture<V>> ownedFutureMap, Map<K, V> resultMap) {
+        long version = invalidationVersion.get();
+        // Another thread may have stored the value between the miss and the ownership
+        long start = System.currentTimeMillis();
+        Iterator<Map.Entry<K, CompletableFuture<V>>> itr = ownedFutureMap.entrySet().iterator();
+        while (itr.hasNext()) {
+            Map.Entry<K, CompletableFuture<V>> e = itr.next();
+            Entry<V> entry = segment(e.getKey()).get(e.getKey(), start);
+            if (entry != null) {
+                loadingMap.remove(e.getKey(), e.getValue());
+                e.getValue().complete(entry.value);
+                resultMap.put(e.getKey(), entry.value);
+                itr.remove();
+            }
+        }
+        if (ownedFutureMap.isEmpty()) {
+            return;
+        }
+        Map<K, V> loadedMap;
+        try {
+            loadedMap = chain.loadAll(ownedFutureMap.keySet());
+        } catch (RuntimeException | Error ex) {
+            for (Map.Entry<K, CompletableFuture<V>> e : ownedFutureMap.entrySet()) {
+                loadingMap.remove(e.getKey(), e.getValue());
+                e.getValue().completeExceptionally(ex);
+            }
+            throw ex;
+        }
+        loadCount.add(ownedFutureMap.size());
+        long now = System.currentTimeMillis();
+        for (Map.Entry<K, CompletableFuture<V>> e : ownedFutureMap.entrySet()) {
+            K key = e.getKey();
+            V value = loadedMap.get(key);
+            if (value != null) {
+                segment(key).put(
+                        key,
+                        value,
+                        weigher.weigh(key, value),
+                        now + nextExpireMillis(),
+                        invalidationVersion,
+                        version
+                );
+            } else if (negativeMillis > 0) {
+                segment(key).put(key, null, 1, now + negativeMillis, invalidationVersion, version);
+            }
+            loadingMap.remove(key, e.getValue());
+            e.getValue().complete(value);
+            resultMap.put(key, value);
+        }
+    }
+
+    private long nextExpireMillis() {
+        if (minMillis == maxMillis) {
+            return minMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(minMillis, maxMillis);
+    }
+
+    private Segment<K, V> segment(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        /**
+         * @return The weight of the cached entry, cannot be negative.
+         * It is never called for null values, the weight of a null value is 1.
+         */
+        int weigh(K key, V value);
+    }
+
+    public static class Builder<K, V> {
+
+        private final ImmutableType type;
+
+        private final ImmutableProp prop;
+
+        private long maximumWeight = 1024;
+
+        private Weigher<? super K, ? super V> weigher = (k, v) -> 1;
+
+        private Duration duration = Duration.ofMinutes(1);
+
+        private int randomPercent = 30;
+
+        private Duration negativeDuration;
+
+        private Builder(ImmutableType type, ImmutableProp prop) {
+            this.type = type;
+            this.prop = prop;
+        }
+
+        /**
+         * Bound the count of entries, it is equivalent to
+         * {@code maximumWeight(maximumSize)} with the default weigher.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            return maximumWeight(maximumSize);
+        }
+
+        public Builder<K, V> maximumWeight(long maximumWeight) {
+            if (maximumWeight < 1) {
+                throw new IllegalArgumentException("maximumWeight must be greater than 0");
+            }
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        public Builder<K, V> weigher(Weigher<? super K, ? super V> weigher) {
+            if (weigher == null) {
+                throw new IllegalArgumentException("weigher cannot be null");
+            }
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * @param duration The time to live of the cached values
+         * @param randomPercent The random range of the actual time to live, between 0 and 99
+         */
+        public Builder<K, V> duration(Duration duration, int randomPercent) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("duration must be positive");
+            }
+            if (randomPercent < 0 || randomPercent > 99) {
+                throw new IllegalArgumentException("randomPercent must between 0 and 99");
+            }
+            this.duration = duration;
+            this.randomPercent = randomPercent;
+            return this;
+        }
+
+        /**
+         * @param negativeDuration The time to live of null values,
+         *                         zero means the null values are not cached,
+         *                         by default, it is same with the time to live
+         *                         of non-null values
+         */
+        public Builder<K, V> negativeDuration(Duration negativeDuration) {
+            if (negativeDuration == null || negativeDuration.isNegative()) {
+                throw new IllegalArgumentException("negativeDuration cannot be null or negative");
+            }
+            this.negativeDuration = negativeDuration;
+            return this;
+        }
+
+        public NearCacheBinder<K, V> build() {
+            return new NearCacheBinder<>(this);
+        }
+    }
+
+    private static class Entry<V> {
+
+        final V value;
+
+        final int weight;
+
+        final long expiresAt;
+
+        Entry(V value, int weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Segment<K, V> {
+
+        private final long maximumWeight;
+
+        private final LongAdder evictionCount;
+
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, .75F, true);
+
+        private long weight;
+
+        Segment(long maximumWeight, LongAdder evictionCount) {
+            this.maximumWeight = maximumWeight;
+            this.evictionCount = evictionCount;
+        }
+
+        synchronized Entry<V> get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry != null && entry.expiresAt <= now) {
+                map.remove(key);
+                weight -= entry.weight;
+                evictionCount.increment();
+                return null;
+            }
+            return entry;
+        }
+
+        /**
+         * The invalidation version is checked with the lock of this segment,
+         * the invalidation always increases the version before removing
+         * the entries, so a stale value can never be stored after the invalidation.
+         */
+        synchronized void put(
+                K key,
+                V value,
+                int entryWeight,
+                long expiresAt,
+                AtomicLong invalidationVersion,
+                long expectedInvalidationVersion
+        ) {
+            if (entryWeight < 0) {
+                throw new IllegalStateException("The weigher returns negative weight for the key \"" + key + "\"");
+            }
+            if (invalidationVersion.get() != expectedInvalidationVersion) {
+                return;
+            }
+            Entry<V> oldEntry = map.put(key, new Entry<>(value, entryWeight, expiresAt));
+            if (oldEntry != null) {
+                weight -= oldEntry.weight;
+            }
+            weight += entryWeight;
+            Iterator<Entry<V>> itr = map.values().iterator();
+            while (weight > maximumWeight && itr.hasNext()) {
+                Entry<V> eldest = itr.next();
+                itr.remove();
+                weight -= eldest.weight;
+                evictionCount.increment();
+            }
+        }
+
+        synchronized void remove(K key) {
+            Entry<V> entry = map.remove(key);
+            if (entry != null) {
+                weight -= entry.weight;
+            }
+        }
+
+        synchronized void clear() {
+            map.clear();
+            weight = 0;
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized long weight() {
+            return weight;
+        }
+    }
+}
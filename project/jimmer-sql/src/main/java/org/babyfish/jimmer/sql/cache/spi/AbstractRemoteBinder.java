@@ -30,6 +30,17 @@ abstract class AbstractRemoteBinder<K, V> {
             ImmutableProp prop,
             Duration duration,
             int randomPercent
+    ) {
+        this(objectMapper, type, prop, duration, randomPercent, ValueSerializer.Format.JSON);
+    }
+
+    AbstractRemoteBinder(
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            ImmutableProp prop,
+            Duration duration,
+            int randomPercent,
+            ValueSerializer.Format format
     ) {
         if (objectMapper != null) {
             if (!objectMapper.getRegisteredModuleIds().contains(ImmutableModule.class.getName())) {
@@ -56,9 +67,9 @@ abstract class AbstractRemoteBinder<K, V> {
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
         if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, objectMapper);
+            valueSerializer = new ValueSerializer<>(type, objectMapper, format);
         } else {
-            valueSerializer = new ValueSerializer<>(prop, objectMapper);
+            valueSerializer = new ValueSerializer<>(prop, objectMapper, format);
         }
     }
 
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.SerializationException;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 
 import java.io.IOException;
@@ -25,6 +26,17 @@ public abstract class AbstractRemoteHashBinder<K, V>
         super(objectMapper, type, prop, duration, randomPercent);
     }
 
+    protected AbstractRemoteHashBinder(
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            ImmutableProp prop,
+            Duration duration,
+            int randomPercent,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, type, prop, duration, randomPercent, format);
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
         return getAll(keys, Collections.emptySortedMap());
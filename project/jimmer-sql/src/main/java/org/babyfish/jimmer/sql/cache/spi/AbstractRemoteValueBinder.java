@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.cache.spi;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.ValueSerializer;
 import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
 
 import java.time.Duration;
@@ -24,6 +25,17 @@ public abstract class AbstractRemoteValueBinder<K, V>
         super(objectMapper, type, prop, duration, randomPercent);
     }
 
+    protected AbstractRemoteValueBinder(
+            ObjectMapper objectMapper,
+            ImmutableType type,
+            ImmutableProp prop,
+            Duration duration,
+            int randomPercent,
+            ValueSerializer.Format format
+    ) {
+        super(objectMapper, type, prop, duration, randomPercent, format);
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
         Collection<String> redisKeys = redisKeys(keys);
@@ -36,9 +36,50 @@ public interface Dialect {
 
     default boolean isMultiInsertionSupported() { return true; }
 
+    /**
+     * Whether row value comparison such as `(a, b) > (?, ?)` is supported,
+     * if not, keyset pagination expands it to `a > ? or a = ? and b > ?`
+     */
+    default boolean isTupleComparisonSupported() { return true; }
+
+    /**
+     * Whether {@link #upsert(UpsertContext)} is implemented,
+     * it is required by {@link org.babyfish.jimmer.sql.ast.mutation.SaveMode#NATIVE_UPSERT}
+     */
+    default boolean isUpsertSupported() { return false; }
+
+    /**
+     * Whether the JDBC driver returns the id of the inserted or updated row
+     * of upsert statement as generated key
+     */
+    default boolean isUpsertReturningIdSupported() { return false; }
+
+    default void upsert(UpsertContext ctx) {
+        throw new ExecutionException("Native upsert is not supported by '" + getClass().getName() + "'");
+    }
+
     @Nullable
     default String getConstantTableName() { return null; }
 
+    /**
+     * The max count of values in one `in (...)`, the longer in-list is split into
+     * several in-lists joined by `or`, or by `and` for `not in`.
+     *
+     * @return The max count, 0 means unlimited
+     */
+    default int getMaxInListSize() { return 0; }
+
+    /**
+     * The element type name of SQL array which can be used by
+     * {@link Connection#createArrayOf(String, Object[])}, it is required
+     * by {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setInListToAnyEqualityEnabled(boolean)}
+     *
+     * @param elementType The jdbc type of the values of in-list
+     * @return The element type name, or null if array parameter of this type is not supported
+     */
+    @Nullable
+    default String getArrayElementSqlType(Class<?> elementType) { return null; }
+
     default Class<?> getJsonBaseType() {
         return String.class;
     }
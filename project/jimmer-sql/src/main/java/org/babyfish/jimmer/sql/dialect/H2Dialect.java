@@ -1,5 +1,8 @@
 package org.babyfish.jimmer.sql.dialect;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
 public class H2Dialect extends DefaultDialect {
 
     @Override
@@ -7,6 +10,67 @@ public class H2Dialect extends DefaultDialect {
         return "select nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using (values(")
+                .appendInsertingValues(false)
+                .sql(")) tb_2_(")
+                .appendInsertedColumns(null)
+                .sql(") on ")
+                .appendConflictPredicate("tb_1_", "tb_2_");
+        if (ctx.hasUpdatedColumns()) {
+            ctx
+                    .sql(" when matched then update set ")
+                    .appendUpdatingAssignments("tb_2_.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns(null)
+                .sql(") values(")
+                .appendInsertedColumns("tb_2_.")
+                .sql(")");
+    }
+
+    @Override
+    public String getArrayElementSqlType(Class<?> elementType) {
+        if (elementType == Boolean.class) {
+            return "BOOLEAN";
+        }
+        if (elementType == Short.class) {
+            return "SMALLINT";
+        }
+        if (elementType == Integer.class) {
+            return "INTEGER";
+        }
+        if (elementType == Long.class) {
+            return "BIGINT";
+        }
+        if (elementType == Float.class) {
+            return "REAL";
+        }
+        if (elementType == Double.class) {
+            return "DOUBLE PRECISION";
+        }
+        if (elementType == BigDecimal.class) {
+            return "NUMERIC";
+        }
+        if (elementType == String.class) {
+            return "VARCHAR";
+        }
+        if (elementType == UUID.class) {
+            return "UUID";
+        }
+        return null;
+    }
+
     @Override
     public String transCacheOperatorTableDDL() {
         return "create table JIMMER_TRANS_CACHE_OPERATOR(" +
@@ -0,0 +1,14 @@
+package org.babyfish.jimmer.sql.dialect;
+
+/**
+ * For MySQL 8.0.19+, the upsert statement references
+ * the inserted row by row alias instead of the deprecated
+ * {@code values(column)}
+ */
+public class MySql8Dialect extends MySqlDialect {
+
+    @Override
+    protected boolean isUpsertRowAliasSupported() {
+        return true;
+    }
+}
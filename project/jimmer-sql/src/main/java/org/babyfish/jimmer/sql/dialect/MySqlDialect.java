@@ -26,6 +26,47 @@ public class MySqlDialect implements Dialect {
         return true;
     }
 
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    /**
+     * MySQL decides the conflict by any primary key or unique constraint,
+     * not only the columns of key properties
+     */
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns(null)
+                .sql(") values(")
+                .appendInsertingValues(false);
+        if (isUpsertRowAliasSupported()) {
+            ctx
+                    .sql(") as new on duplicate key update ")
+                    .appendUpdatingAssignments("new.", "");
+        } else {
+            ctx
+                    .sql(") on duplicate key update ")
+                    .appendUpdatingAssignments("values(", ")");
+        }
+    }
+
+    /**
+     * Whether the inserted row can be referenced by row alias,
+     * it is supported by MySQL 8.0.19+ and {@code values(column)}
+     * is deprecated since MySQL 8.0.20.
+     *
+     * <p>The default value is false so that the old MySQL, MariaDB
+     * and TiDB are supported, please use {@link MySql8Dialect} for MySQL 8.0.19+</p>
+     */
+    protected boolean isUpsertRowAliasSupported() {
+        return false;
+    }
+
     @Override
     public String transCacheOperatorTableDDL() {
         return "create table JIMMER_TRANS_CACHE_OPERATOR(\n" +
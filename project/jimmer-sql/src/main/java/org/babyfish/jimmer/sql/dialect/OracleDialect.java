@@ -6,6 +6,11 @@ public class OracleDialect implements Dialect {
 
     public static final String OPTIMIZE_CORE_ROW_NUMBER_ALIAS = "optimize_rn__";
 
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
     @Override
     public void paginate(PaginationContext ctx) {
         int offset = ctx.getOffset();
@@ -54,6 +59,39 @@ public class OracleDialect implements Dialect {
         return false;
     }
 
+    @Override
+    public boolean isTupleComparisonSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using (select ")
+                .appendInsertingValues(true)
+                .sql(" from dual) tb_2_ on (")
+                .appendConflictPredicate("tb_1_", "tb_2_")
+                .sql(")");
+        if (ctx.hasUpdatedColumns()) {
+            ctx
+                    .sql(" when matched then update set ")
+                    .appendUpdatingAssignments("tb_2_.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns(null)
+                .sql(") values(")
+                .appendInsertedColumns("tb_2_.")
+                .sql(")");
+    }
+
     @Override
     public @Nullable String getConstantTableName() {
         return "dual";
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.JavaType;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.postgresql.util.PGobject;
 
+import java.math.BigDecimal;
 import java.sql.Types;
+import java.util.UUID;
 
 public class PostgresDialect extends DefaultDialect {
 
@@ -23,6 +25,63 @@ public class PostgresDialect extends DefaultDialect {
         return "overriding system value";
     }
 
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertReturningIdSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns(null)
+                .sql(") values(")
+                .appendInsertingValues(false)
+                .sql(") on conflict(")
+                .appendConflictColumns()
+                .sql(") do update set ")
+                .appendUpdatingAssignments("excluded.", "");
+    }
+
+    @Override
+    public String getArrayElementSqlType(Class<?> elementType) {
+        if (elementType == Boolean.class) {
+            return "bool";
+        }
+        if (elementType == Short.class) {
+            return "int2";
+        }
+        if (elementType == Integer.class) {
+            return "int4";
+        }
+        if (elementType == Long.class) {
+            return "int8";
+        }
+        if (elementType == Float.class) {
+            return "float4";
+        }
+        if (elementType == Double.class) {
+            return "float8";
+        }
+        if (elementType == BigDecimal.class) {
+            return "numeric";
+        }
+        if (elementType == String.class) {
+            return "text";
+        }
+        if (elementType == UUID.class) {
+            return "uuid";
+        }
+        return null;
+    }
+
     @Override
     public Class<?> getJsonBaseType() {
         return PGobject.class;
@@ -0,0 +1,42 @@
+package org.babyfish.jimmer.sql.dialect;
+
+/**
+ * Used by {@link Dialect#upsert(UpsertContext)} to render
+ * the native upsert statement of one row.
+ */
+public interface UpsertContext {
+
+    boolean hasUpdatedColumns();
+
+    UpsertContext sql(String sql);
+
+    UpsertContext appendTableName();
+
+    /**
+     * `A, B, C`, each column name is prefixed by `prefix` if it is not null.
+     */
+    UpsertContext appendInsertedColumns(String prefix);
+
+    /**
+     * `?, ?, ?`, or `? A, ? B, ? C` if `withColumnAliases` is true.
+     */
+    UpsertContext appendInsertingValues(boolean withColumnAliases);
+
+    /**
+     * `A, B`, the columns of id or key properties.
+     */
+    UpsertContext appendConflictColumns();
+
+    /**
+     * `t.A = s.A and t.B = s.B`
+     */
+    UpsertContext appendConflictPredicate(String targetAlias, String sourceAlias);
+
+    /**
+     * `C = prefixCsuffix, D = prefixDsuffix`.
+     *
+     * <p>If there is no updated column, the first conflict column is
+     * assigned to itself so that the statement is still valid.</p>
+     */
+    UpsertContext appendUpdatingAssignments(String prefix, String suffix);
+}
@@ -1,7 +1,42 @@
 package org.babyfish.jimmer.sql.event;
 
+import java.util.List;
+
 @FunctionalInterface
 public interface AssociationListener {
 
     void onChange(AssociationEvent e);
+
+    /**
+     * Accept the events fired together by one statement,
+     * by default, each event is accepted by {@link #onChange(AssociationEvent)}.
+     *
+     * <p>Override this method if the events can be handled at once,
+     * for example, delete the cached associations by one batch operation.
+     * Its behavior must be equivalent to calling
+     * {@link #onChange(AssociationEvent)} for each event.</p>
+     *
+     * <p>The failure of one event does not prevent the other events from
+     * being accepted, the first failure is thrown after all events are accepted.</p>
+     *
+     * @param events The events in the order in which they are fired, size &gt; 1
+     */
+    default void onBatch(List<AssociationEvent> events) {
+        Throwable throwable = null;
+        for (AssociationEvent e : events) {
+            try {
+                onChange(e);
+            } catch (RuntimeException | Error ex) {
+                if (throwable == null) {
+                    throwable = ex;
+                }
+            }
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
 import java.sql.Connection;
+import java.util.function.Consumer;
 
 public interface Triggers {
 
@@ -67,5 +68,20 @@ public interface Triggers {
 
     void fireAssociationEvict(ImmutableProp prop, Object sourceId, Object reason);
 
+    /**
+     * Fire the changes of one statement together.
+     *
+     * <p>The `fire*` methods of the triggers object passed to the block
+     * only collect events, after the block is finished, the collected events
+     * of each listener are delivered by {@link EntityListener#onBatch(java.util.List)}
+     * or {@link AssociationListener#onBatch(java.util.List)}, so that the listeners
+     * such as cache invalidation can handle them at once.</p>
+     *
+     * @param block The block which fires the changes by its argument
+     */
+    default void fireBatch(Consumer<Triggers> block) {
+        block.accept(this);
+    }
+
     boolean isTransaction();
 }
@@ -6,12 +6,12 @@ import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 
 import java.sql.Connection;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class TriggersImpl implements Triggers {
 
@@ -126,250 +126,287 @@ public class TriggersImpl implements Triggers {
 
     @Override
     public void fireEntityTableChange(Object oldRow, Object newRow, Connection con, Object reason) {
-        if (oldRow == null && newRow == null) {
-            return;
+        Batch batch = new Batch();
+        batch.fireEntityTableChange(oldRow, newRow, con, reason);
+        batch.dispatch();
+    }
+
+    @Override
+    public void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+        Batch batch = new Batch();
+        batch.fireMiddleTableDelete(prop, sourceId, targetId, con, reason);
+        batch.dispatch();
+    }
+
+    @Override
+    public void fireMiddleTableInsert(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+        Batch batch = new Batch();
+        batch.fireMiddleTableInsert(prop, sourceId, targetId, con, reason);
+        batch.dispatch();
+    }
+
+    @Override
+    public void fireAssociationEvict(ImmutableProp prop, Object sourceId, Object reason) {
+        Batch batch = new Batch();
+        batch.fireAssociationEvict(prop, sourceId, reason);
+        batch.dispatch();
+    }
+
+    @Override
+    public void fireBatch(Consumer<Triggers> block) {
+        Batch batch = new Batch();
+        block.accept(batch);
+        batch.dispatch();
+    }
+
+    private Collection<EntityListener<ImmutableSpi>> entityListeners(ImmutableType type) {
+        // A listener registered both globally and for the type only accepts each event once
+        Set<EntityListener<ImmutableSpi>> listeners = new LinkedHashSet<>(globalEntityListeners);
+        Map<ImmutableType, CopyOnWriteArrayList<EntityListener<ImmutableSpi>>> map =
+                entityTableListenerMultiMap;
+        for (ImmutableType t : type.getAllTypes()) {
+            CopyOnWriteArrayList<EntityListener<ImmutableSpi>> list = map.get(t);
+            if (list != null) {
+                listeners.addAll(list);
+            }
         }
-        if (oldRow != null && !(oldRow instanceof ImmutableSpi)) {
-            throw new IllegalArgumentException("oldRow must be immutable");
+        return listeners;
+    }
+
+    private Collection<AssociationListener> associationListeners(ImmutableProp prop) {
+        // A listener registered both globally and for the property only accepts each event once
+        Set<AssociationListener> listeners = new LinkedHashSet<>(globalAssociationListeners);
+        CopyOnWriteArrayList<AssociationListener> list = associationListenerMultiMap.get(prop);
+        if (list != null) {
+            listeners.addAll(list);
         }
-        if (newRow != null && !(newRow instanceof ImmutableSpi)) {
-            throw new IllegalArgumentException("newRow must be immutable");
+        return listeners;
+    }
+
+    @Override
+    public boolean isTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Collects the events and groups them by listener,
+     * the listeners are notified by {@link #dispatch()}
+     */
+    private class Batch implements Triggers {
+
+        private final Map<EntityListener<ImmutableSpi>, List<EntityEvent<ImmutableSpi>>> entityEventMultiMap =
+                new LinkedHashMap<>();
+
+        private final Map<AssociationListener, List<AssociationEvent>> associationEventMultiMap =
+                new LinkedHashMap<>();
+
+        private boolean dispatched;
+
+        @Override
+        public void addEntityListener(ImmutableType immutableType, EntityListener<?> listener) {
+            TriggersImpl.this.addEntityListener(immutableType, listener);
         }
-        EntityEvent<ImmutableSpi> event = new EntityEvent<>((ImmutableSpi)oldRow, (ImmutableSpi) newRow, con, reason);
-        List<EntityListener<ImmutableSpi>> listeners = entityListeners(event.getImmutableType());
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            for (EntityListener<ImmutableSpi> listener : listeners) {
-                try {
-                    listener.onChange(event);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable =ex;
-                    }
-                }
-            }
+
+        @Override
+        public void removeEntityListener(ImmutableType immutableType, EntityListener<?> listener) {
+            TriggersImpl.this.removeEntityListener(immutableType, listener);
         }
-        ImmutableType type = event.getImmutableType();
-        for (ImmutableProp prop : type.getProps().values()) {
-            if (prop.isColumnDefinition() && prop.isAssociation(TargetLevel.PERSISTENT)) {
-                ChangedRef<Object> changedRef = event.getChangedRef(prop);
-                if (changedRef != null) {
-                    ChangedRef<Object> fkRef = changedRef.toIdRef();
-                    throwable = fireForeignKeyChange(
-                            prop,
-                            event.getId(),
-                            fkRef.getOldValue(),
-                            fkRef.getNewValue(),
-                            con,
-                            reason,
-                            throwable
-                    );
-                }
-            }
+
+        @Override
+        public void addEntityListener(EntityListener<?> listener) {
+            TriggersImpl.this.addEntityListener(listener);
         }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
+
+        @Override
+        public void removeEntityListener(EntityListener<?> listener) {
+            TriggersImpl.this.removeEntityListener(listener);
         }
-        if (throwable != null) {
-            throw (Error)throwable;
+
+        @Override
+        public void addAssociationListener(ImmutableProp prop, AssociationListener listener) {
+            TriggersImpl.this.addAssociationListener(prop, listener);
         }
-    }
 
-    private Throwable fireForeignKeyChange(
-            ImmutableProp prop,
-            Object childId,
-            Object oldFk,
-            Object newFk,
-            Connection con,
-            Object reason,
-            Throwable throwable
-    ) {
-        ImmutableProp inverseProp = prop.getOpposite();
-        List<AssociationListener> listeners = associationListeners(prop);
-        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, childId, oldFk, newFk, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
+        @Override
+        public void removeAssociationListener(ImmutableProp prop, AssociationListener listener) {
+            TriggersImpl.this.removeAssociationListener(prop, listener);
+        }
+
+        @Override
+        public void addAssociationListener(AssociationListener listener) {
+            TriggersImpl.this.addAssociationListener(listener);
+        }
+
+        @Override
+        public void removeAssociationListener(AssociationListener listener) {
+            TriggersImpl.this.removeAssociationListener(listener);
+        }
+
+        @Override
+        public void fireEntityTableChange(Object oldRow, Object newRow, Connection con, Object reason) {
+            validateState();
+            if (oldRow == null && newRow == null) {
+                return;
+            }
+            if (oldRow != null && !(oldRow instanceof ImmutableSpi)) {
+                throw new IllegalArgumentException("oldRow must be immutable");
+            }
+            if (newRow != null && !(newRow instanceof ImmutableSpi)) {
+                throw new IllegalArgumentException("newRow must be immutable");
+            }
+            EntityEvent<ImmutableSpi> event = new EntityEvent<>((ImmutableSpi)oldRow, (ImmutableSpi) newRow, con, reason);
+            ImmutableType type = event.getImmutableType();
+            for (EntityListener<ImmutableSpi> listener : entityListeners(type)) {
+                entityEventMultiMap.computeIfAbsent(listener, it -> new ArrayList<>()).add(event);
+            }
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.isColumnDefinition() && prop.isAssociation(TargetLevel.PERSISTENT)) {
+                    ChangedRef<Object> changedRef = event.getChangedRef(prop);
+                    if (changedRef != null) {
+                        ChangedRef<Object> fkRef = changedRef.toIdRef();
+                        fireForeignKeyChange(
+                                prop,
+                                event.getId(),
+                                fkRef.getOldValue(),
+                                fkRef.getNewValue(),
+                                con,
+                                reason
+                        );
                     }
                 }
             }
         }
-        if (!inverseListeners.isEmpty()) {
+
+        private void fireForeignKeyChange(
+                ImmutableProp prop,
+                Object childId,
+                Object oldFk,
+                Object newFk,
+                Connection con,
+                Object reason
+        ) {
+            ImmutableProp inverseProp = prop.getOpposite();
+            add(prop, () -> new AssociationEvent(prop, childId, oldFk, newFk, con, reason));
             if (oldFk != null) {
-                AssociationEvent e = new AssociationEvent(inverseProp, oldFk, childId, null, con, reason);
-                for (AssociationListener inverseListener : inverseListeners) {
-                    try {
-                        inverseListener.onChange(e);
-                    } catch (RuntimeException | Error ex) {
-                        if (throwable == null) {
-                            throwable = ex;
-                        }
-                    }
-                }
+                add(inverseProp, () -> new AssociationEvent(inverseProp, oldFk, childId, null, con, reason));
             }
             if (newFk != null) {
-                AssociationEvent e = new AssociationEvent(inverseProp, newFk, null, childId, con, reason);
-                for (AssociationListener inverseListener : inverseListeners) {
-                    try {
-                        inverseListener.onChange(e);
-                    } catch (RuntimeException | Error ex) {
-                        if (throwable == null) {
-                            throwable = ex;
-                        }
-                    }
-                }
+                add(inverseProp, () -> new AssociationEvent(inverseProp, newFk, null, childId, con, reason));
             }
         }
-        return throwable;
-    }
 
-    @Override
-    public void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp mappedBy = prop.getMappedBy();
-        if (mappedBy != null) {
-            fireMiddleTableDeleteImpl(mappedBy, targetId, sourceId, con, reason);
-        } else {
-            fireMiddleTableDeleteImpl(prop, sourceId, targetId, con, reason);
+        @Override
+        public void fireMiddleTableDelete(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+            validateState();
+            ImmutableProp mappedBy = prop.getMappedBy();
+            if (mappedBy != null) {
+                fireMiddleTableDeleteImpl(mappedBy, targetId, sourceId, con, reason);
+            } else {
+                fireMiddleTableDeleteImpl(prop, sourceId, targetId, con, reason);
+            }
         }
-    }
 
-    private void fireMiddleTableDeleteImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp inverseProp = prop.getOpposite();
-        List<AssociationListener> listeners = associationListeners(prop);
-        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, sourceId, targetId, null, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
-            }
+        private void fireMiddleTableDeleteImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+            ImmutableProp inverseProp = prop.getOpposite();
+            add(prop, () -> new AssociationEvent(prop, sourceId, targetId, null, con, reason));
+            add(inverseProp, () -> new AssociationEvent(inverseProp, targetId, sourceId, null, con, reason));
         }
-        if (!inverseListeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(inverseProp, targetId, sourceId, null, con, reason);
-            for (AssociationListener inverseListener : inverseListeners) {
-                try {
-                    inverseListener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
-                }
+
+        @Override
+        public void fireMiddleTableInsert(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+            validateState();
+            ImmutableProp mappedBy = prop.getMappedBy();
+            if (mappedBy != null) {
+                fireMiddleTableInsertImpl(mappedBy, targetId, sourceId, con, reason);
+            } else {
+                fireMiddleTableInsertImpl(prop, sourceId, targetId, con, reason);
             }
         }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
+
+        private void fireMiddleTableInsertImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
+            ImmutableProp inverseProp = prop.getOpposite();
+            add(prop, () -> new AssociationEvent(prop, sourceId, null, targetId, con, reason));
+            add(inverseProp, () -> new AssociationEvent(inverseProp, targetId, null, sourceId, con, reason));
         }
-        if (throwable != null) {
-            throw (Error)throwable;
+
+        @Override
+        public void fireAssociationEvict(ImmutableProp prop, Object sourceId, Object reason) {
+            validateState();
+            add(prop, () -> new AssociationEvent(prop, sourceId, null, reason));
         }
-    }
 
-    @Override
-    public void fireMiddleTableInsert(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp mappedBy = prop.getMappedBy();
-        if (mappedBy != null) {
-            fireMiddleTableInsertImpl(mappedBy, targetId, sourceId, con, reason);
-        } else {
-            fireMiddleTableInsertImpl(prop, sourceId, targetId, con, reason);
+        @Override
+        public void fireBatch(Consumer<Triggers> block) {
+            validateState();
+            block.accept(this);
         }
-    }
 
-    private void fireMiddleTableInsertImpl(ImmutableProp prop, Object sourceId, Object targetId, Connection con, Object reason) {
-        ImmutableProp inverseProp = prop.getOpposite();
-        List<AssociationListener> listeners = associationListeners(prop);
-        List<AssociationListener> inverseListeners = associationListeners(inverseProp);
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, sourceId, null, targetId, con, reason);
-            for (AssociationListener listener : listeners) {
-                try {
-                    listener.onChange(e);
-                } catch (RuntimeException | Error ex) {
-                    if (throwable == null) {
-                        throwable = ex;
-                    }
+        @Override
+        public boolean isTransaction() {
+            return transaction;
+        }
+
+        private void add(ImmutableProp prop, Supplier<AssociationEvent> eventSupplier) {
+            if (prop == null) {
+                // Inverse property of unidirectional association
+                return;
+            }
+            Collection<AssociationListener> listeners = associationListeners(prop);
+            if (!listeners.isEmpty()) {
+                AssociationEvent event = eventSupplier.get();
+                for (AssociationListener listener : listeners) {
+                    associationEventMultiMap.computeIfAbsent(listener, it -> new ArrayList<>()).add(event);
                 }
             }
         }
-        if (!inverseListeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(inverseProp, targetId, null, sourceId, con, reason);
-            for (AssociationListener inverseListener : inverseListeners) {
+
+        private void validateState() {
+            if (dispatched) {
+                throw new IllegalStateException("The batch triggers cannot be used after the batch is finished");
+            }
+        }
+
+        void dispatch() {
+            dispatched = true;
+            Throwable throwable = null;
+            for (Map.Entry<EntityListener<ImmutableSpi>, List<EntityEvent<ImmutableSpi>>> e :
+                    entityEventMultiMap.entrySet()) {
+                EntityListener<ImmutableSpi> listener = e.getKey();
+                List<EntityEvent<ImmutableSpi>> events = e.getValue();
                 try {
-                    inverseListener.onChange(e);
+                    if (events.size() == 1) {
+                        listener.onChange(events.get(0));
+                    } else {
+                        listener.onBatch(Collections.unmodifiableList(events));
+                    }
                 } catch (RuntimeException | Error ex) {
                     if (throwable == null) {
                         throwable = ex;
                     }
                 }
             }
-        }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
-        }
-        if (throwable != null) {
-            throw (Error)throwable;
-        }
-    }
-
-    @Override
-    public void fireAssociationEvict(ImmutableProp prop, Object sourceId, Object reason) {
-        List<AssociationListener> listeners = associationListeners(prop);
-        Throwable throwable = null;
-        if (!listeners.isEmpty()) {
-            AssociationEvent e = new AssociationEvent(prop, sourceId, null, reason);
-            for (AssociationListener listener : listeners) {
+            for (Map.Entry<AssociationListener, List<AssociationEvent>> e :
+                    associationEventMultiMap.entrySet()) {
+                AssociationListener listener = e.getKey();
+                List<AssociationEvent> events = e.getValue();
                 try {
-                    listener.onChange(e);
+                    if (events.size() == 1) {
+                        listener.onChange(events.get(0));
+                    } else {
+                        listener.onBatch(Collections.unmodifiableList(events));
+                    }
                 } catch (RuntimeException | Error ex) {
                     if (throwable == null) {
                         throwable = ex;
                     }
                 }
             }
-        }
-        if (throwable instanceof RuntimeException) {
-            throw (RuntimeException)throwable;
-        }
-        if (throwable != null) {
-            throw (Error)throwable;
-        }
-    }
-
-    private List<EntityListener<ImmutableSpi>> entityListeners(ImmutableType type) {
-        List<EntityListener<ImmutableSpi>> listeners = new ArrayList<>(globalEntityListeners);
-        Map<ImmutableType, CopyOnWriteArrayList<EntityListener<ImmutableSpi>>> map =
-                entityTableListenerMultiMap;
-        for (ImmutableType t : type.getAllTypes()) {
-            CopyOnWriteArrayList<EntityListener<ImmutableSpi>> list = map.get(t);
-            if (list != null) {
-                listeners.addAll(list);
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException)throwable;
+            }
+            if (throwable != null) {
+                throw (Error)throwable;
             }
         }
-        return listeners;
-    }
-
-    private List<AssociationListener> associationListeners(ImmutableProp prop) {
-        List<AssociationListener> listeners = new ArrayList<>(globalAssociationListeners);
-        CopyOnWriteArrayList<AssociationListener> list = associationListenerMultiMap.get(prop);
-        if (list != null) {
-            listeners.addAll(list);
-        }
-        return listeners;
-    }
-
-    @Override
-    public boolean isTransaction() {
-        return transaction;
     }
 }
@@ -1,22 +1,34 @@
 package org.babyfish.jimmer.sql.fetcher.impl;
 
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 class FetcherContext {
 
-    private static final ThreadLocal<FetcherContext> FETCHER_CONTEXT_LOCAL = new ThreadLocal<>();
+    private static final ContextLocal<FetcherContext> FETCHER_CONTEXT_LOCAL = ContextLocal.create();
+
+    private static final ContextLocal<Boolean> PARALLEL_LOADING_LOCAL = ContextLocal.create();
+
+    private static final ContextLocal<Connection> BORROWED_CONNECTION_LOCAL = ContextLocal.create();
 
     private JSqlClientImplementor sqlClient;
 
@@ -26,6 +38,8 @@ class FetcherContext {
 
     private Map<Field, FetcherTask> taskMap = new LinkedHashMap<>();
 
+    private final Executor parallelExecutor;
+
     public static void using(
             JSqlClientImplementor sqlClient,
             Connection con,
@@ -35,19 +49,45 @@ class FetcherContext {
         if (ctx != null) {
             block.accept(ctx, false);
         } else {
-            ctx = new FetcherContext(sqlClient, con);
-            FETCHER_CONTEXT_LOCAL.set(ctx);
-            try {
-                block.accept(ctx, true);
-            } finally {
-                FETCHER_CONTEXT_LOCAL.remove();
-            }
+            FetcherContext newCtx = new FetcherContext(sqlClient, con);
+            FETCHER_CONTEXT_LOCAL.run(newCtx, () -> block.accept(newCtx, true));
         }
     }
 
+    static <R> R usingBorrowedConnection(Connection con, Supplier<R> block) {
+        return BORROWED_CONNECTION_LOCAL.call(con, block::get);
+    }
+
     private FetcherContext(JSqlClientImplementor sqlClient, Connection con) {
         this.sqlClient = sqlClient;
         this.con = con;
+        this.parallelExecutor = parallelExecutor(sqlClient, con);
+    }
+
+    private static Executor parallelExecutor(JSqlClientImplementor sqlClient, Connection con) {
+        Executor executor = sqlClient.getParallelFetchingExecutor();
+        if (executor == null) {
+            return null;
+        }
+        // Nested fetching of parallel loading is executed serially,
+        // otherwise, a bounded thread pool may be exhausted by waiting tasks
+        if (PARALLEL_LOADING_LOCAL.get() != null) {
+            return null;
+        }
+        // The connection specified by user may have its own session state,
+        // and other connections cannot see the uncommitted modifications of
+        // a transaction, so associations are loaded serially by this connection
+        if (BORROWED_CONNECTION_LOCAL.get() != con) {
+            return null;
+        }
+        try {
+            if (!con.getAutoCommit()) {
+                return null;
+            }
+        } catch (SQLException ex) {
+            return null;
+        }
+        return executor;
     }
 
     @SuppressWarnings("unchecked")
@@ -92,6 +132,10 @@ class FetcherContext {
 
     public void execute() {
         while (!taskMap.isEmpty()) {
+            if (parallelExecutor != null && taskMap.size() > 1) {
+                executeInParallel();
+                continue;
+            }
             Iterator<Map.Entry<Field, FetcherTask>> itr = taskMap.entrySet().iterator();
             Map.Entry<Field, FetcherTask> e = itr.next();
             if (e.getValue().execute()) {
@@ -99,4 +143,49 @@ class FetcherContext {
             }
         }
     }
+
+    /**
+     * Loads one batch of each task concurrently, the loaded data
+     * is merged by current thread after all loadings are finished.
+     */
+    private void executeInParallel() {
+        Map<FetcherTask, Map<Object, FetcherTask.TaskData>> handledMaps = new LinkedHashMap<>();
+        Iterator<Map.Entry<Field, FetcherTask>> itr = taskMap.entrySet().iterator();
+        while (itr.hasNext()) {
+            FetcherTask task = itr.next().getValue();
+            Map<Object, FetcherTask.TaskData> handledMap = task.prepare();
+            if (handledMap != null) {
+                handledMaps.put(task, handledMap);
+            }
+        }
+        ContextLocal.Snapshot snapshot = ContextLocal.capture();
+        Map<FetcherTask, CompletableFuture<Map<ImmutableSpi, ?>>> futureMap = new LinkedHashMap<>();
+        for (Map.Entry<FetcherTask, Map<Object, FetcherTask.TaskData>> e : handledMaps.entrySet()) {
+            Supplier<Map<ImmutableSpi, ?>> loader = e.getKey().parallelLoader(e.getValue());
+            futureMap.put(
+                    e.getKey(),
+                    CompletableFuture.supplyAsync(
+                            () -> snapshot.call(() -> PARALLEL_LOADING_LOCAL.call(Boolean.TRUE, loader::get)),
+                            parallelExecutor
+                    )
+            );
+        }
+        for (Map.Entry<FetcherTask, CompletableFuture<Map<ImmutableSpi, ?>>> e : futureMap.entrySet()) {
+            Map<ImmutableSpi, ?> loadedMap;
+            try {
+                loadedMap = e.getValue().join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new ExecutionException("Failed to fetch data in parallel", cause);
+            }
+            e.getKey().complete(handledMaps.get(e.getKey()), loadedMap);
+        }
+        taskMap.values().removeIf(FetcherTask::isCompleted);
+    }
 }
\ No newline at end of file
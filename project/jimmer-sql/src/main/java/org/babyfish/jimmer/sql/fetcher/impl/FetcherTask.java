@@ -1,5 +1,8 @@
 package org.babyfish.jimmer.sql.fetcher.impl;
 
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.DraftSpi;
@@ -12,6 +15,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 class FetcherTask {
@@ -62,8 +66,31 @@ class FetcherTask {
     }
 
     public boolean execute() {
+        Map<Object, TaskData> handledMap = prepare();
+        if (handledMap != null) {
+            complete(
+                    handledMap,
+                    dataLoader.load(
+                            handledMap
+                                    .values()
+                                    .stream()
+                                    .map(it -> it.getDrafts().get(0))
+                                    .collect(Collectors.toList())
+                    )
+            );
+        }
+        return pendingMap.isEmpty();
+    }
+
+    /**
+     * Takes the next batch from pending data and resolves the cached ones.
+     *
+     * @return The task data which must be loaded from database, or null
+     * if there is nothing to load.
+     */
+    Map<Object, TaskData> prepare() {
         if (pendingMap.isEmpty()) {
-            return true;
+            return null;
         }
         Map<Object, TaskData> handledMap;
         if (pendingMap.size() > batchSize) {
@@ -98,23 +125,75 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
-            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
-                TaskData taskData = e.getValue();
-                Object value = loadedMap.get(taskData.getDrafts().get(0));
-                afterLoad(taskData, value, true);
+        return handledMap.isEmpty() ? null : handledMap;
+    }
+
+    /**
+     * Creates a job which loads the prepared data by another connection.
+     *
+     * <p>The returned job can be executed by any thread because it
+     * never touches the drafts, the id-only snapshots of them are
+     * created by the current thread before this method returns.</p>
+     */
+    Supplier<Map<ImmutableSpi, ?>> parallelLoader(Map<Object, TaskData> handledMap) {
+        List<ImmutableSpi> sources = snapshots(handledMap.values());
+        return () -> sqlClient
+                .getSlaveConnectionManager(false)
+                .execute(con -> new DataLoader(sqlClient, con, field).load(sources));
+    }
+
+    /**
+     * Merges the loaded data into the drafts, it must be called by
+     * the thread which owns the drafts.
+     *
+     * @param loadedMap If the data is loaded by {@link #parallelLoader(Map)},
+     *                  the keys are snapshots, otherwise, the keys are drafts.
+     */
+    void complete(Map<Object, TaskData> handledMap, Map<ImmutableSpi, ?> loadedMap) {
+        for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
+            TaskData taskData = e.getValue();
+            ImmutableSpi source = taskData.getSnapshot();
+            if (source == null) {
+                source = taskData.getDrafts().get(0);
             }
+            afterLoad(taskData, loadedMap.get(source), true);
         }
+    }
+
+    boolean isCompleted() {
         return pendingMap.isEmpty();
     }
 
+    private List<ImmutableSpi> snapshots(Collection<TaskData> taskDataList) {
+        ImmutableProp prop = field.getProp();
+        boolean isReference = prop.isReference(TargetLevel.PERSISTENT);
+        return Internal.requiresNewDraftContext(ctx -> {
+            List<ImmutableSpi> snapshots = new ArrayList<>(taskDataList.size());
+            for (TaskData taskData : taskDataList) {
+                DraftSpi draft = taskData.getDrafts().get(0);
+                ImmutableType type = draft.__type();
+                PropId idPropId = type.getIdProp().getId();
+                DraftSpi snapshotDraft = (DraftSpi) type.getDraftFactory().apply(ctx, null);
+                snapshotDraft.__set(idPropId, draft.__get(idPropId));
+                if (isReference && draft.__isLoaded(prop.getId())) {
+                    ImmutableSpi target = (ImmutableSpi) draft.__get(prop.getId());
+                    if (target != null) {
+                        PropId targetIdPropId = target.__type().getIdProp().getId();
+                        DraftSpi targetDraft = (DraftSpi) target.__type().getDraftFactory().apply(ctx, null);
+                        targetDraft.__set(targetIdPropId, target.__get(targetIdPropId));
+                        snapshotDraft.__set(prop.getId(), targetDraft);
+                    } else {
+                        snapshotDraft.__set(prop.getId(), null);
+                    }
+                }
+                ImmutableSpi snapshot = (ImmutableSpi) ctx.resolveObject(snapshotDraft);
+                taskData.setSnapshot(snapshot);
+                snapshots.add(snapshot);
+            }
+            return snapshots;
+        });
+    }
+
     private boolean isLoaded(DraftSpi draft) {
         if (!isLoaded(draft, field)) {
             return false;
@@ -203,7 +282,7 @@ class FetcherTask {
         }
     }
 
-    private static class TaskData {
+    static class TaskData {
 
         private final Object key;
 
@@ -211,6 +290,8 @@ class FetcherTask {
 
         private final List<DraftSpi> drafts = new ArrayList<>();
 
+        private ImmutableSpi snapshot;
+
         public TaskData(Object key, int depth) {
             this.key = key;
             this.depth = depth;
@@ -228,6 +309,14 @@ class FetcherTask {
             return drafts;
         }
 
+        public ImmutableSpi getSnapshot() {
+            return snapshot;
+        }
+
+        public void setSnapshot(ImmutableSpi snapshot) {
+            this.snapshot = snapshot;
+        }
+
         @Override
         public String toString() {
             return "TaskData{" +
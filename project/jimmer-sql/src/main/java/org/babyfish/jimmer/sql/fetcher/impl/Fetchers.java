@@ -10,11 +10,24 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class Fetchers {
 
     private Fetchers() {}
 
+    /**
+     * Executes the block by a connection which is borrowed from the connection
+     * manager by jimmer itself, not specified by user.
+     *
+     * <p>Only the object fetchers executed by such a connection which is
+     * in auto-commit mode can load associations in parallel, see
+     * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setParallelFetchingExecutor(java.util.concurrent.Executor)}</p>
+     */
+    public static <R> R usingBorrowedConnection(Connection con, Supplier<R> block) {
+        return FetcherContext.usingBorrowedConnection(con, block);
+    }
+
     @SuppressWarnings("unchecked")
     public static void fetch(
             JSqlClientImplementor sqlClient,
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.loader;
 
+import org.babyfish.jimmer.impl.util.ContextLocal;
 import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.DraftSpi;
@@ -11,17 +12,22 @@ import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.EntitiesImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.AbstractMutableQueryImpl;
+import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImplementor;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.impl.query.SortableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.MutableQuery;
 import org.babyfish.jimmer.sql.ast.query.Sortable;
 import org.babyfish.jimmer.sql.ast.table.Props;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheAbandonedCallback;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherFactory;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherImpl;
@@ -34,19 +40,22 @@ import org.babyfish.jimmer.sql.meta.Storage;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.Selectors;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public abstract class AbstractDataLoader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDataLoader.class);
 
-    private static final ThreadLocal<Connection> TRANSIENT_RESOLVER_CON_LOCAL = new ThreadLocal<>();
+    private static final ContextLocal<Connection> TRANSIENT_RESOLVER_CON_LOCAL = ContextLocal.create();
 
     /* For globalFilter is not null but not `Filter.Parameterized` */
     private static final SortedMap<String, Object> ILLEGAL_PARAMETERS =
@@ -245,12 +254,10 @@ public abstract class AbstractDataLoader {
 
         if (!useCache) {
             Map<Object, Object> resolvedMap;
-            TRANSIENT_RESOLVER_CON_LOCAL.set(con);
-            try {
-                resolvedMap = translateResolvedMap(resolver.resolve(sourceIds), sourceIds);
-            } finally {
-                TRANSIENT_RESOLVER_CON_LOCAL.remove();
-            }
+            resolvedMap = TRANSIENT_RESOLVER_CON_LOCAL.call(
+                    con,
+                    () -> translateResolvedMap(resolver.resolve(sourceIds), sourceIds)
+            );
             return Utils.joinCollectionAndMap(
                     sources,
                     this::toSourceId,
@@ -261,14 +268,7 @@ public abstract class AbstractDataLoader {
         CacheEnvironment<Object, Object> env = new CacheEnvironment<>(
                 sqlClient,
                 con,
-                (ids) -> {
-                    TRANSIENT_RESOLVER_CON_LOCAL.set(con);
-                    try {
-                        return resolver.resolve(ids);
-                    } finally {
-                        TRANSIENT_RESOLVER_CON_LOCAL.remove();
-                    }
-                },
+                (ids) -> TRANSIENT_RESOLVER_CON_LOCAL.call(con, () -> resolver.resolve(ids)),
                 false
         );
         Map<Object, Object> valueMap =
@@ -572,21 +572,23 @@ public abstract class AbstractDataLoader {
         
         if (sourceIds.size() == 1) {
             Object sourceId = sourceIds.iterator().next();
-            List<Object> targetIds = Queries.createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, true, (q, source) -> {
-                Expression<Object> pkExpr = source.get(sourceIdProp.getName());
-                Table<?> targetTable = source.join(prop.getName());
-                Expression<Object> fkExpr = targetTable.get(targetIdProp.getName());
-                q.where(pkExpr.eq(sourceId));
-                q.where(fkExpr.isNotNull());
-                if (!applyPropFilter(q, targetTable, sourceIds) & !applyGlobalFilter(q, targetTable)) {
-                    applyDefaultOrder(q, targetTable);
-                }
-                return q.select(fkExpr);
-            }).limit(limit, offset).execute(con);
+            List<Object> targetIds = executeQuery("foreignKey", sourceIds, null, () ->
+                    Queries.createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, true, (q, source) -> {
+                        Expression<Object> pkExpr = source.get(sourceIdProp.getName());
+                        Table<?> targetTable = source.join(prop.getName());
+                        Expression<Object> fkExpr = targetTable.get(targetIdProp.getName());
+                        q.where(pkExpr.eq(sourceId));
+                        q.where(fkExpr.isNotNull());
+                        if (!applyPropFilter(q, targetTable, sourceIds) & !applyGlobalFilter(q, targetTable)) {
+                            applyDefaultOrder(q, targetTable);
+                        }
+                        return q.select(fkExpr);
+                    }).limit(limit, offset)
+            );
             return Utils.toMap(sourceId, targetIds);
         }
-        List<Tuple2<Object, Object>> tuples = Queries
-                .createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, true, (q, source) -> {
+        List<Tuple2<Object, Object>> tuples = executeQuery("foreignKey", sourceIds, null, () ->
+                Queries.createQuery(sqlClient, prop.getDeclaringType(), ExecutionPurpose.LOAD, true, (q, source) -> {
                     Expression<Object> pkExpr = source.get(sourceIdProp.getName());
                     Table<?> targetTable = source.join(prop.getName());
                     Expression<Object> fkExpr = targetTable.get(targetIdProp.getName());
@@ -596,7 +598,8 @@ public abstract class AbstractDataLoader {
                         applyDefaultOrder(q, targetTable);
                     }
                     return q.select(pkExpr, fkExpr);
-                }).execute(con);
+                })
+        );
         return Tuple2.toMap(tuples);
     }
 
@@ -604,81 +607,199 @@ public abstract class AbstractDataLoader {
         if (propFilter == null && prop.getReal().isMiddleTableDefinition()) {
             if (sourceIds.size() == 1) {
                 Object sourceId = sourceIds.iterator().next();
-                List<Object> targetIds = Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
-                    Expression<Object> sourceIdExpr = association.source(prop.getDeclaringType()).get(sourceIdProp.getName());
-                    Expression<Object> targetIdExpr = association.target().get(targetIdProp.getName());
-                    q.where(sourceIdExpr.eq(sourceId));
-                    if (!applyPropFilter(q, association.target(), sourceIds) && !applyGlobalFilter(q, association.target())) {
-                        applyDefaultOrder(q, association.target());
-                    }
-                    return q.select(targetIdExpr);
-                }).limit(limit, offset).execute(con);
+                List<Object> targetIds = executeQuery("middleTable", sourceIds, null, () ->
+                        Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
+                            Expression<Object> sourceIdExpr = association.source(prop.getDeclaringType()).get(sourceIdProp.getName());
+                            Expression<Object> targetIdExpr = association.target().get(targetIdProp.getName());
+                            q.where(sourceIdExpr.eq(sourceId));
+                            if (!applyPropFilter(q, association.target(), sourceIds) && !applyGlobalFilter(q, association.target())) {
+                                applyDefaultOrder(q, association.target());
+                            }
+                            return q.select(targetIdExpr);
+                        }).limit(limit, offset)
+                );
                 return Utils.toTuples(sourceId, targetIds);
             }
-            return Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
-                Expression<Object> sourceIdExpr = association.source(prop.getDeclaringType()).get(sourceIdProp.getName());
-                Expression<Object> targetIdExpr = association.target().get(targetIdProp.getName());
-                q.where(sourceIdExpr.in(sourceIds));
-                if (!applyPropFilter(q, association.target(), sourceIds) && !applyGlobalFilter(q, association.target())) {
-                    applyDefaultOrder(q, association.target());
-                }
-                return q.select(sourceIdExpr, targetIdExpr);
-            }).execute(con);
+            return executeQuery("middleTable", sourceIds, null, () ->
+                    Queries.createAssociationQuery(sqlClient, AssociationType.of(prop), ExecutionPurpose.LOAD, (q, association) -> {
+                        Expression<Object> sourceIdExpr = association.source(prop.getDeclaringType()).get(sourceIdProp.getName());
+                        Expression<Object> targetIdExpr = association.target().get(targetIdProp.getName());
+                        q.where(sourceIdExpr.in(sourceIds));
+                        if (!applyPropFilter(q, association.target(), sourceIds) && !applyGlobalFilter(q, association.target())) {
+                            applyDefaultOrder(q, association.target());
+                        }
+                        return q.select(sourceIdExpr, targetIdExpr);
+                    })
+            );
         }
-        return executeTupleQuery(sourceIds, target -> target.get(targetIdProp.getName()));
+        return executeTupleQuery(sourceIds, null, target -> target.get(targetIdProp.getName()));
     }
 
     @SuppressWarnings("unchecked")
     private List<Tuple2<Object, ImmutableSpi>> querySourceTargetPairs(
             Collection<Object> sourceIds
     ) {
-        return executeTupleQuery(sourceIds, target -> target.fetch(fetcher));
+        return executeTupleQuery(sourceIds, fetcher, target -> target.fetch(fetcher));
     }
 
     @SuppressWarnings("unchecked")
     private List<ImmutableSpi> queryTargets(Collection<Object> targetIds) {
 
-        return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
-            Expression<Object> idExpr = target.get(targetIdProp.getName());
-            q.where(idExpr.in(targetIds));
-            if (!applyPropFilter(q, target, targetIds) & !applyGlobalFilter(q, target)) {
-                applyDefaultOrder(q, target);
-            }
-            return q.select(
-                    ((Table<ImmutableSpi>)target).fetch(fetcher)
-            );
-        }).execute(con);
+        return executeQuery("targets", targetIds, fetcher, () ->
+                Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
+                    Expression<Object> idExpr = target.get(targetIdProp.getName());
+                    q.where(idExpr.in(targetIds));
+                    if (!applyPropFilter(q, target, targetIds) & !applyGlobalFilter(q, target)) {
+                        applyDefaultOrder(q, target);
+                    }
+                    return q.select(
+                            ((Table<ImmutableSpi>)target).fetch(fetcher)
+                    );
+                })
+        );
     }
 
     @SuppressWarnings("unchecked")
     private <R> List<Tuple2<Object, R>> executeTupleQuery(
             Collection<Object> sourceIds,
+            Fetcher<?> selectedFetcher,
             Function<Table<ImmutableSpi>, Selection<?>> valueExpressionGetter
     ) {
         if (sourceIds.size() == 1) {
             Object sourceId = sourceIds.iterator().next();
-            List<R> results = Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
-                Expression<Object> sourceIdExpr = target
-                        .inverseJoin(prop)
-                        .get(sourceIdProp.getName());
-                q.where(sourceIdExpr.eq(sourceId));
-                if (!applyPropFilter(q, target, sourceIds) & !applyGlobalFilter(q, target) ) {
-                    applyDefaultOrder(q, target);
-                }
-                return q.select((Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
-            }).limit(limit, offset).execute(con);
+            List<R> results = executeQuery("inverseJoin", sourceIds, selectedFetcher, () ->
+                    Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
+                        Expression<Object> sourceIdExpr = target
+                                .inverseJoin(prop)
+                                .get(sourceIdProp.getName());
+                        q.where(sourceIdExpr.eq(sourceId));
+                        if (!applyPropFilter(q, target, sourceIds) & !applyGlobalFilter(q, target) ) {
+                            applyDefaultOrder(q, target);
+                        }
+                        return q.select((Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
+                    }).limit(limit, offset)
+            );
             return Utils.toTuples(sourceId, results);
         }
-        return Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
-            Expression<Object> sourceIdExpr = target
-                    .inverseJoin(prop)
-                    .get(sourceIdProp.getName());
-            q.where(sourceIdExpr.in(sourceIds));
-            if (!applyPropFilter(q, target, sourceIds) & !applyGlobalFilter(q, target)) {
-                applyDefaultOrder(q, target);
+        return executeQuery("inverseJoin", sourceIds, selectedFetcher, () ->
+                Queries.createQuery(sqlClient, prop.getTargetType(), ExecutionPurpose.LOAD, true, (q, target) -> {
+                    Expression<Object> sourceIdExpr = target
+                            .inverseJoin(prop)
+                            .get(sourceIdProp.getName());
+                    q.where(sourceIdExpr.in(sourceIds));
+                    if (!applyPropFilter(q, target, sourceIds) & !applyGlobalFilter(q, target)) {
+                        applyDefaultOrder(q, target);
+                    }
+                    return q.select(sourceIdExpr, (Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
+                })
+        );
+    }
+
+    /**
+     * Execute the query created by `querySupplier`.
+     *
+     * <p>If neither global filter nor property filter is used, the shape of
+     * the query only depends on this loader and the count of keys, so the
+     * rendered SQL is cached by {@link SqlTemplateCache} and later executions
+     * only bind the keys again.</p>
+     *
+     * @param templateName The name of the query shape
+     * @param keys The keys which are the only variables of the query
+     * @param selectedFetcher The fetcher selected by query, or null if query does not select fetcher
+     * @param querySupplier The creator of the query, it is not called if the cached SQL can be used
+     */
+    @SuppressWarnings("unchecked")
+    private <R> List<R> executeQuery(
+            String templateName,
+            Collection<Object> keys,
+            Fetcher<?> selectedFetcher,
+            Supplier<ConfigurableRootQuery<?, R>> querySupplier
+    ) {
+        SqlTemplateCache templateCache = sqlClient.getSqlTemplateCache();
+        if (templateCache == null ||
+                propFilter != null ||
+                globalFiler != null ||
+                remote ||
+                limit != Integer.MAX_VALUE ||
+                offset != 0
+        ) {
+            return querySupplier.get().execute(con);
+        }
+        List<Object> variables = SqlTemplateCache.toVariables(sqlClient, keys);
+        if (variables == null) {
+            return querySupplier.get().execute(con);
+        }
+        List<Object> templateKey = Arrays.asList(
+                templateName,
+                prop,
+                selectedFetcher != null ? selectedProps(selectedFetcher) : null,
+                keys.size()
+        );
+        SqlTemplateCache.Template template = templateCache.get(templateKey);
+        String sql;
+        List<Integer> variablePositions;
+        List<Selection<?>> selections;
+        if (template != null) {
+            sql = template.getSql();
+            variablePositions = template.getVariablePositions();
+            selections = replaceFetcher(template.getSelections(), selectedFetcher);
+        } else {
+            ConfigurableRootQueryImplementor<?, R> query =
+                    (ConfigurableRootQueryImplementor<?, R>) querySupplier.get();
+            Tuple3<String, List<Object>, List<Integer>> sqlResult = query.renderSql();
+            sql = sqlResult.get_1();
+            variablePositions = sqlResult.get_3();
+            selections = query.getSelections();
+            if (variables.equals(sqlResult.get_2())) {
+                templateCache.put(templateKey, new SqlTemplateCache.Template(sql, variablePositions, selections));
+            } else {
+                // The rendered variables are not exactly the keys, the template cannot be reused
+                variables = sqlResult.get_2();
             }
-            return q.select(sourceIdExpr, (Selection<R>) valueExpressionGetter.apply((Table<ImmutableSpi>) target));
-        }).execute(con);
+        }
+        List<Object> finalVariables = variables;
+        if (con != null) {
+            return Selectors.select(sqlClient, con, sql, finalVariables, variablePositions, selections, ExecutionPurpose.LOAD);
+        }
+        return sqlClient.getSlaveConnectionManager(false).execute(newConn ->
+                Selectors.select(sqlClient, newConn, sql, finalVariables, variablePositions, selections, ExecutionPurpose.LOAD)
+        );
+    }
+
+    private static List<ImmutableProp> selectedProps(Fetcher<?> fetcher) {
+        Collection<Field> fields = fetcher.getFieldMap().values();
+        List<ImmutableProp> props = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            props.add(field.getProp());
+        }
+        return props;
+    }
+
+    /**
+     * The cached selections are created by the first query of this shape,
+     * only the selected columns of its fetcher are same with the current one,
+     * so the current fetcher must be used to fetch the child objects.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Selection<?>> replaceFetcher(List<Selection<?>> selections, Fetcher<?> fetcher) {
+        if (fetcher == null) {
+            return selections;
+        }
+        List<Selection<?>> replacedSelections = new ArrayList<>(selections.size());
+        for (Selection<?> selection : selections) {
+            if (selection instanceof FetcherSelectionImpl<?> &&
+                    ((FetcherSelectionImpl<?>) selection).getFetcher() != fetcher) {
+                replacedSelections.add(
+                        new FetcherSelectionImpl<>(
+                                ((FetcherSelectionImpl<Object>) selection).getTable(),
+                                (Fetcher<Object>) fetcher
+                        )
+                );
+            } else {
+                replacedSelections.add(selection);
+            }
+        }
+        return replacedSelections;
     }
 
     private boolean applyGlobalFilter(Sortable sortable, Table<?> table) {
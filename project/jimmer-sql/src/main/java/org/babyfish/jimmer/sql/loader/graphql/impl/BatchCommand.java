@@ -5,6 +5,8 @@ import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
@@ -12,6 +14,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 class BatchCommand<S, T> implements Executable<Map<S, T>> {
 
@@ -66,6 +69,11 @@ class BatchCommand<S, T> implements Executable<Map<S, T>> {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Map<S, T>> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
     @SuppressWarnings("unchecked")
     private Map<S, T> executeImpl(Connection con) {
         Map<S, T> resultMap = (Map<S, T>) new DataLoader(
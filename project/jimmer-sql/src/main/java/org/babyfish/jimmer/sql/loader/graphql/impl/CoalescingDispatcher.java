@@ -0,0 +1,245 @@
+package org.babyfish.jimmer.sql.loader.graphql.impl;
+
+import org.babyfish.jimmer.lang.Ref;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.TransientResolver;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.fetcher.FieldFilter;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the single-object loads of different threads into batch loads.
+ *
+ * <p>The first load of a property/filter opens a window and becomes its leader,
+ * the loads of the same property/filter arriving within the window join it.
+ * When the window is closed by timeout or by the max batch size, the leader
+ * executes one batch load and shares the result with the others.
+ * If no other load of the same property/filter is being executed,
+ * the leader does not wait for others.</p>
+ *
+ * <p>The result is shared by the callers of different requests, so only the loads
+ * whose result does not depend on the caller are coalesced:</p>
+ * <ul>
+ *     <li>The connection of the current thread must not be in a transaction,
+ *     otherwise, the others may see its uncommitted modifications</li>
+ *     <li>The global filter of the associated type and the transient resolver
+ *     must be absent or be cacheable, their parameters are a part of the
+ *     key of window</li>
+ * </ul>
+ */
+class CoalescingDispatcher {
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Map<Key, Window> windowMap = new ConcurrentHashMap<>();
+
+    private final Map<Key, Integer> activeCountMap = new ConcurrentHashMap<>();
+
+    CoalescingDispatcher(JSqlClientImplementor sqlClient) {
+        this.sqlClient = sqlClient;
+    }
+
+    boolean isEnabled() {
+        return sqlClient.getLoaderCoalescingMaxWaitMillis() > 0;
+    }
+
+    /**
+     * @return The reference of loaded value, or null if the load cannot be coalesced
+     */
+    @Nullable
+    Ref<Object> load(ImmutableProp prop, FieldFilter<Table<ImmutableSpi>> filter, ImmutableSpi source) {
+        Key key = key(prop, filter);
+        if (key == null || isTransactional()) {
+            return null;
+        }
+        activeCountMap.merge(key, 1, Integer::sum);
+        try {
+            return Ref.of(load(key, source));
+        } finally {
+            activeCountMap.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private Object load(Key key, ImmutableSpi source) {
+        int maxBatchSize = sqlClient.getLoaderCoalescingMaxBatchSize();
+        Window[] joinedWindow = new Window[1];
+        boolean[] leader = new boolean[1];
+        windowMap.compute(key, (k, window) -> {
+            if (window != null) {
+                synchronized (window) {
+                    if (!window.closed) {
+                        joinedWindow[0] = window;
+                        return window.add(source, maxBatchSize) ? window : null;
+                    }
+                }
+            }
+            Window newWindow = new Window();
+            joinedWindow[0] = newWindow;
+            leader[0] = true;
+            return newWindow.add(source, maxBatchSize) ? newWindow : null;
+        });
+        Window window = joinedWindow[0];
+        if (leader[0]) {
+            Integer activeCount = activeCountMap.get(key);
+            List<ImmutableSpi> sources = window.await(
+                    activeCount != null && activeCount > 1 ?
+                            sqlClient.getLoaderCoalescingMaxWaitMillis() :
+                            0L
+            );
+            windowMap.remove(key, window);
+            Map<ImmutableSpi, Object> map;
+            try {
+                map = sqlClient
+                        .getConnectionManager()
+                        .execute(con -> new DataLoader(sqlClient, con, key.prop, key.filter).load(sources));
+            } catch (RuntimeException | Error ex) {
+                window.future.completeExceptionally(ex);
+                throw ex;
+            }
+            window.future.complete(map);
+            return map.get(source);
+        }
+        try {
+            return window.future.join().get(source);
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ExecutionException("Failed to load \"" + key.prop + "\"", cause);
+        }
+    }
+
+    /**
+     * @return The key of window, or null if the result may depend on
+     * the context of the caller
+     */
+    @Nullable
+    private Key key(ImmutableProp prop, FieldFilter<Table<ImmutableSpi>> filter) {
+        SortedMap<String, Object> filterParameterMap = null;
+        if (prop.isAssociation(TargetLevel.ENTITY)) {
+            Ref<SortedMap<String, Object>> ref = sqlClient.getFilters().getTargetParameterMapRef(prop);
+            if (ref == null) {
+                return null;
+            }
+            filterParameterMap = ref.getValue();
+        }
+        SortedMap<String, Object> resolverParameterMap = null;
+        if (!prop.isAssociation(TargetLevel.PERSISTENT)) {
+            TransientResolver<?, ?> resolver = sqlClient.getResolver(prop);
+            Ref<SortedMap<String, Object>> ref = resolver != null ? resolver.getParameterMapRef() : Ref.empty();
+            if (ref == null) {
+                return null;
+            }
+            resolverParameterMap = ref.getValue();
+        }
+        return new Key(prop, filter, filterParameterMap, resolverParameterMap);
+    }
+
+    private boolean isTransactional() {
+        return sqlClient.getConnectionManager().execute(con -> {
+            try {
+                return !con.getAutoCommit();
+            } catch (SQLException ex) {
+                return true;
+            }
+        });
+    }
+
+    private static class Key {
+
+        final ImmutableProp prop;
+
+        final FieldFilter<Table<ImmutableSpi>> filter;
+
+        final SortedMap<String, Object> filterParameterMap;
+
+        final SortedMap<String, Object> resolverParameterMap;
+
+        Key(
+                ImmutableProp prop,
+                FieldFilter<Table<ImmutableSpi>> filter,
+                SortedMap<String, Object> filterParameterMap,
+                SortedMap<String, Object> resolverParameterMap
+        ) {
+            this.prop = prop;
+            this.filter = filter;
+            this.filterParameterMap = filterParameterMap;
+            this.resolverParameterMap = resolverParameterMap;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(prop, filter, filterParameterMap, resolverParameterMap);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return prop.equals(key.prop) &&
+                    Objects.equals(filter, key.filter) &&
+                    Objects.equals(filterParameterMap, key.filterParameterMap) &&
+                    Objects.equals(resolverParameterMap, key.resolverParameterMap);
+        }
+    }
+
+    private static class Window {
+
+        final List<ImmutableSpi> sources = new ArrayList<>();
+
+        final CompletableFuture<Map<ImmutableSpi, Object>> future = new CompletableFuture<>();
+
+        boolean closed;
+
+        /**
+         * @return Whether the window is still open
+         */
+        synchronized boolean add(ImmutableSpi source, int maxBatchSize) {
+            sources.add(source);
+            if (sources.size() >= maxBatchSize) {
+                closed = true;
+                notifyAll();
+                return false;
+            }
+            return true;
+        }
+
+        synchronized List<ImmutableSpi> await(long maxWaitMillis) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            boolean interrupted = false;
+            while (!closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                    break;
+                }
+            }
+            closed = true;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return new ArrayList<>(sources);
+        }
+    }
+}
@@ -19,23 +19,31 @@ class ListLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableListLoad
 
     private final JSqlClientImplementor sqlClient;
 
+    private final CoalescingDispatcher dispatcher;
+
     private Connection con;
 
     private final ImmutableProp prop;
 
     private final FieldFilter<?> filter;
 
-    public ListLoaderImpl(JSqlClientImplementor sqlClient, ImmutableProp prop) {
-        this(sqlClient, null, prop, null);
+    public ListLoaderImpl(
+            JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
+            ImmutableProp prop
+    ) {
+        this(sqlClient, dispatcher, null, prop, null);
     }
 
     private ListLoaderImpl(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             Connection con,
             ImmutableProp prop,
             FieldFilter<?> filter
     ) {
         this.sqlClient = sqlClient;
+        this.dispatcher = dispatcher;
         this.con = con;
         this.prop = prop;
         this.filter = filter;
@@ -46,7 +54,7 @@ class ListLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableListLoad
         if (this.con == con) {
             return this;
         }
-        return new ListLoaderImpl<>(sqlClient, con, prop, filter);
+        return new ListLoaderImpl<>(sqlClient, dispatcher, con, prop, filter);
     }
 
     @Override
@@ -54,7 +62,7 @@ class ListLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableListLoad
         if (this.filter == filter) {
             return this;
         }
-        return new ListLoaderImpl<>(sqlClient, con, prop, filter);
+        return new ListLoaderImpl<>(sqlClient, dispatcher, con, prop, filter);
     }
 
     @NotNull
@@ -68,6 +76,7 @@ class ListLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableListLoad
         }
         return new SingleCommand<>(
                 sqlClient,
+                dispatcher,
                 con,
                 prop,
                 (FieldFilter<Table<ImmutableSpi>>) filter,
@@ -14,8 +14,11 @@ public class LoadersImpl implements Loaders {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final CoalescingDispatcher dispatcher;
+
     public LoadersImpl(JSqlClientImplementor sqlClient) {
         this.sqlClient = sqlClient;
+        this.dispatcher = new CoalescingDispatcher(sqlClient);
     }
 
     @Override
@@ -55,7 +58,7 @@ public class LoadersImpl implements Loaders {
                     "Cannot create reference loader for \"" + prop + "\", it is not transient property with resolver"
             );
         }
-        return new ValueLoaderImpl<>(sqlClient, prop);
+        return new ValueLoaderImpl<>(sqlClient, dispatcher, prop);
     }
 
     public <SE, TE, TT extends Table<TE>> FilterableReferenceLoader<SE, TE, TT> reference(ImmutableProp prop) {
@@ -64,7 +67,7 @@ public class LoadersImpl implements Loaders {
                     "Cannot create reference loader for \"" + prop + "\", it is not entity reference association"
             );
         }
-        return new ReferenceLoaderImpl<>(sqlClient, prop);
+        return new ReferenceLoaderImpl<>(sqlClient, dispatcher, prop);
     }
 
     public <SE, TE, TT extends Table<TE>> FilterableListLoader<SE, TE, TT> list(ImmutableProp prop) {
@@ -73,6 +76,6 @@ public class LoadersImpl implements Loaders {
                     "Cannot create list loader for \"" + prop + "\", it is not entity list association"
             );
         }
-        return new ListLoaderImpl<>(sqlClient, prop);
+        return new ListLoaderImpl<>(sqlClient, dispatcher, prop);
     }
 }
@@ -16,6 +16,8 @@ class ReferenceLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableRef
 
     private final JSqlClientImplementor sqlClient;
 
+    private final CoalescingDispatcher dispatcher;
+
     private final Connection con;
 
     private final ImmutableProp prop;
@@ -24,18 +26,21 @@ class ReferenceLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableRef
 
     public ReferenceLoaderImpl(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             ImmutableProp prop
     ) {
-        this(sqlClient, null, prop, null);
+        this(sqlClient, dispatcher, null, prop, null);
     }
 
     public ReferenceLoaderImpl(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             Connection con,
             ImmutableProp prop,
             FieldFilter<?> filter
     ) {
         this.sqlClient = sqlClient;
+        this.dispatcher = dispatcher;
         this.con = con;
         this.prop = prop;
         this.filter = filter;
@@ -46,7 +51,7 @@ class ReferenceLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableRef
         if (this.con == con) {
             return this;
         }
-        return new ReferenceLoaderImpl<>(sqlClient, con, prop, filter);
+        return new ReferenceLoaderImpl<>(sqlClient, dispatcher, con, prop, filter);
     }
 
     @Override
@@ -60,7 +65,7 @@ class ReferenceLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableRef
                             "non-null association does not accept filter"
             );
         }
-        return new ReferenceLoaderImpl<>(sqlClient, con, prop, filter);
+        return new ReferenceLoaderImpl<>(sqlClient, dispatcher, con, prop, filter);
     }
 
     @Override
@@ -73,6 +78,7 @@ class ReferenceLoaderImpl<SE, TE, TT extends Table<TE>> implements FilterableRef
         }
         return new SingleCommand<>(
                 sqlClient,
+                dispatcher,
                 con,
                 prop,
                 (FieldFilter<Table<ImmutableSpi>>) filter,
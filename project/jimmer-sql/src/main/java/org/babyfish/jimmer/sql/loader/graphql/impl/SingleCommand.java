@@ -1,19 +1,25 @@
 package org.babyfish.jimmer.sql.loader.graphql.impl;
 
+import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
+import org.babyfish.jimmer.sql.runtime.AsyncExecutions;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 class SingleCommand<T> implements Executable<T> {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final CoalescingDispatcher dispatcher;
+
     private final Connection con;
 
     private final ImmutableProp prop;
@@ -30,6 +36,7 @@ class SingleCommand<T> implements Executable<T> {
 
     public SingleCommand(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             Connection con,
             ImmutableProp prop,
             FieldFilter<Table<ImmutableSpi>> filter,
@@ -39,6 +46,7 @@ class SingleCommand<T> implements Executable<T> {
             T defaultValue
     ) {
         this.sqlClient = sqlClient;
+        this.dispatcher = dispatcher;
         this.con = con;
         this.prop = prop;
         this.filter = filter;
@@ -53,6 +61,12 @@ class SingleCommand<T> implements Executable<T> {
         if (con != null) {
             return executeImpl(con);
         }
+        if (isCoalescible()) {
+            Ref<Object> ref = dispatcher.load(prop, filter, source);
+            if (ref != null) {
+                return result(ref.getValue());
+            }
+        }
         return sqlClient
                 .getConnectionManager()
                 .execute(this::executeImpl);
@@ -66,21 +80,39 @@ class SingleCommand<T> implements Executable<T> {
         if (this.con != null) {
             return executeImpl(this.con);
         }
+        if (isCoalescible()) {
+            Ref<Object> ref = dispatcher.load(prop, filter, source);
+            if (ref != null) {
+                return result(ref.getValue());
+            }
+        }
         return sqlClient
                 .getConnectionManager()
                 .execute(this::executeImpl);
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public CompletableFuture<T> executeAsync() {
+        return AsyncExecutions.execute(sqlClient, con, sqlClient.getConnectionManager(), this::executeImpl);
+    }
+
+    private boolean isCoalescible() {
+        return limit == Integer.MAX_VALUE && offset == 0 && dispatcher.isEnabled();
+    }
+
     private T executeImpl(Connection con) {
-        T result = (T) new DataLoader(
+        return result(new DataLoader(
                 sqlClient,
                 con,
                 prop,
                 filter,
                 limit,
                 offset
-        ).load(Collections.singleton(source)).get(source);
-        return result != null ? result : defaultValue;
+        ).load(Collections.singleton(source)).get(source));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T result(Object value) {
+        return value != null ? (T) value : defaultValue;
     }
 }
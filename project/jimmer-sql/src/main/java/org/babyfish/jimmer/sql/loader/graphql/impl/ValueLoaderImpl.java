@@ -14,23 +14,28 @@ class ValueLoaderImpl<S, V> implements ValueLoader<S, V> {
 
     private final JSqlClientImplementor sqlClient;
 
+    private final CoalescingDispatcher dispatcher;
+
     private final Connection con;
 
     private final ImmutableProp prop;
 
     public ValueLoaderImpl(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             ImmutableProp prop
     ) {
-        this(sqlClient, null, prop);
+        this(sqlClient, dispatcher, null, prop);
     }
 
     public ValueLoaderImpl(
             JSqlClientImplementor sqlClient,
+            CoalescingDispatcher dispatcher,
             Connection con,
             ImmutableProp prop
     ) {
         this.sqlClient = sqlClient;
+        this.dispatcher = dispatcher;
         this.con = con;
         this.prop = prop;
     }
@@ -40,7 +45,7 @@ class ValueLoaderImpl<S, V> implements ValueLoader<S, V> {
         if (this.con == con) {
             return this;
         }
-        return new ValueLoaderImpl<>(sqlClient, con, prop);
+        return new ValueLoaderImpl<>(sqlClient, dispatcher, con, prop);
     }
 
     @Override
@@ -53,6 +58,7 @@ class ValueLoaderImpl<S, V> implements ValueLoader<S, V> {
         }
         return new SingleCommand<>(
                 sqlClient,
+                dispatcher,
                 con,
                 prop,
                 null,
@@ -0,0 +1,62 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.impl.util.ContextLocal;
+
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Internal utility class, it should not be used by programmer directly.
+ *
+ * <p>Shared implementation of {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()}</p>
+ */
+public class AsyncExecutions {
+
+    private AsyncExecutions() {}
+
+    /**
+     * Used by the executables which are not based on the sql client,
+     * the block borrows the connection by itself.
+     */
+    public static <R> CompletableFuture<R> execute(Supplier<R> block) {
+        ContextLocal.Snapshot snapshot = ContextLocal.capture();
+        return CompletableFuture.supplyAsync(
+                () -> snapshot.call(block::get),
+                DefaultAsyncExecutor.sharedExecutor()
+        );
+    }
+
+    /**
+     * @param sqlClient The sql client whose async executor is used
+     * @param con The connection specified by user, the execution is rejected if it is not null
+     * @param connectionManager The connection manager used by the executing thread
+     * @param block The execution based on the borrowed connection
+     */
+    public static <R> CompletableFuture<R> execute(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            ConnectionManager connectionManager,
+            Function<Connection, R> block
+    ) {
+        if (con != null) {
+            throw new IllegalStateException(
+                    "The asynchronous execution cannot use the connection specified by user, " +
+                            "JDBC connection is not thread-safe and must be borrowed " +
+                            "by the executing thread, please call `execute()` " +
+                            "or do not specify the connection"
+            );
+        }
+        ContextLocal.Snapshot snapshot = ContextLocal.capture();
+        return sqlClient.getAsyncExecutor().execute(
+                new ConnectionManager() {
+                    @Override
+                    public <X> X execute(Function<Connection, X> block) {
+                        return snapshot.call(() -> connectionManager.execute(block));
+                    }
+                },
+                block
+        );
+    }
+}
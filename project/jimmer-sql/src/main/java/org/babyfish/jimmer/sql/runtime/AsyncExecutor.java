@@ -0,0 +1,33 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * The SPI of asynchronous execution, used by
+ * {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()}.
+ *
+ * <p>JDBC is blocking, so the statements are still executed synchronously,
+ * but by threads of this executor, not by the calling thread.
+ * The JDBC connection must be borrowed from the connection manager
+ * by the executing thread and returned by it.</p>
+ *
+ * @see DefaultAsyncExecutor
+ */
+@FunctionalInterface
+public interface AsyncExecutor {
+
+    <R> CompletableFuture<R> execute(ConnectionManager connectionManager, Function<Connection, R> block);
+
+    /**
+     * Create an async executor based on a thread pool,
+     * for JDK21+, {@code Executors.newVirtualThreadPerTaskExecutor()} is a good choice.
+     */
+    static AsyncExecutor of(java.util.concurrent.Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        return new DefaultAsyncExecutor(executor);
+    }
+}
@@ -24,6 +24,22 @@ public interface ConnectionManager {
         };
     }
 
+    /**
+     * Create a connection manager which always uses the specified connection,
+     * the connection is not closed by it.
+     */
+    static ConnectionManager singleConnectionManager(Connection con) {
+        if (con == null) {
+            throw new IllegalArgumentException("con cannot be null");
+        }
+        return new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                return block.apply(con);
+            }
+        };
+    }
+
     ConnectionManager ILLEGAL = new ConnectionManager() {
         @Override
         public <R> R execute(Function<Connection, R> block) {
@@ -0,0 +1,205 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Pull-style reader of an open JDBC result set, used by `Query.stream`.
+ *
+ * <p>Rows are read in windows of `batchSize`, each window is read
+ * by its own draft context and its associations are loaded by
+ * object fetchers before any row of it is returned, so the memory
+ * usage is bounded by the window size and the N + 1 problem is still
+ * avoided.</p>
+ */
+class CursorIterator<R> implements Iterator<R>, AutoCloseable {
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final Connection con;
+
+    private final String sql;
+
+    private final List<Selection<?>> selections;
+
+    private final int batchSize;
+
+    private final Reader<?> reader;
+
+    @Nullable
+    private PreparedStatement statement;
+
+    @Nullable
+    private ResultSet resultSet;
+
+    @Nullable
+    private List<R> preparedRows;
+
+    private int preparedOffset;
+
+    private Iterator<R> window = Collections.emptyIterator();
+
+    private boolean exhausted;
+
+    CursorIterator(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Selection<?>> selections,
+            int batchSize,
+            @Nullable PreparedStatement statement,
+            ResultSet resultSet
+    ) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.sql = sql;
+        this.selections = selections;
+        this.batchSize = batchSize;
+        this.reader = Readers.createReader(sqlClient, selections);
+        this.statement = statement;
+        this.resultSet = resultSet;
+    }
+
+    /**
+     * Used when the executor did not keep the statement open,
+     * for example, a user-defined executor ignored
+     * {@link Executor.Args#statementFactory}. The rows have been
+     * read eagerly, but object fetchers are still applied by windows.
+     */
+    CursorIterator(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Selection<?>> selections,
+            int batchSize,
+            List<R> preparedRows
+    ) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.sql = sql;
+        this.selections = selections;
+        this.batchSize = batchSize;
+        this.reader = null;
+        this.preparedRows = preparedRows;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!window.hasNext()) {
+            if (exhausted) {
+                return false;
+            }
+            List<R> rows = nextWindow();
+            if (rows.isEmpty()) {
+                return false;
+            }
+            Fetchers.fetch(sqlClient, con, selections, rows);
+            window = rows.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return window.next();
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+        window = Collections.emptyIterator();
+        preparedRows = null;
+        ResultSet rs = resultSet;
+        PreparedStatement stmt = statement;
+        resultSet = null;
+        statement = null;
+        SQLException closeEx = null;
+        if (rs != null) {
+            try {
+                rs.close();
+            } catch (SQLException ex) {
+                closeEx = ex;
+            }
+        }
+        if (stmt != null) {
+            try {
+                stmt.close();
+            } catch (SQLException ex) {
+                if (closeEx == null) {
+                    closeEx = ex;
+                }
+            }
+        }
+        if (closeEx != null) {
+            throw new ExecutionException("Cannot close the cursor of SQL statement: " + sql, closeEx);
+        }
+    }
+
+    private List<R> nextWindow() {
+        List<R> prepared = preparedRows;
+        if (prepared != null) {
+            int end = Math.min(preparedOffset + batchSize, prepared.size());
+            List<R> rows = new ArrayList<>(prepared.subList(preparedOffset, end));
+            preparedOffset = end;
+            if (end == prepared.size()) {
+                exhausted = true;
+                preparedRows = null;
+            }
+            return rows;
+        }
+        List<R> rows;
+        try {
+            rows = Internal.usingSqlDraftContext(this::readWindow);
+        } catch (SQLException ex) {
+            closeQuietly(ex);
+            throw new ExecutionException("Cannot read the cursor of SQL statement: " + sql, ex);
+        } catch (RuntimeException | Error ex) {
+            closeQuietly(ex);
+            throw ex;
+        }
+        if (exhausted) {
+            close();
+        }
+        return rows;
+    }
+
+    private void closeQuietly(Throwable cause) {
+        try {
+            close();
+        } catch (RuntimeException ex) {
+            cause.addSuppressed(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<R> readWindow(DraftContext draftContext, boolean isRoot) throws SQLException {
+        ResultSet rs = resultSet;
+        if (rs == null) {
+            exhausted = true;
+            return Collections.emptyList();
+        }
+        Reader.Context ctx = new Reader.Context(draftContext, isRoot);
+        List<R> rows = new ArrayList<>(batchSize);
+        while (rows.size() < batchSize) {
+            if (!rs.next()) {
+                exhausted = true;
+                break;
+            }
+            rows.add((R) reader.read(rs, ctx));
+            ctx.resetCol();
+        }
+        return rows;
+    }
+}
@@ -1,8 +1,12 @@
 package org.babyfish.jimmer.sql.runtime;
 
+import org.babyfish.jimmer.impl.util.ContextLocal;
+
+import java.util.function.Supplier;
+
 public class Cursors {
 
-    private static final ThreadLocal<Long> CURRENT_ID_LOCAL = new ThreadLocal<>();
+    private static final ContextLocal<Long> CURRENT_ID_LOCAL = ContextLocal.create();
 
     private Cursors() {}
 
@@ -10,13 +14,7 @@ public class Cursors {
         return CURRENT_ID_LOCAL.get();
     }
 
-    static Long setCurrentCursorId(Long cursorId) {
-        Long oldValue = CURRENT_ID_LOCAL.get();
-        if (cursorId != null) {
-            CURRENT_ID_LOCAL.set(cursorId);
-        } else {
-            CURRENT_ID_LOCAL.remove();
-        }
-        return oldValue;
+    static <R> R usingCursorId(Long cursorId, Supplier<R> block) {
+        return CURRENT_ID_LOCAL.call(cursorId, block::get);
     }
 }
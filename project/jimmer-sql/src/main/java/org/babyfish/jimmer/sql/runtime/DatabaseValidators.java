@@ -13,6 +13,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public class DatabaseValidators {
@@ -27,8 +30,25 @@ public class DatabaseValidators {
 
     private final Connection con;
 
+    @Nullable
+    private final ConnectionManager connectionManager;
+
+    private final int parallelism;
+
     private final List<DatabaseValidationException.Item> items;
 
+    private final Map<Tuple2<String, String>, Map<String, List<Table>>> bulkTableMap = new HashMap<>();
+
+    private final Map<Table, Map<String, Column>> bulkColumnMap = new HashMap<>();
+
+    private String currentSchema;
+
+    private boolean currentSchemaResolved;
+
+    private final Map<Table, Set<String>> bulkPrimaryKeyColumnMap = new HashMap<>();
+
+    private final Map<Table, List<ImportedKey>> bulkImportedKeyMap = new HashMap<>();
+
     private final Map<ImmutableType, org.babyfish.jimmer.lang.Ref<Table>> tableRefMap = new HashMap<>();
 
     private final Map<ImmutableProp, org.babyfish.jimmer.lang.Ref<Table>> middleTableRefMap = new HashMap<>();
@@ -41,7 +61,44 @@ public class DatabaseValidators {
             String catalog,
             Connection con
     ) throws SQLException {
-        return new DatabaseValidators(entityManager, microServiceName, strategy, catalog, con).validate();
+        return new DatabaseValidators(entityManager, microServiceName, strategy, catalog, con, null, 0).validate();
+    }
+
+    /**
+     * Validate the database by bulk metadata.
+     *
+     * <p>The tables and columns are fetched once for each used schema and indexed in memory,
+     * the tables without schema are looked up in the current schema of {@code con},
+     * the tables which are not found this way are looked up one by one,
+     * the primary keys and foreign keys of all used tables are fetched concurrently
+     * by {@code parallelism} connections, the first one is {@code con} and others
+     * are borrowed from {@code connectionManager}.</p>
+     *
+     * @param parallelism The count of connections used to fetch the primary keys
+     *                    and foreign keys, it must be positive.
+     */
+    @Nullable
+    public static DatabaseValidationException validate(
+            EntityManager entityManager,
+            String microServiceName,
+            MetadataStrategy strategy,
+            String catalog,
+            Connection con,
+            ConnectionManager connectionManager,
+            int parallelism
+    ) throws SQLException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        return new DatabaseValidators(
+                entityManager,
+                microServiceName,
+                strategy,
+                catalog,
+                con,
+                connectionManager,
+                parallelism
+        ).validate();
     }
 
     private DatabaseValidators(
@@ -49,26 +106,35 @@ public class DatabaseValidators {
             String microServiceName,
             MetadataStrategy strategy,
             String catalog,
-            Connection con
+            Connection con,
+            @Nullable ConnectionManager connectionManager,
+            int parallelism
     ) throws SQLException {
         this.entityManager = entityManager;
         this.microServiceName = microServiceName;
         this.strategy = strategy;
         this.catalog = catalog != null ? catalog : con.getCatalog();
         this.con = con;
+        this.connectionManager = connectionManager;
+        this.parallelism = parallelism;
         this.items = new ArrayList<>();
     }
 
     private DatabaseValidationException validate() throws SQLException {
+        List<ImmutableType> types = new ArrayList<>();
         for (ImmutableType type : entityManager.getAllTypes(microServiceName)) {
             if (type.isEntity() && !(type instanceof AssociationType) && !type.getJavaClass().isAnnotationPresent(DatabaseValidationIgnore.class)) {
-                validateSelf(type);
+                types.add(type);
             }
         }
-        for (ImmutableType type : entityManager.getAllTypes(microServiceName)) {
-            if (type.isEntity() && !(type instanceof AssociationType) && !type.getJavaClass().isAnnotationPresent(DatabaseValidationIgnore.class)) {
-                validateForeignKey(type);
-            }
+        if (parallelism > 0) {
+            preload(types);
+        }
+        for (ImmutableType type : types) {
+            validateSelf(type);
+        }
+        for (ImmutableType type : types) {
+            validateForeignKey(type);
         }
         if (!items.isEmpty()) {
             return new DatabaseValidationException(items);
@@ -76,6 +142,101 @@ public class DatabaseValidators {
         return null;
     }
 
+    /**
+     * Fetch the primary keys and foreign keys of all used tables,
+     * the tables and columns are indexed by {@link #tablesOf(String, String, String)}
+     */
+    private void preload(List<ImmutableType> types) throws SQLException {
+        Set<Table> tables = new LinkedHashSet<>();
+        for (ImmutableType type : types) {
+            Set<Table> matchedTables = tablesOf(type.getTableName(strategy));
+            if (matchedTables.size() == 1) {
+                tables.addAll(matchedTables);
+            }
+            for (ImmutableProp prop : type.getProps().values()) {
+                if (prop.getAnnotation(DatabaseValidationIgnore.class) == null &&
+                        prop.isAssociation(TargetLevel.PERSISTENT)) {
+                    Storage storage = prop.getStorage(strategy);
+                    if (storage instanceof MiddleTable) {
+                        matchedTables = tablesOf(((MiddleTable) storage).getTableName());
+                        if (matchedTables.size() == 1) {
+                            tables.addAll(matchedTables);
+                        }
+                    }
+                }
+            }
+        }
+        List<Table> tableList = new ArrayList<>(tables);
+        int partitionCount = Math.min(parallelism, tableList.size());
+        if (partitionCount <= 1 || connectionManager == null) {
+            mergeKeys(fetchKeys(con, tableList));
+            return;
+        }
+        int partitionSize = (tableList.size() + partitionCount - 1) / partitionCount;
+        ExecutorService executor = Executors.newFixedThreadPool(partitionCount - 1, runnable -> {
+            Thread thread = new Thread(runnable, "jimmer-database-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<KeyMetadata>> futures = new ArrayList<>(partitionCount - 1);
+            for (int i = 1; i < partitionCount; i++) {
+                List<Table> subList = tableList.subList(
+                        i * partitionSize,
+                        Math.min((i + 1) * partitionSize, tableList.size())
+                );
+                futures.add(
+                        executor.submit(() ->
+                                connectionManager.execute(c -> {
+                                    try {
+                                        return fetchKeys(c, subList);
+                                    } catch (SQLException ex) {
+                                        throw new ExecutionException(
+                                                "Cannot fetch the keys of tables " + subList,
+                                                ex
+                                        );
+                                    }
+                                })
+                        )
+                );
+            }
+            mergeKeys(fetchKeys(con, tableList.subList(0, Math.min(partitionSize, tableList.size()))));
+            for (Future<KeyMetadata> future : futures) {
+                try {
+                    mergeKeys(future.get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new ExecutionException("Database validation is interrupted", ex);
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new ExecutionException("Cannot fetch the keys of tables", cause);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static KeyMetadata fetchKeys(Connection con, List<Table> tables) throws SQLException {
+        KeyMetadata keyMetadata = new KeyMetadata();
+        for (Table table : tables) {
+            keyMetadata.primaryKeyColumnMap.put(table, primaryKeyColumns(con, table));
+            keyMetadata.importedKeyMap.put(table, importedKeys(con, table));
+        }
+        return keyMetadata;
+    }
+
+    private void mergeKeys(KeyMetadata keyMetadata) {
+        bulkPrimaryKeyColumnMap.putAll(keyMetadata.primaryKeyColumnMap);
+        bulkImportedKeyMap.putAll(keyMetadata.importedKeyMap);
+    }
+
     private void validateSelf(ImmutableType type) throws SQLException {
         Table table = tableOf(type);
         if (table == null) {
@@ -298,6 +459,29 @@ public class DatabaseValidators {
     }
 
     private Set<Table> tablesOf(String catalogName, String schemaName, String tableName) throws SQLException {
+        if (parallelism > 0) {
+            // Never fetch the metadata of all schemas, the table without schema
+            // is looked up in the current schema, otherwise, by itself
+            String bulkSchemaName = schemaName != null ? schemaName : currentSchema();
+            if (bulkSchemaName != null) {
+                List<Table> bulkTables = bulkTablesOf(catalogName, bulkSchemaName).get(tableName.toUpperCase());
+                if (bulkTables != null) {
+                    Set<Table> tables = new LinkedHashSet<>();
+                    for (Table table : bulkTables) {
+                        if (table.name.equals(tableName)) {
+                            tables.add(table);
+                        }
+                    }
+                    if (tables.isEmpty()) {
+                        tables.addAll(bulkTables);
+                    }
+                    tables = filterByCatalog(tables);
+                    if (!tables.isEmpty()) {
+                        return tables;
+                    }
+                }
+            }
+        }
         Set<Table> tables = new LinkedHashSet<>();
         try (ResultSet rs = con.getMetaData().getTables(
                 catalogName,
@@ -351,6 +535,10 @@ public class DatabaseValidators {
                 }
             }
         }
+        return filterByCatalog(tables);
+    }
+
+    private Set<Table> filterByCatalog(Set<Table> tables) {
         if (catalog != null && !catalog.isEmpty()) {
             return tables
                     .stream()
@@ -360,7 +548,71 @@ public class DatabaseValidators {
         return tables;
     }
 
+    private String currentSchema() throws SQLException {
+        if (!currentSchemaResolved) {
+            try {
+                currentSchema = optional(con.getSchema());
+            } catch (SQLFeatureNotSupportedException | AbstractMethodError ex) {
+                // The driver does not support JDBC 4.1
+                currentSchema = null;
+            }
+            currentSchemaResolved = true;
+        }
+        return currentSchema;
+    }
+
+    /**
+     * Fetch all tables and columns of the schema by two calls
+     * and index them by upper-case table name, so that the table can be found
+     * no matter how the database stores the case of identifiers.
+     * The tables whose name is exactly same with the expected name are
+     * preferred by {@link #tablesOf(String, String, String)}
+     */
+    private Map<String, List<Table>> bulkTablesOf(String catalogName, String schemaName) throws SQLException {
+        Tuple2<String, String> key = new Tuple2<>(catalogName, schemaName);
+        Map<String, List<Table>> tableMap = bulkTableMap.get(key);
+        if (tableMap != null) {
+            return tableMap;
+        }
+        tableMap = new HashMap<>();
+        try (ResultSet rs = con.getMetaData().getTables(catalogName, schemaName, "%", null)) {
+            while (rs.next()) {
+                Table table = new Table(
+                        rs.getString("TABLE_CAT"),
+                        rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME")
+                );
+                tableMap.computeIfAbsent(table.name.toUpperCase(), it -> new ArrayList<>()).add(table);
+            }
+        }
+        try (ResultSet rs = con.getMetaData().getColumns(catalogName, schemaName, "%", "%")) {
+            while (rs.next()) {
+                Table table = new Table(
+                        rs.getString("TABLE_CAT"),
+                        rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME")
+                );
+                Column column = new Column(
+                        table,
+                        rs.getString("COLUMN_NAME"),
+                        rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable
+                );
+                bulkColumnMap
+                        .computeIfAbsent(table, it -> new HashMap<>())
+                        .put(column.name.toUpperCase(), column);
+            }
+        }
+        bulkTableMap.put(key, tableMap);
+        return tableMap;
+    }
+
     private Map<String, Column> columnsOf(Table table) throws SQLException {
+        if (parallelism > 0) {
+            Map<String, Column> columnMap = bulkColumnMap.get(table);
+            if (columnMap != null) {
+                return columnMap;
+            }
+        }
         Map<String, Column> columnMap = new HashMap<>();
         try (ResultSet rs = con.getMetaData().getColumns(
                 table.catalog,
@@ -381,6 +633,14 @@ public class DatabaseValidators {
     }
 
     private Set<String> primaryKeyColumns(Table table) throws SQLException {
+        Set<String> columnNames = bulkPrimaryKeyColumnMap.get(table);
+        if (columnNames != null) {
+            return columnNames;
+        }
+        return primaryKeyColumns(con, table);
+    }
+
+    private static Set<String> primaryKeyColumns(Connection con, Table table) throws SQLException {
         Set<String> columnNames = new HashSet<>();
         try (ResultSet rs = con.getMetaData().getPrimaryKeys(
                 table.catalog,
@@ -396,28 +656,46 @@ public class DatabaseValidators {
         return columnNames;
     }
 
-    private Map<Set<String>, ForeignKey> foreignKeys(Table table) throws SQLException {
-        Map<Tuple2<String, Table>, Map<String, String>> map = new HashMap<>();
+    private static List<ImportedKey> importedKeys(Connection con, Table table) throws SQLException {
+        List<ImportedKey> importedKeys = new ArrayList<>();
         try (ResultSet rs = con.getMetaData().getImportedKeys(
                 table.catalog,
                 table.schema,
                 table.name
         )) {
             while (rs.next()) {
-                String constraintName = rs.getString("FK_NAME");
-                Table referencedTable = tablesOf(
-                        rs.getString("PKTABLE_CAT"),
-                        rs.getString("PKTABLE_SCHEM"),
-                        rs.getString("PKTABLE_NAME")
-                ).iterator().next();
-                String columnName = rs.getString("FKCOLUMN_NAME").toUpperCase();
-                String referencedColumnName = rs.getString("PKCOLUMN_NAME").toUpperCase();
-                map.computeIfAbsent(
-                        new Tuple2<>(constraintName, referencedTable),
-                        it -> new LinkedHashMap<>()).put(columnName, referencedColumnName
+                importedKeys.add(
+                        new ImportedKey(
+                                rs.getString("FK_NAME"),
+                                rs.getString("PKTABLE_CAT"),
+                                rs.getString("PKTABLE_SCHEM"),
+                                rs.getString("PKTABLE_NAME"),
+                                rs.getString("FKCOLUMN_NAME").toUpperCase(),
+                                rs.getString("PKCOLUMN_NAME").toUpperCase()
+                        )
                 );
             }
         }
+        return importedKeys;
+    }
+
+    private Map<Set<String>, ForeignKey> foreignKeys(Table table) throws SQLException {
+        List<ImportedKey> importedKeys = bulkImportedKeyMap.get(table);
+        if (importedKeys == null) {
+            importedKeys = importedKeys(con, table);
+        }
+        Map<Tuple2<String, Table>, Map<String, String>> map = new HashMap<>();
+        for (ImportedKey importedKey : importedKeys) {
+            Table referencedTable = tablesOf(
+                    importedKey.referencedCatalog,
+                    importedKey.referencedSchema,
+                    importedKey.referencedTableName
+            ).iterator().next();
+            map.computeIfAbsent(
+                    new Tuple2<>(importedKey.constraintName, referencedTable),
+                    it -> new LinkedHashMap<>()).put(importedKey.columnName, importedKey.referencedColumnName
+            );
+        }
         if (map.isEmpty()) {
             return Collections.emptyMap();
         }
@@ -518,8 +796,8 @@ public class DatabaseValidators {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Table table = (Table) o;
-            return catalog.equals(table.catalog) &&
-                    schema.equals(table.schema) &&
+            return Objects.equals(catalog, table.catalog) &&
+                    Objects.equals(schema, table.schema) &&
                     name.equals(table.name);
         }
 
@@ -603,6 +881,44 @@ public class DatabaseValidators {
         }
     }
 
+    private static class ImportedKey {
+
+        final String constraintName;
+
+        final String referencedCatalog;
+
+        final String referencedSchema;
+
+        final String referencedTableName;
+
+        final String columnName;
+
+        final String referencedColumnName;
+
+        ImportedKey(
+                String constraintName,
+                String referencedCatalog,
+                String referencedSchema,
+                String referencedTableName,
+                String columnName,
+                String referencedColumnName
+        ) {
+            this.constraintName = constraintName;
+            this.referencedCatalog = referencedCatalog;
+            this.referencedSchema = referencedSchema;
+            this.referencedTableName = referencedTableName;
+            this.columnName = columnName;
+            this.referencedColumnName = referencedColumnName;
+        }
+    }
+
+    private static class KeyMetadata {
+
+        final Map<Table, Set<String>> primaryKeyColumnMap = new HashMap<>();
+
+        final Map<Table, List<ImportedKey>> importedKeyMap = new HashMap<>();
+    }
+
     private static class ForeignKeyContext {
 
         final DatabaseValidators databaseValidators;
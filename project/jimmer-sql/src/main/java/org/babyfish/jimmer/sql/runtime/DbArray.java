@@ -0,0 +1,47 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The variable which is bound as SQL array by
+ * {@link java.sql.Connection#createArrayOf(String, Object[])},
+ * it is used by `x = any(?)`.
+ */
+public class DbArray {
+
+    private final String elementSqlType;
+
+    private final Object[] elements;
+
+    public DbArray(String elementSqlType, Object[] elements) {
+        this.elementSqlType = Objects.requireNonNull(elementSqlType, "elementSqlType cannot be null");
+        this.elements = Objects.requireNonNull(elements, "elements cannot be null");
+    }
+
+    public String getElementSqlType() {
+        return elementSqlType;
+    }
+
+    public Object[] getElements() {
+        return elements;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * elementSqlType.hashCode() + Arrays.hashCode(elements);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DbArray dbArray = (DbArray) o;
+        return elementSqlType.equals(dbArray.elementSqlType) && Arrays.equals(elements, dbArray.elements);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+}
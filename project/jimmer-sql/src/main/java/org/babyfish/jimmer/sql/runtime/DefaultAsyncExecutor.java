@@ -0,0 +1,98 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class DefaultAsyncExecutor implements AsyncExecutor {
+
+    /**
+     * Uses virtual threads if the JDK supports them(JDK21+),
+     * otherwise, uses a bounded pool of daemon threads.
+     * The shared thread pool is created when it is used for the first time.
+     */
+    public static final DefaultAsyncExecutor INSTANCE = new DefaultAsyncExecutor(null);
+
+    /**
+     * The size of the shared thread pool which is used
+     * when virtual threads are not supported.
+     */
+    public static final int PLATFORM_POOL_SIZE =
+            Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final java.util.concurrent.Executor executor;
+
+    DefaultAsyncExecutor(java.util.concurrent.Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public <R> CompletableFuture<R> execute(ConnectionManager connectionManager, Function<Connection, R> block) {
+        java.util.concurrent.Executor executor = this.executor;
+        if (executor == null) {
+            executor = SharedExecutor.INSTANCE;
+        }
+        return CompletableFuture.supplyAsync(() -> connectionManager.execute(block), executor);
+    }
+
+    /**
+     * Whether the shared executor uses virtual threads,
+     * the shared executor is created if it has not been created.
+     */
+    public static boolean isVirtualThreadUsed() {
+        return SharedExecutor.VIRTUAL;
+    }
+
+    static java.util.concurrent.Executor sharedExecutor() {
+        return SharedExecutor.INSTANCE;
+    }
+
+    private static class SharedExecutor {
+
+        static final java.util.concurrent.Executor INSTANCE;
+
+        static final boolean VIRTUAL;
+
+        static {
+            java.util.concurrent.Executor virtualExecutor = createVirtual();
+            INSTANCE = virtualExecutor != null ? virtualExecutor : createPlatform();
+            VIRTUAL = virtualExecutor != null;
+        }
+
+        private static java.util.concurrent.Executor createVirtual() {
+            try {
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (java.util.concurrent.Executor) method.invoke(null);
+            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+                // Virtual thread is not supported, or it is a preview feature which is not enabled
+                return null;
+            }
+        }
+
+        private static java.util.concurrent.Executor createPlatform() {
+            int size = PLATFORM_POOL_SIZE;
+            AtomicInteger sequence = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    size,
+                    size,
+                    60,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "jimmer-async-" + sequence.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
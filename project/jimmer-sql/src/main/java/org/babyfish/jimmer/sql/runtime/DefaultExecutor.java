@@ -7,6 +7,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.*;
 import java.time.*;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -26,19 +27,22 @@ public class DefaultExecutor implements Executor {
                 args.statementFactory.preparedStatement(args.con, sql) :
                 args.con.prepareStatement(sql)
         ) {
-            int size = variables.size();
-            for (int index = 0; index < size; index++) {
-                Object variable = variables.get(index);
-                if (variable instanceof DbNull) {
-                    stmt.setNull(
-                            index + 1,
-                            toJdbcType(((DbNull)variable).getType(), dialect)
-                    );
-                } else {
-                    stmt.setObject(index + 1, variable);
-                }
+            List<Array> arrays = new ArrayList<>();
+            R result;
+            try {
+                setParameters(stmt, variables, dialect, arrays);
+                result = args.block.apply(stmt);
+            } finally {
+                free(arrays);
+            }
+            switch (args.purpose) {
+                case UPDATE:
+                case DELETE:
+                case MUTATE:
+                    ReadYourWritesScope.markWritten();
+                    break;
             }
-            return args.block.apply(stmt);
+            return result;
         } catch (SQLException ex) {
             throw new ExecutionException(
                     "Cannot execute SQL statement: " +
@@ -50,7 +54,60 @@ public class DefaultExecutor implements Executor {
         }
     }
 
-    private int toJdbcType(Class<?> type, Dialect dialect) {
+    /**
+     * Bind variables to the prepared statement,
+     * it can be used by the block of {@link Executor.Args}
+     * to bind the other rows of JDBC batch.
+     */
+    public static void setParameters(
+            PreparedStatement stmt,
+            List<Object> variables,
+            Dialect dialect
+    ) throws SQLException {
+        setParameters(stmt, variables, dialect, null);
+    }
+
+    private static void setParameters(
+            PreparedStatement stmt,
+            List<Object> variables,
+            Dialect dialect,
+            List<Array> arrays
+    ) throws SQLException {
+        int size = variables.size();
+        for (int index = 0; index < size; index++) {
+            Object variable = variables.get(index);
+            if (variable instanceof DbNull) {
+                stmt.setNull(
+                        index + 1,
+                        toJdbcType(((DbNull)variable).getType(), dialect)
+                );
+            } else if (variable instanceof DbArray) {
+                DbArray dbArray = (DbArray) variable;
+                Array array = stmt.getConnection().createArrayOf(
+                        dbArray.getElementSqlType(),
+                        dbArray.getElements()
+                );
+                if (arrays != null) {
+                    arrays.add(array);
+                }
+                stmt.setArray(index + 1, array);
+            } else {
+                stmt.setObject(index + 1, variable);
+            }
+        }
+    }
+
+    private static void free(List<Array> arrays) {
+        for (Array array : arrays) {
+            try {
+                array.free();
+            } catch (SQLException ex) {
+                // The statement has been executed, failing to free the array must not hide its result
+            }
+        }
+    }
+
+    private static int toJdbcType(Class<?> type, Dialect dialect) {
         if (type == String.class) {
             return Types.VARCHAR;
         }
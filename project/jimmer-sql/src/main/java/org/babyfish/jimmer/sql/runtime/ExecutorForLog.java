@@ -114,8 +114,17 @@ class ExecutorForLog implements Executor {
         millis = System.currentTimeMillis() - millis;
         int affectedRowCount = -1;
         char ch = args.sql.charAt(0);
-        if ((ch == 'i' || ch == 'u' || ch == 'd') && result instanceof Integer) {
-            affectedRowCount = (Integer)result;
+        if (ch == 'i' || ch == 'u' || ch == 'd') {
+            if (result instanceof Integer) {
+                affectedRowCount = (Integer) result;
+            } else if (result instanceof int[]) {
+                affectedRowCount = 0;
+                for (int rowCount : (int[]) result) {
+                    if (rowCount > 0) {
+                        affectedRowCount += rowCount;
+                    }
+                }
+            }
         }
 
         StringBuilder builder = new StringBuilder();
@@ -14,6 +14,8 @@ import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -27,6 +29,8 @@ public interface JSqlClientImplementor extends JSqlClient {
 
     Executor getExecutor();
 
+    AsyncExecutor getAsyncExecutor();
+
     EntityManager getEntityManager();
 
     MetadataStrategy getMetadataStrategy();
@@ -53,6 +57,21 @@ public interface JSqlClientImplementor extends JSqlClient {
 
     int getOffsetOptimizingThreshold();
 
+    java.util.concurrent.Executor getParallelFetchingExecutor();
+
+    @Nullable
+    SqlTemplateCache getSqlTemplateCache();
+
+    boolean isBytecodeReaderEnabled();
+
+    long getLoaderCoalescingMaxWaitMillis();
+
+    int getLoaderCoalescingMaxBatchSize();
+
+    boolean isInListPaddingEnabled();
+
+    boolean isInListToAnyEqualityEnabled();
+
     TransientResolver<?, ?> getResolver(ImmutableProp prop);
 
     Class<? extends TransientResolverProvider> getResolverProviderClass();
@@ -0,0 +1,119 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImplementor;
+import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.filter.Filters;
+import org.babyfish.jimmer.sql.meta.MetadataStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Eagerly resolves the lazily computed metadata of all entity types
+ * managed by the sql client, so that the first requests after startup
+ * do not pay for it.
+ *
+ * <ul>
+ *     <li>Metadata of types and properties: table names, storages,
+ *     id/key/version properties, back properties and opposite properties</li>
+ *     <li>Global filters of entity types and association targets</li>
+ *     <li>Id generators, readers of entity types and the SQL rendering of
+ *     the root query of each entity type, the query is rendered but not executed</li>
+ * </ul>
+ */
+public class MetadataWarmer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataWarmer.class);
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final MetadataStrategy strategy;
+
+    private final Filters filters;
+
+    private MetadataWarmer(JSqlClientImplementor sqlClient) {
+        this.sqlClient = sqlClient;
+        this.strategy = sqlClient.getMetadataStrategy();
+        this.filters = sqlClient.getFilters();
+    }
+
+    /**
+     * @return The count of warmed entity types
+     */
+    public static int warmUp(JSqlClientImplementor sqlClient) {
+        return new MetadataWarmer(sqlClient).warmUp();
+    }
+
+    private int warmUp() {
+        long start = System.currentTimeMillis();
+        EntityManager entityManager = sqlClient.getEntityManager();
+        int count = 0;
+        for (ImmutableType type : entityManager.getAllTypes(sqlClient.getMicroServiceName())) {
+            if (!type.isEntity()) {
+                continue;
+            }
+            warmUpMetadata(type, entityManager);
+            warmUpFilters(type);
+            warmUpExecution(type);
+            count++;
+        }
+        LOGGER.info(
+                "Metadata of {} entity types is warmed up in {} milliseconds",
+                count,
+                System.currentTimeMillis() - start
+        );
+        return count;
+    }
+
+    private void warmUpMetadata(ImmutableType type, EntityManager entityManager) {
+        type.getTableName(strategy);
+        type.getIdProp();
+        type.getKeyProps();
+        type.getVersionProp();
+        type.getLogicalDeletedInfo();
+        type.getSelectableReferenceProps();
+        sqlClient.getDraftInterceptor(type);
+        for (ImmutableProp prop : type.getProps().values()) {
+            prop.getStorage(strategy);
+            prop.getMappedBy();
+            prop.getOpposite();
+            prop.getDependencies();
+        }
+        entityManager.getAllBackProps(type);
+    }
+
+    private void warmUpFilters(ImmutableType type) {
+        filters.getFilter(type, false);
+        filters.getFilter(type, true);
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.isAssociation(TargetLevel.ENTITY) && !prop.isRemote()) {
+                filters.getTargetFilter(prop, false);
+                filters.getTargetFilter(prop, true);
+            }
+        }
+    }
+
+    /**
+     * Id generators, readers and global filters may depend on the user
+     * configuration or the context of request which does not exist now,
+     * such as scalar providers and the current tenant. They are reported
+     * when the entity type is really used, so the failure here only ends
+     * the warmup of this type.
+     */
+    private void warmUpExecution(ImmutableType type) {
+        try {
+            sqlClient.getIdGenerator(type.getJavaClass());
+            sqlClient.getReader(type);
+            MutableRootQueryImpl<Table<Object>> query =
+                    new MutableRootQueryImpl<>(sqlClient, type, ExecutionPurpose.QUERY, false);
+            Table<Object> table = query.getTable();
+            query.freeze();
+            ((ConfigurableRootQueryImplementor<?, ?>) query.select(table)).renderSql();
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Cannot warm up the execution of \"{}\"", type, ex);
+        }
+    }
+}
@@ -22,11 +22,38 @@ class ObjectReader implements Reader<Object> {
 
     private final Reader<?>[] nonIdReaders;
 
+    // Element is not null only if the property type is primitive,
+    // so that the value can be set into draft without boxing
+    private final PrimitiveReader[] nonIdPrimitiveReaders;
+
     ObjectReader(ImmutableType type, Reader<?> idReader, Map<ImmutableProp, Reader<?>> nonIdReaders) {
         this.type = type;
         this.idReader = idReader;
         this.nonIdPropIds = nonIdReaders.keySet().stream().map(ImmutableProp::getId).toArray(PropId[]::new);
         this.nonIdReaders = nonIdReaders.values().toArray(EMPTY_READERS);
+        this.nonIdPrimitiveReaders = new PrimitiveReader[this.nonIdReaders.length];
+        int index = 0;
+        for (Map.Entry<ImmutableProp, Reader<?>> e : nonIdReaders.entrySet()) {
+            if (e.getKey().getReturnClass().isPrimitive() && e.getValue() instanceof PrimitiveReader) {
+                nonIdPrimitiveReaders[index] = (PrimitiveReader) e.getValue();
+            }
+            index++;
+        }
+    }
+
+    static Reader<?> create(
+            JSqlClientImplementor sqlClient,
+            ImmutableType type,
+            Reader<?> idReader,
+            Map<ImmutableProp, Reader<?>> nonIdReaders
+    ) {
+        if (sqlClient.isBytecodeReaderEnabled()) {
+            Reader<?> reader = ObjectReaderGenerator.tryCreate(type, idReader, nonIdReaders);
+            if (reader != null) {
+                return reader;
+            }
+        }
+        return new ObjectReader(type, idReader, nonIdReaders);
     }
 
     @Override
@@ -41,8 +68,13 @@ class ObjectReader implements Reader<Object> {
         try {
             int size = nonIdReaders.length;
             for (int i = 0; i < size; i++) {
-                Object value = nonIdReaders[i].read(rs, ctx);
-                spi.__set(nonIdPropIds[i], value);
+                PrimitiveReader primitiveReader = nonIdPrimitiveReaders[i];
+                if (primitiveReader != null) {
+                    primitiveReader.readTo(rs, ctx, spi, nonIdPropIds[i]);
+                } else {
+                    Object value = nonIdReaders[i].read(rs, ctx);
+                    spi.__set(nonIdPropIds[i], value);
+                }
             }
         } catch (Throwable ex) {
             throw DraftConsumerUncheckedException.rethrow(ex);
@@ -0,0 +1,639 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.Draft;
+import org.babyfish.jimmer.DraftConsumerUncheckedException;
+import org.babyfish.jimmer.impl.asm.ClassWriter;
+import org.babyfish.jimmer.impl.asm.Label;
+import org.babyfish.jimmer.impl.asm.MethodVisitor;
+import org.babyfish.jimmer.impl.asm.Opcodes;
+import org.babyfish.jimmer.impl.asm.Type;
+import org.babyfish.jimmer.impl.util.StaticCache;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.runtime.DraftContext;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Generates the bytecode of straight-line entity readers,
+ * it is the optimized version of {@link ObjectReader}.
+ *
+ * <p>For each entity type and each shape of selected columns,
+ * one class is generated. Primitive and string columns are read by the typed
+ * getters of {@link ResultSet} and set by the setters of the draft interface
+ * directly, other columns are still read by their readers.</p>
+ */
+class ObjectReaderGenerator implements Opcodes {
+
+    private static final String READER_INTERNAL_NAME = Type.getInternalName(Reader.class);
+
+    private static final String CONTEXT_INTERNAL_NAME = Type.getInternalName(Reader.Context.class);
+
+    private static final String DRAFT_SPI_INTERNAL_NAME = Type.getInternalName(DraftSpi.class);
+
+    private static final String RESULT_SET_INTERNAL_NAME = Type.getInternalName(ResultSet.class);
+
+    private static final String READER_DESCRIPTOR = Type.getDescriptor(Reader.class);
+
+    private static final String PROP_ID_DESCRIPTOR = Type.getDescriptor(PropId.class);
+
+    private static final String PROP_ID_ARR_DESCRIPTOR = Type.getDescriptor(PropId[].class);
+
+    private static final String READER_ARR_DESCRIPTOR = Type.getDescriptor(Reader[].class);
+
+    private static final String BI_FUNCTION_DESCRIPTOR = Type.getDescriptor(BiFunction.class);
+
+    private static final String READ_DESCRIPTOR =
+            "(" + Type.getDescriptor(ResultSet.class) + Type.getDescriptor(Reader.Context.class) + ")Ljava/lang/Object;";
+
+    private static final String SET_DESCRIPTOR =
+            "(" + PROP_ID_DESCRIPTOR + "Ljava/lang/Object;)V";
+
+    private static final String FIELD_ID_READER = "idReader";
+
+    private static final String FIELD_ID_PROP_ID = "idPropId";
+
+    private static final String FIELD_DRAFT_FACTORY = "draftFactory";
+
+    private static final String FIELD_PROP_IDS = "propIds";
+
+    private static final String FIELD_READERS = "readers";
+
+    private static final int LOCAL_RS = 1;
+
+    private static final int LOCAL_CTX = 2;
+
+    private static final int LOCAL_ID = 3;
+
+    private static final int LOCAL_DRAFT = 4;
+
+    private static final int LOCAL_VALUE = 5;
+
+    private static final Method PRIVATE_LOOKUP_IN;
+
+    private static final Method LOOKUP_DEFINE_CLASS;
+
+    private static final Method CLASS_LOADER_DEFINE_CLASS;
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final StaticCache<List<Object>, Constructor<?>> CONSTRUCTOR_CACHE =
+            new StaticCache<>(ObjectReaderGenerator::createConstructor, true);
+
+    private ObjectReaderGenerator() {}
+
+    /**
+     * @return The generated reader, or null if the bytecode cannot be generated,
+     * in this case, {@link ObjectReader} should be used.
+     */
+    @Nullable
+    static Reader<?> tryCreate(
+            ImmutableType type,
+            Reader<?> idReader,
+            Map<ImmutableProp, Reader<?>> nonIdReaders
+    ) {
+        // Shape: type, prop1, kind1, prop2, kind2, ...
+        List<Object> shape = new ArrayList<>(1 + nonIdReaders.size() * 2);
+        shape.add(type);
+        for (Map.Entry<ImmutableProp, Reader<?>> e : nonIdReaders.entrySet()) {
+            shape.add(e.getKey());
+            shape.add(kind(e.getKey(), e.getValue()));
+        }
+        Constructor<?> constructor = CONSTRUCTOR_CACHE.get(shape);
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return (Reader<?>) constructor.newInstance(
+                    idReader,
+                    type.getIdProp().getId(),
+                    type.getDraftFactory(),
+                    nonIdReaders.keySet().stream().map(ImmutableProp::getId).toArray(PropId[]::new),
+                    nonIdReaders.values().toArray(new Reader[0])
+            );
+        } catch (InstantiationException | IllegalAccessException ex) {
+            throw new AssertionError("Internal bug: Cannot create generated reader of \"" + type + "\"", ex);
+        } catch (InvocationTargetException ex) {
+            throw new AssertionError(
+                    "Internal bug: Cannot create generated reader of \"" + type + "\"",
+                    ex.getTargetException()
+            );
+        }
+    }
+
+    private static Kind kind(ImmutableProp prop, Reader<?> reader) {
+        Class<?> returnClass = prop.getReturnClass();
+        if (returnClass.isPrimitive() && reader instanceof PrimitiveReader) {
+            return Kind.of(returnClass);
+        }
+        if (returnClass == String.class && ReaderManager.isBaseReader(reader, String.class)) {
+            return Kind.STRING;
+        }
+        return Kind.GENERIC;
+    }
+
+    @Nullable
+    private static Constructor<?> createConstructor(List<Object> shape) {
+        ImmutableType type = (ImmutableType) shape.get(0);
+        Class<?> draftInterface = draftInterface(type);
+        if (draftInterface == null) {
+            return null;
+        }
+        int size = (shape.size() - 1) / 2;
+        Method[] setters = new Method[size];
+        Kind[] kinds = new Kind[size];
+        for (int i = 0; i < size; i++) {
+            ImmutableProp prop = (ImmutableProp) shape.get(1 + i * 2);
+            Kind kind = (Kind) shape.get(2 + i * 2);
+            Method setter = kind != Kind.GENERIC ? setter(draftInterface, prop) : null;
+            kinds[i] = setter != null ? kind : Kind.GENERIC;
+            setters[i] = setter;
+        }
+        String internalName =
+                Type.getInternalName(draftInterface) +
+                        "{BytecodeReader" +
+                        SEQUENCE.incrementAndGet() +
+                        "}";
+        byte[] bytecode = new Writer(internalName, kinds, setters).write();
+        Class<?> readerClass;
+        try {
+            readerClass = define(bytecode, internalName.replace('/', '.'), draftInterface);
+        } catch (IllegalAccessException | InvocationTargetException | RuntimeException | LinkageError ex) {
+            // Fallback to `ObjectReader`
+            return null;
+        }
+        try {
+            return readerClass.getConstructor(
+                    Reader.class,
+                    PropId.class,
+                    BiFunction.class,
+                    PropId[].class,
+                    Reader[].class
+            );
+        } catch (NoSuchMethodException ex) {
+            throw new AssertionError("Internal bug: No constructor of generated reader", ex);
+        }
+    }
+
+    @Nullable
+    private static Class<?> draftInterface(ImmutableType type) {
+        Class<?> javaClass = type.getJavaClass();
+        Class<?> draftInterface;
+        try {
+            draftInterface = Class.forName(javaClass.getName() + "Draft", false, javaClass.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+        if (!draftInterface.isInterface() ||
+                !Draft.class.isAssignableFrom(draftInterface) ||
+                !javaClass.isAssignableFrom(draftInterface)) {
+            return null;
+        }
+        return draftInterface;
+    }
+
+    @Nullable
+    private static Method setter(Class<?> draftInterface, ImmutableProp prop) {
+        String name = prop.getName();
+        Method setter;
+        try {
+            setter = draftInterface.getMethod(
+                    "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1),
+                    prop.getReturnClass()
+            );
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+        Class<?> declaringClass = setter.getDeclaringClass();
+        if (!Modifier.isPublic(declaringClass.getModifiers()) &&
+                declaringClass.getPackage() != draftInterface.getPackage()) {
+            return null;
+        }
+        return setter;
+    }
+
+    private static Class<?> define(
+            byte[] bytecode,
+            String className,
+            Class<?> draftInterface
+    ) throws IllegalAccessException, InvocationTargetException {
+        if (LOOKUP_DEFINE_CLASS != null) {
+            Object lookup = PRIVATE_LOOKUP_IN.invoke(null, draftInterface, MethodHandles.lookup());
+            return (Class<?>) LOOKUP_DEFINE_CLASS.invoke(lookup, (Object) bytecode);
+        }
+        return (Class<?>) CLASS_LOADER_DEFINE_CLASS.invoke(
+                draftInterface.getClassLoader(),
+                className,
+                bytecode,
+                0,
+                bytecode.length
+        );
+    }
+
+    private enum Kind {
+
+        BOOLEAN("getBoolean", "Z", ILOAD, ISTORE),
+        BYTE("getByte", "B", ILOAD, ISTORE),
+        SHORT("getShort", "S", ILOAD, ISTORE),
+        INT("getInt", "I", ILOAD, ISTORE),
+        LONG("getLong", "J", LLOAD, LSTORE),
+        FLOAT("getFloat", "F", FLOAD, FSTORE),
+        DOUBLE("getDouble", "D", DLOAD, DSTORE),
+        STRING("getString", "Ljava/lang/String;", ALOAD, ASTORE),
+        GENERIC(null, null, ALOAD, ASTORE);
+
+        final String getterName;
+
+        final String descriptor;
+
+        final int loadOpcode;
+
+        final int storeOpcode;
+
+        Kind(String getterName, String descriptor, int loadOpcode, int storeOpcode) {
+            this.getterName = getterName;
+            this.descriptor = descriptor;
+            this.loadOpcode = loadOpcode;
+            this.storeOpcode = storeOpcode;
+        }
+
+        static Kind of(Class<?> primitiveType) {
+            if (primitiveType == boolean.class) {
+                return BOOLEAN;
+            }
+            if (primitiveType == byte.class) {
+                return BYTE;
+            }
+            if (primitiveType == short.class) {
+                return SHORT;
+            }
+            if (primitiveType == int.class) {
+                return INT;
+            }
+            if (primitiveType == long.class) {
+                return LONG;
+            }
+            if (primitiveType == float.class) {
+                return FLOAT;
+            }
+            if (primitiveType == double.class) {
+                return DOUBLE;
+            }
+            return GENERIC;
+        }
+    }
+
+    private static class Writer {
+
+        private final String internalName;
+
+        private final Kind[] kinds;
+
+        private final Method[] setters;
+
+        private ClassWriter cw;
+
+        private MethodVisitor mv;
+
+        Writer(String internalName, Kind[] kinds, Method[] setters) {
+            this.internalName = internalName;
+            this.kinds = kinds;
+            this.setters = setters;
+        }
+
+        byte[] write() {
+            cw = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+            cw.visit(
+                    V1_8,
+                    ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC,
+                    internalName,
+                    null,
+                    "java/lang/Object",
+                    new String[] { READER_INTERNAL_NAME }
+            );
+            writeField(FIELD_ID_READER, READER_DESCRIPTOR);
+            writeField(FIELD_ID_PROP_ID, PROP_ID_DESCRIPTOR);
+            writeField(FIELD_DRAFT_FACTORY, BI_FUNCTION_DESCRIPTOR);
+            writeField(FIELD_PROP_IDS, PROP_ID_ARR_DESCRIPTOR);
+            writeField(FIELD_READERS, READER_ARR_DESCRIPTOR);
+            writeInit();
+            writeRead();
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        private void writeField(String name, String descriptor) {
+            cw.visitField(ACC_PRIVATE | ACC_FINAL, name, descriptor, null, null).visitEnd();
+        }
+
+        private void writeInit() {
+            mv = cw.visitMethod(
+                    ACC_PUBLIC,
+                    "<init>",
+                    "(" +
+                            READER_DESCRIPTOR +
+                            PROP_ID_DESCRIPTOR +
+                            BI_FUNCTION_DESCRIPTOR +
+                            PROP_ID_ARR_DESCRIPTOR +
+                            READER_ARR_DESCRIPTOR +
+                            ")V",
+                    null,
+                    null
+            );
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            putField(1, FIELD_ID_READER, READER_DESCRIPTOR);
+            putField(2, FIELD_ID_PROP_ID, PROP_ID_DESCRIPTOR);
+            putField(3, FIELD_DRAFT_FACTORY, BI_FUNCTION_DESCRIPTOR);
+            putField(4, FIELD_PROP_IDS, PROP_ID_ARR_DESCRIPTOR);
+            putField(5, FIELD_READERS, READER_ARR_DESCRIPTOR);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        private void putField(int local, String name, String descriptor) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, local);
+            mv.visitFieldInsn(PUTFIELD, internalName, name, descriptor);
+        }
+
+        private void writeRead() {
+            mv = cw.visitMethod(
+                    ACC_PUBLIC,
+                    "read",
+                    READ_DESCRIPTOR,
+                    null,
+                    new String[] { "java/sql/SQLException" }
+            );
+            mv.visitCode();
+
+            // Object id = idReader.read(rs, ctx);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, FIELD_ID_READER, READER_DESCRIPTOR);
+            mv.visitVarInsn(ALOAD, LOCAL_RS);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            mv.visitMethodInsn(INVOKEINTERFACE, READER_INTERNAL_NAME, "read", READ_DESCRIPTOR, true);
+            mv.visitVarInsn(ASTORE, LOCAL_ID);
+
+            // if (id == null) { ctx.addCol(size); return null; }
+            Label hasId = new Label();
+            mv.visitVarInsn(ALOAD, LOCAL_ID);
+            mv.visitJumpInsn(IFNONNULL, hasId);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            visitInt(kinds.length);
+            mv.visitMethodInsn(INVOKEVIRTUAL, CONTEXT_INTERNAL_NAME, "addCol", "(I)V", false);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitInsn(ARETURN);
+            mv.visitLabel(hasId);
+
+            // DraftSpi draft = (DraftSpi) draftFactory.apply(ctx.draftContext(), null);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, FIELD_DRAFT_FACTORY, BI_FUNCTION_DESCRIPTOR);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            mv.visitMethodInsn(
+                    INVOKEVIRTUAL,
+                    CONTEXT_INTERNAL_NAME,
+                    "draftContext",
+                    "()" + Type.getDescriptor(DraftContext.class),
+                    false
+            );
+            mv.visitInsn(ACONST_NULL);
+            mv.visitMethodInsn(
+                    INVOKEINTERFACE,
+                    Type.getInternalName(BiFunction.class),
+                    "apply",
+                    "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+                    true
+            );
+            mv.visitTypeInsn(CHECKCAST, DRAFT_SPI_INTERNAL_NAME);
+            mv.visitVarInsn(ASTORE, LOCAL_DRAFT);
+
+            // draft.__set(idPropId, id);
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, FIELD_ID_PROP_ID, PROP_ID_DESCRIPTOR);
+            mv.visitVarInsn(ALOAD, LOCAL_ID);
+            mv.visitMethodInsn(INVOKEINTERFACE, DRAFT_SPI_INTERNAL_NAME, "__set", SET_DESCRIPTOR, true);
+
+            // Same as `ObjectReader`, exceptions of non-id properties are wrapped
+            Label tryStart = new Label();
+            Label tryEnd = new Label();
+            Label handler = new Label();
+            mv.visitTryCatchBlock(tryStart, tryEnd, handler, "java/lang/Throwable");
+            mv.visitLabel(tryStart);
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case GENERIC:
+                        writeGeneric(i);
+                        break;
+                    case STRING:
+                        writeString(i);
+                        break;
+                    default:
+                        writePrimitive(i);
+                        break;
+                }
+            }
+            mv.visitLabel(tryEnd);
+
+            // return ctx.resolve(draft);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            mv.visitMethodInsn(
+                    INVOKEVIRTUAL,
+                    CONTEXT_INTERNAL_NAME,
+                    "resolve",
+                    "(" + Type.getDescriptor(DraftSpi.class) + ")Ljava/lang/Object;",
+                    false
+            );
+            mv.visitInsn(ARETURN);
+
+            // catch (Throwable ex) { throw DraftConsumerUncheckedException.rethrow(ex); }
+            mv.visitLabel(handler);
+            mv.visitMethodInsn(
+                    INVOKESTATIC,
+                    Type.getInternalName(DraftConsumerUncheckedException.class),
+                    "rethrow",
+                    "(Ljava/lang/Throwable;)Ljava/lang/RuntimeException;",
+                    false
+            );
+            mv.visitInsn(ATHROW);
+
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // draft.__set(propIds[index], readers[index].read(rs, ctx));
+        private void writeGeneric(int index) {
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            visitPropId(index);
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, FIELD_READERS, READER_ARR_DESCRIPTOR);
+            visitInt(index);
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ALOAD, LOCAL_RS);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            mv.visitMethodInsn(INVOKEINTERFACE, READER_INTERNAL_NAME, "read", READ_DESCRIPTOR, true);
+            mv.visitMethodInsn(INVOKEINTERFACE, DRAFT_SPI_INTERNAL_NAME, "__set", SET_DESCRIPTOR, true);
+        }
+
+        // ((XxxDraft) draft).setYyy(rs.getString(ctx.col()));
+        private void writeString(int index) {
+            Method setter = setters[index];
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(setter.getDeclaringClass()));
+            visitGetter(Kind.STRING);
+            visitSetter(setter);
+        }
+
+        // value = rs.getXxx(ctx.col());
+        // if (value == 0 && rs.wasNull()) {
+        //     draft.__set(propIds[index], null);
+        // } else {
+        //     ((XxxDraft) draft).setYyy(value);
+        // }
+        private void writePrimitive(int index) {
+            Kind kind = kinds[index];
+            Method setter = setters[index];
+            Label notNull = new Label();
+            Label end = new Label();
+            visitGetter(kind);
+            mv.visitVarInsn(kind.storeOpcode, LOCAL_VALUE);
+            mv.visitVarInsn(kind.loadOpcode, LOCAL_VALUE);
+            switch (kind) {
+                case LONG:
+                    mv.visitInsn(LCONST_0);
+                    mv.visitInsn(LCMP);
+                    break;
+                case FLOAT:
+                    mv.visitInsn(FCONST_0);
+                    mv.visitInsn(FCMPL);
+                    break;
+                case DOUBLE:
+                    mv.visitInsn(DCONST_0);
+                    mv.visitInsn(DCMPL);
+                    break;
+            }
+            mv.visitJumpInsn(IFNE, notNull);
+            mv.visitVarInsn(ALOAD, LOCAL_RS);
+            mv.visitMethodInsn(INVOKEINTERFACE, RESULT_SET_INTERNAL_NAME, "wasNull", "()Z", true);
+            mv.visitJumpInsn(IFEQ, notNull);
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            visitPropId(index);
+            mv.visitInsn(ACONST_NULL);
+            mv.visitMethodInsn(INVOKEINTERFACE, DRAFT_SPI_INTERNAL_NAME, "__set", SET_DESCRIPTOR, true);
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(notNull);
+            mv.visitVarInsn(ALOAD, LOCAL_DRAFT);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(setter.getDeclaringClass()));
+            mv.visitVarInsn(kind.loadOpcode, LOCAL_VALUE);
+            visitSetter(setter);
+            mv.visitLabel(end);
+        }
+
+        private void visitGetter(Kind kind) {
+            mv.visitVarInsn(ALOAD, LOCAL_RS);
+            mv.visitVarInsn(ALOAD, LOCAL_CTX);
+            mv.visitMethodInsn(INVOKEVIRTUAL, CONTEXT_INTERNAL_NAME, "col", "()I", false);
+            mv.visitMethodInsn(
+                    INVOKEINTERFACE,
+                    RESULT_SET_INTERNAL_NAME,
+                    kind.getterName,
+                    "(I)" + kind.descriptor,
+                    true
+            );
+        }
+
+        private void visitSetter(Method setter) {
+            mv.visitMethodInsn(
+                    INVOKEINTERFACE,
+                    Type.getInternalName(setter.getDeclaringClass()),
+                    setter.getName(),
+                    Type.getMethodDescriptor(setter),
+                    true
+            );
+            Class<?> returnType = setter.getReturnType();
+            if (returnType == long.class || returnType == double.class) {
+                mv.visitInsn(POP2);
+            } else if (returnType != void.class) {
+                mv.visitInsn(POP);
+            }
+        }
+
+        private void visitPropId(int index) {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, internalName, FIELD_PROP_IDS, PROP_ID_ARR_DESCRIPTOR);
+            visitInt(index);
+            mv.visitInsn(AALOAD);
+        }
+
+        private void visitInt(int value) {
+            if (value >= -1 && value <= 5) {
+                mv.visitInsn(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                mv.visitIntInsn(BIPUSH, value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                mv.visitIntInsn(SIPUSH, value);
+            } else {
+                mv.visitLdcInsn(value);
+            }
+        }
+    }
+
+    static {
+        Method privateLookupIn = null;
+        try {
+            privateLookupIn = MethodHandles.class.getMethod(
+                    "privateLookupIn",
+                    Class.class,
+                    MethodHandles.Lookup.class
+            );
+        } catch (NoSuchMethodException ex) {
+            // Do nothing
+        }
+
+        Method lookupDefineClass = null;
+        if (privateLookupIn != null) {
+            try {
+                lookupDefineClass = MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+            } catch (NoSuchMethodException ex) {
+                throw new AssertionError("No `Lookup.defineClass`", ex);
+            }
+        }
+
+        Method classLoaderDefineClass = null;
+        if (lookupDefineClass == null) {
+            try {
+                classLoaderDefineClass = ClassLoader.class.getDeclaredMethod(
+                        "defineClass",
+                        String.class,
+                        byte[].class,
+                        int.class,
+                        int.class
+                );
+                classLoaderDefineClass.setAccessible(true);
+            } catch (NoSuchMethodException ex) {
+                throw new AssertionError("No `ClassLoader.defineClass`", ex);
+            }
+        }
+
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        LOOKUP_DEFINE_CLASS = lookupDefineClass;
+        CLASS_LOADER_DEFINE_CLASS = classLoaderDefineClass;
+    }
+}
@@ -0,0 +1,23 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.runtime.DraftSpi;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Implemented by the readers of primitive types,
+ * so that {@link ObjectReader} can set the column value
+ * into the draft without boxing.
+ */
+interface PrimitiveReader {
+
+    /**
+     * Read the current column and set it into the draft.
+     *
+     * <p>If the column is null, {@link DraftSpi#__set(PropId, Object)}
+     * is called with null so that the draft can report the error.</p>
+     */
+    void readTo(ResultSet rs, Reader.Context ctx, DraftSpi draft, PropId prop) throws SQLException;
+}
@@ -0,0 +1,57 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.impl.util.ContextLocal;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes scope of slave connection manager.
+ *
+ * <p>When the slave connection manager is configured, queries are routed to it,
+ * but the replicas may lag behind the master database. If a block,
+ * for example, the handling of a web request, is executed by
+ * {@link #execute(Supplier)}, once any data is modified by the sql client
+ * in the block, all the following queries of the same block are routed
+ * to the master connection manager, so that they can read the modification.</p>
+ *
+ * <p>Outside of the block, this class does nothing.</p>
+ */
+public final class ReadYourWritesScope {
+
+    private static final ContextLocal<ReadYourWritesScope> SCOPE_LOCAL = ContextLocal.createInheritable();
+
+    private volatile boolean written;
+
+    private ReadYourWritesScope() {}
+
+    /**
+     * Execute the block in a read-your-writes scope,
+     * the nested invocation joins the scope of outer invocation.
+     */
+    public static <R> R execute(Supplier<R> block) {
+        if (SCOPE_LOCAL.get() != null) {
+            return block.get();
+        }
+        return SCOPE_LOCAL.call(new ReadYourWritesScope(), block::get);
+    }
+
+    /**
+     * Whether data has been modified in the current scope
+     */
+    public static boolean isWritten() {
+        ReadYourWritesScope scope = SCOPE_LOCAL.get();
+        return scope != null && scope.written;
+    }
+
+    /**
+     * Mark the current scope as modified, it is called by {@link DefaultExecutor}
+     * after data modification statement is executed, custom executors which
+     * do not delegate to it should call this method by themselves.
+     */
+    public static void markWritten() {
+        ReadYourWritesScope scope = SCOPE_LOCAL.get();
+        if (scope != null) {
+            scope.written = true;
+        }
+    }
+}
@@ -92,7 +92,7 @@ public class ReaderManager {
                 nonIdReaderMap.put(prop, reader(prop));
             }
         }
-        return new ObjectReader(immutableType, idReader, nonIdReaderMap);
+        return ObjectReader.create(sqlClient, immutableType, idReader, nonIdReaderMap);
     }
 
     @SuppressWarnings("unchecked")
@@ -153,6 +153,10 @@ public class ReaderManager {
         return reader;
     }
 
+    static boolean isBaseReader(Reader<?> reader, Class<?> type) {
+        return reader != null && BASE_READER_MAP.get(type) == reader;
+    }
+
     private static Reader<?> unknownSqlTypeReader(
             Class<?> sqlType,
             ScalarProvider<?, ?> provider,
@@ -192,7 +196,7 @@ public class ReaderManager {
         }
     }
 
-    private static class BooleanReader implements Reader<Boolean> {
+    private static class BooleanReader implements Reader<Boolean>, PrimitiveReader {
 
         @Override
         public Boolean read(ResultSet rs, Context ctx) throws SQLException {
@@ -202,6 +206,16 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            boolean value = rs.getBoolean(ctx.col());
+            if (!value && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setBoolean(prop, value);
+            }
+        }
     }
 
     private static class CharReader implements Reader<Character> {
@@ -213,7 +227,7 @@ public class ReaderManager {
         }
     }
 
-    private static class ByteReader implements Reader<Byte> {
+    private static class ByteReader implements Reader<Byte>, PrimitiveReader {
 
         @Override
         public Byte read(ResultSet rs, Context ctx) throws SQLException {
@@ -223,9 +237,19 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            byte value = rs.getByte(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setByte(prop, value);
+            }
+        }
     }
 
-    private static class ShortReader implements Reader<Short> {
+    private static class ShortReader implements Reader<Short>, PrimitiveReader {
 
         @Override
         public Short read(ResultSet rs, Context ctx) throws SQLException {
@@ -235,9 +259,19 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            short value = rs.getShort(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setShort(prop, value);
+            }
+        }
     }
 
-    private static class IntReader implements Reader<Integer> {
+    private static class IntReader implements Reader<Integer>, PrimitiveReader {
 
         @Override
         public Integer read(ResultSet rs, Context ctx) throws SQLException {
@@ -247,9 +281,19 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            int value = rs.getInt(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setInt(prop, value);
+            }
+        }
     }
 
-    private static class LongReader implements Reader<Long> {
+    private static class LongReader implements Reader<Long>, PrimitiveReader {
 
         @Override
         public Long read(ResultSet rs, Context ctx) throws SQLException {
@@ -259,9 +303,19 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            long value = rs.getLong(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setLong(prop, value);
+            }
+        }
     }
 
-    private static class FloatReader implements Reader<Float> {
+    private static class FloatReader implements Reader<Float>, PrimitiveReader {
 
         @Override
         public Float read(ResultSet rs, Context ctx) throws SQLException {
@@ -271,9 +325,19 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            float value = rs.getFloat(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setFloat(prop, value);
+            }
+        }
     }
 
-    private static class DoubleReader implements Reader<Double> {
+    private static class DoubleReader implements Reader<Double>, PrimitiveReader {
 
         @Override
         public Double read(ResultSet rs, Context ctx) throws SQLException {
@@ -283,6 +347,16 @@ public class ReaderManager {
             }
             return value;
         }
+
+        @Override
+        public void readTo(ResultSet rs, Context ctx, DraftSpi draft, PropId prop) throws SQLException {
+            double value = rs.getDouble(ctx.col());
+            if (value == 0 && rs.wasNull()) {
+                draft.__set(prop, null);
+            } else {
+                draft.__setDouble(prop, value);
+            }
+        }
     }
 
     private static class BigIntegerReader implements Reader<BigInteger> {
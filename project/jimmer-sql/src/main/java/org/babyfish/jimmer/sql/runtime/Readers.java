@@ -125,7 +125,7 @@ class Readers {
                     }
                 }
             }
-            return new ObjectReader(type, idReader, nonIdReaderMap);
+            return ObjectReader.create(sqlClient, type, idReader, nonIdReaderMap);
         }
         ExpressionImplementor<?> unwrapped = AbstractTypedEmbeddedPropExpression.<ExpressionImplementor<?>>unwrap(selection);
         if (unwrapped instanceof PropExpression<?>) {
@@ -0,0 +1,80 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects one replica of {@link ReplicaSetConnectionManager} for each read.
+ *
+ * <p>The selector is stateful, so each replica set should use its own instance
+ * created by the static methods of this interface.</p>
+ */
+@FunctionalInterface
+public interface ReplicaSelector {
+
+    /**
+     * @param replicas The healthy replicas, it is never empty
+     * @return One of the replicas
+     */
+    ReplicaSetConnectionManager.Replica select(List<ReplicaSetConnectionManager.Replica> replicas);
+
+    static ReplicaSelector roundRobin() {
+        AtomicInteger counter = new AtomicInteger();
+        return replicas -> replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+    }
+
+    /**
+     * Select the replica with the least count of executing reads,
+     * the ties are broken by round-robin.
+     */
+    static ReplicaSelector leastOutstandingRequests() {
+        AtomicInteger counter = new AtomicInteger();
+        return replicas -> {
+            int size = replicas.size();
+            int offset = Math.floorMod(counter.getAndIncrement(), size);
+            ReplicaSetConnectionManager.Replica selected = null;
+            for (int i = 0; i < size; i++) {
+                ReplicaSetConnectionManager.Replica replica = replicas.get((offset + i) % size);
+                if (selected == null || replica.getOutstandingCount() < selected.getOutstandingCount()) {
+                    selected = replica;
+                }
+            }
+            return selected;
+        };
+    }
+
+    /**
+     * Select the replicas by smooth weighted round-robin,
+     * each replica is selected in proportion to its weight
+     * and the selections of one replica are spread evenly.
+     */
+    static ReplicaSelector weighted() {
+        return new ReplicaSelector() {
+
+            private final Map<ReplicaSetConnectionManager.Replica, long[]> currentWeightMap =
+                    new IdentityHashMap<>();
+
+            @Override
+            public synchronized ReplicaSetConnectionManager.Replica select(
+                    List<ReplicaSetConnectionManager.Replica> replicas
+            ) {
+                long totalWeight = 0;
+                ReplicaSetConnectionManager.Replica selected = null;
+                long[] selectedWeight = null;
+                for (ReplicaSetConnectionManager.Replica replica : replicas) {
+                    long[] currentWeight = currentWeightMap.computeIfAbsent(replica, it -> new long[1]);
+                    currentWeight[0] += replica.getWeight();
+                    totalWeight += replica.getWeight();
+                    if (selectedWeight == null || currentWeight[0] > selectedWeight[0]) {
+                        selected = replica;
+                        selectedWeight = currentWeight;
+                    }
+                }
+                selectedWeight[0] -= totalWeight;
+                return selected;
+            }
+        };
+    }
+}
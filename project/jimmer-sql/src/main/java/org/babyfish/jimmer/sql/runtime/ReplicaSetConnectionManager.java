@@ -0,0 +1,297 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Slave connection manager which distributes the reads to several replicas.
+ *
+ * <ul>
+ *     <li>Each read is routed to one replica chosen by the {@link ReplicaSelector},
+ *     the default selector is round-robin.</li>
+ *     <li>If a replica fails consecutively for {@code failureThreshold} times,
+ *     because the connection cannot be got or the connection is broken,
+ *     it is ejected for {@code ejectionDuration}. The read whose connection
+ *     cannot be got is retried by the other replicas.
+ *     If all replicas are ejected, they are still used.</li>
+ * </ul>
+ *
+ * <p>Example</p>
+ * <pre>{@code
+ * JSqlClient sqlClient = JSqlClient
+ *     .newBuilder()
+ *     .setConnectionManager(masterConnectionManager)
+ *     .setSlaveConnectionManager(
+ *         ReplicaSetConnectionManager
+ *             .newBuilder()
+ *             .addReplica("replica-1", replicaConnectionManager1)
+ *             .addReplica("replica-2", replicaConnectionManager2)
+ *             .setSelector(ReplicaSelector.leastOutstandingRequests())
+ *             .build()
+ *     )
+ *     .build();
+ * }</pre>
+ *
+ * <p>To read the modification of current request from master database,
+ * please use {@link ReadYourWritesScope}.</p>
+ */
+public class ReplicaSetConnectionManager implements ConnectionManager {
+
+    private final List<Replica> replicas;
+
+    private final ReplicaSelector selector;
+
+    private final int failureThreshold;
+
+    private final long ejectionNanos;
+
+    private ReplicaSetConnectionManager(Builder builder) {
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(builder.replicas));
+        this.selector = builder.selector != null ? builder.selector : ReplicaSelector.roundRobin();
+        this.failureThreshold = builder.failureThreshold;
+        this.ejectionNanos = builder.ejectionDuration.toNanos();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public <R> R execute(Function<Connection, R> block) {
+        List<Replica> candidates = healthyReplicas();
+        while (true) {
+            Replica replica = selector.select(candidates);
+            if (!candidates.contains(replica)) {
+                throw new IllegalStateException(
+                        "The replica selected by \"" +
+                                selector +
+                                "\" is not one of the candidates"
+                );
+            }
+            boolean[] connected = new boolean[1];
+            replica.outstandingCount.incrementAndGet();
+            try {
+                R result = replica.connectionManager.execute(con -> {
+                    connected[0] = true;
+                    return block.apply(con);
+                });
+                replica.consecutiveFailureCount.set(0);
+                return result;
+            } catch (RuntimeException | Error ex) {
+                if (!connected[0] || isConnectionBroken(ex)) {
+                    onFailure(replica);
+                }
+                if (connected[0] || candidates.size() == 1) {
+                    throw ex;
+                }
+                candidates = new ArrayList<>(candidates);
+                candidates.remove(replica);
+            } finally {
+                replica.outstandingCount.decrementAndGet();
+            }
+        }
+    }
+
+    private List<Replica> healthyReplicas() {
+        long now = System.nanoTime();
+        List<Replica> healthyReplicas = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            if (replica.isEjected(now)) {
+                if (healthyReplicas == null) {
+                    healthyReplicas = new ArrayList<>(replicas.subList(0, i));
+                }
+            } else if (healthyReplicas != null) {
+                healthyReplicas.add(replica);
+            }
+        }
+        if (healthyReplicas == null) {
+            return replicas;
+        }
+        return healthyReplicas.isEmpty() ? replicas : healthyReplicas;
+    }
+
+    private void onFailure(Replica replica) {
+        if (replica.consecutiveFailureCount.incrementAndGet() >= failureThreshold) {
+            replica.consecutiveFailureCount.set(0);
+            replica.ejectedUntil = System.nanoTime() + ejectionNanos;
+            replica.ejected = true;
+        }
+    }
+
+    private static boolean isConnectionBroken(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientConnectionException || t instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                String sqlState = ((SQLException) t).getSQLState();
+                if (sqlState != null && sqlState.startsWith("08")) {
+                    return true;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicaSetConnectionManager{" +
+                "replicas=" + replicas +
+                '}';
+    }
+
+    public static class Replica {
+
+        private final String name;
+
+        private final ConnectionManager connectionManager;
+
+        private final int weight;
+
+        private final AtomicInteger outstandingCount = new AtomicInteger();
+
+        private final AtomicInteger consecutiveFailureCount = new AtomicInteger();
+
+        private volatile boolean ejected;
+
+        private volatile long ejectedUntil;
+
+        Replica(String name, ConnectionManager connectionManager, int weight) {
+            this.name = name;
+            this.connectionManager = connectionManager;
+            this.weight = weight;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ConnectionManager getConnectionManager() {
+            return connectionManager;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        /**
+         * The count of reads which are being executed by this replica
+         */
+        public int getOutstandingCount() {
+            return outstandingCount.get();
+        }
+
+        public boolean isEjected() {
+            return isEjected(System.nanoTime());
+        }
+
+        private boolean isEjected(long now) {
+            if (!ejected) {
+                return false;
+            }
+            if (ejectedUntil - now > 0) {
+                return true;
+            }
+            ejected = false;
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "Replica{" +
+                    "name='" + name + '\'' +
+                    ", weight=" + weight +
+                    ", outstandingCount=" + outstandingCount +
+                    ", ejected=" + isEjected() +
+                    '}';
+        }
+    }
+
+    public static class Builder {
+
+        private final List<Replica> replicas = new ArrayList<>();
+
+        private ReplicaSelector selector;
+
+        private int failureThreshold = 3;
+
+        private Duration ejectionDuration = Duration.ofSeconds(30);
+
+        Builder() {}
+
+        public Builder addReplica(String name, ConnectionManager connectionManager) {
+            return addReplica(name, connectionManager, 1);
+        }
+
+        /**
+         * @param weight The weight used by {@link ReplicaSelector#weighted()},
+         *               it is ignored by other selectors
+         */
+        public Builder addReplica(String name, ConnectionManager connectionManager, int weight) {
+            if (connectionManager == null) {
+                throw new IllegalArgumentException("connectionManager cannot be null");
+            }
+            if (weight < 1) {
+                throw new IllegalArgumentException("weight must be positive");
+            }
+            for (Replica replica : replicas) {
+                if (replica.name.equals(name)) {
+                    throw new IllegalArgumentException("Duplicated replica name \"" + name + "\"");
+                }
+            }
+            replicas.add(new Replica(name, connectionManager, weight));
+            return this;
+        }
+
+        public Builder setSelector(ReplicaSelector selector) {
+            this.selector = selector;
+            return this;
+        }
+
+        /**
+         * The count of consecutive connection failures which causes
+         * the replica to be ejected, default value is 3
+         */
+        public Builder setFailureThreshold(int failureThreshold) {
+            if (failureThreshold < 1) {
+                throw new IllegalArgumentException("failureThreshold must be positive");
+            }
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * How long the unhealthy replica is ejected, default value is 30 seconds
+         */
+        public Builder setEjectionDuration(Duration ejectionDuration) {
+            if (ejectionDuration == null || ejectionDuration.isNegative()) {
+                throw new IllegalArgumentException("ejectionDuration cannot be null or negative");
+            }
+            this.ejectionDuration = ejectionDuration;
+            return this;
+        }
+
+        public ReplicaSetConnectionManager build() {
+            if (replicas.isEmpty()) {
+                throw new IllegalStateException("No replicas are added");
+            }
+            return new ReplicaSetConnectionManager(this);
+        }
+    }
+}
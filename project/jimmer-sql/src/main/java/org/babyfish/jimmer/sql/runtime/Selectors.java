@@ -5,12 +5,20 @@ import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
@@ -107,11 +115,134 @@ public class Selectors {
                 cursorId
         );
         executor.openCursor(cursorId, sql, variables, variablePositions, purpose, args.ctx, sqlClient);
-        Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
+        Cursors.usingCursorId(cursorId, () -> executor.execute(args));
+    }
+
+    /**
+     * Open a forward-only, read-only cursor and return it as a lazy stream.
+     *
+     * <p>The statement is created by a {@link StatementFactory} so that the
+     * executor still intercepts it, but it will not be closed when the
+     * executor returns; it is closed by {@link Stream#close()} or when
+     * the last row has been read.</p>
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> Stream<R> stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize
+    ) {
+        PreparedStatement[] statementBox = new PreparedStatement[1];
+        PreparedStatement[] proxyBox = new PreparedStatement[1];
+        CursorIterator<R> itr;
         try {
-            executor.execute(args);
-        } finally {
-            Cursors.setCurrentCursorId(oldCursorId);
+            itr = sqlClient.getExecutor().execute(
+                    new Executor.Args<>(
+                            sqlClient,
+                            con,
+                            sql,
+                            variables,
+                            variablePositions,
+                            purpose,
+                            (c, s) -> {
+                                PreparedStatement statement = c.prepareStatement(
+                                        s,
+                                        ResultSet.TYPE_FORWARD_ONLY,
+                                        ResultSet.CONCUR_READ_ONLY
+                                );
+                                statementBox[0] = statement;
+                                statement.setFetchSize(batchSize);
+                                return proxyBox[0] = unclosable(statement);
+                            },
+                            stmt -> {
+                                if (stmt == proxyBox[0]) {
+                                    return new CursorIterator<>(
+                                            sqlClient,
+                                            con,
+                                            sql,
+                                            selections,
+                                            batchSize,
+                                            statementBox[0],
+                                            stmt.executeQuery()
+                                    );
+                                }
+                                // The executor does not use the statement factory,
+                                // the statement will be closed after this callback.
+                                Reader<?> reader = Readers.createReader(sqlClient, selections);
+                                List<R> rows = Internal.usingSqlDraftContext((draftCtx, isRoot) -> {
+                                    Reader.Context ctx = new Reader.Context(draftCtx, isRoot);
+                                    List<R> results = new ArrayList<>();
+                                    try (ResultSet resultSet = stmt.executeQuery()) {
+                                        while (resultSet.next()) {
+                                            results.add((R)reader.read(resultSet, ctx));
+                                            ctx.resetCol();
+                                        }
+                                    }
+                                    return results;
+                                });
+                                return new CursorIterator<>(
+                                        sqlClient,
+                                        con,
+                                        sql,
+                                        selections,
+                                        batchSize,
+                                        rows
+                                );
+                            }
+                    )
+            );
+        } catch (RuntimeException | Error ex) {
+            PreparedStatement statement = statementBox[0];
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+            }
+            throw ex;
         }
+        return StreamSupport
+                .stream(
+                        Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED),
+                        false
+                )
+                .onClose(itr::close);
+    }
+
+    private static PreparedStatement unclosable(PreparedStatement statement) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class[] { PreparedStatement.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (method.getParameterCount() == 0) {
+                                return null;
+                            }
+                            break;
+                        case "equals":
+                            if (method.getParameterCount() == 1) {
+                                return proxy == args[0];
+                            }
+                            break;
+                        case "hashCode":
+                            if (method.getParameterCount() == 0) {
+                                return System.identityHashCode(proxy);
+                            }
+                            break;
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                }
+        );
     }
 }
@@ -0,0 +1,172 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.ast.impl.TupleImplementor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of rendered SQL statements.
+ *
+ * <p>Some internal queries, such as the batch queries of data loaders,
+ * are created again and again with the same shape, only the bound values
+ * are different. For them, the SQL text is rendered only once and reused
+ * by later executions, only the variables are bound again.</p>
+ *
+ * <p>The key is a structural fingerprint built by the caller, it must
+ * contain everything which can affect the rendered SQL
+ * (such as the queried property, the selected columns of object fetcher
+ * and the count of variables).</p>
+ */
+public class SqlTemplateCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final int capacity;
+
+    private final Map<Object, Template> templateMap;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public SqlTemplateCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("`capacity` must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.templateMap = new LinkedHashMap<Object, Template>((capacity * 4 + 2) / 3, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Template> eldest) {
+                return size() > SqlTemplateCache.this.capacity;
+            }
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        synchronized (templateMap) {
+            return templateMap.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void clear() {
+        synchronized (templateMap) {
+            templateMap.clear();
+        }
+    }
+
+    @Nullable
+    public Template get(Object key) {
+        Template template;
+        synchronized (templateMap) {
+            template = templateMap.get(key);
+        }
+        if (template != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        return template;
+    }
+
+    public void put(Object key, Template template) {
+        synchronized (templateMap) {
+            templateMap.put(key, template);
+        }
+    }
+
+    /**
+     * Convert simple values to JDBC variables in the same way as {@link SqlBuilder#variable(Object)}.
+     *
+     * @return The converted variables, or null if any value cannot be bound
+     * as single variable (null, tuple, entity or embeddable object)
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static List<Object> toVariables(JSqlClientImplementor sqlClient, Collection<?> values) {
+        List<Object> variables = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value == null ||
+                    value instanceof TupleImplementor ||
+                    value instanceof ImmutableSpi ||
+                    value instanceof DbNull) {
+                return null;
+            }
+            ScalarProvider<Object, Object> scalarProvider =
+                    sqlClient.getScalarProvider((Class<Object>) value.getClass());
+            if (scalarProvider != null) {
+                try {
+                    variables.add(scalarProvider.toSql(value));
+                } catch (Exception ex) {
+                    throw new ExecutionException(
+                            "Cannot convert the jvm type \"" +
+                                    value +
+                                    "\" to the sql type \"" +
+                                    scalarProvider.getSqlType() +
+                                    "\"",
+                            ex
+                    );
+                }
+            } else {
+                variables.add(value);
+            }
+        }
+        return variables;
+    }
+
+    public static class Template {
+
+        private final String sql;
+
+        @Nullable
+        private final List<Integer> variablePositions;
+
+        private final List<Selection<?>> selections;
+
+        public Template(
+                String sql,
+                @Nullable List<Integer> variablePositions,
+                List<Selection<?>> selections
+        ) {
+            this.sql = sql;
+            this.variablePositions = variablePositions;
+            this.selections = selections;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        @Nullable
+        public List<Integer> getVariablePositions() {
+            return variablePositions;
+        }
+
+        public List<Selection<?>> getSelections() {
+            return selections;
+        }
+
+        @Override
+        public String toString() {
+            return "Template{" +
+                    "sql='" + sql + '\'' +
+                    ", selections=" + selections +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class BinaryValueSerializerTest {
+
+    private static final Book BOOK = BookDraft.$.produce(book -> {
+        book.setId(learningGraphQLId1);
+        book.setName("Learning GraphQL");
+        book.setEdition(1);
+        book.setPrice(new BigDecimal("45.00"));
+        book.applyStore(store -> {
+            store.setId(oreillyId);
+            store.setName("O'REILLY");
+        });
+        book.addIntoAuthors(author -> {
+            author.setId(eveId);
+            author.setFirstName("Eve");
+            author.setLastName("Procello");
+            author.setGender(Gender.FEMALE);
+        });
+        book.addIntoAuthors(author -> {
+            author.setId(alexId);
+        });
+    });
+
+    @Test
+    public void testObject() {
+        ValueSerializer<Book> serializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        byte[] bytes = serializer.serialize(BOOK);
+        Assertions.assertEquals(BinaryValueCodec.MAGIC, bytes[0]);
+        Assertions.assertEquals(BinaryValueCodec.VERSION, bytes[1]);
+        Assertions.assertTrue(
+                bytes.length < new ValueSerializer<Book>(ImmutableType.get(Book.class)).serialize(BOOK).length
+        );
+        Assertions.assertEquals(BOOK.toString(), serializer.deserialize(bytes).toString());
+    }
+
+    @Test
+    public void testPartialObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(learningGraphQLId1);
+            draft.setStore((BookStore) null);
+        });
+        ValueSerializer<Book> serializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        Book deserializedBook = serializer.deserialize(serializer.serialize(book));
+        Assertions.assertEquals(book.toString(), deserializedBook.toString());
+        Assertions.assertFalse(ImmutableObjects.isLoaded(deserializedBook, BookProps.NAME));
+        Assertions.assertNull(deserializedBook.store());
+    }
+
+    @Test
+    public void testRecursiveFingerprint() {
+        TreeNode treeNode = TreeNodeDraft.$.produce(root -> {
+            root.setId(1L);
+            root.setName("Home");
+            root.addIntoChildNodes(child -> {
+                child.setId(2L);
+                child.setName("Food");
+                child.applyParent(parent -> parent.setId(1L));
+            });
+        });
+        ValueSerializer<TreeNode> serializer1 = new ValueSerializer<>(
+                ImmutableType.get(TreeNode.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        ValueSerializer<TreeNode> serializer2 = new ValueSerializer<>(
+                ImmutableType.get(TreeNode.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        byte[] bytes = serializer1.serialize(treeNode);
+        Assertions.assertArrayEquals(bytes, serializer2.serialize(treeNode));
+        Assertions.assertEquals(treeNode.toString(), serializer2.deserialize(bytes).toString());
+    }
+
+    @Test
+    public void testFingerprintMismatch() {
+        ValueSerializer<Book> serializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        byte[] bytes = serializer.serialize(BOOK);
+        // The fingerprint is written after the magic and the version
+        bytes[2] ^= 1;
+        SerializationException ex = Assertions.assertThrows(
+                SerializationException.class,
+                () -> serializer.deserialize(bytes)
+        );
+        Assertions.assertTrue(ex.getMessage().contains("different entity model"));
+    }
+
+    @Test
+    public void testAssociatedIds() {
+        ValueSerializer<List<Object>> serializer = new ValueSerializer<>(
+                BookProps.AUTHORS.unwrap(),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        List<Object> ids = Arrays.asList(eveId, alexId);
+        Assertions.assertEquals(ids, serializer.deserialize(serializer.serialize(ids)));
+    }
+
+    @Test
+    public void testRollingUpgrade() {
+        ValueSerializer<Book> jsonSerializer = new ValueSerializer<>(ImmutableType.get(Book.class));
+        ValueSerializer<Book> binarySerializer = new ValueSerializer<>(
+                ImmutableType.get(Book.class),
+                null,
+                ValueSerializer.Format.BINARY
+        );
+        Assertions.assertEquals(
+                BOOK.toString(),
+                binarySerializer.deserialize(jsonSerializer.serialize(BOOK)).toString()
+        );
+        Assertions.assertEquals(
+                BOOK.toString(),
+                jsonSerializer.deserialize(binarySerializer.serialize(BOOK)).toString()
+        );
+        Assertions.assertNull(binarySerializer.deserialize(binarySerializer.serialize(null)));
+    }
+}
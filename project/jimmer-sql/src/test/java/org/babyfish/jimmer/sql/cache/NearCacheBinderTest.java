@@ -0,0 +1,160 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.NearCacheBinder;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class NearCacheBinderTest {
+
+    @Test
+    public void testHitAndMiss() {
+        List<Collection<Integer>> loadedKeys = new ArrayList<>();
+        NearCacheBinder<Integer, String> binder = binder(builder -> {}, keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            return values(keys);
+        });
+        Assertions.assertEquals("{1=V1, 2=V2}", binder.getAll(Arrays.asList(1, 2)).toString());
+        Assertions.assertEquals("{1=V1, 2=V2, 3=V3}", binder.getAll(Arrays.asList(1, 2, 3)).toString());
+        Assertions.assertEquals("[[1, 2], [3]]", loadedKeys.toString());
+        Assertions.assertEquals(2, binder.getHitCount());
+        Assertions.assertEquals(3, binder.getMissCount());
+        Assertions.assertEquals(3, binder.getLoadCount());
+    }
+
+    @Test
+    public void testNegativeResult() {
+        AtomicInteger loadCount = new AtomicInteger();
+        NearCacheBinder<Integer, String> binder = binder(builder -> {}, keys -> {
+            loadCount.incrementAndGet();
+            return Collections.emptyMap();
+        });
+        Assertions.assertEquals("{-1=null}", binder.getAll(Collections.singleton(-1)).toString());
+        Assertions.assertEquals("{-1=null}", binder.getAll(Collections.singleton(-1)).toString());
+        Assertions.assertEquals(1, loadCount.get());
+
+        NearCacheBinder<Integer, String> binder2 = binder(
+                builder -> builder.negativeDuration(Duration.ZERO),
+                keys -> {
+                    loadCount.incrementAndGet();
+                    return Collections.emptyMap();
+                }
+        );
+        binder2.getAll(Collections.singleton(-1));
+        binder2.getAll(Collections.singleton(-1));
+        Assertions.assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    public void testWeightEviction() {
+        NearCacheBinder<Integer, String> binder = binder(
+                builder -> builder.maximumWeight(16 * 10).weigher((k, v) -> 10),
+                this::values
+        );
+        for (int i = 0; i < 1000; i++) {
+            binder.getAll(Collections.singleton(i));
+        }
+        Assertions.assertTrue(binder.getWeight() <= 16 * 10);
+        Assertions.assertEquals(binder.size() * 10L, binder.getWeight());
+        Assertions.assertEquals(1000 - binder.size(), binder.getEvictionCount());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        AtomicInteger loadCount = new AtomicInteger();
+        NearCacheBinder<Integer, String> binder = binder(
+                builder -> builder.duration(Duration.ofMillis(20), 0),
+                keys -> {
+                    loadCount.incrementAndGet();
+                    return values(keys);
+                }
+        );
+        binder.getAll(Collections.singleton(1));
+        binder.getAll(Collections.singleton(1));
+        Assertions.assertEquals(1, loadCount.get());
+        Thread.sleep(50);
+        binder.getAll(Collections.singleton(1));
+        Assertions.assertEquals(2, loadCount.get());
+        Assertions.assertEquals(1, binder.getEvictionCount());
+    }
+
+    @Test
+    public void testDelete() {
+        AtomicInteger loadCount = new AtomicInteger();
+        NearCacheBinder<Integer, String> binder = binder(builder -> {}, keys -> {
+            loadCount.incrementAndGet();
+            return values(keys);
+        });
+        binder.getAll(Arrays.asList(1, 2));
+        binder.deleteAll(Collections.singleton(1), "any-reason");
+        Assertions.assertEquals(1, binder.size());
+        binder.getAll(Arrays.asList(1, 2));
+        Assertions.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        int threadCount = 8;
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadingLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        NearCacheBinder<Integer, String> binder = binder(builder -> {}, keys -> {
+            loadCount.incrementAndGet();
+            loadingLatch.countDown();
+            try {
+                Assertions.assertTrue(releaseLatch.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            return values(keys);
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Map<Integer, String>>> futures = new ArrayList<>();
+            futures.add(executorService.submit(() -> binder.getAll(Collections.singleton(1))));
+            Assertions.assertTrue(loadingLatch.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i < threadCount; i++) {
+                futures.add(executorService.submit(() -> binder.getAll(Collections.singleton(1))));
+            }
+            while (binder.getMissCount() < threadCount) {
+                Thread.sleep(1);
+            }
+            releaseLatch.countDown();
+            for (Future<Map<Integer, String>> future : futures) {
+                Assertions.assertEquals("{1=V1}", future.get(10, TimeUnit.SECONDS).toString());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(1, loadCount.get());
+        Assertions.assertEquals(1, binder.getLoadCount());
+    }
+
+    private NearCacheBinder<Integer, String> binder(
+            Consumer<NearCacheBinder.Builder<Integer, String>> block,
+            Function<Collection<Integer>, Map<Integer, String>> loader
+    ) {
+        NearCacheBinder.Builder<Integer, String> builder =
+                NearCacheBinder.forObject(ImmutableType.get(BookStore.class));
+        block.accept(builder);
+        NearCacheBinder<Integer, String> binder = builder.build();
+        binder.initialize(loader::apply);
+        return binder;
+    }
+
+    private Map<Integer, String> values(Collection<Integer> keys) {
+        Map<Integer, String> map = new LinkedHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, "V" + key);
+        }
+        return map;
+    }
+}
@@ -2,17 +2,29 @@ package org.babyfish.jimmer.sql.cache;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.EntityManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.common.CacheImpl;
 import org.babyfish.jimmer.sql.model.*;
+import org.h2.Driver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.babyfish.jimmer.sql.common.Constants.oreillyId;
 
@@ -114,4 +126,157 @@ public class ObjectCacheTest extends AbstractQueryTest {
             );
         }
     }
+
+    @Test
+    public void testWarmer() {
+        JSqlClient sqlClient = warmerSqlClient(new WarmerConnectionManager(null));
+        CacheWarmer.Progress progress = sqlClient
+                .getCaches()
+                .createWarmer(BookStore.class)
+                .setProps(BookStoreProps.BOOKS)
+                .setBatchSize(1)
+                .execute();
+        Assertions.assertEquals(2, progress.getObjectCount());
+        Assertions.assertEquals(2, progress.getBatchCount());
+        connectAndExpect(
+                con -> {
+                    return sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findById(BookStore.class, oreillyId);
+                }, ctx -> {
+                    ctx.rows(
+                            "[" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"," +
+                                    "--->--->\"name\":\"O'REILLY\"," +
+                                    "--->--->\"website\":null," +
+                                    "--->--->\"version\":0" +
+                                    "--->}" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testWarmerParallelism() {
+        CountDownLatch overlapLatch = new CountDownLatch(2);
+        WarmerConnectionManager connectionManager = new WarmerConnectionManager(
+                () -> {
+                    overlapLatch.countDown();
+                    try {
+                        overlapLatch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }
+        );
+        List<Long> batchCounts = Collections.synchronizedList(new ArrayList<>());
+        CacheWarmer.Progress progress = warmerSqlClient(connectionManager)
+                .getCaches()
+                .createWarmer(Book.class)
+                .setProps(BookProps.STORE)
+                .setBatchSize(5)
+                .setParallelism(2)
+                .setProgressListener(p -> batchCounts.add(p.getBatchCount()))
+                .execute();
+        Assertions.assertEquals(12, progress.getObjectCount());
+        Assertions.assertEquals(3, progress.getBatchCount());
+        Assertions.assertEquals(3, batchCounts.size());
+        // The first two batches are loaded concurrently,
+        // otherwise, the first one waits for the latch until timeout
+        Assertions.assertEquals(0, overlapLatch.getCount());
+        Assertions.assertEquals(2, connectionManager.maxAsyncInFlight.get());
+    }
+
+    @Test
+    public void testWarmerMaxBatchesPerSecond() {
+        List<Long> batchTimes = Collections.synchronizedList(new ArrayList<>());
+        CacheWarmer.Progress progress = warmerSqlClient(new WarmerConnectionManager(null))
+                .getCaches()
+                .createWarmer(Book.class)
+                .setProps(BookProps.STORE)
+                .setBatchSize(4)
+                .setMaxBatchesPerSecond(10)
+                .setProgressListener(p -> batchTimes.add(System.nanoTime()))
+                .execute();
+        Assertions.assertEquals(12, progress.getObjectCount());
+        Assertions.assertEquals(3, progress.getBatchCount());
+        // At most one batch per 100 milliseconds, the first one is not delayed
+        Assertions.assertTrue(
+                progress.getElapsedMillis() >= 190,
+                "Elapsed milliseconds: " + progress.getElapsedMillis()
+        );
+        for (int i = 1; i < batchTimes.size(); i++) {
+            long intervalMillis = (batchTimes.get(i) - batchTimes.get(i - 1)) / 1_000_000L;
+            Assertions.assertTrue(intervalMillis >= 90, "Interval milliseconds: " + intervalMillis);
+        }
+    }
+
+    private JSqlClient warmerSqlClient(ConnectionManager connectionManager) {
+        return getSqlClient(builder -> {
+            builder.setConnectionManager(connectionManager);
+            builder.setCaches(cfg ->
+                    cfg.setCacheFactory(
+                            new CacheFactory() {
+
+                                @Override
+                                public Cache<?, ?> createObjectCache(ImmutableType type) {
+                                    return new CacheImpl<>(type);
+                                }
+
+                                @Override
+                                public Cache<?, ?> createAssociatedIdCache(ImmutableProp prop) {
+                                    return new CacheImpl<>(prop);
+                                }
+
+                                @Override
+                                public Cache<?, List<?>> createAssociatedIdListCache(ImmutableProp prop) {
+                                    return new CacheImpl<>(prop);
+                                }
+                            }
+                    )
+            );
+        });
+    }
+
+    /**
+     * The cache warmer borrows connections by itself,
+     * so its sql client must have a connection manager.
+     */
+    private static class WarmerConnectionManager implements ConnectionManager {
+
+        private final Thread callerThread = Thread.currentThread();
+
+        private final Runnable onAsyncBorrow;
+
+        final AtomicInteger asyncInFlight = new AtomicInteger();
+
+        final AtomicInteger maxAsyncInFlight = new AtomicInteger();
+
+        WarmerConnectionManager(Runnable onAsyncBorrow) {
+            this.onAsyncBorrow = onAsyncBorrow;
+        }
+
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                if (Thread.currentThread() == callerThread) {
+                    return block.apply(con);
+                }
+                maxAsyncInFlight.accumulateAndGet(asyncInFlight.incrementAndGet(), Math::max);
+                try {
+                    if (onAsyncBorrow != null) {
+                        onAsyncBorrow.run();
+                    }
+                    return block.apply(con);
+                } finally {
+                    asyncInFlight.decrementAndGet();
+                }
+            } catch (SQLException ex) {
+                throw new ExecutionException("Cannot open connection", ex);
+            }
+        }
+    }
 }
@@ -2,10 +2,12 @@ package org.babyfish.jimmer.sql.event;
 
 import org.babyfish.jimmer.sql.common.TestUtils;
 import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.babyfish.jimmer.sql.common.Constants.*;
@@ -414,4 +416,108 @@ public class TriggersTest {
                 authorBookListEvents
         );
     }
+
+    @Test
+    public void fireBatch() {
+        List<List<AssociationEvent>> batches = new ArrayList<>();
+        triggers.addAssociationListener(AuthorProps.BOOKS, new AssociationListener() {
+            @Override
+            public void onChange(AssociationEvent e) {
+                batches.add(Collections.singletonList(e));
+            }
+            @Override
+            public void onBatch(List<AssociationEvent> events) {
+                batches.add(new ArrayList<>(events));
+            }
+        });
+        triggers.fireBatch(batch -> {
+            batch.fireMiddleTableInsert(
+                    BookProps.AUTHORS.unwrap(),
+                    graphQLInActionId3,
+                    danId,
+                    null
+            );
+            batch.fireMiddleTableDelete(
+                    BookProps.AUTHORS.unwrap(),
+                    graphQLInActionId3,
+                    sammerId,
+                    null
+            );
+        });
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(2, batches.get(0).size());
+        Assertions.assertEquals(danId, batches.get(0).get(0).getSourceId());
+        Assertions.assertEquals(sammerId, batches.get(0).get(1).getSourceId());
+        Assertions.assertEquals(2, bookAuthorListEvents.size());
+        Assertions.assertEquals(2, authorBookListEvents.size());
+    }
+
+    @Test
+    public void fireBatchWithFailedEvent() {
+        List<AssociationEvent> events = new ArrayList<>();
+        triggers.addAssociationListener(AuthorProps.BOOKS, e -> {
+            events.add(e);
+            if (e.getSourceId().equals(danId)) {
+                throw new IllegalStateException("Failed to handle the event of Dan");
+            }
+        });
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> {
+            triggers.fireBatch(batch -> {
+                batch.fireMiddleTableInsert(
+                        BookProps.AUTHORS.unwrap(),
+                        graphQLInActionId3,
+                        danId,
+                        null
+                );
+                batch.fireMiddleTableDelete(
+                        BookProps.AUTHORS.unwrap(),
+                        graphQLInActionId3,
+                        sammerId,
+                        null
+                );
+            });
+        });
+        Assertions.assertEquals("Failed to handle the event of Dan", ex.getMessage());
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(danId, events.get(0).getSourceId());
+        Assertions.assertEquals(sammerId, events.get(1).getSourceId());
+        Assertions.assertEquals(2, authorBookListEvents.size());
+    }
+
+    @Test
+    public void fireBatchWithListenerRegisteredTwice() {
+        List<List<AssociationEvent>> batches = new ArrayList<>();
+        AssociationListener listener = new AssociationListener() {
+            @Override
+            public void onChange(AssociationEvent e) {
+                batches.add(Collections.singletonList(e));
+            }
+            @Override
+            public void onBatch(List<AssociationEvent> events) {
+                batches.add(new ArrayList<>(events));
+            }
+        };
+        triggers.addAssociationListener(listener);
+        triggers.addAssociationListener(AuthorProps.BOOKS, listener);
+        triggers.fireBatch(batch -> {
+            batch.fireMiddleTableInsert(
+                    BookProps.AUTHORS.unwrap(),
+                    graphQLInActionId3,
+                    danId,
+                    null
+            );
+            batch.fireMiddleTableDelete(
+                    BookProps.AUTHORS.unwrap(),
+                    graphQLInActionId3,
+                    sammerId,
+                    null
+            );
+        });
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(4, batches.get(0).size());
+        Assertions.assertEquals(graphQLInActionId3, batches.get(0).get(0).getSourceId());
+        Assertions.assertEquals(danId, batches.get(0).get(1).getSourceId());
+        Assertions.assertEquals(graphQLInActionId3, batches.get(0).get(2).getSourceId());
+        Assertions.assertEquals(sammerId, batches.get(0).get(3).getSourceId());
+    }
 }
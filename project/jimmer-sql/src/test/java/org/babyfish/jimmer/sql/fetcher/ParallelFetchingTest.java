@@ -0,0 +1,174 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.h2.Driver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ParallelFetchingTest extends AbstractQueryTest {
+
+    private ExecutorService executorService;
+
+    private CountDownLatch overlapLatch;
+
+    private Set<Boolean> overlapResults;
+
+    private AtomicInteger loadCount;
+
+    private AtomicInteger borrowCount;
+
+    @BeforeEach
+    public void createExecutorService() {
+        executorService = Executors.newFixedThreadPool(2);
+        overlapLatch = new CountDownLatch(2);
+        overlapResults = ConcurrentHashMap.newKeySet();
+        loadCount = new AtomicInteger();
+        borrowCount = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void shutdownExecutorService() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testSiblingAssociations() {
+        Fetcher<Book> fetcher = BookFetcher.$
+                .name()
+                .edition()
+                .store(BookStoreFetcher.$.name())
+                .authors(
+                        AuthorFetcher.$
+                                .firstName()
+                                .lastName()
+                                .books(
+                                        BookFetcher.$.name(),
+                                        it -> it.filter(args -> {
+                                            args.orderBy(args.getTable().id());
+                                        })
+                                ),
+                        it -> it.filter(args -> {
+                            args.orderBy(args.getTable().id());
+                        })
+                );
+        List<Book> expectedBooks = jdbcQuery(con -> queryBooks(getSqlClient(), fetcher, con));
+        List<Book> books = queryBooks(getParallelSqlClient(), fetcher, null);
+        Assertions.assertEquals(12, books.size());
+        Assertions.assertEquals(expectedBooks.toString(), books.toString());
+        assertOverlapped();
+    }
+
+    @Test
+    public void testExplicitConnection() {
+        Fetcher<Book> fetcher = BookFetcher.$
+                .name()
+                .edition()
+                .store(BookStoreFetcher.$.name())
+                .authors(AuthorFetcher.$.firstName().lastName());
+        JSqlClient sqlClient = getParallelSqlClient();
+        List<Book> expectedBooks = jdbcQuery(con -> queryBooks(getSqlClient(), fetcher, con));
+        List<Book> books = jdbcQuery(con -> queryBooks(sqlClient, fetcher, con));
+        Assertions.assertEquals(expectedBooks.toString(), books.toString());
+        Assertions.assertEquals(0, loadCount.get());
+        Assertions.assertEquals(0, borrowCount.get());
+    }
+
+    @Test
+    public void testRecursiveAssociation() {
+        Fetcher<TreeNode> fetcher = TreeNodeFetcher.$
+                .name()
+                .parent(TreeNodeFetcher.$.name())
+                .childNodes(
+                        TreeNodeFetcher.$.name(),
+                        it -> it.recursive().filter(args -> {
+                            args.orderBy(args.getTable().id());
+                        })
+                );
+        List<TreeNode> expectedNodes = jdbcQuery(con -> queryRootNodes(getSqlClient(), fetcher, con));
+        List<TreeNode> nodes = queryRootNodes(getParallelSqlClient(), fetcher, null);
+        Assertions.assertEquals(expectedNodes.toString(), nodes.toString());
+        assertOverlapped();
+    }
+
+    /**
+     * Each parallel load waits until another load is started,
+     * so the first two loads can only be finished if they overlap.
+     */
+    private void assertOverlapped() {
+        Assertions.assertTrue(loadCount.get() >= 2);
+        Assertions.assertEquals(Collections.singleton(true), overlapResults);
+    }
+
+    private JSqlClient getParallelSqlClient() {
+        return getSqlClient(builder -> {
+            builder
+                    .setExecutor(null)
+                    .setConnectionManager(new ConnectionManager() {
+                        @Override
+                        public <R> R execute(Function<Connection, R> block) {
+                            borrowCount.incrementAndGet();
+                            try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                                return block.apply(con);
+                            } catch (SQLException ex) {
+                                throw new ExecutionException("Cannot open connection", ex);
+                            }
+                        }
+                    })
+                    .setParallelFetchingExecutor(command -> {
+                        loadCount.incrementAndGet();
+                        executorService.execute(() -> {
+                            overlapLatch.countDown();
+                            try {
+                                overlapResults.add(overlapLatch.await(5, TimeUnit.SECONDS));
+                            } catch (InterruptedException ex) {
+                                overlapResults.add(false);
+                            }
+                            command.run();
+                        });
+                    });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R jdbcQuery(Function<Connection, R> block) {
+        Object[] box = new Object[1];
+        jdbc(con -> {
+            box[0] = block.apply(con);
+        });
+        return (R) box[0];
+    }
+
+    private static List<Book> queryBooks(JSqlClient sqlClient, Fetcher<Book> fetcher, Connection con) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name())
+                .orderBy(table.edition())
+                .select(table.fetch(fetcher))
+                .execute(con);
+    }
+
+    private static List<TreeNode> queryRootNodes(JSqlClient sqlClient, Fetcher<TreeNode> fetcher, Connection con) {
+        TreeNodeTable table = TreeNodeTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.parent().isNull())
+                .select(table.fetch(fetcher))
+                .execute(con);
+    }
+}
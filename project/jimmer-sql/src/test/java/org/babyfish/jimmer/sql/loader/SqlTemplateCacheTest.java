@@ -0,0 +1,101 @@
+package org.babyfish.jimmer.sql.loader;
+
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.sql.ast.LikeMode;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.impl.DataLoader;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookStoreFetcher;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class SqlTemplateCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void reuseTemplate() {
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) getSqlClient();
+        SqlTemplateCache templateCache = sqlClient.getSqlTemplateCache();
+        Fetcher<Book> fetcher = BookFetcher.$.store();
+        List<ImmutableSpi> books1 = idOnlyBooks(learningGraphQLId1, graphQLInActionId1);
+        List<ImmutableSpi> books2 = idOnlyBooks(learningGraphQLId2, graphQLInActionId2);
+        Map<?, ?>[] maps = new Map<?, ?>[2];
+        jdbc(con -> {
+            maps[0] = new DataLoader(sqlClient, con, fetcher.getFieldMap().get("store")).load(books1);
+            maps[1] = new DataLoader(sqlClient, con, fetcher.getFieldMap().get("store")).load(books2);
+        });
+        Assertions.assertEquals(1, templateCache.getMissCount());
+        Assertions.assertEquals(1, templateCache.getHitCount());
+        Assertions.assertEquals(1, templateCache.size());
+        Assertions.assertEquals(2, getExecutions().size());
+        Assertions.assertEquals(
+                "select tb_1_.ID, tb_1_.STORE_ID " +
+                        "from BOOK tb_1_ " +
+                        "where tb_1_.ID in (?, ?) " +
+                        "and tb_1_.STORE_ID is not null",
+                getExecutions().get(1).getSql()
+        );
+        Assertions.assertEquals(
+                getExecutions().get(0).getSql(),
+                getExecutions().get(1).getSql()
+        );
+        Assertions.assertEquals(
+                Arrays.asList(learningGraphQLId2, graphQLInActionId2),
+                getExecutions().get(1).getVariables()
+        );
+        expect(
+                "{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"}",
+                maps[1].get(books2.get(0))
+        );
+        expect(
+                "{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\"}",
+                maps[1].get(books2.get(1))
+        );
+    }
+
+    @Test
+    public void ignoreTemplateForFilter() {
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) getSqlClient();
+        SqlTemplateCache templateCache = sqlClient.getSqlTemplateCache();
+        Fetcher<Book> fetcher = BookFetcher.$.store(
+                BookStoreFetcher.$,
+                it -> it.filter(
+                        args -> args
+                                .where(args.getTable().name().like("M", LikeMode.START))
+                )
+        );
+        jdbc(con -> {
+            for (int i = 0; i < 2; i++) {
+                new DataLoader(sqlClient, con, fetcher.getFieldMap().get("store"))
+                        .load(Entities.BOOKS_FOR_MANY_TO_ONE);
+            }
+        });
+        Assertions.assertEquals(0, templateCache.getMissCount());
+        Assertions.assertEquals(0, templateCache.getHitCount());
+        Assertions.assertEquals(0, templateCache.size());
+    }
+
+    @Test
+    public void disableTemplateCache() {
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) getSqlClient(builder -> {
+            builder.setSqlTemplateCacheCapacity(0);
+        });
+        Assertions.assertNull(sqlClient.getSqlTemplateCache());
+    }
+
+    private static List<ImmutableSpi> idOnlyBooks(UUID ... ids) {
+        List<ImmutableSpi> books = new ArrayList<>();
+        for (UUID id : ids) {
+            books.add((ImmutableSpi) BookDraft.$.produce(book -> book.setId(id)));
+        }
+        return books;
+    }
+}
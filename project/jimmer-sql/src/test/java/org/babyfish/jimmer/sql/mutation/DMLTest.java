@@ -8,6 +8,7 @@ import static org.babyfish.jimmer.sql.common.Constants.*;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.model.link.LearningLinkTableEx;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.junit.jupiter.api.Test;
 
@@ -49,6 +50,34 @@ public class DMLTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testUpdateJoinBySubQuery() {
+        executeAndExpectRowCount(
+                getLambdaClient().createUpdate(AuthorTableEx.class, (u, author) -> {
+                    u.set(author.firstName(), author.firstName().concat("*"));
+                    u.where(author.books().store().name().eq("MANNING"));
+                }),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update AUTHOR tb_1_ " +
+                                        "set FIRST_NAME = concat(tb_1_.FIRST_NAME, ?) " +
+                                        "where tb_1_.ID in (" +
+                                        "--->select tb_1_.ID " +
+                                        "--->from AUTHOR tb_1_ " +
+                                        "--->inner join BOOK_AUTHOR_MAPPING tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                                        "--->inner join BOOK tb_3_ on tb_2_.BOOK_ID = tb_3_.ID " +
+                                        "--->inner join BOOK_STORE tb_4_ on tb_3_.STORE_ID = tb_4_.ID " +
+                                        "--->where tb_4_.NAME = ?" +
+                                        ")"
+                        );
+                        it.variables("*", "MANNING");
+                    });
+                    ctx.rowCount(1);
+                }
+        );
+    }
+
     @Test
     public void testUpdateJoinByMySql() {
 
@@ -189,6 +218,30 @@ public class DMLTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testDeleteWithJoinBySetBased() {
+        executeAndExpectRowCount(
+                getLambdaClient().createDelete(LearningLinkTableEx.class, (d, link) -> {
+                    d.where(link.course().name().eq("SQL"));
+                }),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "delete from LEARNING_LINK " +
+                                        "where ID in (" +
+                                        "--->select tb_1_.ID " +
+                                        "--->from LEARNING_LINK tb_1_ " +
+                                        "--->inner join COURSE tb_2_ on tb_1_.COURSE_ID = tb_2_.ID " +
+                                        "--->where tb_2_.NAME = ?" +
+                                        ")"
+                        );
+                        it.variables("SQL");
+                    });
+                    ctx.rowCount(2);
+                }
+        );
+    }
+
     @Test
     public void deleteMySql() {
 
@@ -7,6 +7,8 @@ import org.babyfish.jimmer.sql.common.NativeDatabases;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.model.link.CourseTable;
+import org.babyfish.jimmer.sql.model.link.StudentTable;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -228,6 +230,31 @@ public class FluentDMLTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testInsertSelect() {
+        StudentTable student = StudentTable.$;
+        CourseTable course = CourseTable.$;
+        executeAndExpectRowCount(
+                getSqlClient()
+                        .createInsertSelect(student, course)
+                        .set(student.id(), course.id().plus(100L))
+                        .set(student.name(), course.name())
+                        .where(course.academicCredit().eq(2)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into STUDENT(ID, NAME) " +
+                                        "select tb_1_.ID + ?, tb_1_.NAME " +
+                                        "from COURSE tb_1_ " +
+                                        "where tb_1_.ACADEMIC_CREDIT = ?"
+                        );
+                        it.variables(100L, 2);
+                    });
+                    ctx.rowCount(3);
+                }
+        );
+    }
+
     @Test
     public void updateSqlFormulaFailed() {
         AuthorTable table = AuthorTable.$;
@@ -0,0 +1,318 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.dialect.*;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.babyfish.jimmer.sql.model.hr.Department;
+import org.babyfish.jimmer.sql.model.hr.DepartmentDraft;
+import org.babyfish.jimmer.sql.model.hr.DepartmentProps;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class NativeUpsertTest extends AbstractMutationTest {
+
+    @Test
+    public void testUpsertByKey() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        setAutoIds(Book.class, newId);
+        executeAndExpectResult(
+                h2Client().getEntities().saveCommand(
+                        BookDraft.$.produce(book -> {
+                            book.setName("GraphQL in Action");
+                            book.setEdition(3);
+                            book.setPrice(new BigDecimal(80));
+                        })
+                ).setMode(SaveMode.NATIVE_UPSERT),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "merge into BOOK tb_1_ " +
+                                        "using (values(?, ?, ?, ?)) tb_2_(ID, NAME, EDITION, PRICE) " +
+                                        "on tb_1_.NAME = tb_2_.NAME and tb_1_.EDITION = tb_2_.EDITION " +
+                                        "when matched then update set PRICE = tb_2_.PRICE " +
+                                        "when not matched then insert(ID, NAME, EDITION, PRICE) " +
+                                        "values(tb_2_.ID, tb_2_.NAME, tb_2_.EDITION, tb_2_.PRICE)"
+                        );
+                        it.variables(newId, "GraphQL in Action", 3, new BigDecimal(80));
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"GraphQL in Action\",\"edition\":3,\"price\":80}");
+                        it.modified("{\"name\":\"GraphQL in Action\",\"edition\":3,\"price\":80}");
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testUpsertById() {
+        executeAndExpectResult(
+                h2Client().getEntities().saveCommand(
+                        BookDraft.$.produce(book -> {
+                            book.setId(graphQLInActionId3);
+                            book.setName("GraphQL in Action");
+                            book.setEdition(3);
+                            book.setPrice(new BigDecimal(80));
+                        })
+                ).setMode(SaveMode.NATIVE_UPSERT),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "merge into BOOK tb_1_ " +
+                                        "using (values(?, ?, ?, ?)) tb_2_(ID, NAME, EDITION, PRICE) " +
+                                        "on tb_1_.ID = tb_2_.ID " +
+                                        "when matched then update set " +
+                                        "NAME = tb_2_.NAME, EDITION = tb_2_.EDITION, PRICE = tb_2_.PRICE " +
+                                        "when not matched then insert(ID, NAME, EDITION, PRICE) " +
+                                        "values(tb_2_.ID, tb_2_.NAME, tb_2_.EDITION, tb_2_.PRICE)"
+                        );
+                        it.variables(graphQLInActionId3, "GraphQL in Action", 3, new BigDecimal(80));
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "\"id\":\"780bdf07-05af-48bf-9be9-f8c65236fecc\"," +
+                                        "\"name\":\"GraphQL in Action\"," +
+                                        "\"edition\":3," +
+                                        "\"price\":80" +
+                                        "}"
+                        );
+                    });
+                    ctx.totalRowCount(1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testPostgresUpsertReturningId() {
+        RecordingExecutor executor = new RecordingExecutor(1, 100L);
+        SimpleSaveResult<Department> result = getSqlClient(it -> {
+            it.setDialect(new PostgresDialect());
+            it.setExecutor(executor);
+        })
+                .getEntities()
+                .forConnection(fakeConnection(executor))
+                .saveCommand(DepartmentDraft.$.produce(department -> department.setName("Develop")))
+                .setMode(SaveMode.NATIVE_UPSERT)
+                .setKeyProps(DepartmentProps.NAME)
+                .execute();
+        Assertions.assertEquals(
+                "insert into DEPARTMENT(NAME) values(?) " +
+                        "on conflict(NAME) do update set NAME = excluded.NAME",
+                executor.sql
+        );
+        Assertions.assertEquals(Arrays.asList("Develop"), executor.variables);
+        Assertions.assertEquals(Arrays.asList("ID"), executor.generatedColumnNames);
+        Assertions.assertEquals(100L, result.getModifiedEntity().id());
+        Assertions.assertEquals(1, result.getTotalAffectedRowCount());
+    }
+
+    @Test
+    public void testMySqlUpsertOfUpdatedRow() {
+        RecordingExecutor executor = new RecordingExecutor(2, null);
+        SimpleSaveResult<Book> result = getSqlClient(it -> {
+            it.setDialect(new MySqlDialect());
+            it.setExecutor(executor);
+        })
+                .getEntities()
+                .forConnection(fakeConnection(executor))
+                .saveCommand(graphQLInAction3())
+                .setMode(SaveMode.NATIVE_UPSERT)
+                .execute();
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                        "on duplicate key update " +
+                        "NAME = values(NAME), EDITION = values(EDITION), PRICE = values(PRICE)",
+                executor.sql
+        );
+        Assertions.assertEquals(
+                Arrays.asList(graphQLInActionId3, "GraphQL in Action", 3, new BigDecimal(80)),
+                executor.variables
+        );
+        Assertions.assertNull(executor.generatedColumnNames);
+        // MySQL reports 2 for the updated row
+        Assertions.assertEquals(1, result.getTotalAffectedRowCount());
+    }
+
+    @Test
+    public void testMySql8UpsertOfUpdatedRow() {
+        RecordingExecutor executor = new RecordingExecutor(2, null);
+        SimpleSaveResult<Book> result = getSqlClient(it -> {
+            it.setDialect(new MySql8Dialect());
+            it.setExecutor(executor);
+        })
+                .getEntities()
+                .forConnection(fakeConnection(executor))
+                .saveCommand(graphQLInAction3())
+                .setMode(SaveMode.NATIVE_UPSERT)
+                .execute();
+        Assertions.assertEquals(
+                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) as new " +
+                        "on duplicate key update " +
+                        "NAME = new.NAME, EDITION = new.EDITION, PRICE = new.PRICE",
+                executor.sql
+        );
+        Assertions.assertEquals(
+                Arrays.asList(graphQLInActionId3, "GraphQL in Action", 3, new BigDecimal(80)),
+                executor.variables
+        );
+        Assertions.assertEquals(1, result.getTotalAffectedRowCount());
+    }
+
+    @Test
+    public void testOracleMergeWithoutRowCount() {
+        RecordingExecutor executor = new RecordingExecutor(Statement.SUCCESS_NO_INFO, null);
+        SimpleSaveResult<Book> result = getSqlClient(it -> {
+            it.setDialect(new OracleDialect());
+            it.setExecutor(executor);
+        })
+                .getEntities()
+                .forConnection(fakeConnection(executor))
+                .saveCommand(graphQLInAction3())
+                .setMode(SaveMode.NATIVE_UPSERT)
+                .execute();
+        Assertions.assertEquals(
+                "merge into BOOK tb_1_ " +
+                        "using (select ? ID, ? NAME, ? EDITION, ? PRICE from dual) tb_2_ " +
+                        "on (tb_1_.ID = tb_2_.ID) " +
+                        "when matched then update set " +
+                        "NAME = tb_2_.NAME, EDITION = tb_2_.EDITION, PRICE = tb_2_.PRICE " +
+                        "when not matched then insert(ID, NAME, EDITION, PRICE) " +
+                        "values(tb_2_.ID, tb_2_.NAME, tb_2_.EDITION, tb_2_.PRICE)",
+                executor.sql
+        );
+        Assertions.assertEquals(
+                Arrays.asList(graphQLInActionId3, "GraphQL in Action", 3, new BigDecimal(80)),
+                executor.variables
+        );
+        Assertions.assertEquals(1, result.getTotalAffectedRowCount());
+    }
+
+    private JSqlClient h2Client() {
+        return getSqlClient(it -> it.setDialect(new H2Dialect()));
+    }
+
+    private static Book graphQLInAction3() {
+        return BookDraft.$.produce(book -> {
+            book.setId(graphQLInActionId3);
+            book.setName("GraphQL in Action");
+            book.setEdition(3);
+            book.setPrice(new BigDecimal(80));
+        });
+    }
+
+    /**
+     * The SQL of other databases cannot be executed by H2,
+     * so the connection and statements are faked, only the rendered
+     * SQL and the statement options are recorded.
+     */
+    private static Connection fakeConnection(RecordingExecutor executor) {
+        PreparedStatement stmt = fake(PreparedStatement.class, (name, args) -> {
+            switch (name) {
+                case "executeUpdate":
+                    return executor.rowCount;
+                case "getGeneratedKeys":
+                    boolean[] read = new boolean[1];
+                    return fake(ResultSet.class, (rsName, rsArgs) -> {
+                        switch (rsName) {
+                            case "next":
+                                boolean hasNext = !read[0] && executor.generatedId != null;
+                                read[0] = true;
+                                return hasNext;
+                            case "getObject":
+                                return executor.generatedId;
+                            default:
+                                return null;
+                        }
+                    });
+                default:
+                    return null;
+            }
+        });
+        return fake(Connection.class, (name, args) -> {
+            if (name.equals("prepareStatement")) {
+                if (args.length == 2 && args[1] instanceof String[]) {
+                    executor.generatedColumnNames = Arrays.asList((String[]) args[1]);
+                }
+                return stmt;
+            }
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, FakeMethod method) {
+        return (T) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class[] { type },
+                (proxy, m, args) -> {
+                    Object result = method.invoke(m.getName(), args != null ? args : new Object[0]);
+                    if (result == null && m.getReturnType().isPrimitive()) {
+                        if (m.getReturnType() == boolean.class) {
+                            return false;
+                        }
+                        if (m.getReturnType() == void.class) {
+                            return null;
+                        }
+                        return 0;
+                    }
+                    return result;
+                }
+        );
+    }
+
+    @FunctionalInterface
+    private interface FakeMethod {
+        Object invoke(String name, Object[] args);
+    }
+
+    private static class RecordingExecutor implements Executor {
+
+        final int rowCount;
+
+        final Object generatedId;
+
+        String sql;
+
+        List<Object> variables;
+
+        List<String> generatedColumnNames;
+
+        RecordingExecutor(int rowCount, Object generatedId) {
+            this.rowCount = rowCount;
+            this.generatedId = generatedId;
+        }
+
+        @Override
+        public <R> R execute(@NotNull Args<R> args) {
+            sql = args.sql;
+            variables = args.variables;
+            try {
+                PreparedStatement stmt = args.statementFactory != null ?
+                        args.statementFactory.preparedStatement(args.con, args.sql) :
+                        args.con.prepareStatement(args.sql);
+                return args.block.apply(stmt);
+            } catch (SQLException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+    }
+}
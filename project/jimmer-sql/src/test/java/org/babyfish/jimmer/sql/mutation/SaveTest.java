@@ -8,6 +8,7 @@ import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.model.hr.DepartmentDraft;
 import org.babyfish.jimmer.sql.model.inheritance.Administrator;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadata;
 import org.babyfish.jimmer.sql.model.inheritance.AdministratorMetadataDraft;
@@ -870,6 +871,288 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testBatchSaveByJdbcBatch() {
+        setAutoIds(TreeNode.class, 100L, 101L, 102L);
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-1").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-2").setParent((TreeNode) null);
+                                        }),
+                                        TreeNodeDraft.$.produce(node -> {
+                                            node.setName("batch-node-3").setParent((TreeNode) null);
+                                        })
+                                )
+                        )
+                        .setBatchSize(10),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID is null");
+                        it.variables("batch-node-1");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID is null");
+                        it.variables("batch-node-2");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID is null");
+                        it.variables("batch-node-3");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) " +
+                                        "values(?, ?, ?), (?, ?, ?), (?, ?, ?)"
+                        );
+                        it.variables(
+                                100L, "batch-node-1", new DbNull(long.class),
+                                101L, "batch-node-2", new DbNull(long.class),
+                                102L, "batch-node-3", new DbNull(long.class)
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"batch-node-1\",\"parent\":null}");
+                        it.modified(
+                                "{\"id\":100,\"name\":\"batch-node-1\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":101,\"name\":\"batch-node-2\",\"parent\":null}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":102,\"name\":\"batch-node-3\",\"parent\":null}"
+                        );
+                    });
+                    ctx.totalRowCount(3);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchSaveByJdbcBatchWithGeneratedKeys() {
+        executeAndExpectResult(
+                getSqlClient(it -> {})
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        DepartmentDraft.$.produce(department -> {
+                                            department.setName("Develop");
+                                        }),
+                                        DepartmentDraft.$.produce(department -> {
+                                            department.setName("Test");
+                                        })
+                                )
+                        )
+                        .setBatchSize(10),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into DEPARTMENT(NAME) values(?)");
+                        it.variables("Develop");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"Develop\"}");
+                        it.modified("{\"id\":100,\"name\":\"Develop\"}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"Test\"}");
+                        it.modified("{\"id\":101,\"name\":\"Test\"}");
+                    });
+                    ctx.totalRowCount(2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpdateByJdbcBatch() {
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setName("MANNING").setWebsite("https://www.manning.com").setVersion(0);
+                                        }),
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setName("O'REILLY").setWebsite("https://www.oreilly.com").setVersion(0);
+                                        })
+                                )
+                        )
+                        .setBatchSize(10),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ " +
+                                        "where tb_1_.NAME in (?, ?)"
+                        );
+                        it.variables("MANNING", "O'REILLY");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE " +
+                                        "set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("https://www.manning.com", manningId, 0);
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"" + manningId + "\"," +
+                                        "\"name\":\"MANNING\"," +
+                                        "\"website\":\"https://www.manning.com\"," +
+                                        "\"version\":1}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"" + oreillyId + "\"," +
+                                        "\"name\":\"O'REILLY\"," +
+                                        "\"website\":\"https://www.oreilly.com\"," +
+                                        "\"version\":1}"
+                        );
+                    });
+                    ctx.totalRowCount(2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpdateByJdbcBatchWithIllegalVersion() {
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setName("MANNING").setWebsite("https://www.manning.com").setVersion(0);
+                                        }),
+                                        BookStoreDraft.$.produce(store -> {
+                                            store.setName("O'REILLY").setWebsite("https://www.oreilly.com").setVersion(1);
+                                        })
+                                )
+                        )
+                        .setBatchSize(10),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ " +
+                                        "where tb_1_.NAME in (?, ?)"
+                        );
+                        it.variables("MANNING", "O'REILLY");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE " +
+                                        "set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("https://www.manning.com", manningId, 0);
+                    });
+                    ctx.throwable(it -> {
+                        it.message(
+                                "Save error caused by the path: \"<root>\": " +
+                                        "Cannot update the entity whose type is " +
+                                        "\"org.babyfish.jimmer.sql.model.BookStore\", " +
+                                        "id is \"d38c10da-6be8-4924-b9b9-5e81899612a0\" and version is \"1\""
+                        );
+                        it.type(SaveException.class);
+                        it.detail(ex -> {
+                            Assertions.assertEquals(
+                                    SaveErrorCode.ILLEGAL_VERSION,
+                                    ((SaveException)ex).getCode()
+                            );
+                        });
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testBatchSaveByPreloadedKeys() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        setAutoIds(Book.class, newId);
+        executeAndExpectResult(
+                getSqlClient()
+                        .getEntities()
+                        .batchSaveCommand(
+                                Arrays.asList(
+                                        BookDraft.$.produce(book -> {
+                                            book.setName("Learning GraphQL").setEdition(3).setPrice(new BigDecimal(50));
+                                        }),
+                                        BookDraft.$.produce(book -> {
+                                            book.setName("GraphQL in Action").setEdition(3).setPrice(new BigDecimal(81));
+                                        }),
+                                        BookDraft.$.produce(book -> {
+                                            book.setName("Kotlin in Action").setEdition(1).setPrice(new BigDecimal(30));
+                                        })
+                                )
+                        ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                        "from BOOK tb_1_ " +
+                                        "where (tb_1_.NAME, tb_1_.EDITION) in ((?, ?), (?, ?), (?, ?))"
+                        );
+                        it.variables(
+                                "Learning GraphQL", 3,
+                                "GraphQL in Action", 3,
+                                "Kotlin in Action", 1
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.variables(new BigDecimal(50), learningGraphQLId3);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.variables(new BigDecimal(81), graphQLInActionId3);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?)");
+                        it.variables(newId, "Kotlin in Action", 1, new BigDecimal(30));
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                        "\"name\":\"Learning GraphQL\",\"edition\":3,\"price\":50}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"780bdf07-05af-48bf-9be9-f8c65236fecc\"," +
+                                        "\"name\":\"GraphQL in Action\",\"edition\":3,\"price\":81}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\"," +
+                                        "\"name\":\"Kotlin in Action\",\"edition\":1,\"price\":30}"
+                        );
+                    });
+                    ctx.totalRowCount(3);
+                }
+        );
+    }
+
     @Test
     public void testSaveNullParent() {
         SaveException ex = Assertions.assertThrows(SaveException.class, () -> {
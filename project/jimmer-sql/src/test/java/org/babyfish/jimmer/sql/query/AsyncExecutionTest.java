@@ -0,0 +1,178 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.*;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class AsyncExecutionTest extends AbstractQueryTest {
+
+    private static final int CONCURRENCY = 8;
+
+    @Test
+    public void testQuery() throws Exception {
+        JSqlClient sqlClient = getAsyncSqlClient(null);
+        BookTable table = BookTable.$;
+        List<Book> expectedBooks = sqlClient
+                .createQuery(table)
+                .orderBy(table.name(), table.edition())
+                .select(table)
+                .execute();
+        List<Book> books = sqlClient
+                .createQuery(table)
+                .orderBy(table.name(), table.edition())
+                .select(table)
+                .executeAsync()
+                .get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(12, books.size());
+        Assertions.assertEquals(expectedBooks.toString(), books.toString());
+    }
+
+    @Test
+    public void testConcurrentQueries() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(CONCURRENCY);
+        JSqlClient sqlClient = getAsyncSqlClient(barrier);
+        BookStoreTable table = BookStoreTable.$;
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(
+                    sqlClient
+                            .createQuery(table)
+                            .orderBy(table.name())
+                            .select(table.name())
+                            .executeAsync()
+            );
+        }
+        // Each execution waits for all the others while holding its connection,
+        // so this only completes if all of them are running at the same time.
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<List<String>> future : futures) {
+            Assertions.assertEquals("[MANNING, O'REILLY]", future.get().toString());
+        }
+    }
+
+    @Test
+    public void testConcurrencyBeyondPlatformPoolSize() throws Exception {
+        Assumptions.assumeTrue(
+                DefaultAsyncExecutor.isVirtualThreadUsed(),
+                "The default async executor uses virtual threads for JDK21+"
+        );
+        int concurrency = DefaultAsyncExecutor.PLATFORM_POOL_SIZE + 1;
+        CyclicBarrier barrier = new CyclicBarrier(concurrency);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        JSqlClient sqlClient = getSqlClient(builder -> {
+            builder
+                    .setExecutor(null)
+                    .setConnectionManager(
+                            new BarrierConnectionManager(barrier) {
+                                @Override
+                                public <R> R execute(Function<Connection, R> block) {
+                                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                                    try {
+                                        return super.execute(block);
+                                    } finally {
+                                        inFlight.decrementAndGet();
+                                    }
+                                }
+                            }
+                    );
+        });
+        BookStoreTable table = BookStoreTable.$;
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(
+                    sqlClient
+                            .createQuery(table)
+                            .orderBy(table.name())
+                            .select(table.name())
+                            .executeAsync()
+            );
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(maxInFlight.get() > DefaultAsyncExecutor.PLATFORM_POOL_SIZE);
+    }
+
+    @Test
+    public void testExplicitConnection() {
+        JSqlClient sqlClient = getAsyncSqlClient(null);
+        jdbc(con -> {
+            IllegalStateException ex = Assertions.assertThrows(
+                    IllegalStateException.class,
+                    () -> sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .deleteCommand(BookStore.class, manningId)
+                            .executeAsync()
+            );
+            Assertions.assertTrue(ex.getMessage().contains("connection specified by user"));
+        });
+    }
+
+    @Test
+    public void testReadYourWritesScope() {
+        JSqlClient sqlClient = getAsyncSqlClient(null);
+        BookStoreTable table = BookStoreTable.$;
+        boolean written = ReadYourWritesScope.execute(() -> {
+            sqlClient
+                    .createUpdate(table)
+                    .set(table.website(), "https://www.manning.com")
+                    .where(table.name().eq("NON_EXISTING_STORE"))
+                    .executeAsync()
+                    .join();
+            return ReadYourWritesScope.isWritten();
+        });
+        Assertions.assertTrue(written);
+        Assertions.assertFalse(ReadYourWritesScope.isWritten());
+    }
+
+    private JSqlClient getAsyncSqlClient(CyclicBarrier barrier) {
+        return getSqlClient(builder -> {
+            builder
+                    .setExecutor(null)
+                    .setAsyncExecutor(AsyncExecutor.of(command -> new Thread(command).start()))
+                    .setConnectionManager(new BarrierConnectionManager(barrier));
+        });
+    }
+
+    private static class BarrierConnectionManager implements ConnectionManager {
+
+        private final CyclicBarrier barrier;
+
+        BarrierConnectionManager(CyclicBarrier barrier) {
+            this.barrier = barrier;
+        }
+
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                if (barrier != null) {
+                    barrier.await(10, TimeUnit.SECONDS);
+                }
+                return block.apply(con);
+            } catch (SQLException ex) {
+                throw new ExecutionException("Cannot open connection", ex);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BytecodeReaderTest extends AbstractQueryTest {
+
+    private final JSqlClient sqlClient = getSqlClient(it -> it.setBytecodeReaderEnabled(true));
+
+    @Test
+    public void testTable() {
+        Assertions.assertTrue(
+                ((JSqlClientImplementor) sqlClient)
+                        .getReader(ImmutableType.get(BookStore.class))
+                        .getClass()
+                        .getName()
+                        .startsWith(BookStoreDraft.class.getName() + "{BytecodeReader")
+        );
+        BookStoreTable table = BookStoreTable.$;
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .orderBy(table.name().desc())
+                        .select(table),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "order by tb_1_.NAME desc"
+                    );
+                    ctx.rows(
+                            "[" +
+                                    "{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\",\"website\":null,\"version\":0}," +
+                                    "{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\",\"website\":null,\"version\":0}" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testFetcher() {
+        BookTable table = BookTable.$;
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().eq("Learning GraphQL"))
+                        .orderBy(table.edition().asc())
+                        .select(
+                                table.fetch(
+                                        BookFetcher.$
+                                                .name()
+                                                .edition()
+                                                .store()
+                                )
+                        ),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME = ? " +
+                                    "order by tb_1_.EDITION asc"
+                    );
+                    ctx.rows(
+                            "[" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\"," +
+                                    "--->--->\"name\":\"Learning GraphQL\"," +
+                                    "--->--->\"edition\":1," +
+                                    "--->--->\"store\":{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"}" +
+                                    "--->},{" +
+                                    "--->--->\"id\":\"b649b11b-1161-4ad2-b261-af0112fdd7c8\"," +
+                                    "--->--->\"name\":\"Learning GraphQL\"," +
+                                    "--->--->\"edition\":2," +
+                                    "--->--->\"store\":{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"}" +
+                                    "--->},{" +
+                                    "--->--->\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                    "--->--->\"name\":\"Learning GraphQL\"," +
+                                    "--->--->\"edition\":3," +
+                                    "--->--->\"store\":{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\"}" +
+                                    "--->}" +
+                                    "]"
+                    );
+                }
+        );
+    }
+}
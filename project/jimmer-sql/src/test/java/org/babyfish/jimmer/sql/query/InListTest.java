@@ -0,0 +1,191 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.dialect.OracleDialect;
+import org.babyfish.jimmer.sql.model.AuthorTable;
+import org.babyfish.jimmer.sql.runtime.DbArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class InListTest extends AbstractQueryTest {
+
+    @Test
+    public void testPadding() {
+        AuthorTable author = AuthorTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> cfg.setInListPaddingEnabled(true))
+                        .createQuery(author)
+                        .where(author.firstName().in(Arrays.asList("Alex", "Dan", "Boris")))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where tb_1_.FIRST_NAME in (?, ?, ?, ?) " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables("Alex", "Dan", "Boris", "Boris");
+                    ctx.rows("[\"Alex\",\"Boris\",\"Dan\"]");
+                }
+        );
+    }
+
+    @Test
+    public void testAnyEquality() {
+        AuthorTable author = AuthorTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new H2Dialect());
+                    cfg.setInListToAnyEqualityEnabled(true);
+                })
+                        .createQuery(author)
+                        .where(author.firstName().in(Arrays.asList("Alex", "Dan", "Boris")))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where tb_1_.FIRST_NAME = any(?) " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables(new DbArray("VARCHAR", new Object[] { "Alex", "Dan", "Boris" }));
+                    ctx.rows("[\"Alex\",\"Boris\",\"Dan\"]");
+                }
+        );
+    }
+
+    @Test
+    public void testNegativeAnyEquality() {
+        AuthorTable author = AuthorTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> {
+                    cfg.setDialect(new H2Dialect());
+                    cfg.setInListToAnyEqualityEnabled(true);
+                })
+                        .createQuery(author)
+                        .where(author.firstName().notIn(Arrays.asList("Alex", "Dan", "Boris")))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where tb_1_.FIRST_NAME <> all(?) " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables(new DbArray("VARCHAR", new Object[] { "Alex", "Dan", "Boris" }));
+                    ctx.rows("[\"Eve\",\"Samer\"]");
+                }
+        );
+    }
+
+    @Test
+    public void testChunkByMaxInListSize() {
+        AuthorTable author = AuthorTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> cfg.setDialect(new MaxInListSizeDialect(2)))
+                        .createQuery(author)
+                        .where(author.firstName().in(Arrays.asList("Alex", "Dan", "Boris")))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where (" +
+                                    "--->tb_1_.FIRST_NAME in (?, ?) " +
+                                    "--->or " +
+                                    "--->tb_1_.FIRST_NAME in (?)" +
+                                    ") " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables("Alex", "Dan", "Boris");
+                    ctx.rows("[\"Alex\",\"Boris\",\"Dan\"]");
+                }
+        );
+    }
+
+    @Test
+    public void testNegativeChunkByMaxInListSize() {
+        AuthorTable author = AuthorTable.$;
+        executeAndExpect(
+                getSqlClient(cfg -> cfg.setDialect(new MaxInListSizeDialect(2)))
+                        .createQuery(author)
+                        .where(author.firstName().notIn(Arrays.asList("Alex", "Dan", "Boris")))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where (" +
+                                    "--->tb_1_.FIRST_NAME not in (?, ?) " +
+                                    "--->and " +
+                                    "--->tb_1_.FIRST_NAME not in (?)" +
+                                    ") " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables("Alex", "Dan", "Boris");
+                    ctx.rows("[\"Eve\",\"Samer\"]");
+                }
+        );
+    }
+
+    @Test
+    public void testChunkByOracleMaxInListSize() {
+        AuthorTable author = AuthorTable.$;
+        List<String> names = new ArrayList<>();
+        names.add("Alex");
+        names.add("Dan");
+        for (int i = names.size(); i < 1000; i++) {
+            names.add("Unknown-" + i);
+        }
+        // The 1001st value is rendered by the second chunk
+        names.add("Boris");
+        StringBuilder firstChunk = new StringBuilder("?");
+        for (int i = 1; i < 1000; i++) {
+            firstChunk.append(", ?");
+        }
+        executeAndExpect(
+                getSqlClient(cfg -> cfg.setDialect(new OracleDialect()))
+                        .createQuery(author)
+                        .where(author.firstName().in(names))
+                        .orderBy(author.firstName())
+                        .select(author.firstName()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.FIRST_NAME " +
+                                    "from AUTHOR tb_1_ " +
+                                    "where (" +
+                                    "--->tb_1_.FIRST_NAME in (" + firstChunk + ") " +
+                                    "--->or " +
+                                    "--->tb_1_.FIRST_NAME in (?)" +
+                                    ") " +
+                                    "order by tb_1_.FIRST_NAME asc"
+                    );
+                    ctx.variables(new ArrayList<>(names));
+                    ctx.rows("[\"Alex\",\"Boris\",\"Dan\"]");
+                }
+        );
+    }
+
+    private static class MaxInListSizeDialect extends H2Dialect {
+
+        private final int maxInListSize;
+
+        MaxInListSizeDialect(int maxInListSize) {
+            this.maxInListSize = maxInListSize;
+        }
+
+        @Override
+        public int getMaxInListSize() {
+            return maxInListSize;
+        }
+    }
+}
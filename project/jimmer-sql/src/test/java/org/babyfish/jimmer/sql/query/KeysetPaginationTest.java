@@ -0,0 +1,216 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.KeysetSlice;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class KeysetPaginationTest extends AbstractQueryTest {
+
+    @Test
+    public void testRowValueComparison() {
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.name());
+            q.orderBy(book.edition());
+            return q.select(book);
+        });
+        String[] tokenRef = new String[1];
+        connectAndExpect(
+                con -> query.fetchSlice(2, null, con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc, tb_1_.ID asc " +
+                                    "limit ?"
+                    );
+                    ctx.variables(3);
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                Arrays.asList(effectiveTypeScriptId1, effectiveTypeScriptId2),
+                                ids(slice)
+                        );
+                        Assertions.assertTrue(slice.hasNext());
+                        tokenRef[0] = slice.getNextToken();
+                    });
+                }
+        );
+        connectAndExpect(
+                con -> query.fetchSlice(2, tokenRef[0], con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where (tb_1_.NAME, tb_1_.EDITION, tb_1_.ID) > (?, ?, ?) " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc, tb_1_.ID asc " +
+                                    "limit ?"
+                    );
+                    ctx.variables("Effective TypeScript", 2, effectiveTypeScriptId2, 3);
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                Arrays.asList(effectiveTypeScriptId3, graphQLInActionId1),
+                                ids(slice)
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testExpandedComparisonOfMixedDirections() {
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book);
+        });
+        String[] tokenRef = new String[1];
+        connectAndExpect(
+                con -> query.fetchSlice(2, null, con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc, tb_1_.ID desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables(3);
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                Arrays.asList(effectiveTypeScriptId3, effectiveTypeScriptId2),
+                                ids(slice)
+                        );
+                        tokenRef[0] = slice.getNextToken();
+                    });
+                }
+        );
+        connectAndExpect(
+                con -> query.fetchSlice(2, tokenRef[0], con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.NAME > ? or tb_1_.NAME = ? and " +
+                                    "(tb_1_.EDITION < ? or tb_1_.EDITION = ? and tb_1_.ID < ?) " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc, tb_1_.ID desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables(
+                            "Effective TypeScript", "Effective TypeScript",
+                            2, 2,
+                            effectiveTypeScriptId2,
+                            3
+                    );
+                    ctx.row(0, slice -> {
+                        Assertions.assertEquals(
+                                Arrays.asList(effectiveTypeScriptId1, graphQLInActionId3),
+                                ids(slice)
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testAllSlices() {
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.price().desc());
+            return q.select(book);
+        });
+        jdbc(con -> {
+            List<UUID> ids = new ArrayList<>();
+            String token = null;
+            int sliceCount = 0;
+            do {
+                KeysetSlice<Book> slice = query.fetchSlice(5, token, con);
+                ids.addAll(ids(slice));
+                token = slice.getNextToken();
+                sliceCount++;
+            } while (token != null);
+            Assertions.assertEquals(3, sliceCount);
+            Assertions.assertEquals(12, ids.size());
+            Assertions.assertEquals(
+                    query.execute(con).stream().map(Book::id).collect(Collectors.toSet()),
+                    new HashSet<>(ids)
+            );
+        });
+    }
+
+    @Test
+    public void testHighPrecisionDecimal() {
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.price().desc());
+            return q.select(book);
+        });
+        String[] tokenRef = new String[1];
+        UUID[] idRef = new UUID[1];
+        jdbc(con -> {
+            KeysetSlice<Book> slice = query.fetchSlice(2, null, con);
+            tokenRef[0] = slice.getNextToken();
+            idRef[0] = slice.getRows().get(1).id();
+        });
+        // Replace the price of token by a value which cannot be represented by double
+        String json = new String(Base64.getUrlDecoder().decode(tokenRef[0]), StandardCharsets.UTF_8);
+        String highPrecisionJson = json.replaceFirst(
+                "^\\[(-?\\d+),[^,]+,",
+                "[$1,12345678901234567890.123456789,"
+        );
+        Assertions.assertNotEquals(json, highPrecisionJson);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                highPrecisionJson.getBytes(StandardCharsets.UTF_8)
+        );
+        connectAndExpect(
+                con -> query.fetchSlice(2, token, con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where (tb_1_.PRICE, tb_1_.ID) < (?, ?) " +
+                                    "order by tb_1_.PRICE desc, tb_1_.ID desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables(new BigDecimal("12345678901234567890.123456789"), idRef[0], 3);
+                }
+        );
+    }
+
+    @Test
+    public void testIllegalUsage() {
+        ConfigurableRootQuery<BookTable, Book> query = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.name());
+            return q.select(book);
+        });
+        ConfigurableRootQuery<BookTable, Book> otherQuery = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.edition());
+            return q.select(book);
+        });
+        ConfigurableRootQuery<BookTable, Book> joinedQuery = getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.store().name());
+            return q.select(book);
+        });
+        jdbc(con -> {
+            String token = query.fetchSlice(2, null, con).getNextToken();
+            Assertions.assertThrows(IllegalArgumentException.class, () -> otherQuery.fetchSlice(2, token, con));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> query.fetchSlice(2, "illegal-token", con));
+            Assertions.assertThrows(IllegalStateException.class, () -> joinedQuery.fetchSlice(2, null, con));
+        });
+    }
+
+    private static List<UUID> ids(KeysetSlice<Book> slice) {
+        return slice.getRows().stream().map(Book::id).collect(Collectors.toList());
+    }
+}
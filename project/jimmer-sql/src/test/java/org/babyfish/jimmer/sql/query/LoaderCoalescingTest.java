@@ -0,0 +1,252 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.filter.Filter;
+import org.babyfish.jimmer.sql.filter.FilterArgs;
+import org.babyfish.jimmer.sql.loader.graphql.ReferenceLoader;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class LoaderCoalescingTest extends AbstractQueryTest {
+
+    private static final ThreadLocal<String> CURRENT_STORE_NAME = new ThreadLocal<>();
+
+    @Test
+    public void testCoalesceConcurrentLoads() throws Exception {
+        List<UUID[]> bookAndStoreIds = Arrays.asList(
+                new UUID[] { learningGraphQLId2, oreillyId },
+                new UUID[] { effectiveTypeScriptId1, oreillyId },
+                new UUID[] { programmingTypeScriptId1, oreillyId },
+                new UUID[] { graphQLInActionId1, manningId },
+                new UUID[] { graphQLInActionId2, manningId }
+        );
+        AtomicInteger sqlCount = new AtomicInteger();
+        CountDownLatch firstSqlStarted = new CountDownLatch(1);
+        CountDownLatch firstSqlReleased = new CountDownLatch(1);
+        JSqlClient sqlClient = getCoalescingSqlClient(
+                10_000,
+                bookAndStoreIds.size(),
+                sqlCount,
+                () -> {
+                    firstSqlStarted.countDown();
+                    await(firstSqlReleased);
+                },
+                null
+        );
+        ReferenceLoader<Book, BookStore> loader =
+                sqlClient.getLoaders().reference(BookTable.class, BookTable::store);
+        ExecutorService executorService = Executors.newFixedThreadPool(bookAndStoreIds.size() + 1);
+        try {
+            // The first load is alone, it is dispatched immediately and blocked by the executor
+            Future<BookStore> firstFuture = executorService.submit(() -> loader.load(book(learningGraphQLId1, oreillyId)));
+            Assertions.assertTrue(firstSqlStarted.await(10, TimeUnit.SECONDS));
+
+            // The first load is still being executed, so the others wait for each other
+            List<Future<BookStore>> futures = new ArrayList<>();
+            for (UUID[] ids : bookAndStoreIds) {
+                Book book = book(ids[0], ids[1]);
+                futures.add(executorService.submit(() -> loader.load(book)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                BookStore store = futures.get(i).get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals(bookAndStoreIds.get(i)[1], store.id());
+                Assertions.assertEquals(
+                        bookAndStoreIds.get(i)[1].equals(manningId) ? "MANNING" : "O'REILLY",
+                        store.name()
+                );
+            }
+
+            firstSqlReleased.countDown();
+            Assertions.assertEquals("O'REILLY", firstFuture.get(10, TimeUnit.SECONDS).name());
+        } finally {
+            firstSqlReleased.countDown();
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(2, sqlCount.get());
+    }
+
+    @Test
+    public void testLoneLoadIsNotDelayed() {
+        AtomicInteger sqlCount = new AtomicInteger();
+        JSqlClient sqlClient = getCoalescingSqlClient(10_000, 100, sqlCount, null, null);
+        long start = System.nanoTime();
+        BookStore store = sqlClient
+                .getLoaders()
+                .reference(BookTable.class, BookTable::store)
+                .load(book(graphQLInActionId1, manningId));
+        Assertions.assertEquals("MANNING", store.name());
+        Assertions.assertEquals(1, sqlCount.get());
+        Assertions.assertTrue(
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000,
+                "The lone load must not wait for the coalescing window"
+        );
+    }
+
+    @Test
+    public void testLoadInTransactionIsNotCoalesced() throws Exception {
+        AtomicInteger sqlCount = new AtomicInteger();
+        JSqlClient sqlClient = getCoalescingSqlClient(
+                10_000,
+                100,
+                sqlCount,
+                null,
+                con -> {
+                    try {
+                        con.setAutoCommit(false);
+                    } catch (SQLException ex) {
+                        throw new ExecutionException("Cannot start transaction", ex);
+                    }
+                }
+        );
+        ReferenceLoader<Book, BookStore> loader =
+                sqlClient.getLoaders().reference(BookTable.class, BookTable::store);
+        List<BookStore> stores = loadConcurrently(
+                loader,
+                Arrays.asList(book(graphQLInActionId1, manningId), book(learningGraphQLId1, oreillyId)),
+                null
+        );
+        Assertions.assertEquals("MANNING", stores.get(0).name());
+        Assertions.assertEquals("O'REILLY", stores.get(1).name());
+        Assertions.assertEquals(2, sqlCount.get());
+    }
+
+    @Test
+    public void testLoadWithContextDependentFilterIsNotCoalesced() throws Exception {
+        AtomicInteger sqlCount = new AtomicInteger();
+        JSqlClient sqlClient = getCoalescingSqlClient(10_000, 100, sqlCount, null, null)
+                .filters(it -> it.addFilters(new CurrentStoreFilter()));
+        ReferenceLoader<Book, BookStore> loader =
+                sqlClient.getLoaders().reference(BookTable.class, BookTable::store);
+        List<BookStore> stores = loadConcurrently(
+                loader,
+                Arrays.asList(book(graphQLInActionId1, manningId), book(learningGraphQLId1, oreillyId)),
+                Arrays.asList("MANNING", "O'REILLY")
+        );
+        Assertions.assertEquals("MANNING", stores.get(0).name());
+        Assertions.assertEquals("O'REILLY", stores.get(1).name());
+        Assertions.assertEquals(2, sqlCount.get());
+    }
+
+    private static List<BookStore> loadConcurrently(
+            ReferenceLoader<Book, BookStore> loader,
+            List<Book> books,
+            List<String> currentStoreNames
+    ) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(books.size());
+        ExecutorService executorService = Executors.newFixedThreadPool(books.size());
+        long start = System.nanoTime();
+        try {
+            List<Future<BookStore>> futures = new ArrayList<>();
+            for (int i = 0; i < books.size(); i++) {
+                Book book = books.get(i);
+                String currentStoreName = currentStoreNames != null ? currentStoreNames.get(i) : null;
+                futures.add(
+                        executorService.submit(() -> {
+                            CURRENT_STORE_NAME.set(currentStoreName);
+                            try {
+                                barrier.await(10, TimeUnit.SECONDS);
+                                return loader.load(book);
+                            } finally {
+                                CURRENT_STORE_NAME.remove();
+                            }
+                        })
+                );
+            }
+            List<BookStore> stores = new ArrayList<>();
+            for (Future<BookStore> future : futures) {
+                stores.add(future.get(10, TimeUnit.SECONDS));
+            }
+            Assertions.assertTrue(
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000,
+                    "The load which cannot be coalesced must not wait for the coalescing window"
+            );
+            return stores;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static Book book(UUID id, UUID storeId) {
+        return BookDraft.$.produce(draft -> {
+            draft.setId(id).applyStore(store -> store.setId(storeId));
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("The latch is not released");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private JSqlClient getCoalescingSqlClient(
+            long maxWaitMillis,
+            int maxBatchSize,
+            AtomicInteger sqlCount,
+            Runnable firstSqlInterceptor,
+            Consumer<Connection> connectionInitializer
+    ) {
+        return getSqlClient(builder -> {
+            builder
+                    .setLoaderCoalescing(maxWaitMillis, maxBatchSize)
+                    .setExecutor(new Executor() {
+                        @Override
+                        public <R> R execute(Args<R> args) {
+                            if (sqlCount.incrementAndGet() == 1 && firstSqlInterceptor != null) {
+                                firstSqlInterceptor.run();
+                            }
+                            return DefaultExecutor.INSTANCE.execute(args);
+                        }
+                    })
+                    .setConnectionManager(new ConnectionManager() {
+                        @Override
+                        public <R> R execute(Function<Connection, R> block) {
+                            try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                                if (connectionInitializer != null) {
+                                    connectionInitializer.accept(con);
+                                }
+                                return block.apply(con);
+                            } catch (SQLException ex) {
+                                throw new ExecutionException("Cannot open connection", ex);
+                            }
+                        }
+                    });
+        });
+    }
+
+    private static class CurrentStoreFilter implements Filter<BookStoreProps> {
+
+        @Override
+        public void filter(FilterArgs<BookStoreProps> args) {
+            String storeName = CURRENT_STORE_NAME.get();
+            if (storeName == null) {
+                throw new IllegalStateException("No current store");
+            }
+            args.where(args.getTable().name().eq(storeName));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.runtime.*;
+import org.h2.Driver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+public class ReplicaSetTest extends AbstractTest {
+
+    private static final String[] REPLICA_URLS = new String[] {
+            "jdbc:h2:mem:replica_1;database_to_upper=true;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:replica_2;database_to_upper=true;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:replica_3;database_to_upper=true;DB_CLOSE_DELAY=-1"
+    };
+
+    @BeforeAll
+    public static void initReplicas() throws SQLException {
+        for (String url : REPLICA_URLS) {
+            try (Connection con = new Driver().connect(url, null)) {
+                initDatabase(con);
+            }
+        }
+    }
+
+    @Test
+    public void testRoundRobin() {
+        List<CountingConnectionManager> managers = replicaManagers();
+        JSqlClient sqlClient = sqlClient(
+                ReplicaSetConnectionManager
+                        .newBuilder()
+                        .addReplica("replica-1", managers.get(0))
+                        .addReplica("replica-2", managers.get(1))
+                        .addReplica("replica-3", managers.get(2))
+                        .build()
+        );
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertEquals(2, queryStoreNames(sqlClient).size());
+        }
+        assertCounts(managers, 2, 2, 2);
+    }
+
+    @Test
+    public void testWeighted() {
+        List<CountingConnectionManager> managers = replicaManagers();
+        JSqlClient sqlClient = sqlClient(
+                ReplicaSetConnectionManager
+                        .newBuilder()
+                        .addReplica("replica-1", managers.get(0), 3)
+                        .addReplica("replica-2", managers.get(1), 1)
+                        .addReplica("replica-3", managers.get(2), 4)
+                        .setSelector(ReplicaSelector.weighted())
+                        .build()
+        );
+        for (int i = 0; i < 16; i++) {
+            queryStoreNames(sqlClient);
+        }
+        assertCounts(managers, 6, 2, 8);
+    }
+
+    @Test
+    public void testLeastOutstandingRequests() {
+        List<CountingConnectionManager> managers = replicaManagers();
+        ReplicaSetConnectionManager replicaSet = ReplicaSetConnectionManager
+                .newBuilder()
+                .addReplica("replica-1", managers.get(0))
+                .addReplica("replica-2", managers.get(1))
+                .setSelector(ReplicaSelector.leastOutstandingRequests())
+                .build();
+        JSqlClient sqlClient = sqlClient(replicaSet);
+        // While replica-1 or replica-2 is busy, the nested query is routed to the other one
+        replicaSet.execute(con -> {
+            queryStoreNames(sqlClient);
+            return null;
+        });
+        assertCounts(managers, 1, 1, 0);
+    }
+
+    @Test
+    public void testEjection() {
+        List<CountingConnectionManager> managers = replicaManagers();
+        managers.get(1).broken = true;
+        ReplicaSetConnectionManager replicaSet = ReplicaSetConnectionManager
+                .newBuilder()
+                .addReplica("replica-1", managers.get(0))
+                .addReplica("replica-2", managers.get(1))
+                .addReplica("replica-3", managers.get(2))
+                .setFailureThreshold(1)
+                .build();
+        JSqlClient sqlClient = sqlClient(replicaSet);
+        for (int i = 0; i < 6; i++) {
+            Assertions.assertEquals(2, queryStoreNames(sqlClient).size());
+        }
+        Assertions.assertTrue(replicaSet.getReplicas().get(1).isEjected());
+        assertCounts(managers, 4, 0, 2);
+        Assertions.assertEquals(1, managers.get(1).failedCount);
+    }
+
+    @Test
+    public void testReadYourWrites() {
+        List<CountingConnectionManager> managers = replicaManagers();
+        jdbc(null, true, con -> {
+            CountingConnectionManager master =
+                    new CountingConnectionManager(ConnectionManager.singleConnectionManager(con));
+            JSqlClient sqlClient = getSqlClient(it -> {
+                it.setConnectionManager(master);
+                it.setSlaveConnectionManager(managers.get(0));
+            });
+            BookStoreTable store = BookStoreTable.$;
+            ReadYourWritesScope.execute(() -> {
+                queryStoreNames(sqlClient);
+                Assertions.assertEquals(0, master.count);
+                sqlClient
+                        .createUpdate(store)
+                        .set(store.website(), "https://www.manning.com")
+                        .where(store.name().eq("MANNING"))
+                        .execute();
+                Assertions.assertEquals(1, master.count);
+                queryStoreNames(sqlClient);
+                Assertions.assertEquals(2, master.count);
+                return null;
+            });
+            queryStoreNames(sqlClient);
+            Assertions.assertEquals(2, master.count);
+            Assertions.assertEquals(2, managers.get(0).count);
+        });
+    }
+
+    private JSqlClient sqlClient(ConnectionManager slaveConnectionManager) {
+        return getSqlClient(it -> {
+            it.setConnectionManager(ConnectionManager.ILLEGAL);
+            it.setSlaveConnectionManager(slaveConnectionManager);
+        });
+    }
+
+    private static List<String> queryStoreNames(JSqlClient sqlClient) {
+        BookStoreTable store = BookStoreTable.$;
+        return sqlClient
+                .createQuery(store)
+                .orderBy(store.name())
+                .select(store.name())
+                .execute();
+    }
+
+    private static List<CountingConnectionManager> replicaManagers() {
+        List<CountingConnectionManager> managers = new ArrayList<>();
+        for (String url : REPLICA_URLS) {
+            managers.add(
+                    new CountingConnectionManager(
+                            new ConnectionManager() {
+                                @Override
+                                public <R> R execute(Function<Connection, R> block) {
+                                    try (Connection con = new Driver().connect(url, null)) {
+                                        return block.apply(con);
+                                    } catch (SQLException ex) {
+                                        throw new ExecutionException(ex.getMessage(), ex);
+                                    }
+                                }
+                            }
+                    )
+            );
+        }
+        return managers;
+    }
+
+    private static void assertCounts(List<CountingConnectionManager> managers, int ... counts) {
+        int[] actualCounts = new int[managers.size()];
+        for (int i = 0; i < actualCounts.length; i++) {
+            actualCounts[i] = managers.get(i).count;
+        }
+        Assertions.assertEquals(Arrays.toString(counts), Arrays.toString(actualCounts));
+    }
+
+    private static class CountingConnectionManager implements ConnectionManager {
+
+        private final ConnectionManager raw;
+
+        int count;
+
+        int failedCount;
+
+        boolean broken;
+
+        CountingConnectionManager(ConnectionManager raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            if (broken) {
+                failedCount++;
+                throw new ExecutionException("Cannot connect to the replica");
+            }
+            count++;
+            return raw.execute(block);
+        }
+    }
+}
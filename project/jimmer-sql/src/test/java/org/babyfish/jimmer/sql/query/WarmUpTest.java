@@ -0,0 +1,93 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.filter.Filter;
+import org.babyfish.jimmer.sql.filter.FilterArgs;
+import org.babyfish.jimmer.sql.model.BookStoreProps;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.JimmerModule;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.MetadataWarmer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WarmUpTest extends AbstractQueryTest {
+
+    private static final ThreadLocal<String> CURRENT_STORE_NAME = new ThreadLocal<>();
+
+    /**
+     * The global filter depends on the context of request which does not exist
+     * when the sql client is warmed up, the warmup must not fail because of it.
+     */
+    @Test
+    public void testWarmUp() {
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) getSqlClient(it ->
+                it.addFilters(new CurrentStoreFilter())
+        );
+        long entityTypeCount = JimmerModule
+                .ENTITY_MANAGER
+                .getAllTypes(null)
+                .stream()
+                .filter(ImmutableType::isEntity)
+                .count();
+        Assertions.assertEquals(entityTypeCount, MetadataWarmer.warmUp(sqlClient));
+        Assertions.assertTrue(getExecutions().isEmpty());
+        BookStoreTable table = BookStoreTable.$;
+        CURRENT_STORE_NAME.set("MANNING");
+        try {
+            executeAndExpect(
+                    sqlClient
+                            .createQuery(table)
+                            .orderBy(table.name())
+                            .select(table.name()),
+                    ctx -> {
+                        ctx.sql(
+                                "select tb_1_.NAME " +
+                                        "from BOOK_STORE tb_1_ " +
+                                        "where tb_1_.NAME = ? " +
+                                        "order by tb_1_.NAME asc"
+                        );
+                        ctx.variables("MANNING");
+                        ctx.rows("[\"MANNING\"]");
+                    }
+            );
+        } finally {
+            CURRENT_STORE_NAME.remove();
+        }
+    }
+
+    @Test
+    public void testWarmUpByInitializer() {
+        JSqlClient sqlClient = getSqlClient(it -> it.addInitializers(JSqlClient::warmUp));
+        BookStoreTable table = BookStoreTable.$;
+        executeAndExpect(
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().eq("MANNING"))
+                        .select(table.name()),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK_STORE tb_1_ " +
+                                    "where tb_1_.NAME = ?"
+                    );
+                    ctx.variables("MANNING");
+                    ctx.rows("[\"MANNING\"]");
+                }
+        );
+    }
+
+    private static class CurrentStoreFilter implements Filter<BookStoreProps> {
+
+        @Override
+        public void filter(FilterArgs<BookStoreProps> args) {
+            String storeName = CURRENT_STORE_NAME.get();
+            if (storeName == null) {
+                throw new IllegalStateException("No current store");
+            }
+            args.where(args.getTable().name().eq(storeName));
+        }
+    }
+}
@@ -6,10 +6,20 @@ import org.babyfish.jimmer.sql.meta.MetadataStrategy;
 import org.babyfish.jimmer.sql.model.JimmerModule;
 import org.babyfish.jimmer.sql.runtime.DatabaseValidationException;
 import org.babyfish.jimmer.sql.runtime.DatabaseValidators;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
 import org.babyfish.jimmer.sql.runtime.DefaultDatabaseNamingStrategy;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.h2.Driver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 public class DatabaseValidatorTest extends AbstractTest {
 
     @Test
@@ -25,4 +35,133 @@ public class DatabaseValidatorTest extends AbstractTest {
             Assertions.assertNull(ex);
         });
     }
+
+    @Test
+    public void testH2ByBulkMetadata() {
+        ConnectionManager connectionManager = new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                try (Connection con = new Driver().connect(JDBC_URL, null)) {
+                    return block.apply(con);
+                } catch (SQLException ex) {
+                    throw new ExecutionException(ex.getMessage(), ex);
+                }
+            }
+        };
+        jdbc(con -> {
+            DatabaseValidationException ex = DatabaseValidators.validate(
+                    JimmerModule.ENTITY_MANAGER,
+                    "",
+                    new MetadataStrategy(DefaultDatabaseNamingStrategy.UPPER_CASE, ForeignKeyStrategy.REAL),
+                    "",
+                    con,
+                    connectionManager,
+                    4
+            );
+            Assertions.assertNull(ex);
+        });
+    }
+
+    @Test
+    public void testMissingTable() throws SQLException {
+        List<String> items = validateChangedDatabase(
+                "missing_table",
+                "drop table author_country_mapping"
+        );
+        Assertions.assertEquals(1, items.size(), items.toString());
+        Assertions.assertTrue(
+                items.get(0).endsWith("There is no table \"AUTHOR_COUNTRY_MAPPING\""),
+                items.get(0)
+        );
+    }
+
+    @Test
+    public void testMissingColumn() throws SQLException {
+        List<String> items = validateChangedDatabase(
+                "missing_column",
+                "alter table book_store drop column website"
+        );
+        Assertions.assertEquals(1, items.size(), items.toString());
+        Assertions.assertTrue(
+                items.get(0).contains("There is no column \"WEBSITE\""),
+                items.get(0)
+        );
+    }
+
+    @Test
+    public void testMissingForeignKey() throws SQLException {
+        List<String> items = validateChangedDatabase(
+                "missing_foreign_key",
+                "alter table book drop constraint fk_book__book_store"
+        );
+        Assertions.assertEquals(1, items.size(), items.toString());
+        Assertions.assertTrue(
+                items.get(0).contains("No foreign key for columns: ") &&
+                        items.get(0).contains("STORE_ID"),
+                items.get(0)
+        );
+    }
+
+    /**
+     * Change a private in-memory copy of the test database, so that the shared
+     * database is not changed by DDL which cannot be rolled back.
+     *
+     * @return The items reported by both per-table metadata and bulk metadata,
+     * they must be same.
+     */
+    private static List<String> validateChangedDatabase(String databaseName, String ddl) throws SQLException {
+        String url = "jdbc:h2:mem:validator_" + databaseName + ";database_to_upper=true";
+        ConnectionManager connectionManager = new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                try (Connection con = new Driver().connect(url, null)) {
+                    return block.apply(con);
+                } catch (SQLException ex) {
+                    throw new ExecutionException(ex.getMessage(), ex);
+                }
+            }
+        };
+        // The in-memory database is alive until this connection is closed
+        try (Connection con = new Driver().connect(url, null)) {
+            initDatabase(con);
+            try (Statement statement = con.createStatement()) {
+                statement.execute(ddl);
+            }
+            MetadataStrategy strategy =
+                    new MetadataStrategy(DefaultDatabaseNamingStrategy.UPPER_CASE, ForeignKeyStrategy.REAL);
+            DatabaseValidationException ex = DatabaseValidators.validate(
+                    JimmerModule.ENTITY_MANAGER,
+                    "",
+                    strategy,
+                    "",
+                    con
+            );
+            DatabaseValidationException bulkEx = DatabaseValidators.validate(
+                    JimmerModule.ENTITY_MANAGER,
+                    "",
+                    strategy,
+                    "",
+                    con,
+                    connectionManager,
+                    4
+            );
+            Assertions.assertNotNull(ex);
+            Assertions.assertNotNull(bulkEx);
+            List<String> items = descriptions(ex);
+            Assertions.assertEquals(items, descriptions(bulkEx));
+            return items;
+        }
+    }
+
+    private static List<String> descriptions(DatabaseValidationException ex) {
+        List<String> descriptions = new ArrayList<>();
+        for (DatabaseValidationException.Item item : ex.getItems()) {
+            descriptions.add(
+                    (item.getProp() != null ? item.getProp() : item.getType()) +
+                            ": " +
+                            item.getMessage()
+            );
+        }
+        return descriptions;
+    }
 }